@@ -20,7 +20,6 @@
 
 package io.spine.examples.todolist.c.aggregate;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.Message;
 import io.spine.change.ValueMismatch;
 import io.spine.examples.todolist.LabelColor;
@@ -52,8 +51,8 @@ import static io.spine.examples.todolist.c.aggregate.rejection.LabelAggregateRej
                               are declared {@code private} by design. */)
 public class LabelAggregate extends Aggregate<LabelId, TaskLabel, TaskLabelVBuilder> {
 
-    @VisibleForTesting
-    static final LabelColor DEFAULT_LABEL_COLOR = LabelColor.GRAY;
+    /** The color of a newly created label. */
+    public static final LabelColor DEFAULT_LABEL_COLOR = LabelColor.GRAY;
 
     /**
      * {@inheritDoc}
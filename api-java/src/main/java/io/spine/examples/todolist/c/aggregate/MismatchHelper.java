@@ -20,12 +20,16 @@
 
 package io.spine.examples.todolist.c.aggregate;
 
+import com.google.protobuf.Any;
 import io.spine.change.ValueMismatch;
 import io.spine.core.Version;
 import io.spine.examples.todolist.TaskPriority;
 import io.spine.examples.todolist.TaskPriorityValue;
 import io.spine.protobuf.AnyPacker;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Utility class for working with mismatches.
  *
@@ -33,6 +37,9 @@ import io.spine.protobuf.AnyPacker;
  */
 class MismatchHelper {
 
+    private static final ConcurrentMap<TaskPriority, Any> PACKED_PRIORITIES =
+            new ConcurrentHashMap<>();
+
     private MismatchHelper() {
     }
 
@@ -47,25 +54,33 @@ class MismatchHelper {
      */
     static ValueMismatch of(TaskPriority expectedPriority, TaskPriority actualPriority,
             TaskPriority newPriority, Version version) {
-        final TaskPriorityValue actualPriorityValue =
-                TaskPriorityValue.newBuilder()
-                                 .setPriorityValue(actualPriority)
-                                 .build();
-        final TaskPriorityValue expectedPriorityValue =
-                TaskPriorityValue.newBuilder()
-                                 .setPriorityValue(expectedPriority)
-                                 .build();
-        final TaskPriorityValue newPriorityValue =
-                TaskPriorityValue.newBuilder()
-                                 .setPriorityValue(newPriority)
-                                 .build();
         final ValueMismatch result =
                 ValueMismatch.newBuilder()
-                             .setExpected(AnyPacker.pack(expectedPriorityValue))
-                             .setActual(AnyPacker.pack(actualPriorityValue))
-                             .setNewValue(AnyPacker.pack(newPriorityValue))
+                             .setExpected(packed(expectedPriority))
+                             .setActual(packed(actualPriority))
+                             .setNewValue(packed(newPriority))
                              .setVersion(version.getNumber())
                              .build();
         return result;
     }
+
+    /**
+     * Obtains the packed {@link TaskPriorityValue} for the specified priority.
+     *
+     * <p>There are only a few priorities, so each of them is packed once
+     * on the first mismatch and then reused by all the following mismatches.
+     *
+     * @param priority the priority to pack
+     * @return the {@code TaskPriorityValue} packed into {@code Any}
+     */
+    private static Any packed(TaskPriority priority) {
+        return PACKED_PRIORITIES.computeIfAbsent(priority, MismatchHelper::pack);
+    }
+
+    private static Any pack(TaskPriority priority) {
+        final TaskPriorityValue priorityValue = TaskPriorityValue.newBuilder()
+                                                                 .setPriorityValue(priority)
+                                                                 .build();
+        return AnyPacker.pack(priorityValue);
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.c.aggregate.rejection;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+import static java.util.Locale.ENGLISH;
+
+/**
+ * Defines how the {@link TaskPartRejections.UpdateRejections update rejections} are created.
+ *
+ * <p>Update commands are rejected when the previous value specified in a command
+ * does not match the actual state of a task. Under a high contention on the same task
+ * such rejections are thrown often, and capturing a stack trace for each of them
+ * becomes the most expensive part of the command handling.
+ *
+ * <p>The mode is selected by the {@value #PROPERTY} system property,
+ * e.g. {@code -Dtodolist.rejections.mode=stackless}. The property is read once,
+ * when the first update rejection is created.
+ */
+public enum RejectionMode {
+
+    /**
+     * Rejections capture the stack trace of the throwing thread, as any other {@code Throwable}.
+     *
+     * <p>This is the default mode.
+     */
+    STACK_TRACE,
+
+    /**
+     * Rejections are created without a stack trace.
+     *
+     * <p>The rejection message is the same as in the {@link #STACK_TRACE} mode.
+     */
+    STACKLESS;
+
+    /** The system property specifying the rejection mode. */
+    public static final String PROPERTY = "todolist.rejections.mode";
+
+    /**
+     * Obtains the mode specified by the {@value #PROPERTY} system property.
+     *
+     * @return the configured mode or {@link #STACK_TRACE} if the property is not set
+     */
+    static RejectionMode configured() {
+        return parse(System.getProperty(PROPERTY, STACK_TRACE.name()));
+    }
+
+    /**
+     * Obtains the mode by its case-insensitive name.
+     *
+     * @param name the name of the mode
+     * @return the mode with the name
+     * @throws IllegalArgumentException if there is no mode with the name
+     */
+    @VisibleForTesting
+    static RejectionMode parse(String name) {
+        final String normalizedName = name.trim()
+                                          .toUpperCase(ENGLISH);
+        for (RejectionMode mode : values()) {
+            if (mode.name()
+                    .equals(normalizedName)) {
+                return mode;
+            }
+        }
+        throw newIllegalArgumentException("Unknown rejection mode `%s` in the `%s` property.",
+                                          name, PROPERTY);
+    }
+}
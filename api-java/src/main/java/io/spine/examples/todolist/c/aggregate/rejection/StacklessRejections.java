@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.c.aggregate.rejection;
+
+import io.spine.examples.todolist.DescriptionUpdateRejected;
+import io.spine.examples.todolist.PriorityUpdateRejected;
+import io.spine.examples.todolist.TaskDueDateUpdateRejected;
+import io.spine.examples.todolist.c.rejection.CannotUpdateTaskDescription;
+import io.spine.examples.todolist.c.rejection.CannotUpdateTaskDueDate;
+import io.spine.examples.todolist.c.rejection.CannotUpdateTaskPriority;
+
+/**
+ * The rejections, which do not capture a stack trace on creation.
+ *
+ * <p>Used by {@link TaskPartRejections.UpdateRejections} in the
+ * {@link RejectionMode#STACKLESS STACKLESS} mode.
+ */
+class StacklessRejections {
+
+    private StacklessRejections() {
+        // Prevent instantiation of this utility class.
+    }
+
+    static class StacklessCannotUpdateTaskDescription extends CannotUpdateTaskDescription {
+
+        private static final long serialVersionUID = 0L;
+
+        StacklessCannotUpdateTaskDescription(DescriptionUpdateRejected rejectionDetails) {
+            super(rejectionDetails);
+        }
+
+        @SuppressWarnings("NonSynchronizedMethodOverridesSynchronizedMethod"
+                /* There is no state to guard, as the stack trace is never filled. */)
+        @Override
+        public Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    static class StacklessCannotUpdateTaskDueDate extends CannotUpdateTaskDueDate {
+
+        private static final long serialVersionUID = 0L;
+
+        StacklessCannotUpdateTaskDueDate(TaskDueDateUpdateRejected rejectionDetails) {
+            super(rejectionDetails);
+        }
+
+        @SuppressWarnings("NonSynchronizedMethodOverridesSynchronizedMethod"
+                /* There is no state to guard, as the stack trace is never filled. */)
+        @Override
+        public Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    static class StacklessCannotUpdateTaskPriority extends CannotUpdateTaskPriority {
+
+        private static final long serialVersionUID = 0L;
+
+        StacklessCannotUpdateTaskPriority(PriorityUpdateRejected rejectionDetails) {
+            super(rejectionDetails);
+        }
+
+        @SuppressWarnings("NonSynchronizedMethodOverridesSynchronizedMethod"
+                /* There is no state to guard, as the stack trace is never filled. */)
+        @Override
+        public Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
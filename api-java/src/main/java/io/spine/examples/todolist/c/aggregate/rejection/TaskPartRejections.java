@@ -20,6 +20,7 @@
 
 package io.spine.examples.todolist.c.aggregate.rejection;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.spine.change.ValueMismatch;
 import io.spine.examples.todolist.CompleteTaskRejected;
 import io.spine.examples.todolist.CreateDraftRejected;
@@ -33,6 +34,9 @@ import io.spine.examples.todolist.RestoreDeletedTaskRejected;
 import io.spine.examples.todolist.TaskDueDateUpdateRejected;
 import io.spine.examples.todolist.TaskId;
 import io.spine.examples.todolist.c.aggregate.TaskPart;
+import io.spine.examples.todolist.c.aggregate.rejection.StacklessRejections.StacklessCannotUpdateTaskDescription;
+import io.spine.examples.todolist.c.aggregate.rejection.StacklessRejections.StacklessCannotUpdateTaskDueDate;
+import io.spine.examples.todolist.c.aggregate.rejection.StacklessRejections.StacklessCannotUpdateTaskPriority;
 import io.spine.examples.todolist.c.commands.CompleteTask;
 import io.spine.examples.todolist.c.commands.CreateDraft;
 import io.spine.examples.todolist.c.commands.DeleteTask;
@@ -52,6 +56,8 @@ import io.spine.examples.todolist.c.rejection.CannotUpdateTaskDescription;
 import io.spine.examples.todolist.c.rejection.CannotUpdateTaskDueDate;
 import io.spine.examples.todolist.c.rejection.CannotUpdateTaskPriority;
 
+import static io.spine.examples.todolist.c.aggregate.rejection.RejectionMode.STACKLESS;
+
 /**
  * Utility class for working with {@link TaskPart} rejection.
  *
@@ -65,9 +71,21 @@ public class TaskPartRejections {
 
     public static class UpdateRejections {
 
+        private static final RejectionMode MODE = RejectionMode.configured();
+
         private UpdateRejections() {
         }
 
+        /**
+         * Obtains the {@linkplain RejectionMode#PROPERTY configured} {@link RejectionMode}
+         * of the update rejections.
+         *
+         * @return the rejection mode
+         */
+        public static RejectionMode getMode() {
+            return MODE;
+        }
+
         /**
          * Constructs and throws the {@link CannotUpdateTaskDescription} rejection
          * according to the passed parameters.
@@ -83,7 +101,7 @@ public class TaskPartRejections {
                     DescriptionUpdateRejected.newBuilder()
                                              .setCommandDetails(commandDetails)
                                              .build();
-            throw new CannotUpdateTaskDescription(descriptionUpdateRejected);
+            throw cannotUpdateTaskDescription(MODE, descriptionUpdateRejected);
         }
 
         /**
@@ -101,7 +119,7 @@ public class TaskPartRejections {
                     TaskDueDateUpdateRejected.newBuilder()
                                              .setCommandDetails(commandDetails)
                                              .build();
-            throw new CannotUpdateTaskDueDate(dueDateUpdateRejected);
+            throw cannotUpdateTaskDueDate(MODE, dueDateUpdateRejected);
         }
 
         /**
@@ -121,7 +139,7 @@ public class TaskPartRejections {
                                              .setCommandDetails(commandDetails)
                                              .setDueDateMismatch(mismatch)
                                              .build();
-            throw new CannotUpdateTaskDueDate(dueDateUpdateRejected);
+            throw cannotUpdateTaskDueDate(MODE, dueDateUpdateRejected);
         }
 
         /**
@@ -142,7 +160,7 @@ public class TaskPartRejections {
                                              .setCommandDetails(commandDetails)
                                              .setDescriptionMismatch(mismatch)
                                              .build();
-            throw new CannotUpdateTaskDescription(descriptionUpdateRejected);
+            throw cannotUpdateTaskDescription(MODE, descriptionUpdateRejected);
         }
 
         /**
@@ -162,7 +180,7 @@ public class TaskPartRejections {
                                           .setCommandDetails(commandDetails)
                                           .setPriorityMismatch(mismatch)
                                           .build();
-            throw new CannotUpdateTaskPriority(priorityUpdateRejected);
+            throw cannotUpdateTaskPriority(MODE, priorityUpdateRejected);
         }
 
         /**
@@ -180,7 +198,34 @@ public class TaskPartRejections {
                     PriorityUpdateRejected.newBuilder()
                                           .setCommandDetails(commandDetails)
                                           .build();
-            throw new CannotUpdateTaskPriority(priorityUpdateRejected);
+            throw cannotUpdateTaskPriority(MODE, priorityUpdateRejected);
+        }
+
+        @VisibleForTesting
+        static CannotUpdateTaskDescription
+        cannotUpdateTaskDescription(RejectionMode mode,
+                                    DescriptionUpdateRejected rejectionDetails) {
+            return mode == STACKLESS
+                   ? new StacklessCannotUpdateTaskDescription(rejectionDetails)
+                   : new CannotUpdateTaskDescription(rejectionDetails);
+        }
+
+        @VisibleForTesting
+        static CannotUpdateTaskDueDate
+        cannotUpdateTaskDueDate(RejectionMode mode,
+                                TaskDueDateUpdateRejected rejectionDetails) {
+            return mode == STACKLESS
+                   ? new StacklessCannotUpdateTaskDueDate(rejectionDetails)
+                   : new CannotUpdateTaskDueDate(rejectionDetails);
+        }
+
+        @VisibleForTesting
+        static CannotUpdateTaskPriority
+        cannotUpdateTaskPriority(RejectionMode mode,
+                                 PriorityUpdateRejected rejectionDetails) {
+            return mode == STACKLESS
+                   ? new StacklessCannotUpdateTaskPriority(rejectionDetails)
+                   : new CannotUpdateTaskPriority(rejectionDetails);
         }
     }
 
@@ -29,6 +29,8 @@ import io.spine.examples.todolist.repository.LabelledTasksViewRepository;
 import io.spine.examples.todolist.repository.MyListViewRepository;
 import io.spine.examples.todolist.repository.TaskLabelsRepository;
 import io.spine.examples.todolist.repository.TaskRepository;
+import io.spine.examples.todolist.storage.StorageMetrics;
+import io.spine.examples.todolist.storage.TimingStorageFactory;
 import io.spine.server.BoundedContext;
 import io.spine.server.event.EventBus;
 import io.spine.server.event.EventEnricher;
@@ -36,6 +38,7 @@ import io.spine.server.storage.StorageFactory;
 import io.spine.server.storage.memory.InMemoryStorageFactory;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 import static io.spine.util.Exceptions.newIllegalStateException;
 
 /**
@@ -47,11 +50,28 @@ import static io.spine.util.Exceptions.newIllegalStateException;
 public final class BoundedContexts {
 
     /** The default name of the {@code BoundedContext}. */
-    private static final String NAME = "TodoListBoundedContext";
+    public static final String NAME = "TodoListBoundedContext";
+
+    /**
+     * The system property specifying the maximum number of the cached enrichment values
+     * per enrichment type.
+     *
+     * <p>If the property is not set, the enrichment values are looked up in the
+     * {@linkplain EnrichmentIndex index} of all the tasks and labels. Otherwise the values
+     * are loaded from the aggregates and kept in the bounded caches, which is preferable
+     * for the large task lists, e.g. {@code -Dtodolist.enrichment.cacheSize=10000}.
+     */
+    public static final String ENRICHMENT_CACHE_PROPERTY = "todolist.enrichment.cacheSize";
 
     private static final StorageFactory IN_MEMORY_FACTORY =
             InMemoryStorageFactory.newInstance(BoundedContext.newName(NAME), false);
 
+    /** The metrics of the enrichment functions of all the created bounded contexts. */
+    private static final EnrichmentMetrics ENRICHMENT_METRICS = new EnrichmentMetrics();
+
+    /** The metrics of the storages {@linkplain #withStorageMetrics(StorageFactory) measured}. */
+    private static final StorageMetrics STORAGE_METRICS = new StorageMetrics();
+
     private BoundedContexts() {
         // Disable instantiation from outside.
     }
@@ -71,11 +91,40 @@ public final class BoundedContexts {
      * Creates a new instance of the {@link BoundedContext}
      * using the specified {@link StorageFactory}.
      *
+     * <p>The enrichment values are cached if the {@value #ENRICHMENT_CACHE_PROPERTY}
+     * system property is set.
+     *
      * @param storageFactory the storage factory to use
      * @return the bounded context created with the storage factory
      */
+    @SuppressWarnings("Guava" /* Spine API is Java 7-based
+                                 and uses `Optional` from Google Guava. */)
     public static BoundedContext create(StorageFactory storageFactory) {
         checkNotNull(storageFactory);
+        return assemble(storageFactory, Optional.absent());
+    }
+
+    /**
+     * Creates a new instance of the {@link BoundedContext}, which delivers
+     * the enriched events to the projections through the specified pipeline.
+     *
+     * @param storageFactory the storage factory to use
+     * @param pipeline       the pipeline delivering the events to the projections
+     * @return the bounded context created with the storage factory
+     */
+    @SuppressWarnings("Guava" /* Spine API is Java 7-based
+                                 and uses `Optional` from Google Guava. */)
+    public static BoundedContext create(StorageFactory storageFactory,
+                                        EnrichmentPipeline pipeline) {
+        checkNotNull(storageFactory);
+        checkNotNull(pipeline);
+        return assemble(storageFactory, Optional.of(pipeline));
+    }
+
+    @SuppressWarnings("Guava" /* Spine API is Java 7-based
+                                 and uses `Optional` from Google Guava. */)
+    private static BoundedContext assemble(StorageFactory storageFactory,
+                                           Optional<EnrichmentPipeline> pipeline) {
         final LabelAggregateRepository labelAggregateRepo = new LabelAggregateRepository();
         final TaskRepository taskRepo = new TaskRepository();
         final TaskLabelsRepository taskLabelsRepo = new TaskLabelsRepository();
@@ -83,10 +132,25 @@ public final class BoundedContexts {
         final LabelledTasksViewRepository tasksViewRepo = new LabelledTasksViewRepository();
         final DraftTasksViewRepository draftTasksViewRepo = new DraftTasksViewRepository();
 
-        final EventBus.Builder eventBus = createEventBus(storageFactory,
-                                                         labelAggregateRepo,
-                                                         taskRepo,
-                                                         taskLabelsRepo);
+        final long cacheSize = Long.getLong(ENRICHMENT_CACHE_PROPERTY, 0L);
+        final EnrichmentIndex enrichmentIndex = new EnrichmentIndex();
+        final TodoListEnrichments.Builder enrichmentsBuilder =
+                TodoListEnrichments.newBuilder()
+                                   .setLabelRepository(labelAggregateRepo)
+                                   .setTaskRepository(taskRepo)
+                                   .setTaskLabelsRepository(taskLabelsRepo)
+                                   .setMetrics(ENRICHMENT_METRICS);
+        if (cacheSize > 0) {
+            enrichmentsBuilder.setCacheMaximumSize(cacheSize);
+        } else {
+            enrichmentsBuilder.setLookupIndex(enrichmentIndex);
+        }
+        final TodoListEnrichments enrichments = enrichmentsBuilder.build();
+        final EventBus.Builder eventBus = createEventBus(storageFactory, enrichments);
+        if (pipeline.isPresent()) {
+            eventBus.setDispatcherEventDelivery(pipeline.get()
+                                                        .createDelivery());
+        }
         final BoundedContext boundedContext = createBoundedContext(eventBus);
 
         boundedContext.register(taskRepo);
@@ -96,19 +160,64 @@ public final class BoundedContexts {
         boundedContext.register(tasksViewRepo);
         boundedContext.register(draftTasksViewRepo);
 
+        // The enrichment index and caches are keyed by the aggregate IDs only.
+        checkState(!boundedContext.isMultitenant(),
+                   "The enrichment values of a multitenant context cannot be shared.");
+        final EventBus bus = boundedContext.getEventBus();
+        if (cacheSize > 0) {
+            bus.register(enrichments.createCacheInvalidator());
+        } else {
+            enrichmentIndex.rebuild(bus.getEventStore());
+            bus.register(enrichmentIndex);
+        }
+
+        // Replays the events, which are not reflected in the stored projection states,
+        // e.g. the states lost by the write-behind storages on a crash.
+        myListViewRepo.catchUp();
+        tasksViewRepo.catchUp();
+        draftTasksViewRepo.catchUp();
+
         return boundedContext;
     }
 
+    /**
+     * Obtains the metrics of the event enrichment performed by the created bounded contexts.
+     *
+     * @return the enrichment metrics
+     */
+    public static EnrichmentMetrics getEnrichmentMetrics() {
+        return ENRICHMENT_METRICS;
+    }
+
+    /**
+     * Wraps the specified storage factory to measure the operations of the storages
+     * of a bounded context.
+     *
+     * <p>Pass the returned factory to {@link #create(StorageFactory)} to switch
+     * the measurement on. The operations are reported to the
+     * {@linkplain #getStorageMetrics() storage metrics}.
+     *
+     * @param storageFactory the storage factory to measure
+     * @return the measuring storage factory
+     */
+    public static StorageFactory withStorageMetrics(StorageFactory storageFactory) {
+        checkNotNull(storageFactory);
+        return TimingStorageFactory.newInstance(storageFactory, STORAGE_METRICS);
+    }
+
+    /**
+     * Obtains the metrics of the storages created by the factories
+     * {@linkplain #withStorageMetrics(StorageFactory) wrapped} for measurement.
+     *
+     * @return the storage metrics
+     */
+    public static StorageMetrics getStorageMetrics() {
+        return STORAGE_METRICS;
+    }
+
     private static EventBus.Builder createEventBus(StorageFactory storageFactory,
-                                                   LabelAggregateRepository labelRepo,
-                                                   TaskRepository taskRepo,
-                                                   TaskLabelsRepository labelsRepo) {
-        final EventEnricher enricher = TodoListEnrichments.newBuilder()
-                                                          .setLabelRepository(labelRepo)
-                                                          .setTaskRepository(taskRepo)
-                                                          .setTaskLabelsRepository(labelsRepo)
-                                                          .build()
-                                                          .createEnricher();
+                                                   TodoListEnrichments enrichments) {
+        final EventEnricher enricher = enrichments.createEnricher();
         final EventBus.Builder eventBus = EventBus.newBuilder()
                                                   .setEnricher(enricher)
                                                   .setStorageFactory(storageFactory);
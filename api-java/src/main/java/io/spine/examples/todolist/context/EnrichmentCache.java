@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.Message;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A bounded cache of the values used to enrich events.
+ *
+ * <p>Only the values of existing aggregates are cached.
+ * If an aggregate is not found, it is looked up again on the next request.
+ *
+ * <p>A cached value should be {@linkplain #invalidate(Message) invalidated}
+ * as soon as an event changes the state of the aggregate it was obtained from.
+ * A value loaded concurrently with an invalidation is not cached,
+ * since it may be obtained from the outdated aggregate state.
+ *
+ * @param <I> the type of the aggregate IDs
+ * @param <V> the type of the cached values
+ */
+@SuppressWarnings("Guava") // Because com.google.common.base.Function is used
+                           // until the migration of Spine to Java 8 is performed.
+class EnrichmentCache<I extends Message, V extends Message> {
+
+    private final Cache<I, V> cache;
+    private final Object lock = new Object();
+
+    /**
+     * The number of invalidations performed by this cache.
+     *
+     * <p>Guarded by {@link #lock}.
+     */
+    private long invalidations;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maximumSize the maximum number of the cached values,
+     *                    {@code 0} disables caching
+     */
+    EnrichmentCache(long maximumSize) {
+        checkArgument(maximumSize >= 0);
+        this.cache = CacheBuilder.newBuilder()
+                                 .maximumSize(maximumSize)
+                                 .build();
+    }
+
+    /**
+     * Obtains the cached value for the specified ID or loads it using the specified function.
+     *
+     * @param id     the aggregate ID
+     * @param loader the function loading the value,
+     *               returns {@code Optional.absent()} if there is no aggregate with the ID
+     * @return the value for the ID or {@code Optional.absent()} if there is no such aggregate
+     */
+    Optional<V> get(I id, Function<I, Optional<V>> loader) {
+        final Optional<V> cached = getIfCached(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        final long invalidationsBeforeLoad;
+        synchronized (lock) {
+            invalidationsBeforeLoad = invalidations;
+        }
+        final Optional<V> loaded = loader.apply(id);
+        if (loaded.isPresent()) {
+            synchronized (lock) {
+                if (invalidations == invalidationsBeforeLoad) {
+                    cache.put(id, loaded.get());
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Obtains the cached value for the specified ID without loading it.
+     *
+     * @param id the aggregate ID
+     * @return the cached value or {@code Optional.absent()} if the value is not cached
+     */
+    Optional<V> getIfCached(I id) {
+        checkNotNull(id);
+        final V cached = cache.getIfPresent(id);
+        return Optional.fromNullable(cached);
+    }
+
+    /**
+     * Removes the value for the specified ID from the cache.
+     *
+     * @param id the ID of the aggregate, which state is changed
+     */
+    void invalidate(I id) {
+        checkNotNull(id);
+        synchronized (lock) {
+            invalidations++;
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Obtains the number of the currently cached values.
+     *
+     * @return the approximate cache size
+     */
+    long size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import io.spine.core.Subscribe;
+import io.spine.examples.todolist.LabelDetails;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.LabelIdsList;
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskDetails;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.events.DeletedTaskRestored;
+import io.spine.examples.todolist.c.events.LabelAssignedToTask;
+import io.spine.examples.todolist.c.events.LabelDetailsUpdated;
+import io.spine.examples.todolist.c.events.LabelRemovedFromTask;
+import io.spine.examples.todolist.c.events.LabelledTaskRestored;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskDeleted;
+import io.spine.examples.todolist.c.events.TaskDescriptionUpdated;
+import io.spine.examples.todolist.c.events.TaskDraftFinalized;
+import io.spine.examples.todolist.c.events.TaskDueDateUpdated;
+import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.server.event.EventSubscriber;
+
+/**
+ * Invalidates the {@linkplain EnrichmentCache enrichment caches}
+ * of the {@link TodoListEnrichments} when the cached aggregate states change.
+ *
+ * <p>The creation events are not handled, as the enrichment values
+ * of not yet existing aggregates are never cached.
+ */
+@SuppressWarnings("OverlyCoupledClass") // Subscribes to all the events changing the cached values.
+class EnrichmentCacheInvalidator extends EventSubscriber {
+
+    private final EnrichmentCache<TaskId, Task> taskCache;
+    private final EnrichmentCache<TaskId, TaskDetails> taskDetailsCache;
+    private final EnrichmentCache<TaskId, LabelIdsList> labelIdsCache;
+    private final EnrichmentCache<LabelId, LabelDetails> labelDetailsCache;
+
+    EnrichmentCacheInvalidator(EnrichmentCache<TaskId, Task> taskCache,
+                               EnrichmentCache<TaskId, TaskDetails> taskDetailsCache,
+                               EnrichmentCache<TaskId, LabelIdsList> labelIdsCache,
+                               EnrichmentCache<LabelId, LabelDetails> labelDetailsCache) {
+        super();
+        this.taskCache = taskCache;
+        this.taskDetailsCache = taskDetailsCache;
+        this.labelIdsCache = labelIdsCache;
+        this.labelDetailsCache = labelDetailsCache;
+    }
+
+    @Subscribe
+    public void on(TaskDescriptionUpdated event) {
+        invalidateTaskDetails(event.getTaskId());
+    }
+
+    @Subscribe
+    public void on(TaskPriorityUpdated event) {
+        invalidateTaskDetails(event.getTaskId());
+    }
+
+    @Subscribe
+    public void on(TaskDueDateUpdated event) {
+        invalidateTask(event.getTaskId());
+    }
+
+    @Subscribe
+    public void on(TaskCompleted event) {
+        invalidateTask(event.getTaskId());
+    }
+
+    @Subscribe
+    public void on(TaskReopened event) {
+        invalidateTask(event.getTaskId());
+    }
+
+    @Subscribe
+    public void on(TaskDeleted event) {
+        invalidateTask(event.getTaskId());
+    }
+
+    @Subscribe
+    public void on(DeletedTaskRestored event) {
+        invalidateTask(event.getTaskId());
+    }
+
+    @Subscribe
+    public void on(LabelledTaskRestored event) {
+        invalidateTask(event.getTaskId());
+    }
+
+    @Subscribe
+    public void on(TaskDraftFinalized event) {
+        invalidateTask(event.getTaskId());
+    }
+
+    @Subscribe
+    public void on(LabelAssignedToTask event) {
+        labelIdsCache.invalidate(event.getTaskId());
+    }
+
+    @Subscribe
+    public void on(LabelRemovedFromTask event) {
+        labelIdsCache.invalidate(event.getTaskId());
+    }
+
+    @Subscribe
+    public void on(LabelDetailsUpdated event) {
+        labelDetailsCache.invalidate(event.getLabelId());
+    }
+
+    /**
+     * Invalidates the cached {@link Task} state.
+     *
+     * <p>Used for the events, which do not change the {@link TaskDetails}.
+     */
+    private void invalidateTask(TaskId id) {
+        taskCache.invalidate(id);
+    }
+
+    private void invalidateTaskDetails(TaskId id) {
+        taskCache.invalidate(id);
+        taskDetailsCache.invalidate(id);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.util.Map;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The statistics of an enrichment function collected by {@link EnrichmentMetrics}.
+ */
+public final class EnrichmentFunctionStats {
+
+    private final String functionName;
+    private final long callCount;
+    private final long notFoundCount;
+    private final long cacheHitCount;
+    private final long totalNanos;
+    private final ImmutableSortedMap<Long, Long> latencyHistogram;
+
+    EnrichmentFunctionStats(String functionName,
+                            long callCount,
+                            long notFoundCount,
+                            long cacheHitCount,
+                            long totalNanos,
+                            Map<Long, Long> latencyHistogram) {
+        this.functionName = checkNotNull(functionName);
+        this.callCount = callCount;
+        this.notFoundCount = notFoundCount;
+        this.cacheHitCount = cacheHitCount;
+        this.totalNanos = totalNanos;
+        this.latencyHistogram = ImmutableSortedMap.copyOf(latencyHistogram);
+    }
+
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * Obtains the number of the calls, for which the aggregate was not found.
+     */
+    public long getNotFoundCount() {
+        return notFoundCount;
+    }
+
+    /**
+     * Obtains the number of the calls, which were served from the enrichment cache.
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Obtains the average latency of a call.
+     *
+     * @return the average latency in nanoseconds or {@code 0} if there were no calls
+     */
+    public long getAverageNanos() {
+        return callCount == 0
+               ? 0
+               : totalNanos / callCount;
+    }
+
+    /**
+     * Obtains the latency histogram.
+     *
+     * @return the number of calls by the inclusive upper bound of the latency in microseconds,
+     *         the last bucket is bounded by {@link Long#MAX_VALUE}
+     */
+    public ImmutableSortedMap<Long, Long> getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("function", functionName)
+                .add("calls", callCount)
+                .add("notFound", notFoundCount)
+                .add("cacheHits", cacheHitCount)
+                .add("averageNanos", getAverageNanos())
+                .add("histogramMicros", latencyHistogram)
+                .toString();
+    }
+}
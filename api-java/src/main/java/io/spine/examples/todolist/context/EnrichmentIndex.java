@@ -0,0 +1,293 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.base.Optional;
+import io.grpc.stub.StreamObserver;
+import io.spine.core.Event;
+import io.spine.core.EventClass;
+import io.spine.core.EventContext;
+import io.spine.core.EventEnvelope;
+import io.spine.core.Subscribe;
+import io.spine.examples.todolist.LabelDetails;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.LabelIdsList;
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskDetails;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskStatus;
+import io.spine.examples.todolist.c.events.DeletedTaskRestored;
+import io.spine.examples.todolist.c.events.LabelAssignedToTask;
+import io.spine.examples.todolist.c.events.LabelCreated;
+import io.spine.examples.todolist.c.events.LabelDetailsUpdated;
+import io.spine.examples.todolist.c.events.LabelRemovedFromTask;
+import io.spine.examples.todolist.c.events.LabelledTaskRestored;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskCreated;
+import io.spine.examples.todolist.c.events.TaskDeleted;
+import io.spine.examples.todolist.c.events.TaskDescriptionUpdated;
+import io.spine.examples.todolist.c.events.TaskDraftCreated;
+import io.spine.examples.todolist.c.events.TaskDraftFinalized;
+import io.spine.examples.todolist.c.events.TaskDueDateUpdated;
+import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.server.event.EventStore;
+import io.spine.server.event.EventStreamQuery;
+import io.spine.server.event.EventSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.examples.todolist.c.aggregate.LabelAggregate.DEFAULT_LABEL_COLOR;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * An in-memory index of the values used to enrich events.
+ *
+ * <p>The index is updated directly by the task and label events,
+ * so the enrichment functions do not load the aggregates from the storage.
+ *
+ * <p>The index mirrors the state changes performed by the aggregates.
+ * It should be {@linkplain #rebuild(EventStore) rebuilt} from the event store on startup,
+ * before it is registered in the {@code EventBus}.
+ *
+ * <p>The index is updated after an event is enriched. Thus, the enrichments
+ * of an event reflect the state preceding the event. None of the enrichments
+ * read by the projections depends on the change performed by the enriched event.
+ *
+ * <p>The index is keyed by the task and label IDs only, so it serves
+ * a single-tenant bounded context.
+ */
+@SuppressWarnings({"Guava", // Spine API is Java 7-based and uses `Optional` from Google Guava.
+                   "OverlyCoupledClass"}) // Subscribes to all the task and label events.
+class EnrichmentIndex extends EventSubscriber {
+
+    private final ConcurrentMap<TaskId, Task> tasks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TaskId, LabelIdsList> taskLabels = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LabelId, LabelDetails> labels = new ConcurrentHashMap<>();
+
+    /**
+     * Fills the index with the events from the specified event store.
+     *
+     * <p>Each event is applied to the index as soon as it is read,
+     * so the stored events are never held in memory all at once.
+     *
+     * @param eventStore the event store of a single-tenant bounded context
+     */
+    void rebuild(EventStore eventStore) {
+        checkNotNull(eventStore);
+        final EventStreamQuery query = EventStreamQuery.newBuilder()
+                                                       .build();
+        eventStore.read(query, new IndexingObserver(getMessageClasses()));
+    }
+
+    Optional<Task> findTask(TaskId id) {
+        return Optional.fromNullable(tasks.get(id));
+    }
+
+    Optional<TaskDetails> findTaskDetails(TaskId id) {
+        final Task task = tasks.get(id);
+        if (task == null) {
+            return Optional.absent();
+        }
+        final TaskDetails details = TaskDetails.newBuilder()
+                                               .setDescription(task.getDescription())
+                                               .setPriority(task.getPriority())
+                                               .build();
+        return Optional.of(details);
+    }
+
+    Optional<LabelIdsList> findLabelIds(TaskId id) {
+        return Optional.fromNullable(taskLabels.get(id));
+    }
+
+    Optional<LabelDetails> findLabelDetails(LabelId id) {
+        return Optional.fromNullable(labels.get(id));
+    }
+
+    @Subscribe
+    public void on(TaskCreated event, EventContext context) {
+        final TaskDetails details = event.getDetails();
+        final Task task = Task.newBuilder()
+                              .setId(event.getId())
+                              .setCreated(context.getTimestamp())
+                              .setDescription(details.getDescription())
+                              .setPriority(details.getPriority())
+                              .setTaskStatus(TaskStatus.FINALIZED)
+                              .build();
+        tasks.put(event.getId(), task);
+    }
+
+    @Subscribe
+    public void on(TaskDraftCreated event) {
+        final Task task = Task.newBuilder()
+                              .setId(event.getId())
+                              .setCreated(event.getDraftCreationTime())
+                              .setDescription(event.getDetails()
+                                                   .getDescription())
+                              .setTaskStatus(TaskStatus.DRAFT)
+                              .build();
+        tasks.put(event.getId(), task);
+    }
+
+    @Subscribe
+    public void on(TaskDescriptionUpdated event) {
+        final TaskDescription description = TaskDescription.newBuilder()
+                                                           .setValue(event.getDescriptionChange()
+                                                                          .getNewValue())
+                                                           .build();
+        updateTask(event.getTaskId(), task -> task.toBuilder()
+                                                  .setDescription(description)
+                                                  .build());
+    }
+
+    @Subscribe
+    public void on(TaskPriorityUpdated event) {
+        updateTask(event.getTaskId(), task -> task.toBuilder()
+                                                  .setPriority(event.getPriorityChange()
+                                                                    .getNewValue())
+                                                  .build());
+    }
+
+    @Subscribe
+    public void on(TaskDueDateUpdated event) {
+        updateTask(event.getTaskId(), task -> task.toBuilder()
+                                                  .setDueDate(event.getDueDateChange()
+                                                                   .getNewValue())
+                                                  .build());
+    }
+
+    @Subscribe
+    public void on(TaskCompleted event) {
+        updateStatus(event.getTaskId(), TaskStatus.COMPLETED);
+    }
+
+    @Subscribe
+    public void on(TaskReopened event) {
+        updateStatus(event.getTaskId(), TaskStatus.OPEN);
+    }
+
+    @Subscribe
+    public void on(TaskDeleted event) {
+        updateStatus(event.getTaskId(), TaskStatus.DELETED);
+    }
+
+    @Subscribe
+    public void on(DeletedTaskRestored event) {
+        updateStatus(event.getTaskId(), TaskStatus.OPEN);
+    }
+
+    @Subscribe
+    public void on(LabelledTaskRestored event) {
+        updateStatus(event.getTaskId(), TaskStatus.OPEN);
+    }
+
+    @Subscribe
+    public void on(TaskDraftFinalized event) {
+        updateStatus(event.getTaskId(), TaskStatus.FINALIZED);
+    }
+
+    @Subscribe
+    public void on(LabelAssignedToTask event) {
+        final LabelId labelId = event.getLabelId();
+        taskLabels.compute(event.getTaskId(), (id, current) -> {
+            final LabelIdsList.Builder builder = current == null
+                                                 ? LabelIdsList.newBuilder()
+                                                 : current.toBuilder();
+            return builder.addIds(labelId)
+                          .build();
+        });
+    }
+
+    @Subscribe
+    public void on(LabelRemovedFromTask event) {
+        final LabelId labelId = event.getLabelId();
+        taskLabels.computeIfPresent(event.getTaskId(), (id, current) -> {
+            final List<LabelId> ids = new ArrayList<>(current.getIdsList());
+            ids.remove(labelId);
+            return LabelIdsList.newBuilder()
+                               .addAllIds(ids)
+                               .build();
+        });
+    }
+
+    @Subscribe
+    public void on(LabelCreated event) {
+        final LabelDetails details = LabelDetails.newBuilder()
+                                                 .setTitle(event.getDetails()
+                                                                .getTitle())
+                                                 .setColor(DEFAULT_LABEL_COLOR)
+                                                 .build();
+        labels.put(event.getId(), details);
+    }
+
+    @Subscribe
+    public void on(LabelDetailsUpdated event) {
+        labels.put(event.getLabelId(), event.getLabelDetailsChange()
+                                            .getNewDetails());
+    }
+
+    private void updateStatus(TaskId id, TaskStatus status) {
+        updateTask(id, task -> task.toBuilder()
+                                   .setTaskStatus(status)
+                                   .build());
+    }
+
+    private void updateTask(TaskId id, UnaryOperator<Task> update) {
+        tasks.computeIfPresent(id, (taskId, task) -> update.apply(task));
+    }
+
+    /**
+     * Applies the events read from the {@link EventStore} to the index.
+     */
+    private class IndexingObserver implements StreamObserver<Event> {
+
+        private final Set<EventClass> subscribedClasses;
+
+        private IndexingObserver(Set<EventClass> subscribedClasses) {
+            this.subscribedClasses = subscribedClasses;
+        }
+
+        @Override
+        public void onNext(Event value) {
+            final EventEnvelope envelope = EventEnvelope.of(value);
+            if (subscribedClasses.contains(envelope.getMessageClass())) {
+                dispatch(envelope);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw illegalStateWithCauseOf(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Do nothing.
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Collects the call counts, latencies, cache hit counts and "aggregate not found" counts
+ * of the enrichment functions.
+ *
+ * <p>The statistics can be {@linkplain #getStats() obtained} programmatically
+ * or {@linkplain #startLogging(long, TimeUnit) logged} periodically.
+ */
+public final class EnrichmentMetrics {
+
+    /** The inclusive upper bounds of the latency histogram buckets in microseconds. */
+    private static final long[] BUCKET_BOUNDS_MICROS = {10, 100, 1_000, 10_000, 100_000,
+                                                        Long.MAX_VALUE};
+
+    private static final String THREAD_NAME_FORMAT = "enrichment-metrics-%d";
+
+    private final ConcurrentMap<String, FunctionMetrics> functions = new ConcurrentHashMap<>();
+    private ScheduledExecutorService logging;
+
+    /**
+     * Records a call of the enrichment function.
+     *
+     * @param functionName the name of the function
+     * @param nanos        the duration of the call
+     * @param found        whether the aggregate was found
+     * @param cacheHit     whether the value was obtained from the cache
+     */
+    void record(String functionName, long nanos, boolean found, boolean cacheHit) {
+        functions.computeIfAbsent(functionName, name -> new FunctionMetrics())
+                 .record(nanos, found, cacheHit);
+    }
+
+    /**
+     * Obtains the statistics of the called enrichment functions.
+     *
+     * @return the statistics of each function
+     */
+    public List<EnrichmentFunctionStats> getStats() {
+        final ImmutableList.Builder<EnrichmentFunctionStats> result = ImmutableList.builder();
+        for (Map.Entry<String, FunctionMetrics> entry : functions.entrySet()) {
+            result.add(entry.getValue()
+                            .snapshot(entry.getKey()));
+        }
+        return result.build();
+    }
+
+    /**
+     * Starts logging the statistics with the specified period.
+     *
+     * <p>If the statistics are already logged, the previous logging is stopped.
+     *
+     * @param period the period between the log records
+     * @param unit   the time unit of the period
+     */
+    public synchronized void startLogging(long period, TimeUnit unit) {
+        checkArgument(period > 0);
+        checkNotNull(unit);
+        stopLogging();
+        logging = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat(THREAD_NAME_FORMAT)
+                                          .setDaemon(true)
+                                          .build());
+        logging.scheduleAtFixedRate(this::logStats, period, period, unit);
+    }
+
+    /**
+     * Stops logging the statistics.
+     */
+    public synchronized void stopLogging() {
+        if (logging != null) {
+            logging.shutdown();
+            logging = null;
+        }
+    }
+
+    private void logStats() {
+        for (EnrichmentFunctionStats stats : getStats()) {
+            log().info("Enrichment function stats: {}", stats);
+        }
+    }
+
+    /**
+     * The metrics of a single enrichment function.
+     */
+    private static class FunctionMetrics {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder notFound = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length];
+
+        private FunctionMetrics() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos, boolean found, boolean cacheHit) {
+            calls.increment();
+            totalNanos.add(nanos);
+            if (!found) {
+                notFound.increment();
+            }
+            if (cacheHit) {
+                cacheHits.increment();
+            }
+            final long micros = NANOSECONDS.toMicros(nanos);
+            for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+                if (micros <= BUCKET_BOUNDS_MICROS[i]) {
+                    buckets[i].increment();
+                    return;
+                }
+            }
+        }
+
+        private EnrichmentFunctionStats snapshot(String functionName) {
+            final Map<Long, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+                histogram.put(BUCKET_BOUNDS_MICROS[i], buckets[i].sum());
+            }
+            return new EnrichmentFunctionStats(functionName,
+                                               calls.sum(),
+                                               notFound.sum(),
+                                               cacheHits.sum(),
+                                               totalNanos.sum(),
+                                               histogram);
+        }
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(EnrichmentMetrics.class);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.core.EventEnvelope;
+import io.spine.server.event.DispatcherEventDelivery;
+import io.spine.server.event.EventDispatcher;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A pipeline stage delivering the enriched events to the projection repositories.
+ *
+ * <p>An event is enriched by the thread posting it to the {@code EventBus},
+ * since the {@code EventBus} enriches the events before passing them to the deliveries.
+ * The delivery to the projections is queued and performed by a separate thread.
+ * Thus, the enrichment of the next event overlaps with the projection
+ * of the previous one.
+ *
+ * <p>The events are delivered in the order they are enriched, so the order of
+ * the events of each aggregate is preserved. When the queue is full, the posting
+ * thread waits for the free space.
+ *
+ * <p>The subscribers, which are not the repositories, receive the events directly.
+ *
+ * <p>The stage statistics can be obtained programmatically
+ * or {@linkplain #startLogging(long, TimeUnit) logged} periodically.
+ */
+public final class EnrichmentPipeline {
+
+    private static final String THREAD_NAME_FORMAT = "enrichment-pipeline-%d";
+    private static final String LOGGING_THREAD_NAME_FORMAT = "enrichment-pipeline-metrics-%d";
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private ScheduledExecutorService logging;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param queueCapacity the maximum number of the deliveries waiting in the queue
+     */
+    public EnrichmentPipeline(int queueCapacity) {
+        checkArgument(queueCapacity > 0);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, MILLISECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity),
+                                               new ThreadFactoryBuilder()
+                                                       .setNameFormat(THREAD_NAME_FORMAT)
+                                                       .setDaemon(true)
+                                                       .build(),
+                                               EnrichmentPipeline::waitForSpace);
+    }
+
+    /**
+     * Obtains the number of the deliveries waiting in the queue.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue()
+                       .size();
+    }
+
+    /**
+     * Obtains the number of the completed deliveries.
+     */
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    /**
+     * Obtains the average time from the enrichment of an event
+     * to the completion of its delivery.
+     *
+     * @return the average stage latency in nanoseconds or {@code 0} if nothing is delivered
+     */
+    public long getAverageLatencyNanos() {
+        final long count = delivered.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return latencyNanos.sum() / count;
+    }
+
+    /**
+     * Starts logging the statistics with the specified period.
+     *
+     * <p>If the statistics are already logged, the previous logging is stopped.
+     *
+     * @param period the period between the log records
+     * @param unit   the time unit of the period
+     */
+    public synchronized void startLogging(long period, TimeUnit unit) {
+        checkArgument(period > 0);
+        checkNotNull(unit);
+        stopLogging();
+        logging = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat(LOGGING_THREAD_NAME_FORMAT)
+                                          .setDaemon(true)
+                                          .build());
+        logging.scheduleAtFixedRate(this::logStats, period, period, unit);
+    }
+
+    /**
+     * Stops logging the statistics.
+     */
+    public synchronized void stopLogging() {
+        if (logging != null) {
+            logging.shutdown();
+            logging = null;
+        }
+    }
+
+    /**
+     * Completes the queued deliveries and stops the pipeline.
+     *
+     * <p>The periodic logging is stopped and the final statistics are logged.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout
+     * @return {@code true} if all the deliveries are completed, {@code false} otherwise
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        stopLogging();
+        executor.shutdown();
+        final boolean terminated = executor.awaitTermination(timeout, unit);
+        logStats();
+        return terminated;
+    }
+
+    private void logStats() {
+        log().info("Enrichment pipeline stats: queueDepth={}, delivered={}, averageNanos={}",
+                   getQueueDepth(), getDeliveredCount(), getAverageLatencyNanos());
+    }
+
+    DispatcherEventDelivery createDelivery() {
+        return new PipelinedDelivery(this::execute);
+    }
+
+    @VisibleForTesting
+    void execute(Runnable delivery) {
+        final long enriched = System.nanoTime();
+        executor.execute(() -> {
+            try {
+                delivery.run();
+            } finally {
+                latencyNanos.add(System.nanoTime() - enriched);
+                delivered.increment();
+            }
+        });
+    }
+
+    /**
+     * Blocks the posting thread until there is space in the queue.
+     *
+     * <p>Running the delivery in the posting thread instead would break the order of events.
+     */
+    private static void waitForSpace(Runnable delivery, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("The enrichment pipeline is shut down.");
+        }
+        try {
+            executor.getQueue()
+                    .put(delivery);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new RejectedExecutionException(e);
+        }
+    }
+
+    /**
+     * The delivery of the events to the dispatchers using the pipeline executor.
+     */
+    private static class PipelinedDelivery extends DispatcherEventDelivery {
+
+        private PipelinedDelivery(Executor executor) {
+            super(executor);
+        }
+
+        @Override
+        protected boolean shouldPostponeDelivery(EventEnvelope envelope,
+                                                 EventDispatcher<?> dispatcher) {
+            return false;
+        }
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(EnrichmentPipeline.class);
+    }
+}
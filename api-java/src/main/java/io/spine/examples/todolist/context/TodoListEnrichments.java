@@ -22,6 +22,7 @@ package io.spine.examples.todolist.context;
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.protobuf.Message;
 import io.spine.examples.todolist.LabelDetails;
 import io.spine.examples.todolist.LabelId;
 import io.spine.examples.todolist.LabelIdsList;
@@ -37,12 +38,28 @@ import io.spine.examples.todolist.repository.TaskLabelsRepository;
 import io.spine.examples.todolist.repository.TaskRepository;
 import io.spine.server.event.EventBus;
 import io.spine.server.event.EventEnricher;
+import io.spine.server.event.EventSubscriber;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Serves as class which adds enrichment fields to the {@link EventBus}.
  *
+ * <p>The enrichment values can be {@linkplain Builder#setCacheMaximumSize(long) cached}
+ * to avoid loading the aggregates for each enriched event. In this case the
+ * {@linkplain #createCacheInvalidator() cache invalidator} must be registered
+ * in the {@code EventBus}, so {@link BoundedContexts} is the only place enabling the cache.
+ * The cache hits are reported to the {@linkplain #getMetrics() metrics}.
+ *
+ * <p>Alternatively, the values can be obtained from the
+ * {@linkplain Builder#setLookupIndex(EnrichmentIndex) lookup index}
+ * with no aggregate loads at all.
+ *
+ * <p>The values are not prefetched for a batch of events. The aggregates can be loaded
+ * by a single ID only, so a batch would perform the same loads as the cache,
+ * which loads each value once until it is invalidated.
+ *
  * @author Illia Shepilov
  */
 @SuppressWarnings("Guava") // Because com.google.common.base.Function is used
@@ -53,10 +70,25 @@ public class TodoListEnrichments {
     private final TaskLabelsRepository taskLabelsRepo;
     private final LabelAggregateRepository labelRepository;
 
+    /** The lookup index or {@code null} if the aggregates are loaded from the repositories. */
+    private final EnrichmentIndex index;
+
+    private final EnrichmentCache<TaskId, Task> taskCache;
+    private final EnrichmentCache<TaskId, TaskDetails> taskDetailsCache;
+    private final EnrichmentCache<TaskId, LabelIdsList> labelIdsCache;
+    private final EnrichmentCache<LabelId, LabelDetails> labelDetailsCache;
+    private final EnrichmentMetrics metrics;
+
     private TodoListEnrichments(Builder builder) {
         this.taskRepo = builder.taskRepo;
         this.taskLabelsRepo = builder.taskLabelsRepo;
         this.labelRepository = builder.labelRepository;
+        this.index = builder.index;
+        this.taskCache = new EnrichmentCache<>(builder.cacheMaximumSize);
+        this.taskDetailsCache = new EnrichmentCache<>(builder.cacheMaximumSize);
+        this.labelIdsCache = new EnrichmentCache<>(builder.cacheMaximumSize);
+        this.labelDetailsCache = new EnrichmentCache<>(builder.cacheMaximumSize);
+        this.metrics = builder.metrics;
     }
 
     EventEnricher createEnricher() {
@@ -70,17 +102,32 @@ public class TodoListEnrichments {
         return enricher;
     }
 
+    /**
+     * Creates the subscriber, which invalidates the cached enrichment values
+     * when the aggregate states change.
+     *
+     * @return the cache invalidator
+     */
+    EventSubscriber createCacheInvalidator() {
+        return new EnrichmentCacheInvalidator(taskCache, taskDetailsCache,
+                                              labelIdsCache, labelDetailsCache);
+    }
+
+    /**
+     * Obtains the metrics of the enrichment functions.
+     */
+    public EnrichmentMetrics getMetrics() {
+        return metrics;
+    }
+
     private Function<TaskId, Task> taskIdToTask() {
         final Function<TaskId, Task> result = taskId -> {
             if (taskId == null) {
                 return Task.getDefaultInstance();
             }
-            final Optional<TaskPart> aggregate = taskRepo.find(taskId);
-            if (!aggregate.isPresent()) {
-                return Task.getDefaultInstance();
-            }
-            final Task task = aggregate.get().getState();
-            return task;
+            final Optional<Task> task = measure("taskIdToTask", taskCache,
+                                                taskId, this::findTask);
+            return task.or(Task.getDefaultInstance());
         };
         return result;
     }
@@ -90,16 +137,9 @@ public class TodoListEnrichments {
             if (taskId == null) {
                 return TaskDetails.getDefaultInstance();
             }
-            final Optional<TaskPart> aggregate = taskRepo.find(taskId);
-            if (!aggregate.isPresent()) {
-                return TaskDetails.getDefaultInstance();
-            }
-            final Task state = aggregate.get().getState();
-            final TaskDetails details = TaskDetails.newBuilder()
-                                                   .setDescription(state.getDescription())
-                                                   .setPriority(state.getPriority())
-                                                   .build();
-            return details;
+            final Optional<TaskDetails> details = measure("taskIdToTaskDetails", taskDetailsCache,
+                                                          taskId, this::findTaskDetails);
+            return details.or(TaskDetails.getDefaultInstance());
         };
 
         return result;
@@ -110,14 +150,9 @@ public class TodoListEnrichments {
             if (taskId == null) {
                 return LabelIdsList.getDefaultInstance();
             }
-            final Optional<TaskLabelsPart> aggregate = taskLabelsRepo.find(taskId);
-            if (!aggregate.isPresent()) {
-                return LabelIdsList.getDefaultInstance();
-            }
-            final LabelIdsList state = aggregate.get()
-                                                .getState()
-                                                .getLabelIdsList();
-            return state;
+            final Optional<LabelIdsList> labelIds = measure("taskIdToLabelList", labelIdsCache,
+                                                            taskId, this::findLabelIds);
+            return labelIds.or(LabelIdsList.getDefaultInstance());
         };
         return result;
     }
@@ -127,20 +162,91 @@ public class TodoListEnrichments {
             if (labelId == null) {
                 return LabelDetails.getDefaultInstance();
             }
-            final Optional<LabelAggregate> aggregate = labelRepository.find(labelId);
-            if (!aggregate.isPresent()) {
-                return LabelDetails.getDefaultInstance();
-            }
-            final TaskLabel state = aggregate.get().getState();
-            final LabelDetails labelDetails = LabelDetails.newBuilder()
-                                                          .setColor(state.getColor())
-                                                          .setTitle(state.getTitle())
-                                                          .build();
-            return labelDetails;
+            final Optional<LabelDetails> details = measure("labelIdToLabelDetails",
+                                                           labelDetailsCache,
+                                                           labelId, this::findLabelDetails);
+            return details.or(LabelDetails.getDefaultInstance());
         };
         return result;
     }
 
+    /**
+     * Obtains the enrichment value and records the call in the {@linkplain #getMetrics() metrics}.
+     */
+    private <I extends Message, V extends Message>
+    Optional<V> measure(String functionName,
+                        EnrichmentCache<I, V> cache,
+                        I id,
+                        Function<I, Optional<V>> loader) {
+        final long start = System.nanoTime();
+        final Optional<V> cached = cache.getIfCached(id);
+        final Optional<V> result = cached.isPresent()
+                                   ? cached
+                                   : cache.get(id, loader);
+        metrics.record(functionName, System.nanoTime() - start,
+                       result.isPresent(), cached.isPresent());
+        return result;
+    }
+
+    private Optional<Task> findTask(TaskId taskId) {
+        if (index != null) {
+            return index.findTask(taskId);
+        }
+        final Optional<TaskPart> aggregate = taskRepo.find(taskId);
+        if (!aggregate.isPresent()) {
+            return Optional.absent();
+        }
+        final Task task = aggregate.get().getState();
+        return Optional.of(task);
+    }
+
+    private Optional<TaskDetails> findTaskDetails(TaskId taskId) {
+        if (index != null) {
+            return index.findTaskDetails(taskId);
+        }
+        // Shares the loaded task with the `Task` enrichment.
+        final Optional<Task> task = taskCache.get(taskId, this::findTask);
+        if (!task.isPresent()) {
+            return Optional.absent();
+        }
+        final Task state = task.get();
+        final TaskDetails details = TaskDetails.newBuilder()
+                                               .setDescription(state.getDescription())
+                                               .setPriority(state.getPriority())
+                                               .build();
+        return Optional.of(details);
+    }
+
+    private Optional<LabelIdsList> findLabelIds(TaskId taskId) {
+        if (index != null) {
+            return index.findLabelIds(taskId);
+        }
+        final Optional<TaskLabelsPart> aggregate = taskLabelsRepo.find(taskId);
+        if (!aggregate.isPresent()) {
+            return Optional.absent();
+        }
+        final LabelIdsList state = aggregate.get()
+                                            .getState()
+                                            .getLabelIdsList();
+        return Optional.of(state);
+    }
+
+    private Optional<LabelDetails> findLabelDetails(LabelId labelId) {
+        if (index != null) {
+            return index.findLabelDetails(labelId);
+        }
+        final Optional<LabelAggregate> aggregate = labelRepository.find(labelId);
+        if (!aggregate.isPresent()) {
+            return Optional.absent();
+        }
+        final TaskLabel state = aggregate.get().getState();
+        final LabelDetails labelDetails = LabelDetails.newBuilder()
+                                                      .setColor(state.getColor())
+                                                      .setTitle(state.getTitle())
+                                                      .build();
+        return Optional.of(labelDetails);
+    }
+
     /**
      * Creates a new builder for (@code TodoListEnrichments).
      *
@@ -158,6 +264,9 @@ public class TodoListEnrichments {
         private TaskRepository taskRepo;
         private TaskLabelsRepository taskLabelsRepo;
         private LabelAggregateRepository labelRepository;
+        private long cacheMaximumSize;
+        private EnrichmentIndex index;
+        private EnrichmentMetrics metrics = new EnrichmentMetrics();
 
         private Builder() {
         }
@@ -180,6 +289,41 @@ public class TodoListEnrichments {
             return this;
         }
 
+        /**
+         * Sets the maximum number of the cached values per enrichment type.
+         *
+         * <p>Caching is disabled by default. If enabled, the
+         * {@linkplain TodoListEnrichments#createCacheInvalidator() cache invalidator}
+         * must be registered in the {@code EventBus} of the enriched events.
+         *
+         * @param cacheMaximumSize the maximum cache size, {@code 0} disables caching
+         */
+        Builder setCacheMaximumSize(long cacheMaximumSize) {
+            checkArgument(cacheMaximumSize >= 0);
+            this.cacheMaximumSize = cacheMaximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the index to look up the enrichment values instead of loading the aggregates.
+         */
+        Builder setLookupIndex(EnrichmentIndex index) {
+            checkNotNull(index);
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * Sets the metrics to record the calls of the enrichment functions.
+         *
+         * <p>If not set, the metrics are recorded to a new instance.
+         */
+        public Builder setMetrics(EnrichmentMetrics metrics) {
+            checkNotNull(metrics);
+            this.metrics = metrics;
+            return this;
+        }
+
         public TodoListEnrichments build() {
             return new TodoListEnrichments(this);
         }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.dump;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.core.Event;
+import io.spine.server.event.EventStore;
+import io.spine.server.event.EventStreamQuery;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * Exports the events of an {@link EventStore}.
+ *
+ * <p>The events are written as the length-delimited {@link Event} messages
+ * in the order they are read from the store. Such a stream is read
+ * by the {@link EventImporter}.
+ *
+ * <p>Each event is written as soon as it is read, so the exporter
+ * does not keep the events in memory.
+ */
+public final class EventExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private EventExporter() {
+        // Prevent instantiation of this utility class.
+    }
+
+    /**
+     * Writes all the events of the event store to the output stream.
+     *
+     * <p>The stream is flushed, but not closed.
+     *
+     * @param eventStore the event store to export
+     * @param out        the stream to write the events to
+     * @return the number of the written events
+     * @throws IOException if the events cannot be written
+     */
+    public static long export(EventStore eventStore, OutputStream out) throws IOException {
+        checkNotNull(eventStore);
+        checkNotNull(out);
+        final DelimitedWriter writer = new DelimitedWriter(out);
+        final EventStreamQuery query = EventStreamQuery.newBuilder()
+                                                       .build();
+        eventStore.read(query, writer);
+        return writer.finish();
+    }
+
+    /**
+     * Writes the observed events to a stream.
+     */
+    private static class DelimitedWriter implements StreamObserver<Event> {
+
+        private final OutputStream out;
+        private final CountDownLatch completion = new CountDownLatch(1);
+        private long count;
+        private IOException writeError;
+        private Throwable readError;
+
+        private DelimitedWriter(OutputStream out) {
+            this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+        }
+
+        @Override
+        public void onNext(Event event) {
+            if (writeError != null) {
+                return;
+            }
+            try {
+                event.writeDelimitedTo(out);
+                count++;
+            } catch (IOException e) {
+                writeError = e;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            readError = t;
+            completion.countDown();
+        }
+
+        @Override
+        public void onCompleted() {
+            completion.countDown();
+        }
+
+        /**
+         * Waits until all the events are written.
+         *
+         * @return the number of the written events
+         */
+        private long finish() throws IOException {
+            try {
+                completion.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                throw illegalStateWithCauseOf(e);
+            }
+            if (readError != null) {
+                throw illegalStateWithCauseOf(readError);
+            }
+            if (writeError != null) {
+                throw writeError;
+            }
+            out.flush();
+            return count;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.dump;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+import io.spine.Identifier;
+import io.spine.core.Event;
+import io.spine.core.EventClass;
+import io.spine.core.EventEnvelope;
+import io.spine.examples.todolist.storage.RetainingStorageFactory;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStateRecord;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.aggregate.Apply;
+import io.spine.server.event.EventStore;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.Collections.emptyList;
+
+/**
+ * Imports the events exported by the {@link EventExporter} into an empty storage.
+ *
+ * <p>The events are appended to the event store, and the aggregate histories
+ * are written directly to the aggregate storages, without handling the commands again.
+ * The events are routed to the aggregate storages by the classes of the events
+ * the aggregates {@linkplain Apply apply}.
+ *
+ * <p>The events are split into partitions by the ID of the producing aggregate.
+ * The partitions are written in parallel, and the events of each partition
+ * are written in the order they are read, so the history of each aggregate
+ * keeps its order. Only a few batches of each partition are kept in memory.
+ *
+ * <p>The projections are not written by the importer. They are built from
+ * the imported events by the projection repositories catching up with the event store.
+ */
+public final class EventImporter {
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int PENDING_BATCHES = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String THREAD_NAME_FORMAT = "event-import-%d";
+
+    private final EventStore eventStore;
+    private final ImmutableMap<EventClass, AggregateStorage<?>> aggregateStorages;
+    private final int parallelism;
+    private final int batchSize;
+
+    private EventImporter(Builder builder) {
+        this.eventStore = builder.eventStore;
+        this.aggregateStorages = byAppliedEvents(builder.storageFactory.getAggregateStorages());
+        this.parallelism = builder.parallelism;
+        this.batchSize = builder.batchSize;
+    }
+
+    /**
+     * Reads the events from the input stream and writes them to the storages.
+     *
+     * <p>The stream is read to the end, but not closed.
+     *
+     * @param in the stream of the length-delimited events
+     * @return the number of the imported events
+     * @throws IOException if the events cannot be read
+     */
+    public long importFrom(InputStream in) throws IOException {
+        checkNotNull(in);
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                parallelism,
+                new ThreadFactoryBuilder().setNameFormat(THREAD_NAME_FORMAT)
+                                          .setDaemon(true)
+                                          .build());
+        try {
+            final List<Partition> partitions = new ArrayList<>(parallelism);
+            final List<Future<?>> results = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                final Partition partition = new Partition();
+                partitions.add(partition);
+                results.add(executor.submit(partition));
+            }
+            final long count = readEvents(new BufferedInputStream(in, BUFFER_SIZE), partitions);
+            for (Partition partition : partitions) {
+                partition.finish();
+            }
+            for (Future<?> result : results) {
+                await(result);
+            }
+            return count;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long readEvents(InputStream in, List<Partition> partitions) throws IOException {
+        long count = 0;
+        Event event = Event.parseDelimitedFrom(in);
+        while (event != null) {
+            final Any producerId = event.getContext()
+                                        .getProducerId();
+            final int partition = Math.floorMod(producerId.hashCode(), parallelism);
+            partitions.get(partition)
+                      .add(event);
+            count++;
+            event = Event.parseDelimitedFrom(in);
+        }
+        return count;
+    }
+
+    private static void await(Future<?> result) {
+        try {
+            result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw illegalStateWithCauseOf(e);
+        } catch (ExecutionException e) {
+            throw illegalStateWithCauseOf(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked") // The aggregate IDs are the producer IDs of their events.
+    private void write(List<Event> batch) {
+        eventStore.appendAll(batch);
+        final Map<AggregateStorage<Object>, Map<Object, AggregateStateRecord.Builder>> histories =
+                new LinkedHashMap<>();
+        for (Event event : batch) {
+            final EventClass eventClass = EventEnvelope.of(event)
+                                                       .getMessageClass();
+            final AggregateStorage<?> storage = aggregateStorages.get(eventClass);
+            if (storage == null) {
+                continue;
+            }
+            final Object id = Identifier.unpack(event.getContext()
+                                                     .getProducerId());
+            histories.computeIfAbsent((AggregateStorage<Object>) storage,
+                                      s -> new LinkedHashMap<>())
+                     .computeIfAbsent(id, i -> AggregateStateRecord.newBuilder())
+                     .addEvent(event);
+        }
+        for (Map.Entry<AggregateStorage<Object>, Map<Object, AggregateStateRecord.Builder>> entry
+                : histories.entrySet()) {
+            final AggregateStorage<Object> storage = entry.getKey();
+            for (Map.Entry<Object, AggregateStateRecord.Builder> history : entry.getValue()
+                                                                                .entrySet()) {
+                storage.write(history.getKey(), history.getValue()
+                                                       .build());
+            }
+        }
+    }
+
+    private static ImmutableMap<EventClass, AggregateStorage<?>>
+    byAppliedEvents(Map<Class<? extends Aggregate<?, ?, ?>>, AggregateStorage<?>> storages) {
+        final Map<EventClass, AggregateStorage<?>> result = new LinkedHashMap<>();
+        for (Map.Entry<Class<? extends Aggregate<?, ?, ?>>, AggregateStorage<?>> entry
+                : storages.entrySet()) {
+            for (Class<?> cls = entry.getKey(); cls != Aggregate.class; cls = cls.getSuperclass()) {
+                for (Method method : cls.getDeclaredMethods()) {
+                    if (method.isAnnotationPresent(Apply.class)) {
+                        @SuppressWarnings("unchecked") // Ensured by the `@Apply` contract.
+                        final Class<? extends Message> eventClass =
+                                (Class<? extends Message>) method.getParameterTypes()[0];
+                        result.put(EventClass.of(eventClass), entry.getValue());
+                    }
+                }
+            }
+        }
+        return ImmutableMap.copyOf(result);
+    }
+
+    /**
+     * Creates a new instance of the {@code Builder} for the {@code EventImporter} instances.
+     *
+     * @return new instance of the {@code Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * The events of the aggregates with the same partition
+     * and the thread writing them to the storages.
+     */
+    private class Partition implements Runnable {
+
+        private final BlockingQueue<List<Event>> batches =
+                new ArrayBlockingQueue<>(PENDING_BATCHES);
+        private List<Event> batch = new ArrayList<>(batchSize);
+
+        /**
+         * Adds the event to the current batch and passes the full batch to the writing thread.
+         */
+        private void add(Event event) {
+            batch.add(event);
+            if (batch.size() >= batchSize) {
+                put(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        /**
+         * Passes the remaining events to the writing thread and signals the end of the events.
+         */
+        private void finish() {
+            if (!batch.isEmpty()) {
+                put(batch);
+            }
+            put(emptyList());
+        }
+
+        private void put(List<Event> events) {
+            try {
+                batches.put(events);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                throw illegalStateWithCauseOf(e);
+            }
+        }
+
+        /**
+         * Writes the batches until the end of the events.
+         *
+         * <p>If a batch fails to be written, the remaining batches are skipped,
+         * so that the reading thread is not blocked, and the error is rethrown at the end.
+         */
+        @Override
+        public void run() {
+            RuntimeException error = null;
+            try {
+                List<Event> events = batches.take();
+                while (!events.isEmpty()) {
+                    if (error == null) {
+                        try {
+                            write(events);
+                        } catch (RuntimeException e) {
+                            error = e;
+                        }
+                    }
+                    events = batches.take();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                throw illegalStateWithCauseOf(e);
+            }
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * The builder for the {@link EventImporter} instances.
+     */
+    public static class Builder {
+
+        private EventStore eventStore;
+        private RetainingStorageFactory storageFactory;
+        private int parallelism = Runtime.getRuntime()
+                                         .availableProcessors();
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the event store to append the events to.
+         */
+        public Builder setEventStore(EventStore eventStore) {
+            this.eventStore = checkNotNull(eventStore);
+            return this;
+        }
+
+        /**
+         * Sets the factory, which created the storages of the aggregate repositories.
+         */
+        public Builder setStorageFactory(RetainingStorageFactory storageFactory) {
+            this.storageFactory = checkNotNull(storageFactory);
+            return this;
+        }
+
+        /**
+         * Sets the number of the threads writing the events.
+         *
+         * <p>Defaults to the number of the available processors.
+         */
+        public Builder setParallelism(int parallelism) {
+            checkArgument(parallelism > 0);
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the number of the events written at once.
+         *
+         * <p>Defaults to 500.
+         */
+        public Builder setBatchSize(int batchSize) {
+            checkArgument(batchSize > 0);
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public EventImporter build() {
+            checkState(eventStore != null, "The event store is not set.");
+            checkState(storageFactory != null, "The storage factory is not set.");
+            return new EventImporter(this);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Timestamp;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityQuery;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ProjectionStorage}, which notifies a listener
+ * after the projection states are changed in the delegate storage.
+ *
+ * @param <I> the type of the projection IDs
+ */
+@SuppressWarnings("Guava") // Spine API is Java 7-based and uses `Optional` from Google Guava.
+class ChangeTrackingProjectionStorage<I> extends ProjectionStorage<I> {
+
+    private final ProjectionStorage<I> delegate;
+    private final Runnable changeListener;
+
+    ChangeTrackingProjectionStorage(ProjectionStorage<I> delegate, Runnable changeListener) {
+        super(delegate.isMultitenant());
+        this.delegate = checkNotNull(delegate);
+        this.changeListener = checkNotNull(changeListener);
+    }
+
+    @Override
+    public void writeLastHandledEventTime(Timestamp time) {
+        delegate.writeLastHandledEventTime(time);
+    }
+
+    @Override
+    public Timestamp readLastHandledEventTime() {
+        return delegate.readLastHandledEventTime();
+    }
+
+    @Override
+    protected RecordStorage<I> recordStorage() {
+        return delegate;
+    }
+
+    @Override
+    protected Optional<EntityRecord> readRecord(I id) {
+        return delegate.read(id);
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids) {
+        return delegate.readMultiple(ids);
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids, FieldMask fieldMask) {
+        return delegate.readMultiple(ids, fieldMask);
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords() {
+        return delegate.readAll();
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(FieldMask fieldMask) {
+        return delegate.readAll(fieldMask);
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(EntityQuery<I> query, FieldMask fieldMask) {
+        return delegate.readAll(query, fieldMask);
+    }
+
+    @Override
+    protected void writeRecord(I id, EntityRecordWithColumns record) {
+        delegate.write(id, record);
+        changeListener.run();
+    }
+
+    @Override
+    protected void writeRecords(Map<I, EntityRecordWithColumns> records) {
+        delegate.write(records);
+        changeListener.run();
+    }
+
+    @Override
+    public boolean delete(I id) {
+        final boolean deleted = delegate.delete(id);
+        if (deleted) {
+            changeListener.run();
+        }
+        return deleted;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+        super.close();
+    }
+}
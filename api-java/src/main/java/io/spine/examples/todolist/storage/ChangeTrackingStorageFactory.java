@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.StorageFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StorageFactory}, which counts the changes of the projection states.
+ *
+ * <p>The {@linkplain #getProjectionVersion() projection version} is incremented
+ * after each write of the projection states. A value computed from the projection states
+ * stays valid while the version is the same.
+ */
+public final class ChangeTrackingStorageFactory extends DelegatingStorageFactory {
+
+    private final AtomicLong projectionVersion;
+
+    private ChangeTrackingStorageFactory(StorageFactory delegate, AtomicLong projectionVersion) {
+        super(delegate);
+        this.projectionVersion = projectionVersion;
+    }
+
+    /**
+     * Creates a new instance tracking the changes of the projection storages
+     * created by the specified factory.
+     *
+     * @param delegate the factory creating the storages
+     * @return new instance
+     */
+    public static ChangeTrackingStorageFactory newInstance(StorageFactory delegate) {
+        checkNotNull(delegate);
+        return new ChangeTrackingStorageFactory(delegate, new AtomicLong());
+    }
+
+    @Override
+    public <I> ProjectionStorage<I>
+    createProjectionStorage(Class<? extends Projection<I, ?, ?>> projectionClass) {
+        final ProjectionStorage<I> storage = super.createProjectionStorage(projectionClass);
+        return new ChangeTrackingProjectionStorage<>(storage,
+                                                     projectionVersion::incrementAndGet);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The changes made through the storages of the created factory
+     * are counted by this factory as well.
+     */
+    @Override
+    protected StorageFactory copyWithDelegate(StorageFactory delegate) {
+        return new ChangeTrackingStorageFactory(delegate, projectionVersion);
+    }
+
+    /**
+     * Obtains the number of the projection state changes made through the created storages.
+     */
+    public long getProjectionVersion() {
+        return projectionVersion.get();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.collect.Iterators;
+import io.spine.core.Event;
+import io.spine.server.aggregate.AggregateEventRecord;
+import io.spine.server.aggregate.AggregateReadRequest;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.aggregate.Snapshot;
+
+import java.util.Iterator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An {@link AggregateStorage}, which compresses the event messages and the snapshot states
+ * before writing them to the delegate storage.
+ *
+ * @param <I> the type of the aggregate IDs
+ * @see Deflation
+ */
+class CompressingAggregateStorage<I> extends ForwardingAggregateStorage<I> {
+
+    private final Deflation deflation;
+
+    CompressingAggregateStorage(AggregateStorage<I> delegate, Deflation deflation) {
+        super(delegate);
+        this.deflation = checkNotNull(deflation);
+    }
+
+    @Override
+    protected void writeRecord(I id, AggregateEventRecord record) {
+        super.writeRecord(id, compress(record));
+    }
+
+    @Override
+    protected Iterator<AggregateEventRecord> historyBackward(AggregateReadRequest<I> request) {
+        return Iterators.transform(super.historyBackward(request),
+                                   CompressingAggregateStorage::decompress);
+    }
+
+    private AggregateEventRecord compress(AggregateEventRecord record) {
+        final AggregateEventRecord.Builder result = record.toBuilder();
+        if (record.hasEvent()) {
+            final Event event = record.getEvent();
+            result.setEvent(event.toBuilder()
+                                 .setMessage(deflation.compress(event.getMessage())));
+        } else if (record.hasSnapshot()) {
+            final Snapshot snapshot = record.getSnapshot();
+            result.setSnapshot(snapshot.toBuilder()
+                                       .setState(deflation.compress(snapshot.getState())));
+        }
+        return result.build();
+    }
+
+    private static AggregateEventRecord decompress(AggregateEventRecord record) {
+        final AggregateEventRecord.Builder result = record.toBuilder();
+        if (record.hasEvent()) {
+            final Event event = record.getEvent();
+            result.setEvent(event.toBuilder()
+                                 .setMessage(Deflation.decompress(event.getMessage())));
+        } else if (record.hasSnapshot()) {
+            final Snapshot snapshot = record.getSnapshot();
+            result.setSnapshot(snapshot.toBuilder()
+                                       .setState(Deflation.decompress(snapshot.getState())));
+        }
+        return result.build();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.FieldMask;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityQuery;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.storage.RecordStorage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.examples.todolist.storage.EntityRecords.applyMask;
+
+/**
+ * A {@link RecordStorage}, which compresses the entity states
+ * before writing them to the delegate storage.
+ *
+ * <p>The delegate storage cannot apply the field masks to the compressed states,
+ * so the states are read as a whole and masked after decompression.
+ *
+ * <p>The records with the entity column values, such as the {@code EventStore} records,
+ * are written as-is. The public API of {@link EntityRecordWithColumns} does not allow
+ * to combine a new record with the column values of another one.
+ *
+ * @param <I> the type of the entity IDs
+ * @see Deflation
+ */
+@SuppressWarnings("Guava") // Spine API is Java 7-based and uses `Optional` from Google Guava.
+class CompressingRecordStorage<I> extends RecordStorage<I> {
+
+    private final RecordStorage<I> delegate;
+    private final Deflation deflation;
+
+    CompressingRecordStorage(RecordStorage<I> delegate, Deflation deflation) {
+        super(delegate.isMultitenant());
+        this.delegate = checkNotNull(delegate);
+        this.deflation = checkNotNull(deflation);
+    }
+
+    @Override
+    protected Optional<EntityRecord> readRecord(I id) {
+        final Optional<EntityRecord> record = delegate.read(id);
+        return record.isPresent()
+               ? Optional.of(decompress(record.get()))
+               : record;
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids) {
+        return readMultipleRecords(ids, FieldMask.getDefaultInstance());
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids, FieldMask fieldMask) {
+        final List<EntityRecord> result = new ArrayList<>();
+        for (EntityRecord record : delegate.readMultiple(ids)) {
+            result.add(record == null
+                       ? null
+                       : applyMask(decompress(record), fieldMask));
+        }
+        return result;
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords() {
+        return readAllRecords(FieldMask.getDefaultInstance());
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(FieldMask fieldMask) {
+        return decompress(delegate.readAll(), fieldMask);
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(EntityQuery<I> query, FieldMask fieldMask) {
+        return decompress(delegate.readAll(query, FieldMask.getDefaultInstance()), fieldMask);
+    }
+
+    @Override
+    protected void writeRecord(I id, EntityRecordWithColumns record) {
+        delegate.write(id, compress(record));
+    }
+
+    @Override
+    protected void writeRecords(Map<I, EntityRecordWithColumns> records) {
+        final Map<I, EntityRecordWithColumns> compressed =
+                new LinkedHashMap<>(records.size());
+        for (Map.Entry<I, EntityRecordWithColumns> entry : records.entrySet()) {
+            compressed.put(entry.getKey(), compress(entry.getValue()));
+        }
+        delegate.write(compressed);
+    }
+
+    @Override
+    public boolean delete(I id) {
+        return delegate.delete(id);
+    }
+
+    @Override
+    public Iterator<I> index() {
+        return delegate.index();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+        super.close();
+    }
+
+    private EntityRecordWithColumns compress(EntityRecordWithColumns record) {
+        if (record.hasColumns()) {
+            return record;
+        }
+        final EntityRecord original = record.getRecord();
+        final EntityRecord compressed = original.toBuilder()
+                                                .setState(deflation.compress(original.getState()))
+                                                .build();
+        return EntityRecordWithColumns.of(compressed);
+    }
+
+    private static EntityRecord decompress(EntityRecord record) {
+        return record.toBuilder()
+                     .setState(Deflation.decompress(record.getState()))
+                     .build();
+    }
+
+    private static <I> Map<I, EntityRecord> decompress(Map<I, EntityRecord> records,
+                                                      FieldMask fieldMask) {
+        final Map<I, EntityRecord> result = new LinkedHashMap<>(records.size());
+        for (Map.Entry<I, EntityRecord> entry : records.entrySet()) {
+            result.put(entry.getKey(), applyMask(decompress(entry.getValue()), fieldMask));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.Entity;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+
+import java.util.zip.Deflater;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A {@link StorageFactory}, which compresses the stored messages with the {@link Deflater}.
+ *
+ * <p>The entity states, the projection states, the aggregate events and snapshots
+ * are compressed. The messages smaller than the {@linkplain Builder#setThreshold(int) threshold}
+ * are stored as-is, since the compression of the small messages does not pay off.
+ *
+ * <p>The records with the entity column values, such as the events in the event store,
+ * are not compressed. See {@link CompressingRecordStorage} for details.
+ *
+ * <p>The compression is transparent to the repositories. The storages created
+ * by this factory read both the compressed and the uncompressed messages,
+ * so the compression can be switched on for the existing data.
+ *
+ * <p>The stand storage is created by the delegate factory as-is.
+ */
+public final class CompressingStorageFactory extends DelegatingStorageFactory {
+
+    private static final int DEFAULT_THRESHOLD = 256;
+
+    private final Deflation deflation;
+
+    private CompressingStorageFactory(Builder builder) {
+        this(builder.delegate, new Deflation(builder.threshold, builder.level));
+    }
+
+    private CompressingStorageFactory(StorageFactory delegate, Deflation deflation) {
+        super(delegate);
+        this.deflation = deflation;
+    }
+
+    @Override
+    public <I> AggregateStorage<I>
+    createAggregateStorage(Class<? extends Aggregate<I, ?, ?>> aggregateClass) {
+        final AggregateStorage<I> storage = super.createAggregateStorage(aggregateClass);
+        return new CompressingAggregateStorage<>(storage, deflation);
+    }
+
+    @Override
+    public <I> RecordStorage<I> createRecordStorage(Class<? extends Entity<I, ?>> entityClass) {
+        final RecordStorage<I> storage = super.createRecordStorage(entityClass);
+        return new CompressingRecordStorage<>(storage, deflation);
+    }
+
+    @Override
+    public <I> ProjectionStorage<I>
+    createProjectionStorage(Class<? extends Projection<I, ?, ?>> projectionClass) {
+        final ProjectionStorage<I> storage = super.createProjectionStorage(projectionClass);
+        return new CompressingProjectionStorage<>(storage, deflation);
+    }
+
+    @Override
+    protected StorageFactory copyWithDelegate(StorageFactory delegate) {
+        return new CompressingStorageFactory(delegate, deflation);
+    }
+
+    /**
+     * Creates a new instance of the {@code Builder} for the {@code CompressingStorageFactory}
+     * instances.
+     *
+     * @return new instance of the {@code Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * The builder for the {@link CompressingStorageFactory} instances.
+     */
+    public static class Builder {
+
+        private StorageFactory delegate;
+        private int threshold = DEFAULT_THRESHOLD;
+        private int level = Deflater.DEFAULT_COMPRESSION;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the factory creating the storages, to which the compressed messages are written.
+         */
+        public Builder setDelegate(StorageFactory delegate) {
+            this.delegate = checkNotNull(delegate);
+            return this;
+        }
+
+        /**
+         * Sets the size of a serialized message in bytes, below which it is not compressed.
+         *
+         * <p>Defaults to 256 bytes.
+         */
+        public Builder setThreshold(int threshold) {
+            checkArgument(threshold >= 0);
+            this.threshold = threshold;
+            return this;
+        }
+
+        /**
+         * Sets the {@linkplain Deflater#setLevel(int) compression level} from {@code 0} to
+         * {@code 9}, or {@link Deflater#DEFAULT_COMPRESSION}.
+         *
+         * <p>Defaults to {@link Deflater#DEFAULT_COMPRESSION}.
+         */
+        public Builder setLevel(int level) {
+            checkArgument(level == Deflater.DEFAULT_COMPRESSION
+                                  || (level >= Deflater.NO_COMPRESSION
+                                      && level <= Deflater.BEST_COMPRESSION));
+            this.level = level;
+            return this;
+        }
+
+        public CompressingStorageFactory build() {
+            checkState(delegate != null, "The delegate storage factory is not set.");
+            return new CompressingStorageFactory(this);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * Compresses the packed messages with the {@link Deflater}.
+ *
+ * <p>A compressed message is packed into an {@link Any} with the type URL
+ * of the original message prefixed by {@value #TYPE_URL_PREFIX}.
+ * Such a message can be stored as a usual packed message and is only
+ * {@linkplain #decompress(Any) decompressed} by the compressing storages.
+ */
+final class Deflation {
+
+    /** The prefix of the type URLs of the compressed messages. */
+    static final String TYPE_URL_PREFIX = "deflate:";
+
+    private static final int BUFFER_SIZE = 4 * 1024;
+
+    private final int threshold;
+    private final int level;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param threshold the size of the message in bytes, below which it is not compressed
+     * @param level     the {@linkplain Deflater#setLevel(int) compression level}
+     */
+    Deflation(int threshold, int level) {
+        this.threshold = threshold;
+        this.level = level;
+    }
+
+    /**
+     * Compresses the message if it is not smaller than the threshold.
+     *
+     * <p>If the compressed message is not smaller than the original one,
+     * the original message is returned.
+     */
+    Any compress(Any message) {
+        final ByteString value = message.getValue();
+        if (value.size() < threshold) {
+            return message;
+        }
+        final ByteString compressed = deflate(value.toByteArray());
+        if (compressed.size() >= value.size()) {
+            return message;
+        }
+        return Any.newBuilder()
+                  .setTypeUrl(TYPE_URL_PREFIX + message.getTypeUrl())
+                  .setValue(compressed)
+                  .build();
+    }
+
+    /**
+     * Restores the compressed message.
+     *
+     * @return the original message or the passed message if it is not compressed
+     */
+    static Any decompress(Any message) {
+        final String typeUrl = message.getTypeUrl();
+        if (!typeUrl.startsWith(TYPE_URL_PREFIX)) {
+            return message;
+        }
+        return Any.newBuilder()
+                  .setTypeUrl(typeUrl.substring(TYPE_URL_PREFIX.length()))
+                  .setValue(inflate(message.getValue()
+                                           .toByteArray()))
+                  .build();
+    }
+
+    private ByteString deflate(byte[] data) {
+        final Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                final int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return ByteString.copyFrom(out.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static ByteString inflate(byte[] data) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                final int length = inflater.inflate(buffer);
+                if (length == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("The compressed message is truncated.");
+                }
+                out.write(buffer, 0, length);
+            }
+            return ByteString.copyFrom(out.toByteArray());
+        } catch (DataFormatException e) {
+            throw illegalStateWithCauseOf(e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.Entity;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.stand.StandStorage;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StorageFactory}, which delegates the creation of the storages to another factory.
+ *
+ * <p>Descendants override the methods creating the storages they decorate.
+ */
+public abstract class DelegatingStorageFactory implements StorageFactory {
+
+    private final StorageFactory delegate;
+
+    protected DelegatingStorageFactory(StorageFactory delegate) {
+        this.delegate = checkNotNull(delegate);
+    }
+
+    protected StorageFactory getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean isMultitenant() {
+        return delegate.isMultitenant();
+    }
+
+    @Override
+    public StandStorage createStandStorage() {
+        return delegate.createStandStorage();
+    }
+
+    @Override
+    public <I> AggregateStorage<I>
+    createAggregateStorage(Class<? extends Aggregate<I, ?, ?>> aggregateClass) {
+        return delegate.createAggregateStorage(aggregateClass);
+    }
+
+    @Override
+    public <I> RecordStorage<I> createRecordStorage(Class<? extends Entity<I, ?>> entityClass) {
+        return delegate.createRecordStorage(entityClass);
+    }
+
+    @Override
+    public <I> ProjectionStorage<I>
+    createProjectionStorage(Class<? extends Projection<I, ?, ?>> projectionClass) {
+        return delegate.createProjectionStorage(projectionClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Returns this instance for a single-tenant delegate. Otherwise,
+     * {@linkplain #copyWithDelegate(StorageFactory) decorates} the single-tenant
+     * version of the delegate the same way.
+     */
+    @Override
+    public StorageFactory toSingleTenant() {
+        if (!isMultitenant()) {
+            return this;
+        }
+        return copyWithDelegate(delegate.toSingleTenant());
+    }
+
+    /**
+     * Creates a factory decorating the specified delegate the same way as this factory.
+     *
+     * @param delegate the factory to decorate
+     * @return new decorating factory
+     */
+    protected abstract StorageFactory copyWithDelegate(StorageFactory delegate);
+
+    @Override
+    public void close() throws Exception {
+        delegate.close();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Message;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.FieldMasks;
+import io.spine.type.TypeUrl;
+
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+
+/**
+ * Utilities for working with the {@link EntityRecord}s in the custom storages.
+ */
+final class EntityRecords {
+
+    private EntityRecords() {
+        // Prevent instantiation of this utility class.
+    }
+
+    /**
+     * Applies the field mask to the entity state of the record.
+     *
+     * @param record    the record to mask
+     * @param fieldMask the mask to apply, an empty mask leaves the state as-is
+     * @return the record with the masked state
+     */
+    static EntityRecord applyMask(EntityRecord record, FieldMask fieldMask) {
+        if (fieldMask.getPathsList()
+                     .isEmpty()) {
+            return record;
+        }
+        final Message state = unpack(record.getState());
+        final TypeUrl type = TypeUrl.parse(record.getState()
+                                                 .getTypeUrl());
+        final Message maskedState = FieldMasks.applyMask(fieldMask, state, type);
+        return record.toBuilder()
+                     .setState(pack(maskedState))
+                     .build();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Optional;
+import io.spine.server.aggregate.AggregateEventRecord;
+import io.spine.server.aggregate.AggregateReadRequest;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.LifecycleFlags;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * An {@link AggregateStorage}, which forwards all the operations to another storage.
+ *
+ * <p>A descendant of {@code AggregateStorage} from another package cannot call
+ * the protected methods on another storage instance. So the protected methods
+ * of the delegate are called through the method handles, which are obtained once
+ * per class. The handles are bound to the protected API of {@code AggregateStorage},
+ * which is the same for all the storage implementations.
+ *
+ * <p>Descendants override the methods they decorate.
+ *
+ * @param <I> the type of the aggregate IDs
+ */
+@SuppressWarnings("Guava") // Spine API is Java 7-based and uses `Optional` from Google Guava.
+class ForwardingAggregateStorage<I> extends AggregateStorage<I> {
+
+    private static final MethodHandle WRITE_RECORD =
+            protectedMethod("writeRecord", Object.class, AggregateEventRecord.class);
+    private static final MethodHandle HISTORY_BACKWARD =
+            protectedMethod("historyBackward", AggregateReadRequest.class);
+    private static final MethodHandle READ_EVENT_COUNT =
+            protectedMethod("readEventCountAfterLastSnapshot", Object.class);
+    private static final MethodHandle WRITE_EVENT_COUNT =
+            protectedMethod("writeEventCountAfterLastSnapshot", Object.class, int.class);
+
+    private final AggregateStorage<I> delegate;
+
+    protected ForwardingAggregateStorage(AggregateStorage<I> delegate) {
+        super(delegate.isMultitenant());
+        this.delegate = checkNotNull(delegate);
+    }
+
+    @Override
+    protected void writeRecord(I id, AggregateEventRecord record) {
+        try {
+            WRITE_RECORD.invoke(delegate, id, record);
+        } catch (Throwable t) {
+            throw forwardingFailure(t);
+        }
+    }
+
+    @Override
+    protected Iterator<AggregateEventRecord> historyBackward(AggregateReadRequest<I> request) {
+        try {
+            @SuppressWarnings("unchecked") // The delegate returns the records of the history.
+            final Iterator<AggregateEventRecord> result =
+                    (Iterator<AggregateEventRecord>) HISTORY_BACKWARD.invoke(delegate, request);
+            return result;
+        } catch (Throwable t) {
+            throw forwardingFailure(t);
+        }
+    }
+
+    @Override
+    protected int readEventCountAfterLastSnapshot(I id) {
+        try {
+            return (int) READ_EVENT_COUNT.invoke(delegate, id);
+        } catch (Throwable t) {
+            throw forwardingFailure(t);
+        }
+    }
+
+    @Override
+    protected void writeEventCountAfterLastSnapshot(I id, int eventCount) {
+        try {
+            WRITE_EVENT_COUNT.invoke(delegate, id, eventCount);
+        } catch (Throwable t) {
+            throw forwardingFailure(t);
+        }
+    }
+
+    @Override
+    public Optional<LifecycleFlags> readLifecycleFlags(I id) {
+        return delegate.readLifecycleFlags(id);
+    }
+
+    @Override
+    public void writeLifecycleFlags(I id, LifecycleFlags flags) {
+        delegate.writeLifecycleFlags(id, flags);
+    }
+
+    @Override
+    public Iterator<I> index() {
+        return delegate.index();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+        super.close();
+    }
+
+    private static MethodHandle protectedMethod(String name, Class<?>... parameterTypes) {
+        try {
+            final Method method = AggregateStorage.class.getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            return MethodHandles.lookup()
+                                .unreflect(method);
+        } catch (ReflectiveOperationException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Rethrows the unchecked exceptions of the delegate as-is and wraps the checked ones.
+     */
+    private static RuntimeException forwardingFailure(Throwable t) {
+        throwIfUnchecked(t);
+        return illegalStateWithCauseOf(t);
+    }
+}
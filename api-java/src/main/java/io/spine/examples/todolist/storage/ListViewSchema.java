@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Message;
+import io.spine.examples.todolist.q.projection.DraftTasksView;
+import io.spine.examples.todolist.q.projection.DraftTasksViewProjection;
+import io.spine.examples.todolist.q.projection.LabelledTasksView;
+import io.spine.examples.todolist.q.projection.LabelledTasksViewProjection;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.server.projection.Projection;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Describes how the task list is nested in the state of a list projection.
+ *
+ * @param <S> the type of the projection state
+ */
+final class ListViewSchema<S extends Message> {
+
+    private static final ListViewSchema<MyListView> MY_LIST_VIEW = new ListViewSchema<>(
+            MyListView.getDescriptor(), MyListView.MY_LIST_FIELD_NUMBER,
+            MyListView::getMyList,
+            (state, list) -> state.toBuilder()
+                                  .setMyList(list)
+                                  .build());
+
+    private static final ListViewSchema<DraftTasksView> DRAFT_TASKS_VIEW = new ListViewSchema<>(
+            DraftTasksView.getDescriptor(), DraftTasksView.DRAFT_TASKS_FIELD_NUMBER,
+            DraftTasksView::getDraftTasks,
+            (state, list) -> state.toBuilder()
+                                  .setDraftTasks(list)
+                                  .build());
+
+    private static final ListViewSchema<LabelledTasksView> LABELLED_TASKS_VIEW =
+            new ListViewSchema<>(LabelledTasksView.getDescriptor(),
+                                 LabelledTasksView.LABELLED_TASKS_FIELD_NUMBER,
+                                 LabelledTasksView::getLabelledTasks,
+                                 (state, list) -> state.toBuilder()
+                                                       .setLabelledTasks(list)
+                                                       .build());
+
+    private static final ImmutableMap<Class<?>, ListViewSchema<?>> SCHEMAS =
+            ImmutableMap.<Class<?>, ListViewSchema<?>>of(
+                    MyListViewProjection.class, MY_LIST_VIEW,
+                    DraftTasksViewProjection.class, DRAFT_TASKS_VIEW,
+                    LabelledTasksViewProjection.class, LABELLED_TASKS_VIEW);
+
+    private final FieldDescriptor listField;
+    private final Function<S, TaskListView> listGetter;
+    private final BiFunction<S, TaskListView, S> listSetter;
+
+    private ListViewSchema(Descriptor stateType,
+                           int listFieldNumber,
+                           Function<S, TaskListView> listGetter,
+                           BiFunction<S, TaskListView, S> listSetter) {
+        this.listField = stateType.findFieldByNumber(listFieldNumber);
+        this.listGetter = listGetter;
+        this.listSetter = listSetter;
+    }
+
+    /**
+     * Obtains the schema of the specified projection class.
+     *
+     * @return the schema or {@code null} if the projection is not a list projection
+     */
+    static ListViewSchema<?> of(Class<? extends Projection<?, ?, ?>> projectionClass) {
+        return SCHEMAS.get(projectionClass);
+    }
+
+    /**
+     * Obtains the task list of the projection state.
+     */
+    TaskListView getList(Message state) {
+        return listGetter.apply(cast(state));
+    }
+
+    /**
+     * Obtains the copy of the projection state with the specified task list.
+     */
+    Message withList(Message state, TaskListView list) {
+        return listSetter.apply(cast(state), list);
+    }
+
+    /**
+     * Checks if the field mask retains the task list of the projection state.
+     *
+     * <p>An empty mask retains all the fields. The paths are matched by both the short
+     * and the full name of the list field.
+     */
+    boolean includesList(FieldMask fieldMask) {
+        if (fieldMask.getPathsList()
+                     .isEmpty()) {
+            return true;
+        }
+        for (String path : fieldMask.getPathsList()) {
+            if (isListPath(path, listField.getName())
+                    || isListPath(path, listField.getFullName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isListPath(String path, String listFieldName) {
+        return path.equals(listFieldName) || path.startsWith(listFieldName + '.');
+    }
+
+    @SuppressWarnings("unchecked") // The schema is obtained by the projection class.
+    private S cast(Message state) {
+        return (S) state;
+    }
+}
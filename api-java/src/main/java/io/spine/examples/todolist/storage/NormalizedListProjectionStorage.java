@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.Timestamp;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ProjectionStorage} of a list projection, which stores
+ * the task list items in separate rows.
+ *
+ * @param <I> the type of the projection IDs
+ * @see NormalizedListRecordStorage
+ */
+class NormalizedListProjectionStorage<I> extends ProjectionStorage<I> {
+
+    private final NormalizedListRecordStorage<I> recordStorage;
+
+    NormalizedListProjectionStorage(NormalizedListRecordStorage<I> recordStorage) {
+        super(false);
+        this.recordStorage = checkNotNull(recordStorage);
+    }
+
+    @Override
+    public void writeLastHandledEventTime(Timestamp time) {
+        checkNotNull(time);
+        recordStorage.writeLastHandledEventTime(time);
+    }
+
+    @Override
+    public Timestamp readLastHandledEventTime() {
+        return recordStorage.readLastHandledEventTime();
+    }
+
+    @Override
+    protected RecordStorage<I> recordStorage() {
+        return recordStorage;
+    }
+
+    @Override
+    public void close() {
+        recordStorage.close();
+        super.close();
+    }
+}
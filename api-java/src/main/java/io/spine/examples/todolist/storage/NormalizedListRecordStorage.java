@@ -0,0 +1,625 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.protobuf.Any;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import io.spine.Identifier;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityQuery;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.storage.RecordStorage;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.examples.todolist.storage.EntityRecords.applyMask;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.lang.String.format;
+
+/**
+ * A {@link RecordStorage} of the list projections, which stores each {@link TaskItem}
+ * of the list in a separate table row.
+ *
+ * <p>The state of the projection without the task list is stored in the views table.
+ * The items are stored in the items table keyed by the view ID and the item key.
+ * The item key is the task ID followed by the number of the occurrence of the task
+ * in the list, so a list may contain the same task more than once.
+ *
+ * <p>The position of an item is kept in a separate order column. The orders are
+ * assigned with {@linkplain #ORDER_GAP gaps}, so a new item is placed between
+ * its neighbours without changing their orders. On write, the keys, the orders and
+ * the hashes of the stored items are compared with the written list. Only the new items
+ * are inserted, the changed or moved items are updated and the missing items are deleted.
+ * So removing a task deletes one row, and adding or changing a task writes one row.
+ * The orders of all the items are reassigned only if there is no gap left for a new item.
+ *
+ * <p>The view and its items are written and deleted in one transaction.
+ * The view row is updated before the stored items are read, so the concurrent writes
+ * of the same view, including the writes of other processes, are serialized by the lock
+ * of the view row.
+ *
+ * <p>The list is assembled from the item rows on read. The items are not read
+ * if the field mask of the read excludes the task list.
+ * The queries are filtered by the view IDs only.
+ *
+ * @param <I> the type of the projection IDs
+ */
+@SuppressWarnings("Guava") // Spine API is Java 7-based and uses `Optional` from Google Guava.
+class NormalizedListRecordStorage<I> extends RecordStorage<I> {
+
+    private static final HashFunction ITEM_HASH = Hashing.murmur3_128();
+
+    /** The distance between the orders of the adjacent items on renumbering. */
+    private static final long ORDER_GAP = 1L << 16;
+
+    private static final char OCCURRENCE_SEPARATOR = '#';
+
+    private static final String CREATE_VIEWS =
+            "CREATE TABLE IF NOT EXISTS %s (id VARCHAR(255) NOT NULL PRIMARY KEY, " +
+                    "packed_id BLOB NOT NULL, record BLOB NOT NULL)";
+    private static final String CREATE_ITEMS =
+            "CREATE TABLE IF NOT EXISTS %s (view_id VARCHAR(255) NOT NULL, " +
+                    "item_key VARCHAR(255) NOT NULL, item_order BIGINT NOT NULL, " +
+                    "item_hash BIGINT NOT NULL, item BLOB NOT NULL, " +
+                    "PRIMARY KEY (view_id, item_key))";
+    private static final String CREATE_EVENT_TIME =
+            "CREATE TABLE IF NOT EXISTS %s (id INT NOT NULL PRIMARY KEY, " +
+                    "seconds BIGINT NOT NULL, nanos INT NOT NULL)";
+
+    private static final String SELECT_VIEW = "SELECT record FROM %s WHERE id = ?";
+    private static final String SELECT_ALL_VIEWS = "SELECT id, packed_id, record FROM %s";
+    private static final String SELECT_VIEW_IDS = "SELECT packed_id FROM %s";
+    private static final String INSERT_VIEW =
+            "INSERT INTO %s (id, packed_id, record) VALUES (?, ?, ?)";
+    private static final String UPDATE_VIEW = "UPDATE %s SET record = ? WHERE id = ?";
+    private static final String DELETE_VIEW = "DELETE FROM %s WHERE id = ?";
+
+    private static final String SELECT_ITEMS =
+            "SELECT item FROM %s WHERE view_id = ? ORDER BY item_order";
+    private static final String SELECT_ALL_ITEMS =
+            "SELECT view_id, item FROM %s ORDER BY view_id, item_order";
+    private static final String SELECT_STORED_ITEMS =
+            "SELECT item_key, item_order, item_hash FROM %s WHERE view_id = ?";
+    private static final String INSERT_ITEM =
+            "INSERT INTO %s (view_id, item_key, item_order, item_hash, item) " +
+                    "VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_ITEM =
+            "UPDATE %s SET item_order = ?, item_hash = ?, item = ? " +
+                    "WHERE view_id = ? AND item_key = ?";
+    private static final String DELETE_ITEM = "DELETE FROM %s WHERE view_id = ? AND item_key = ?";
+    private static final String DELETE_ITEMS = "DELETE FROM %s WHERE view_id = ?";
+
+    private static final String SELECT_EVENT_TIME = "SELECT seconds, nanos FROM %s WHERE id = 0";
+    private static final String INSERT_EVENT_TIME =
+            "INSERT INTO %s (id, seconds, nanos) VALUES (0, ?, ?)";
+    private static final String UPDATE_EVENT_TIME =
+            "UPDATE %s SET seconds = ?, nanos = ? WHERE id = 0";
+
+    private final DataSource dataSource;
+    private final ListViewSchema<?> schema;
+    private final String viewTable;
+    private final String itemTable;
+    private final String eventTimeTable;
+
+    NormalizedListRecordStorage(DataSource dataSource, ListViewSchema<?> schema,
+                                String tablePrefix) {
+        super(false);
+        this.dataSource = checkNotNull(dataSource);
+        this.schema = checkNotNull(schema);
+        this.viewTable = tablePrefix + "_views";
+        this.itemTable = tablePrefix + "_items";
+        this.eventTimeTable = tablePrefix + "_event_time";
+        createTables();
+    }
+
+    private void createTables() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(format(CREATE_VIEWS, viewTable));
+            statement.execute(format(CREATE_ITEMS, itemTable));
+            statement.execute(format(CREATE_EVENT_TIME, eventTimeTable));
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    @Override
+    protected Optional<EntityRecord> readRecord(I id) {
+        return readRecord(id, FieldMask.getDefaultInstance());
+    }
+
+    private Optional<EntityRecord> readRecord(I id, FieldMask fieldMask) {
+        final String viewId = Identifier.toString(id);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement selectView = connection.prepareStatement(
+                     format(SELECT_VIEW, viewTable))) {
+            selectView.setString(1, viewId);
+            final EntityRecord header;
+            try (ResultSet resultSet = selectView.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.absent();
+                }
+                header = EntityRecord.parseFrom(resultSet.getBytes(1));
+            }
+            if (!schema.includesList(fieldMask)) {
+                return Optional.of(applyMask(header, fieldMask));
+            }
+            try (PreparedStatement selectItems = connection.prepareStatement(
+                    format(SELECT_ITEMS, itemTable))) {
+                selectItems.setString(1, viewId);
+                final EntityRecord record = assemble(header, readList(selectItems));
+                return Optional.of(applyMask(record, fieldMask));
+            }
+        } catch (SQLException | InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids) {
+        return readMultipleRecords(ids, FieldMask.getDefaultInstance());
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids, FieldMask fieldMask) {
+        final List<EntityRecord> result = new ArrayList<>();
+        for (I id : ids) {
+            final Optional<EntityRecord> record = readRecord(id, fieldMask);
+            result.add(record.orNull());
+        }
+        return result;
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords() {
+        return readAllRecords(FieldMask.getDefaultInstance());
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(FieldMask fieldMask) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            final Map<String, TaskListView.Builder> lists = new HashMap<>();
+            if (schema.includesList(fieldMask)) {
+                try (ResultSet items = statement.executeQuery(format(SELECT_ALL_ITEMS,
+                                                                     itemTable))) {
+                    while (items.next()) {
+                        lists.computeIfAbsent(items.getString(1),
+                                              viewId -> TaskListView.newBuilder())
+                             .addItems(TaskItem.parseFrom(items.getBytes(2)));
+                    }
+                }
+            }
+            final Map<I, EntityRecord> result = new LinkedHashMap<>();
+            try (ResultSet views = statement.executeQuery(format(SELECT_ALL_VIEWS, viewTable))) {
+                while (views.next()) {
+                    final TaskListView.Builder list = lists.get(views.getString(1));
+                    final I id = Identifier.unpack(Any.parseFrom(views.getBytes(2)));
+                    final EntityRecord header = EntityRecord.parseFrom(views.getBytes(3));
+                    final EntityRecord record = list == null
+                                                ? header
+                                                : assemble(header, list.build());
+                    result.put(id, applyMask(record, fieldMask));
+                }
+            }
+            return result;
+        } catch (SQLException | InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(EntityQuery<I> query, FieldMask fieldMask) {
+        final Set<I> ids = query.getIds();
+        if (ids.isEmpty()) {
+            return readAllRecords(fieldMask);
+        }
+        final Map<I, EntityRecord> result = new LinkedHashMap<>();
+        for (I id : ids) {
+            final Optional<EntityRecord> record = readRecord(id, fieldMask);
+            if (record.isPresent()) {
+                result.put(id, record.get());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected void writeRecord(I id, EntityRecordWithColumns record) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                write(connection, id, record.getRecord());
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    @Override
+    protected void writeRecords(Map<I, EntityRecordWithColumns> records) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                for (Map.Entry<I, EntityRecordWithColumns> entry : records.entrySet()) {
+                    write(connection, entry.getKey(), entry.getValue()
+                                                           .getRecord());
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    @Override
+    public boolean delete(I id) {
+        final String viewId = Identifier.toString(id);
+        final boolean deleted;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement deleteItems = connection.prepareStatement(
+                    format(DELETE_ITEMS, itemTable));
+                 PreparedStatement deleteView = connection.prepareStatement(
+                         format(DELETE_VIEW, viewTable))) {
+                deleteItems.setString(1, viewId);
+                deleteItems.executeUpdate();
+                deleteView.setString(1, viewId);
+                deleted = deleteView.executeUpdate() > 0;
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return deleted;
+    }
+
+    @Override
+    public Iterator<I> index() {
+        final ImmutableList.Builder<I> ids = ImmutableList.builder();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(format(SELECT_VIEW_IDS, viewTable))) {
+            while (resultSet.next()) {
+                final I id = Identifier.unpack(Any.parseFrom(resultSet.getBytes(1)));
+                ids.add(id);
+            }
+        } catch (SQLException | InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return Iterators.unmodifiableIterator(ids.build()
+                                                 .iterator());
+    }
+
+    /**
+     * Writes the time of the last event handled by the projections.
+     */
+    void writeLastHandledEventTime(Timestamp time) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement update = connection.prepareStatement(
+                     format(UPDATE_EVENT_TIME, eventTimeTable))) {
+            update.setLong(1, time.getSeconds());
+            update.setInt(2, time.getNanos());
+            if (update.executeUpdate() == 0) {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        format(INSERT_EVENT_TIME, eventTimeTable))) {
+                    insert.setLong(1, time.getSeconds());
+                    insert.setInt(2, time.getNanos());
+                    insert.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Reads the time of the last event handled by the projections.
+     *
+     * @return the time or {@code null} if no events were handled
+     */
+    Timestamp readLastHandledEventTime() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(format(SELECT_EVENT_TIME,
+                                                                 eventTimeTable))) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            return Timestamp.newBuilder()
+                            .setSeconds(resultSet.getLong(1))
+                            .setNanos(resultSet.getInt(2))
+                            .build();
+        } catch (SQLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private void write(Connection connection, I id, EntityRecord record) throws SQLException {
+        final String viewId = Identifier.toString(id);
+        final Message state = unpack(record.getState());
+        final EntityRecord header = record.toBuilder()
+                                          .setState(pack(schema.withList(
+                                                  state, TaskListView.getDefaultInstance())))
+                                          .build();
+        writeHeader(connection, id, viewId, header);
+        writeItems(connection, viewId, schema.getList(state)
+                                             .getItemsList());
+    }
+
+    private void writeHeader(Connection connection, I id, String viewId, EntityRecord header)
+            throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                format(UPDATE_VIEW, viewTable))) {
+            update.setBytes(1, header.toByteArray());
+            update.setString(2, viewId);
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                format(INSERT_VIEW, viewTable))) {
+            insert.setString(1, viewId);
+            insert.setBytes(2, Identifier.pack(id)
+                                         .toByteArray());
+            insert.setBytes(3, header.toByteArray());
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Inserts the new items, updates the changed or moved items and deletes
+     * the items missing in the list.
+     */
+    private void writeItems(Connection connection, String viewId, List<TaskItem> items)
+            throws SQLException {
+        final Map<String, StoredItem> stored = readStoredItems(connection, viewId);
+        final List<String> keys = itemKeys(items);
+        final long[] orders = itemOrders(keys, stored);
+        try (PreparedStatement insert = connection.prepareStatement(
+                format(INSERT_ITEM, itemTable));
+             PreparedStatement update = connection.prepareStatement(
+                     format(UPDATE_ITEM, itemTable));
+             PreparedStatement delete = connection.prepareStatement(
+                     format(DELETE_ITEM, itemTable))) {
+            for (int i = 0; i < items.size(); i++) {
+                final String key = keys.get(i);
+                final byte[] bytes = items.get(i)
+                                          .toByteArray();
+                final long hash = ITEM_HASH.hashBytes(bytes)
+                                           .asLong();
+                final StoredItem storedItem = stored.remove(key);
+                if (storedItem == null) {
+                    insert.setString(1, viewId);
+                    insert.setString(2, key);
+                    insert.setLong(3, orders[i]);
+                    insert.setLong(4, hash);
+                    insert.setBytes(5, bytes);
+                    insert.addBatch();
+                } else if (storedItem.order != orders[i] || storedItem.hash != hash) {
+                    update.setLong(1, orders[i]);
+                    update.setLong(2, hash);
+                    update.setBytes(3, bytes);
+                    update.setString(4, viewId);
+                    update.setString(5, key);
+                    update.addBatch();
+                }
+            }
+            for (String missingKey : stored.keySet()) {
+                delete.setString(1, viewId);
+                delete.setString(2, missingKey);
+                delete.addBatch();
+            }
+            delete.executeBatch();
+            update.executeBatch();
+            insert.executeBatch();
+        }
+    }
+
+    private Map<String, StoredItem> readStoredItems(Connection connection, String viewId)
+            throws SQLException {
+        final Map<String, StoredItem> result = new HashMap<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                format(SELECT_STORED_ITEMS, itemTable))) {
+            select.setString(1, viewId);
+            try (ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next()) {
+                    result.put(resultSet.getString(1),
+                               new StoredItem(resultSet.getLong(2), resultSet.getLong(3)));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Obtains the keys of the items: the task ID and the number of its occurrence in the list.
+     */
+    private static List<String> itemKeys(List<TaskItem> items) {
+        final Map<String, Integer> occurrences = new HashMap<>();
+        final List<String> result = new ArrayList<>(items.size());
+        for (TaskItem item : items) {
+            final String taskId = item.getId()
+                                      .getValue();
+            final int occurrence = occurrences.merge(taskId, 1, Integer::sum);
+            result.add(taskId + OCCURRENCE_SEPARATOR + occurrence);
+        }
+        return result;
+    }
+
+    /**
+     * Assigns the increasing orders to the items.
+     *
+     * <p>The longest sequence of the stored items, which orders are already increasing,
+     * keeps the stored orders. The other items get the orders evenly distributed between
+     * the orders of their kept neighbours. If there is not enough room between
+     * the neighbours, all the items are renumbered.
+     */
+    @VisibleForTesting
+    static long[] itemOrders(List<String> keys, Map<String, StoredItem> stored) {
+        final long[] storedOrders = new long[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            final StoredItem item = stored.get(keys.get(i));
+            storedOrders[i] = item == null ? -1 : item.order;
+        }
+        final boolean[] kept = longestIncreasing(storedOrders);
+        final long[] result = new long[keys.size()];
+        int runStart = 0;
+        long lower = 0;
+        for (int i = 0; i <= keys.size(); i++) {
+            if (i < keys.size() && !kept[i]) {
+                continue;
+            }
+            final long upper = i < keys.size() ? storedOrders[i] : Long.MAX_VALUE;
+            final int runLength = i - runStart;
+            if (runLength > 0) {
+                final long step = upper == Long.MAX_VALUE
+                                  ? ORDER_GAP
+                                  : (upper - lower) / (runLength + 1);
+                if (step == 0) {
+                    return renumbered(keys.size());
+                }
+                for (int j = 0; j < runLength; j++) {
+                    result[runStart + j] = lower + step * (j + 1);
+                }
+            }
+            if (i < keys.size()) {
+                result[i] = upper;
+                lower = upper;
+            }
+            runStart = i + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Marks the elements of the longest strictly increasing subsequence
+     * of the non-negative values.
+     */
+    private static boolean[] longestIncreasing(long[] values) {
+        final int[] tails = new int[values.length];
+        final int[] previous = new int[values.length];
+        int length = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (values[tails[middle]] < values[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        final boolean[] result = new boolean[values.length];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            result[i] = true;
+        }
+        return result;
+    }
+
+    private static long[] renumbered(int count) {
+        final long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = ORDER_GAP * (i + 1);
+        }
+        return result;
+    }
+
+    private EntityRecord assemble(EntityRecord header, TaskListView list) {
+        final Message state = schema.withList(unpack(header.getState()), list);
+        return header.toBuilder()
+                     .setState(pack(state))
+                     .build();
+    }
+
+    private static TaskListView readList(PreparedStatement select) throws SQLException {
+        final TaskListView.Builder result = TaskListView.newBuilder();
+        try (ResultSet resultSet = select.executeQuery()) {
+            while (resultSet.next()) {
+                result.addItems(TaskItem.parseFrom(resultSet.getBytes(1)));
+            }
+        } catch (InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return result.build();
+    }
+
+    /**
+     * The order and the hash of a stored item.
+     */
+    @VisibleForTesting
+    static final class StoredItem {
+
+        private final long order;
+        private final long hash;
+
+        StoredItem(long order, long hash) {
+            this.order = order;
+            this.hash = hash;
+        }
+    }
+}
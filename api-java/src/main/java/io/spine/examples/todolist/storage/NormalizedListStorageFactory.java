@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.CaseFormat;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.StorageFactory;
+
+import javax.sql.DataSource;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StorageFactory}, which stores the task list projections in the normalized form:
+ * one table row per {@linkplain io.spine.examples.todolist.q.projection.TaskItem task item}.
+ *
+ * <p>The {@code MyListView}, {@code DraftTasksView} and {@code LabelledTasksView} projections
+ * are stored in the database of the specified {@link DataSource}.
+ * Updating a task in a list touches the row of the task only. The queries, which do not
+ * request the task list, do not read the task rows.
+ *
+ * <p>The other storages are created by the delegate factory as-is.
+ */
+public final class NormalizedListStorageFactory extends DelegatingStorageFactory {
+
+    private final DataSource dataSource;
+
+    private NormalizedListStorageFactory(StorageFactory delegate, DataSource dataSource) {
+        super(delegate);
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Creates a new instance storing the list projections in the specified database.
+     *
+     * @param delegate   the single-tenant factory creating the other storages
+     * @param dataSource the data source of the database to store the list projections in
+     * @return new instance
+     */
+    public static NormalizedListStorageFactory newInstance(StorageFactory delegate,
+                                                           DataSource dataSource) {
+        checkNotNull(delegate);
+        checkNotNull(dataSource);
+        checkArgument(!delegate.isMultitenant(),
+                      "The normalized list storages support a single tenant only.");
+        return new NormalizedListStorageFactory(delegate, dataSource);
+    }
+
+    @Override
+    public <I> ProjectionStorage<I>
+    createProjectionStorage(Class<? extends Projection<I, ?, ?>> projectionClass) {
+        final ListViewSchema<?> schema = ListViewSchema.of(projectionClass);
+        if (schema == null) {
+            return super.createProjectionStorage(projectionClass);
+        }
+        final String tablePrefix = CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE,
+                                                             projectionClass.getSimpleName());
+        return new NormalizedListProjectionStorage<>(
+                new NormalizedListRecordStorage<I>(dataSource, schema, tablePrefix));
+    }
+
+    @Override
+    protected StorageFactory copyWithDelegate(StorageFactory delegate) {
+        return newInstance(delegate, dataSource);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.Timestamp;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ProjectionStorage}, which keeps the serialized projection states off-heap.
+ *
+ * @param <I> the type of the projection IDs
+ * @see OffHeapRecordStorage
+ */
+class OffHeapProjectionStorage<I> extends ProjectionStorage<I> {
+
+    private final OffHeapRecordStorage<I> recordStorage = new OffHeapRecordStorage<>();
+
+    /** The time of the last handled event or {@code null} if no events were handled. */
+    private volatile Timestamp lastHandledEventTime;
+
+    OffHeapProjectionStorage() {
+        super(false);
+    }
+
+    /**
+     * Obtains the size of the off-heap memory allocated for the projection states in bytes.
+     */
+    long getOffHeapBytes() {
+        return recordStorage.getOffHeapBytes();
+    }
+
+    @Override
+    public void writeLastHandledEventTime(Timestamp time) {
+        lastHandledEventTime = checkNotNull(time);
+    }
+
+    @Override
+    public Timestamp readLastHandledEventTime() {
+        return lastHandledEventTime;
+    }
+
+    @Override
+    protected RecordStorage<I> recordStorage() {
+        return recordStorage;
+    }
+
+    @Override
+    public void close() {
+        recordStorage.close();
+        super.close();
+    }
+}
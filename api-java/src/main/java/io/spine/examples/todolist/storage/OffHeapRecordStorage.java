@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+import com.google.protobuf.FieldMask;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityQuery;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.storage.RecordStorage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.spine.examples.todolist.storage.EntityRecords.applyMask;
+
+/**
+ * A {@link RecordStorage}, which keeps the serialized entity records off-heap.
+ *
+ * <p>Each record is stored in a {@linkplain OffHeapSlot direct buffer} and parsed on read.
+ * As other {@code RecordStorage} implementations, the storage returns {@code null}
+ * for each missing record in the result of the {@link #readMultiple(Iterable) readMultiple}.
+ * The maps returned by the bulk reads parse the records lazily, when the values are accessed.
+ *
+ * <p>The queries are filtered by the entity IDs only. The entity column filters
+ * are not applied, so the storage is intended for the entities without columns,
+ * such as the projections of this application.
+ *
+ * @param <I> the type of the entity IDs
+ */
+@SuppressWarnings("Guava") // Spine API is Java 7-based and uses `Optional` from Google Guava.
+class OffHeapRecordStorage<I> extends RecordStorage<I> {
+
+    private final ConcurrentMap<I, OffHeapSlot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong offHeapBytes = new AtomicLong();
+
+    OffHeapRecordStorage() {
+        super(false);
+    }
+
+    /**
+     * Obtains the size of the off-heap memory allocated for the records in bytes.
+     */
+    long getOffHeapBytes() {
+        return offHeapBytes.get();
+    }
+
+    @Override
+    protected Optional<EntityRecord> readRecord(I id) {
+        final OffHeapSlot slot = slots.get(id);
+        if (slot == null) {
+            return Optional.absent();
+        }
+        return Optional.of(slot.read());
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids) {
+        return readMultipleRecords(ids, FieldMask.getDefaultInstance());
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids, FieldMask fieldMask) {
+        final List<EntityRecord> result = new ArrayList<>();
+        for (I id : ids) {
+            final OffHeapSlot slot = slots.get(id);
+            final EntityRecord record = slot == null
+                                        ? null
+                                        : applyMask(slot.read(), fieldMask);
+            result.add(record);
+        }
+        return result;
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords() {
+        return readAllRecords(FieldMask.getDefaultInstance());
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(FieldMask fieldMask) {
+        return lazilyParsed(ImmutableMap.copyOf(slots), fieldMask);
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(EntityQuery<I> query, FieldMask fieldMask) {
+        final Set<I> ids = query.getIds();
+        if (ids.isEmpty()) {
+            return readAllRecords(fieldMask);
+        }
+        final ImmutableMap.Builder<I, OffHeapSlot> matching = ImmutableMap.builder();
+        for (I id : ids) {
+            final OffHeapSlot slot = slots.get(id);
+            if (slot != null) {
+                matching.put(id, slot);
+            }
+        }
+        return lazilyParsed(matching.build(), fieldMask);
+    }
+
+    @Override
+    protected void writeRecord(I id, EntityRecordWithColumns record) {
+        final EntityRecord entityRecord = record.getRecord();
+        final OffHeapSlot existing = slots.get(id);
+        if (existing != null) {
+            offHeapBytes.addAndGet(existing.write(entityRecord));
+            return;
+        }
+        final OffHeapSlot created = new OffHeapSlot(entityRecord);
+        final OffHeapSlot concurrent = slots.putIfAbsent(id, created);
+        if (concurrent == null) {
+            offHeapBytes.addAndGet(created.capacity());
+        } else {
+            offHeapBytes.addAndGet(concurrent.write(entityRecord));
+        }
+    }
+
+    @Override
+    protected void writeRecords(Map<I, EntityRecordWithColumns> records) {
+        for (Map.Entry<I, EntityRecordWithColumns> entry : records.entrySet()) {
+            writeRecord(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public boolean delete(I id) {
+        final OffHeapSlot removed = slots.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        offHeapBytes.addAndGet(-removed.capacity());
+        return true;
+    }
+
+    @Override
+    public Iterator<I> index() {
+        return Iterators.unmodifiableIterator(slots.keySet()
+                                                   .iterator());
+    }
+
+    private Map<I, EntityRecord> lazilyParsed(Map<I, OffHeapSlot> matching,
+                                              FieldMask fieldMask) {
+        return Maps.transformValues(matching, slot -> applyMask(slot.read(), fieldMask));
+    }
+}
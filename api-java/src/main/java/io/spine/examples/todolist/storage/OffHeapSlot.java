@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.spine.server.entity.EntityRecord;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * A serialized {@link EntityRecord} stored in a direct {@link ByteBuffer}.
+ *
+ * <p>The record is serialized directly into the buffer and parsed directly from it,
+ * so no intermediate byte array is allocated on the heap.
+ *
+ * <p>The buffer is reused while the updated record fits it. Otherwise, a larger buffer
+ * is allocated, leaving the room for the further growth of the record.
+ */
+final class OffHeapSlot {
+
+    /** The percentage of the record size reserved for the growth of the record. */
+    private static final int HEADROOM_PERCENT = 25;
+
+    private ByteBuffer buffer;
+    private int length;
+
+    /**
+     * Creates a new slot holding the specified record.
+     */
+    OffHeapSlot(EntityRecord record) {
+        write(record);
+    }
+
+    /**
+     * Replaces the stored record.
+     *
+     * @return the change of the allocated off-heap memory in bytes
+     */
+    synchronized long write(EntityRecord record) {
+        final int size = record.getSerializedSize();
+        final int previousCapacity = buffer == null ? 0 : buffer.capacity();
+        if (buffer == null || size > previousCapacity) {
+            final int capacity = size + size * HEADROOM_PERCENT / 100;
+            buffer = ByteBuffer.allocateDirect(capacity);
+        }
+        buffer.clear();
+        try {
+            final CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+            record.writeTo(output);
+            output.flush();
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        length = size;
+        return buffer.capacity() - previousCapacity;
+    }
+
+    /**
+     * Parses the stored record.
+     */
+    synchronized EntityRecord read() {
+        final ByteBuffer source = buffer.duplicate();
+        source.clear();
+        source.limit(length);
+        try {
+            return EntityRecord.parseFrom(source);
+        } catch (InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Obtains the size of the allocated off-heap memory in bytes.
+     */
+    synchronized int capacity() {
+        return buffer.capacity();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.StorageFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StorageFactory}, which keeps the projection states off-heap.
+ *
+ * <p>The serialized states are stored in the direct buffers and parsed on read.
+ * This keeps the large projection states, such as the task lists, out of the heap
+ * and reduces the garbage collection work.
+ *
+ * <p>Like the in-memory storage, the projection states are not persisted.
+ * The other storages are created by the delegate factory as-is.
+ */
+public final class OffHeapStorageFactory extends DelegatingStorageFactory {
+
+    private final List<OffHeapProjectionStorage<?>> storages = new CopyOnWriteArrayList<>();
+
+    private OffHeapStorageFactory(StorageFactory delegate) {
+        super(delegate);
+    }
+
+    /**
+     * Creates a new instance keeping the projection states off-heap.
+     *
+     * @param delegate the single-tenant factory creating the other storages
+     * @return new instance
+     */
+    public static OffHeapStorageFactory newInstance(StorageFactory delegate) {
+        checkNotNull(delegate);
+        checkArgument(!delegate.isMultitenant(),
+                      "The off-heap projection storages support a single tenant only.");
+        return new OffHeapStorageFactory(delegate);
+    }
+
+    @Override
+    public <I> ProjectionStorage<I>
+    createProjectionStorage(Class<? extends Projection<I, ?, ?>> projectionClass) {
+        checkNotNull(projectionClass);
+        final OffHeapProjectionStorage<I> storage = new OffHeapProjectionStorage<>();
+        storages.add(storage);
+        return storage;
+    }
+
+    @Override
+    protected StorageFactory copyWithDelegate(StorageFactory delegate) {
+        return newInstance(delegate);
+    }
+
+    /**
+     * Obtains the size of the off-heap memory allocated for the projection states in bytes.
+     */
+    public long getOffHeapBytes() {
+        long result = 0;
+        for (OffHeapProjectionStorage<?> storage : storages) {
+            result += storage.getOffHeapBytes();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.collect.ImmutableMap;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.storage.StorageFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StorageFactory}, which retains the created aggregate storages.
+ *
+ * <p>The retained storages are the same instances the aggregate repositories use,
+ * so the aggregates can be loaded into them directly, e.g. when importing the events.
+ */
+public final class RetainingStorageFactory extends DelegatingStorageFactory {
+
+    private final ConcurrentMap<Class<? extends Aggregate<?, ?, ?>>, AggregateStorage<?>>
+            aggregateStorages;
+
+    private RetainingStorageFactory(
+            StorageFactory delegate,
+            ConcurrentMap<Class<? extends Aggregate<?, ?, ?>>, AggregateStorage<?>> storages) {
+        super(delegate);
+        this.aggregateStorages = storages;
+    }
+
+    /**
+     * Creates a new instance retaining the aggregate storages created by the specified factory.
+     *
+     * @param delegate the factory creating the storages
+     * @return new instance
+     */
+    public static RetainingStorageFactory newInstance(StorageFactory delegate) {
+        checkNotNull(delegate);
+        return new RetainingStorageFactory(delegate, new ConcurrentHashMap<>());
+    }
+
+    @Override
+    public <I> AggregateStorage<I>
+    createAggregateStorage(Class<? extends Aggregate<I, ?, ?>> aggregateClass) {
+        final AggregateStorage<I> storage = super.createAggregateStorage(aggregateClass);
+        aggregateStorages.put(aggregateClass, storage);
+        return storage;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The storages created by the returned factory are retained by this factory as well.
+     */
+    @Override
+    protected StorageFactory copyWithDelegate(StorageFactory delegate) {
+        return new RetainingStorageFactory(delegate, aggregateStorages);
+    }
+
+    /**
+     * Obtains the created aggregate storages by the aggregate classes.
+     *
+     * <p>If several storages are created for an aggregate class, the last one is returned.
+     */
+    public ImmutableMap<Class<? extends Aggregate<?, ?, ?>>, AggregateStorage<?>>
+    getAggregateStorages() {
+        return ImmutableMap.copyOf(aggregateStorages);
+    }
+}
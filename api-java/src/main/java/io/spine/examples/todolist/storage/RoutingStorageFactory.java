@@ -0,0 +1,240 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.collect.ImmutableMap;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.Entity;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.stand.StandStorage;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.examples.todolist.storage.StorageKind.AGGREGATE;
+import static io.spine.examples.todolist.storage.StorageKind.PROJECTION;
+import static io.spine.examples.todolist.storage.StorageKind.RECORD;
+import static io.spine.examples.todolist.storage.StorageKind.STAND;
+
+/**
+ * A {@link StorageFactory}, which creates the storages using different backends.
+ *
+ * <p>The backend for a storage is selected in the following order:
+ * <ol>
+ *     <li>the factory routed for the entity class;
+ *     <li>the factory routed for the {@linkplain StorageKind storage kind};
+ *     <li>the default factory.
+ * </ol>
+ *
+ * <p>For example, the aggregates and the event store may be kept in a durable database,
+ * while the projections are kept in memory. Such projections are rebuilt from the events
+ * when the repositories are registered.
+ */
+public final class RoutingStorageFactory extends DelegatingStorageFactory {
+
+    private final ImmutableMap<StorageKind, StorageFactory> kindRoutes;
+    private final ImmutableMap<Class<?>, StorageFactory> classRoutes;
+
+    private RoutingStorageFactory(StorageFactory defaultFactory,
+                                  Map<StorageKind, StorageFactory> kindRoutes,
+                                  Map<Class<?>, StorageFactory> classRoutes) {
+        super(defaultFactory);
+        this.kindRoutes = ImmutableMap.copyOf(kindRoutes);
+        this.classRoutes = ImmutableMap.copyOf(classRoutes);
+    }
+
+    @Override
+    public StandStorage createStandStorage() {
+        return route(STAND, null).createStandStorage();
+    }
+
+    @Override
+    public <I> AggregateStorage<I>
+    createAggregateStorage(Class<? extends Aggregate<I, ?, ?>> aggregateClass) {
+        return route(AGGREGATE, aggregateClass).createAggregateStorage(aggregateClass);
+    }
+
+    @Override
+    public <I> RecordStorage<I> createRecordStorage(Class<? extends Entity<I, ?>> entityClass) {
+        return route(RECORD, entityClass).createRecordStorage(entityClass);
+    }
+
+    @Override
+    public <I> ProjectionStorage<I>
+    createProjectionStorage(Class<? extends Projection<I, ?, ?>> projectionClass) {
+        return route(PROJECTION, projectionClass).createProjectionStorage(projectionClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Converts each of the routed factories to the single-tenant one.
+     */
+    @Override
+    public StorageFactory toSingleTenant() {
+        if (!isMultitenant()) {
+            return this;
+        }
+        final Map<StorageFactory, StorageFactory> converted = new IdentityHashMap<>();
+        final Builder builder = newBuilder().setDefault(singleTenant(getDelegate(), converted));
+        for (Map.Entry<StorageKind, StorageFactory> route : kindRoutes.entrySet()) {
+            builder.route(route.getKey(), singleTenant(route.getValue(), converted));
+        }
+        for (Map.Entry<Class<?>, StorageFactory> route : classRoutes.entrySet()) {
+            builder.routeClass(route.getKey(), singleTenant(route.getValue(), converted));
+        }
+        return builder.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The storages are routed to the same factories, except for the default one.
+     */
+    @Override
+    protected StorageFactory copyWithDelegate(StorageFactory delegate) {
+        final Builder builder = newBuilder().setDefault(delegate);
+        for (Map.Entry<StorageKind, StorageFactory> route : kindRoutes.entrySet()) {
+            builder.route(route.getKey(), route.getValue());
+        }
+        for (Map.Entry<Class<?>, StorageFactory> route : classRoutes.entrySet()) {
+            builder.routeClass(route.getKey(), route.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Closes the default and all the routed factories.
+     */
+    @Override
+    public void close() throws Exception {
+        final Set<StorageFactory> routed = Collections.newSetFromMap(new IdentityHashMap<>());
+        routed.addAll(kindRoutes.values());
+        routed.addAll(classRoutes.values());
+        routed.remove(getDelegate());
+        for (StorageFactory factory : routed) {
+            factory.close();
+        }
+        super.close();
+    }
+
+    /**
+     * Obtains the factory creating the storage of the specified kind for the entity class.
+     *
+     * @param kind        the kind of the storage
+     * @param entityClass the class of the stored entities or {@code null} for the stand storage
+     * @return the factory to create the storage
+     */
+    private StorageFactory route(StorageKind kind, Class<?> entityClass) {
+        if (entityClass != null && classRoutes.containsKey(entityClass)) {
+            return classRoutes.get(entityClass);
+        }
+        if (kindRoutes.containsKey(kind)) {
+            return kindRoutes.get(kind);
+        }
+        return getDelegate();
+    }
+
+    private static StorageFactory singleTenant(StorageFactory factory,
+                                               Map<StorageFactory, StorageFactory> converted) {
+        return converted.computeIfAbsent(factory, StorageFactory::toSingleTenant);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * The builder for the {@code RoutingStorageFactory}.
+     */
+    public static class Builder {
+
+        private StorageFactory defaultFactory;
+        private final Map<StorageKind, StorageFactory> kindRoutes =
+                new EnumMap<>(StorageKind.class);
+        private final Map<Class<?>, StorageFactory> classRoutes = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the factory creating the storages, which are not routed otherwise.
+         */
+        public Builder setDefault(StorageFactory defaultFactory) {
+            this.defaultFactory = checkNotNull(defaultFactory);
+            return this;
+        }
+
+        /**
+         * Routes the storages of the specified kind to the factory.
+         */
+        public Builder route(StorageKind kind, StorageFactory factory) {
+            checkNotNull(kind);
+            checkNotNull(factory);
+            kindRoutes.put(kind, factory);
+            return this;
+        }
+
+        /**
+         * Routes the storage of the specified entity class to the factory.
+         *
+         * <p>The entity class route takes precedence over the storage kind route.
+         */
+        public Builder route(Class<? extends Entity<?, ?>> entityClass, StorageFactory factory) {
+            return routeClass(entityClass, factory);
+        }
+
+        private Builder routeClass(Class<?> entityClass, StorageFactory factory) {
+            checkNotNull(entityClass);
+            checkNotNull(factory);
+            classRoutes.put(entityClass, factory);
+            return this;
+        }
+
+        public RoutingStorageFactory build() {
+            checkState(defaultFactory != null, "The default storage factory is not set.");
+            final boolean multitenant = defaultFactory.isMultitenant();
+            for (StorageFactory factory : kindRoutes.values()) {
+                checkMultitenancy(factory, multitenant);
+            }
+            for (StorageFactory factory : classRoutes.values()) {
+                checkMultitenancy(factory, multitenant);
+            }
+            return new RoutingStorageFactory(defaultFactory, kindRoutes, classRoutes);
+        }
+
+        private static void checkMultitenancy(StorageFactory factory, boolean multitenant) {
+            checkArgument(factory.isMultitenant() == multitenant,
+                          "All the routed storage factories must have the same multitenancy.");
+        }
+    }
+}
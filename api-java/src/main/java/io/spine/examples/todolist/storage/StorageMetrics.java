@@ -0,0 +1,234 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Collects the call counts, latencies, row and byte counts of the storage operations
+ * performed through the {@link TimingStorageFactory}.
+ *
+ * <p>The operations slower than the {@linkplain #setSlowThreshold(long, TimeUnit) threshold}
+ * are logged as they complete.
+ *
+ * <p>The statistics can be {@linkplain #getStats() obtained} programmatically
+ * or {@linkplain #startLogging(long, TimeUnit) logged} periodically.
+ */
+public final class StorageMetrics {
+
+    /** The inclusive upper bounds of the latency histogram buckets in microseconds. */
+    private static final long[] BUCKET_BOUNDS_MICROS = {10, 100, 1_000, 10_000, 100_000,
+                                                        Long.MAX_VALUE};
+
+    private static final long DEFAULT_SLOW_THRESHOLD_MILLIS = 100;
+
+    private static final String THREAD_NAME_FORMAT = "storage-metrics-%d";
+
+    private final ConcurrentMap<OperationKey, OperationMetrics> operations =
+            new ConcurrentHashMap<>();
+    private volatile long slowThresholdNanos = MILLISECONDS.toNanos(DEFAULT_SLOW_THRESHOLD_MILLIS);
+    private ScheduledExecutorService logging;
+
+    /**
+     * Sets the latency, starting from which the operations are logged as slow.
+     *
+     * @param threshold the latency threshold
+     * @param unit      the time unit of the threshold
+     */
+    public void setSlowThreshold(long threshold, TimeUnit unit) {
+        checkArgument(threshold >= 0);
+        checkNotNull(unit);
+        this.slowThresholdNanos = unit.toNanos(threshold);
+    }
+
+    /**
+     * Records a storage operation.
+     *
+     * @param storageName the name of the storage
+     * @param operation   the name of the operation
+     * @param nanos       the duration of the operation
+     * @param rows        the number of the records read or written
+     * @param bytes       the serialized size of the records read or written
+     */
+    void record(String storageName, String operation, long nanos, long rows, long bytes) {
+        final OperationKey key = new OperationKey(storageName, operation);
+        operations.computeIfAbsent(key, k -> new OperationMetrics())
+                  .record(nanos, rows, bytes);
+        if (nanos >= slowThresholdNanos) {
+            log().warn("Slow storage operation {}.{} took {} ms ({} rows, {} bytes).",
+                       storageName, operation, NANOSECONDS.toMillis(nanos), rows, bytes);
+        }
+    }
+
+    /**
+     * Obtains the statistics of the performed storage operations.
+     *
+     * @return the statistics of each operation of each storage
+     */
+    public List<StorageOperationStats> getStats() {
+        final ImmutableList.Builder<StorageOperationStats> result = ImmutableList.builder();
+        for (Map.Entry<OperationKey, OperationMetrics> entry : operations.entrySet()) {
+            result.add(entry.getValue()
+                            .snapshot(entry.getKey()));
+        }
+        return result.build();
+    }
+
+    /**
+     * Starts logging the statistics with the specified period.
+     *
+     * <p>If the statistics are already logged, the previous logging is stopped.
+     *
+     * @param period the period between the log records
+     * @param unit   the time unit of the period
+     */
+    public synchronized void startLogging(long period, TimeUnit unit) {
+        checkArgument(period > 0);
+        checkNotNull(unit);
+        stopLogging();
+        logging = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat(THREAD_NAME_FORMAT)
+                                          .setDaemon(true)
+                                          .build());
+        logging.scheduleAtFixedRate(this::logStats, period, period, unit);
+    }
+
+    /**
+     * Stops logging the statistics.
+     */
+    public synchronized void stopLogging() {
+        if (logging != null) {
+            logging.shutdown();
+            logging = null;
+        }
+    }
+
+    private void logStats() {
+        for (StorageOperationStats stats : getStats()) {
+            log().info("Storage operation stats: {}", stats);
+        }
+    }
+
+    /**
+     * Identifies an operation of a storage.
+     */
+    private static final class OperationKey {
+
+        private final String storageName;
+        private final String operation;
+
+        private OperationKey(String storageName, String operation) {
+            this.storageName = checkNotNull(storageName);
+            this.operation = checkNotNull(operation);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final OperationKey other = (OperationKey) o;
+            return storageName.equals(other.storageName) && operation.equals(other.operation);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * storageName.hashCode() + operation.hashCode();
+        }
+    }
+
+    /**
+     * The metrics of a single operation of a storage.
+     */
+    private static class OperationMetrics {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length];
+
+        private OperationMetrics() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos, long rowCount, long byteCount) {
+            calls.increment();
+            totalNanos.add(nanos);
+            rows.add(rowCount);
+            bytes.add(byteCount);
+            final long micros = NANOSECONDS.toMicros(nanos);
+            for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+                if (micros <= BUCKET_BOUNDS_MICROS[i]) {
+                    buckets[i].increment();
+                    return;
+                }
+            }
+        }
+
+        private StorageOperationStats snapshot(OperationKey key) {
+            final Map<Long, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+                histogram.put(BUCKET_BOUNDS_MICROS[i], buckets[i].sum());
+            }
+            return new StorageOperationStats(key.storageName,
+                                             key.operation,
+                                             calls.sum(),
+                                             rows.sum(),
+                                             bytes.sum(),
+                                             totalNanos.sum(),
+                                             histogram);
+        }
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(StorageMetrics.class);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.util.Map;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The statistics of a storage operation collected by {@link StorageMetrics}.
+ */
+public final class StorageOperationStats {
+
+    private final String storageName;
+    private final String operation;
+    private final long callCount;
+    private final long rowCount;
+    private final long byteCount;
+    private final long totalNanos;
+    private final ImmutableSortedMap<Long, Long> latencyHistogram;
+
+    StorageOperationStats(String storageName,
+                          String operation,
+                          long callCount,
+                          long rowCount,
+                          long byteCount,
+                          long totalNanos,
+                          Map<Long, Long> latencyHistogram) {
+        this.storageName = checkNotNull(storageName);
+        this.operation = checkNotNull(operation);
+        this.callCount = callCount;
+        this.rowCount = rowCount;
+        this.byteCount = byteCount;
+        this.totalNanos = totalNanos;
+        this.latencyHistogram = ImmutableSortedMap.copyOf(latencyHistogram);
+    }
+
+    /**
+     * Obtains the name of the storage, which is the simple name of the stored entity class.
+     */
+    public String getStorageName() {
+        return storageName;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * Obtains the number of the records read or written by the operation calls.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Obtains the serialized size of the records read or written by the operation calls.
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Obtains the average latency of a call.
+     *
+     * @return the average latency in nanoseconds or {@code 0} if there were no calls
+     */
+    public long getAverageNanos() {
+        return callCount == 0
+               ? 0
+               : totalNanos / callCount;
+    }
+
+    /**
+     * Obtains the latency histogram.
+     *
+     * @return the number of calls by the inclusive upper bound of the latency in microseconds,
+     *         the last bucket is bounded by {@link Long#MAX_VALUE}
+     */
+    public ImmutableSortedMap<Long, Long> getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("storage", storageName)
+                .add("operation", operation)
+                .add("calls", callCount)
+                .add("rows", rowCount)
+                .add("bytes", byteCount)
+                .add("averageNanos", getAverageNanos())
+                .add("histogramMicros", latencyHistogram)
+                .toString();
+    }
+}
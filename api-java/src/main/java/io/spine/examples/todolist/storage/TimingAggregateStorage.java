@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Optional;
+import io.spine.server.aggregate.AggregateEventRecord;
+import io.spine.server.aggregate.AggregateReadRequest;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.LifecycleFlags;
+
+import java.util.Iterator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An {@link AggregateStorage}, which reports the latencies, row and byte counts
+ * of the operations of the delegate storage to the {@link StorageMetrics}.
+ *
+ * <p>The history of an aggregate is read lazily, so the latency of
+ * {@code historyBackward} covers obtaining the iterator, and the rows are counted
+ * as the records are iterated.
+ *
+ * @param <I> the type of the aggregate IDs
+ */
+@SuppressWarnings("Guava") // Spine API is Java 7-based and uses `Optional` from Google Guava.
+class TimingAggregateStorage<I> extends ForwardingAggregateStorage<I> {
+
+    private final String name;
+    private final StorageMetrics metrics;
+
+    TimingAggregateStorage(AggregateStorage<I> delegate, String name, StorageMetrics metrics) {
+        super(delegate);
+        this.name = checkNotNull(name);
+        this.metrics = checkNotNull(metrics);
+    }
+
+    @Override
+    protected void writeRecord(I id, AggregateEventRecord record) {
+        final long start = System.nanoTime();
+        super.writeRecord(id, record);
+        record("write", start, 1, record.getSerializedSize());
+    }
+
+    @Override
+    protected Iterator<AggregateEventRecord> historyBackward(AggregateReadRequest<I> request) {
+        final long start = System.nanoTime();
+        final Iterator<AggregateEventRecord> history = super.historyBackward(request);
+        record("historyBackward", start, 0, 0);
+        return new CountingIterator(history);
+    }
+
+    @Override
+    protected int readEventCountAfterLastSnapshot(I id) {
+        final long start = System.nanoTime();
+        final int result = super.readEventCountAfterLastSnapshot(id);
+        record("readEventCount", start, 1, 0);
+        return result;
+    }
+
+    @Override
+    protected void writeEventCountAfterLastSnapshot(I id, int eventCount) {
+        final long start = System.nanoTime();
+        super.writeEventCountAfterLastSnapshot(id, eventCount);
+        record("writeEventCount", start, 1, 0);
+    }
+
+    @Override
+    public Optional<LifecycleFlags> readLifecycleFlags(I id) {
+        final long start = System.nanoTime();
+        final Optional<LifecycleFlags> result = super.readLifecycleFlags(id);
+        record("readLifecycleFlags", start, result.isPresent() ? 1 : 0, 0);
+        return result;
+    }
+
+    @Override
+    public void writeLifecycleFlags(I id, LifecycleFlags flags) {
+        final long start = System.nanoTime();
+        super.writeLifecycleFlags(id, flags);
+        record("writeLifecycleFlags", start, 1, flags.getSerializedSize());
+    }
+
+    private void record(String operation, long start, long rows, long bytes) {
+        metrics.record(name, operation, System.nanoTime() - start, rows, bytes);
+    }
+
+    /**
+     * Reports the records of the aggregate history and their reading time
+     * as the history is iterated.
+     */
+    private class CountingIterator implements Iterator<AggregateEventRecord> {
+
+        private final Iterator<AggregateEventRecord> history;
+
+        private CountingIterator(Iterator<AggregateEventRecord> history) {
+            this.history = history;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return history.hasNext();
+        }
+
+        @Override
+        public AggregateEventRecord next() {
+            final long start = System.nanoTime();
+            final AggregateEventRecord result = history.next();
+            record("readHistoryRecord", start, 1, result.getSerializedSize());
+            return result;
+        }
+    }
+}
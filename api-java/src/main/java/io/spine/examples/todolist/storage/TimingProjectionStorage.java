@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.Timestamp;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ProjectionStorage}, which reports the latencies of the operations
+ * of the delegate storage to the {@link StorageMetrics}.
+ *
+ * @param <I> the type of the projection IDs
+ * @see TimingRecordStorage
+ */
+class TimingProjectionStorage<I> extends ProjectionStorage<I> {
+
+    private final ProjectionStorage<I> delegate;
+    private final TimingRecordStorage<I> recordStorage;
+    private final String name;
+    private final StorageMetrics metrics;
+
+    TimingProjectionStorage(ProjectionStorage<I> delegate, String name, StorageMetrics metrics) {
+        super(delegate.isMultitenant());
+        this.delegate = checkNotNull(delegate);
+        this.recordStorage = new TimingRecordStorage<>(delegate, name, metrics);
+        this.name = name;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void writeLastHandledEventTime(Timestamp time) {
+        final long start = System.nanoTime();
+        delegate.writeLastHandledEventTime(time);
+        metrics.record(name, "writeLastHandledEventTime", System.nanoTime() - start,
+                       1, time.getSerializedSize());
+    }
+
+    @Override
+    public Timestamp readLastHandledEventTime() {
+        final long start = System.nanoTime();
+        final Timestamp result = delegate.readLastHandledEventTime();
+        metrics.record(name, "readLastHandledEventTime", System.nanoTime() - start,
+                       result == null ? 0 : 1,
+                       result == null ? 0 : result.getSerializedSize());
+        return result;
+    }
+
+    @Override
+    protected RecordStorage<I> recordStorage() {
+        return recordStorage;
+    }
+
+    @Override
+    public void close() {
+        recordStorage.close();
+        super.close();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.FieldMask;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityQuery;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.storage.RecordStorage;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link RecordStorage}, which reports the latencies, row and byte counts
+ * of the operations of the delegate storage to the {@link StorageMetrics}.
+ *
+ * <p>The rows of the bulk reads are counted without counting their bytes,
+ * so that the lazily read records stay unparsed.
+ *
+ * @param <I> the type of the entity IDs
+ */
+@SuppressWarnings("Guava") // Spine API is Java 7-based and uses `Optional` from Google Guava.
+class TimingRecordStorage<I> extends RecordStorage<I> {
+
+    private final RecordStorage<I> delegate;
+    private final String name;
+    private final StorageMetrics metrics;
+
+    TimingRecordStorage(RecordStorage<I> delegate, String name, StorageMetrics metrics) {
+        super(delegate.isMultitenant());
+        this.delegate = checkNotNull(delegate);
+        this.name = checkNotNull(name);
+        this.metrics = checkNotNull(metrics);
+    }
+
+    @Override
+    protected Optional<EntityRecord> readRecord(I id) {
+        final long start = System.nanoTime();
+        final Optional<EntityRecord> result = delegate.read(id);
+        final long bytes = result.isPresent()
+                           ? result.get()
+                                   .getSerializedSize()
+                           : 0;
+        record("read", start, result.isPresent() ? 1 : 0, bytes);
+        return result;
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids) {
+        final long start = System.nanoTime();
+        final Iterable<EntityRecord> result = delegate.readMultiple(ids);
+        recordRead("readMultiple", start, result);
+        return result;
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids, FieldMask fieldMask) {
+        final long start = System.nanoTime();
+        final Iterable<EntityRecord> result = delegate.readMultiple(ids, fieldMask);
+        recordRead("readMultiple", start, result);
+        return result;
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords() {
+        final long start = System.nanoTime();
+        final Map<I, EntityRecord> result = delegate.readAll();
+        recordRead("readAll", start, result.values());
+        return result;
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(FieldMask fieldMask) {
+        final long start = System.nanoTime();
+        final Map<I, EntityRecord> result = delegate.readAll(fieldMask);
+        recordRead("readAll", start, result.values());
+        return result;
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(EntityQuery<I> query, FieldMask fieldMask) {
+        final long start = System.nanoTime();
+        final Map<I, EntityRecord> result = delegate.readAll(query, fieldMask);
+        recordRead("query", start, result.values());
+        return result;
+    }
+
+    @Override
+    protected void writeRecord(I id, EntityRecordWithColumns record) {
+        final long start = System.nanoTime();
+        delegate.write(id, record);
+        record("write", start, 1, record.getRecord()
+                                        .getSerializedSize());
+    }
+
+    @Override
+    protected void writeRecords(Map<I, EntityRecordWithColumns> records) {
+        final long start = System.nanoTime();
+        delegate.write(records);
+        long bytes = 0;
+        for (EntityRecordWithColumns record : records.values()) {
+            bytes += record.getRecord()
+                           .getSerializedSize();
+        }
+        record("writeBatch", start, records.size(), bytes);
+    }
+
+    @Override
+    public boolean delete(I id) {
+        final long start = System.nanoTime();
+        final boolean deleted = delegate.delete(id);
+        record("delete", start, deleted ? 1 : 0, 0);
+        return deleted;
+    }
+
+    @Override
+    public Iterator<I> index() {
+        final long start = System.nanoTime();
+        final Iterator<I> result = delegate.index();
+        record("index", start, 0, 0);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+        super.close();
+    }
+
+    private void recordRead(String operation, long start, Iterable<EntityRecord> records) {
+        long rows = 0;
+        long bytes = 0;
+        for (EntityRecord record : records) {
+            if (record != null) {
+                rows++;
+                bytes += record.getSerializedSize();
+            }
+        }
+        record(operation, start, rows, bytes);
+    }
+
+    private void record(String operation, long start, long rows, long bytes) {
+        metrics.record(name, operation, System.nanoTime() - start, rows, bytes);
+    }
+}
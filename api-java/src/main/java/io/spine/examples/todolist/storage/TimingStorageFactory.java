@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.Entity;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StorageFactory}, which measures the operations of the created storages.
+ *
+ * <p>The latencies, row and byte counts of the operations are reported
+ * to the {@link StorageMetrics} by the name of the stored entity class.
+ * The record storages include the storage of the event store.
+ *
+ * <p>The stand storage is created by the delegate factory as-is.
+ */
+public final class TimingStorageFactory extends DelegatingStorageFactory {
+
+    private final StorageMetrics metrics;
+
+    private TimingStorageFactory(StorageFactory delegate, StorageMetrics metrics) {
+        super(delegate);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Creates a new instance measuring the storages created by the specified factory.
+     *
+     * @param delegate the factory creating the storages
+     * @param metrics  the metrics to report the operations to
+     * @return new instance
+     */
+    public static TimingStorageFactory newInstance(StorageFactory delegate,
+                                                   StorageMetrics metrics) {
+        checkNotNull(delegate);
+        checkNotNull(metrics);
+        return new TimingStorageFactory(delegate, metrics);
+    }
+
+    @Override
+    public <I> AggregateStorage<I>
+    createAggregateStorage(Class<? extends Aggregate<I, ?, ?>> aggregateClass) {
+        final AggregateStorage<I> storage = super.createAggregateStorage(aggregateClass);
+        return new TimingAggregateStorage<>(storage, aggregateClass.getSimpleName(), metrics);
+    }
+
+    @Override
+    public <I> RecordStorage<I> createRecordStorage(Class<? extends Entity<I, ?>> entityClass) {
+        final RecordStorage<I> storage = super.createRecordStorage(entityClass);
+        return new TimingRecordStorage<>(storage, entityClass.getSimpleName(), metrics);
+    }
+
+    @Override
+    public <I> ProjectionStorage<I>
+    createProjectionStorage(Class<? extends Projection<I, ?, ?>> projectionClass) {
+        final ProjectionStorage<I> storage = super.createProjectionStorage(projectionClass);
+        return new TimingProjectionStorage<>(storage, projectionClass.getSimpleName(), metrics);
+    }
+
+    @Override
+    protected StorageFactory copyWithDelegate(StorageFactory delegate) {
+        return newInstance(delegate, metrics);
+    }
+
+    /**
+     * Obtains the metrics of the created storages.
+     */
+    public StorageMetrics getMetrics() {
+        return metrics;
+    }
+}
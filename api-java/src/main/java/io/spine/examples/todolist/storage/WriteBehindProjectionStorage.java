@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Timestamp;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityQuery;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ProjectionStorage}, which keeps the written projection states in memory
+ * and writes them to the delegate storage in batches.
+ *
+ * <p>The states are {@linkplain #flush() flushed} when the number of the dirty states
+ * reaches the threshold, on {@linkplain WriteBehindStorageFactory a timer} and on close.
+ *
+ * <p>A written state stays pending until the time of the event, which produced it,
+ * is {@linkplain #writeLastHandledEventTime(Timestamp) written}. Then the state becomes dirty
+ * along with the event time. The dirty states and their event time are flushed as one unit,
+ * and the pending states are never flushed. So the persisted event time always matches
+ * the persisted states, and after a crash the projection repository catches up
+ * by replaying exactly the events, which are not reflected in the persisted states.
+ *
+ * <p>The single record reads are served from memory. The reads of multiple records
+ * flush the dirty states first, so they do not see the pending states.
+ *
+ * @param <I> the type of the projection IDs
+ */
+@SuppressWarnings("Guava") // Spine API is Java 7-based and uses `Optional` from Google Guava.
+class WriteBehindProjectionStorage<I> extends ProjectionStorage<I> {
+
+    private final ProjectionStorage<I> delegate;
+    private final int flushThreshold;
+    private final ConcurrentMap<I, EntityRecordWithColumns> pending = new ConcurrentHashMap<>();
+    private final ConcurrentMap<I, EntityRecordWithColumns> dirty = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    /**
+     * The time of the last handled event, which is reflected in the dirty states
+     * and is not persisted yet.
+     *
+     * <p>Guarded by {@link #flushLock}.
+     */
+    private Timestamp unflushedEventTime;
+
+    WriteBehindProjectionStorage(ProjectionStorage<I> delegate, int flushThreshold) {
+        super(delegate.isMultitenant());
+        checkArgument(flushThreshold > 0);
+        this.delegate = checkNotNull(delegate);
+        this.flushThreshold = flushThreshold;
+    }
+
+    /**
+     * Writes the dirty states and the time of the last handled event to the delegate storage.
+     *
+     * <p>The pending states are left in memory until their event time is written.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            if (!dirty.isEmpty()) {
+                final Map<I, EntityRecordWithColumns> batch = new HashMap<>(dirty);
+                delegate.write(batch);
+                for (Map.Entry<I, EntityRecordWithColumns> entry : batch.entrySet()) {
+                    dirty.remove(entry.getKey(), entry.getValue());
+                }
+            }
+            if (unflushedEventTime != null) {
+                delegate.writeLastHandledEventTime(unflushedEventTime);
+                unflushedEventTime = null;
+            }
+        }
+    }
+
+    /**
+     * Obtains the number of the states, which are not flushed yet.
+     */
+    int dirtyCount() {
+        return dirty.size();
+    }
+
+    /**
+     * Obtains the number of the states, which wait for the time of their event.
+     */
+    int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Makes the pending states dirty along with the time of the event, which produced them.
+     */
+    @Override
+    public void writeLastHandledEventTime(Timestamp time) {
+        checkNotNull(time);
+        synchronized (flushLock) {
+            for (Map.Entry<I, EntityRecordWithColumns> entry : pending.entrySet()) {
+                dirty.put(entry.getKey(), entry.getValue());
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+            unflushedEventTime = time;
+        }
+        flushIfFull();
+    }
+
+    @Override
+    public Timestamp readLastHandledEventTime() {
+        synchronized (flushLock) {
+            if (unflushedEventTime != null) {
+                return unflushedEventTime;
+            }
+        }
+        return delegate.readLastHandledEventTime();
+    }
+
+    @Override
+    protected RecordStorage<I> recordStorage() {
+        return delegate;
+    }
+
+    @Override
+    protected Optional<EntityRecord> readRecord(I id) {
+        final EntityRecordWithColumns pendingRecord = pending.get(id);
+        if (pendingRecord != null) {
+            return Optional.of(pendingRecord.getRecord());
+        }
+        final EntityRecordWithColumns dirtyRecord = dirty.get(id);
+        if (dirtyRecord != null) {
+            return Optional.of(dirtyRecord.getRecord());
+        }
+        return delegate.read(id);
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids) {
+        flush();
+        return delegate.readMultiple(ids);
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids, FieldMask fieldMask) {
+        flush();
+        return delegate.readMultiple(ids, fieldMask);
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords() {
+        flush();
+        return delegate.readAll();
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(FieldMask fieldMask) {
+        flush();
+        return delegate.readAll(fieldMask);
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(EntityQuery<I> query, FieldMask fieldMask) {
+        flush();
+        return delegate.readAll(query, fieldMask);
+    }
+
+    @Override
+    protected void writeRecord(I id, EntityRecordWithColumns record) {
+        pending.put(id, record);
+    }
+
+    @Override
+    protected void writeRecords(Map<I, EntityRecordWithColumns> records) {
+        pending.putAll(records);
+    }
+
+    @Override
+    public boolean delete(I id) {
+        pending.remove(id);
+        dirty.remove(id);
+        return delegate.delete(id);
+    }
+
+    /**
+     * Flushes the dirty states and closes the delegate storage.
+     *
+     * <p>The pending states are dropped, since their event time is unknown.
+     * The catch-up restores them on the next start.
+     */
+    @Override
+    public void close() {
+        flush();
+        delegate.close();
+        super.close();
+    }
+
+    private void flushIfFull() {
+        if (dirty.size() >= flushThreshold) {
+            flush();
+        }
+    }
+}
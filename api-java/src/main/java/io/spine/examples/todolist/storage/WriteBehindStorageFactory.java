@@ -0,0 +1,200 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.StorageFactory;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A {@link StorageFactory}, which creates the write-behind projection storages.
+ *
+ * <p>The projection states are kept in memory and written to the storages
+ * of the delegate factory in batches, either when the number of the unflushed states
+ * of a projection type reaches the threshold or periodically.
+ *
+ * <p>All the states are flushed when the factory is {@linkplain #close() closed}.
+ * The states, which are not flushed before a crash, are restored by the catch-up
+ * of the projection repositories, which {@link io.spine.examples.todolist.context.BoundedContexts
+ * BoundedContexts} performs on the creation of a bounded context.
+ *
+ * <p>The dirty states are kept by the projection IDs only,
+ * so the delegate factory should be single-tenant.
+ *
+ * <p>The other storages are created by the delegate factory as-is.
+ */
+public final class WriteBehindStorageFactory extends DelegatingStorageFactory {
+
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1_000;
+    private static final int DEFAULT_FLUSH_THRESHOLD = 500;
+    private static final String THREAD_NAME_FORMAT = "projection-flush-%d";
+
+    private final int flushThreshold;
+    private final long flushIntervalMillis;
+    private final List<WriteBehindProjectionStorage<?>> storages = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService flushing;
+
+    private WriteBehindStorageFactory(Builder builder) {
+        super(builder.delegate);
+        this.flushThreshold = builder.flushThreshold;
+        this.flushIntervalMillis = builder.flushIntervalMillis;
+        this.flushing = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat(THREAD_NAME_FORMAT)
+                                          .setDaemon(true)
+                                          .build());
+        flushing.scheduleWithFixedDelay(this::flushQuietly,
+                                        flushIntervalMillis,
+                                        flushIntervalMillis,
+                                        MILLISECONDS);
+    }
+
+    @Override
+    public <I> ProjectionStorage<I>
+    createProjectionStorage(Class<? extends Projection<I, ?, ?>> projectionClass) {
+        final ProjectionStorage<I> delegate = getDelegate().createProjectionStorage(
+                projectionClass);
+        final WriteBehindProjectionStorage<I> storage =
+                new WriteBehindProjectionStorage<>(delegate, flushThreshold);
+        storages.add(storage);
+        return storage;
+    }
+
+    @Override
+    protected StorageFactory copyWithDelegate(StorageFactory delegate) {
+        return newBuilder().setDelegate(delegate)
+                           .setFlushThreshold(flushThreshold)
+                           .setFlushInterval(flushIntervalMillis, MILLISECONDS)
+                           .build();
+    }
+
+    /**
+     * Writes the unflushed projection states of all the created storages.
+     */
+    @VisibleForTesting
+    void flushAll() {
+        for (WriteBehindProjectionStorage<?> storage : storages) {
+            if (storage.isOpen()) {
+                storage.flush();
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flushAll();
+        } catch (RuntimeException e) {
+            log().error("Unable to flush the projection states.", e);
+        }
+    }
+
+    /**
+     * Stops the periodic flushing, flushes the unflushed states and closes the delegate.
+     */
+    @Override
+    public void close() throws Exception {
+        flushing.shutdown();
+        flushing.awaitTermination(DEFAULT_FLUSH_INTERVAL_MILLIS, MILLISECONDS);
+        flushAll();
+        super.close();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * The builder for the {@code WriteBehindStorageFactory}.
+     */
+    public static class Builder {
+
+        private StorageFactory delegate;
+        private long flushIntervalMillis = DEFAULT_FLUSH_INTERVAL_MILLIS;
+        private int flushThreshold = DEFAULT_FLUSH_THRESHOLD;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the single-tenant factory creating the storages,
+         * to which the states are flushed.
+         */
+        public Builder setDelegate(StorageFactory delegate) {
+            this.delegate = checkNotNull(delegate);
+            return this;
+        }
+
+        /**
+         * Sets the period of flushing the projection states.
+         *
+         * <p>Defaults to one second.
+         */
+        public Builder setFlushInterval(long interval, TimeUnit unit) {
+            checkArgument(interval > 0);
+            checkNotNull(unit);
+            this.flushIntervalMillis = Math.max(1, unit.toMillis(interval));
+            return this;
+        }
+
+        /**
+         * Sets the number of the unflushed states of a projection type,
+         * which triggers the flush.
+         *
+         * <p>Defaults to 500.
+         */
+        public Builder setFlushThreshold(int flushThreshold) {
+            checkArgument(flushThreshold > 0);
+            this.flushThreshold = flushThreshold;
+            return this;
+        }
+
+        public WriteBehindStorageFactory build() {
+            checkState(delegate != null, "The delegate storage factory is not set.");
+            checkState(!delegate.isMultitenant(),
+                       "The write-behind projection storages support a single tenant only.");
+            return new WriteBehindStorageFactory(this);
+        }
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(WriteBehindStorageFactory.class);
+    }
+}
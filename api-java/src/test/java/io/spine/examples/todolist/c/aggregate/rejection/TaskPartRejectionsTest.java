@@ -20,6 +20,7 @@
 
 package io.spine.examples.todolist.c.aggregate.rejection;
 
+import io.spine.examples.todolist.PriorityUpdateRejected;
 import io.spine.examples.todolist.RejectedTaskCommandDetails;
 import io.spine.examples.todolist.TaskId;
 import io.spine.examples.todolist.c.aggregate.rejection.TaskPartRejections.ChangeStatusRejections;
@@ -27,19 +28,25 @@ import io.spine.examples.todolist.c.aggregate.rejection.TaskPartRejections.Updat
 import io.spine.examples.todolist.c.commands.CreateDraft;
 import io.spine.examples.todolist.c.commands.UpdateTaskDescription;
 import io.spine.examples.todolist.c.commands.UpdateTaskDueDate;
+import io.spine.examples.todolist.c.commands.UpdateTaskPriority;
 import io.spine.examples.todolist.c.rejection.CannotCreateDraft;
 import io.spine.examples.todolist.c.rejection.CannotUpdateTaskDescription;
 import io.spine.examples.todolist.c.rejection.CannotUpdateTaskDueDate;
+import io.spine.examples.todolist.c.rejection.CannotUpdateTaskPriority;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import static io.spine.examples.todolist.c.aggregate.rejection.RejectionMode.STACKLESS;
+import static io.spine.examples.todolist.c.aggregate.rejection.RejectionMode.STACK_TRACE;
 import static io.spine.examples.todolist.c.aggregate.rejection.TaskPartRejections.TaskCreationRejections.throwCannotCreateDraft;
 import static io.spine.examples.todolist.c.aggregate.rejection.TaskPartRejections.UpdateRejections.throwCannotUpdateTaskDescription;
 import static io.spine.examples.todolist.c.aggregate.rejection.TaskPartRejections.UpdateRejections.throwCannotUpdateTaskDueDate;
+import static io.spine.examples.todolist.c.aggregate.rejection.TaskPartRejections.UpdateRejections.throwCannotUpdateTaskPriority;
 import static io.spine.test.Tests.assertHasPrivateParameterlessCtor;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Illia Shepilov
@@ -134,5 +141,47 @@ class TaskPartRejectionsTest {
             final TaskId actualId = commandDetails.getTaskId();
             assertEquals(taskId, actualId);
         }
+
+        @Test
+        @DisplayName("create CannotUpdateTaskPriority without stack trace in STACKLESS mode")
+        void createStacklessRejection() {
+            final RejectedTaskCommandDetails commandDetails =
+                    RejectedTaskCommandDetails.newBuilder()
+                                              .setTaskId(taskId)
+                                              .build();
+            final PriorityUpdateRejected rejectionDetails =
+                    PriorityUpdateRejected.newBuilder()
+                                          .setCommandDetails(commandDetails)
+                                          .build();
+            final CannotUpdateTaskPriority rejection =
+                    UpdateRejections.cannotUpdateTaskPriority(STACKLESS, rejectionDetails);
+            assertEquals(0, rejection.getStackTrace().length);
+
+            final TaskId actualId = rejection.getMessageThrown()
+                                             .getRejectionDetails()
+                                             .getCommandDetails()
+                                             .getTaskId();
+            assertEquals(taskId, actualId);
+        }
+
+        @Test
+        @DisplayName("parse the rejection mode ignoring the case")
+        void parseRejectionMode() {
+            assertEquals(STACKLESS, RejectionMode.parse("stackless"));
+            assertEquals(STACK_TRACE, RejectionMode.parse("STACK_TRACE"));
+            assertThrows(IllegalArgumentException.class, () -> RejectionMode.parse("none"));
+        }
+
+        @Test
+        @DisplayName("throw CannotUpdateTaskPriority rejection with stack trace by default")
+        void throwRejectionWithStackTrace() {
+            final UpdateTaskPriority cmd = UpdateTaskPriority.newBuilder()
+                                                             .setId(taskId)
+                                                             .build();
+            final CannotUpdateTaskPriority rejection =
+                    assertThrows(CannotUpdateTaskPriority.class,
+                                 () -> throwCannotUpdateTaskPriority(cmd));
+            assertTrue(rejection.getStackTrace().length > 0);
+        }
     }
 }
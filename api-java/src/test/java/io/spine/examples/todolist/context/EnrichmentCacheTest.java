@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import io.spine.examples.todolist.TaskDetails;
+import io.spine.examples.todolist.TaskId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.spine.Identifier.newUuid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("Guava") // Because com.google.common.base.Function is used
+                           // until the migration of Spine to Java 8 is performed.
+@DisplayName("EnrichmentCache should")
+class EnrichmentCacheTest {
+
+    private static final TaskDetails DETAILS = TaskDetails.newBuilder()
+                                                          .setDescription("Cached description")
+                                                          .build();
+
+    private EnrichmentCache<TaskId, TaskDetails> cache;
+    private AtomicInteger loads;
+    private TaskId taskId;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EnrichmentCache<>(10);
+        loads = new AtomicInteger();
+        taskId = randomTaskId();
+    }
+
+    @Test
+    @DisplayName("load value only once")
+    void loadOnce() {
+        final Function<TaskId, Optional<TaskDetails>> loader = countingLoader(Optional.of(DETAILS));
+        assertEquals(DETAILS, cache.get(taskId, loader).get());
+        assertEquals(DETAILS, cache.get(taskId, loader).get());
+
+        assertEquals(1, loads.get());
+        assertTrue(cache.getIfCached(taskId)
+                        .isPresent());
+    }
+
+    @Test
+    @DisplayName("not cache absent value")
+    void notCacheAbsent() {
+        final Function<TaskId, Optional<TaskDetails>> loader = countingLoader(Optional.absent());
+        assertFalse(cache.get(taskId, loader).isPresent());
+        assertFalse(cache.get(taskId, loader).isPresent());
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("load value again after invalidation")
+    void reloadInvalidated() {
+        final Function<TaskId, Optional<TaskDetails>> loader = countingLoader(Optional.of(DETAILS));
+        cache.get(taskId, loader);
+        cache.invalidate(taskId);
+        cache.get(taskId, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("not cache value loaded concurrently with invalidation")
+    void notCacheConcurrentlyInvalidated() {
+        final Function<TaskId, Optional<TaskDetails>> invalidatingLoader = id -> {
+            cache.invalidate(id);
+            return Optional.of(DETAILS);
+        };
+        assertEquals(DETAILS, cache.get(taskId, invalidatingLoader).get());
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("not cache values if maximum size is zero")
+    void disableCaching() {
+        cache = new EnrichmentCache<>(0);
+        final Function<TaskId, Optional<TaskDetails>> loader = countingLoader(Optional.of(DETAILS));
+        cache.get(taskId, loader);
+        cache.get(taskId, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    private Function<TaskId, Optional<TaskDetails>> countingLoader(Optional<TaskDetails> value) {
+        return id -> {
+            loads.incrementAndGet();
+            return value;
+        };
+    }
+
+    private static TaskId randomTaskId() {
+        return TaskId.newBuilder()
+                     .setValue(newUuid())
+                     .build();
+    }
+}
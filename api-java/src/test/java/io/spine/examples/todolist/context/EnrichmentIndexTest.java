@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import io.spine.core.Event;
+import io.spine.core.EventContext;
+import io.spine.core.Versions;
+import io.spine.examples.todolist.LabelColor;
+import io.spine.examples.todolist.LabelDetails;
+import io.spine.examples.todolist.LabelDetailsChange;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.PriorityChange;
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskDetails;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskPriority;
+import io.spine.examples.todolist.TaskStatus;
+import io.spine.examples.todolist.c.events.LabelAssignedToTask;
+import io.spine.examples.todolist.c.events.LabelDetailsUpdated;
+import io.spine.examples.todolist.c.events.LabelRemovedFromTask;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskCreated;
+import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
+import io.spine.server.BoundedContext;
+import io.spine.server.event.EventFactory;
+import io.spine.server.event.EventStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.server.command.TestEventFactory.newInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("EnrichmentIndex should")
+class EnrichmentIndexTest {
+
+    private static final EventFactory events = newInstance(EnrichmentIndexTest.class);
+
+    private static final TaskDescription DESCRIPTION = TaskDescription.newBuilder()
+                                                                      .setValue("Indexed task")
+                                                                      .build();
+
+    private EnrichmentIndex index;
+    private TaskId taskId;
+
+    @BeforeEach
+    void setUp() {
+        index = new EnrichmentIndex();
+        taskId = TaskId.newBuilder()
+                       .setValue(newUuid())
+                       .build();
+    }
+
+    @Test
+    @DisplayName("not contain unknown task")
+    void notContainUnknownTask() {
+        assertFalse(index.findTask(taskId).isPresent());
+        assertFalse(index.findTaskDetails(taskId).isPresent());
+        assertFalse(index.findLabelIds(taskId).isPresent());
+    }
+
+    @Test
+    @DisplayName("index created task")
+    void indexCreatedTask() {
+        createTask();
+
+        final Task task = index.findTask(taskId).get();
+        assertEquals(DESCRIPTION, task.getDescription());
+        assertEquals(TaskStatus.FINALIZED, task.getTaskStatus());
+        assertEquals(DESCRIPTION, index.findTaskDetails(taskId)
+                                       .get()
+                                       .getDescription());
+    }
+
+    @Test
+    @DisplayName("update task priority and status")
+    void updateTask() {
+        createTask();
+        final PriorityChange priorityChange = PriorityChange.newBuilder()
+                                                            .setPreviousValue(TaskPriority.NORMAL)
+                                                            .setNewValue(TaskPriority.HIGH)
+                                                            .build();
+        index.on(TaskPriorityUpdated.newBuilder()
+                                    .setTaskId(taskId)
+                                    .setPriorityChange(priorityChange)
+                                    .build());
+        index.on(TaskCompleted.newBuilder()
+                              .setTaskId(taskId)
+                              .build());
+
+        final Task task = index.findTask(taskId).get();
+        assertEquals(TaskPriority.HIGH, task.getPriority());
+        assertEquals(TaskStatus.COMPLETED, task.getTaskStatus());
+    }
+
+    @Test
+    @DisplayName("track assigned labels")
+    void trackLabels() {
+        final LabelId first = randomLabelId();
+        final LabelId second = randomLabelId();
+        index.on(LabelAssignedToTask.newBuilder()
+                                    .setTaskId(taskId)
+                                    .setLabelId(first)
+                                    .build());
+        index.on(LabelAssignedToTask.newBuilder()
+                                    .setTaskId(taskId)
+                                    .setLabelId(second)
+                                    .build());
+        index.on(LabelRemovedFromTask.newBuilder()
+                                     .setTaskId(taskId)
+                                     .setLabelId(first)
+                                     .build());
+
+        final List<LabelId> ids = index.findLabelIds(taskId)
+                                           .get()
+                                           .getIdsList();
+        assertEquals(1, ids.size());
+        assertTrue(ids.contains(second));
+    }
+
+    @Test
+    @DisplayName("update label details")
+    void updateLabelDetails() {
+        final LabelId labelId = randomLabelId();
+        final LabelDetails newDetails = LabelDetails.newBuilder()
+                                                    .setTitle("Updated label")
+                                                    .setColor(LabelColor.BLUE)
+                                                    .build();
+        final LabelDetailsChange change = LabelDetailsChange.newBuilder()
+                                                            .setNewDetails(newDetails)
+                                                            .build();
+        index.on(LabelDetailsUpdated.newBuilder()
+                                    .setLabelId(labelId)
+                                    .setLabelDetailsChange(change)
+                                    .build());
+
+        assertEquals(newDetails, index.findLabelDetails(labelId).get());
+    }
+
+    @Test
+    @DisplayName("rebuild from event store")
+    void rebuildFromEventStore() throws Exception {
+        final LabelId labelId = randomLabelId();
+        final LabelAssignedToTask labelAssigned = LabelAssignedToTask.newBuilder()
+                                                                     .setTaskId(taskId)
+                                                                     .setLabelId(labelId)
+                                                                     .build();
+        final TaskCompleted taskCompleted = TaskCompleted.newBuilder()
+                                                         .setTaskId(taskId)
+                                                         .build();
+        try (BoundedContext boundedContext = BoundedContext.newBuilder()
+                                                           .build()) {
+            final EventStore eventStore = boundedContext.getEventBus()
+                                                        .getEventStore();
+            eventStore.appendAll(ImmutableList.of(event(taskCreated()),
+                                                  event(labelAssigned),
+                                                  event(taskCompleted)));
+
+            index.rebuild(eventStore);
+        }
+
+        final Task task = index.findTask(taskId).get();
+        assertEquals(DESCRIPTION, task.getDescription());
+        assertEquals(TaskStatus.COMPLETED, task.getTaskStatus());
+        assertTrue(index.findLabelIds(taskId)
+                        .get()
+                        .getIdsList()
+                        .contains(labelId));
+    }
+
+    private void createTask() {
+        index.on(taskCreated(), EventContext.getDefaultInstance());
+    }
+
+    private TaskCreated taskCreated() {
+        final TaskDetails details = TaskDetails.newBuilder()
+                                               .setDescription(DESCRIPTION)
+                                               .setPriority(TaskPriority.NORMAL)
+                                               .build();
+        return TaskCreated.newBuilder()
+                          .setId(taskId)
+                          .setDetails(details)
+                          .build();
+    }
+
+    private static Event event(Message msg) {
+        return events.createEvent(msg, Versions.zero());
+    }
+
+    private static LabelId randomLabelId() {
+        return LabelId.newBuilder()
+                      .setValue(newUuid())
+                      .build();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("EnrichmentMetrics should")
+class EnrichmentMetricsTest {
+
+    private static final String FUNCTION_NAME = "taskIdToTask";
+
+    private EnrichmentMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new EnrichmentMetrics();
+    }
+
+    @Test
+    @DisplayName("have no stats initially")
+    void beEmpty() {
+        assertTrue(metrics.getStats()
+                          .isEmpty());
+    }
+
+    @Test
+    @DisplayName("count calls, cache hits and not found aggregates")
+    void countCalls() {
+        metrics.record(FUNCTION_NAME, MICROSECONDS.toNanos(5), true, true);
+        metrics.record(FUNCTION_NAME, MICROSECONDS.toNanos(15), false, false);
+
+        final EnrichmentFunctionStats stats = singleStats();
+        assertEquals(FUNCTION_NAME, stats.getFunctionName());
+        assertEquals(2, stats.getCallCount());
+        assertEquals(1, stats.getNotFoundCount());
+        assertEquals(1, stats.getCacheHitCount());
+        assertEquals(MICROSECONDS.toNanos(10), stats.getAverageNanos());
+    }
+
+    @Test
+    @DisplayName("build latency histogram")
+    void buildHistogram() {
+        metrics.record(FUNCTION_NAME, MICROSECONDS.toNanos(5), true, false);
+        metrics.record(FUNCTION_NAME, MILLISECONDS.toNanos(5), true, false);
+        metrics.record(FUNCTION_NAME, MILLISECONDS.toNanos(500), true, false);
+
+        final EnrichmentFunctionStats stats = singleStats();
+        assertEquals(1, stats.getLatencyHistogram()
+                             .get(10L)
+                             .longValue());
+        assertEquals(1, stats.getLatencyHistogram()
+                             .get(10_000L)
+                             .longValue());
+        assertEquals(1, stats.getLatencyHistogram()
+                             .get(Long.MAX_VALUE)
+                             .longValue());
+    }
+
+    private EnrichmentFunctionStats singleStats() {
+        final List<EnrichmentFunctionStats> stats = metrics.getStats();
+        assertEquals(1, stats.size());
+        return stats.get(0);
+    }
+}
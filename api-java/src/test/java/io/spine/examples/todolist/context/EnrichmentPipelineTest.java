@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("EnrichmentPipeline should")
+class EnrichmentPipelineTest {
+
+    private static final int DELIVERY_COUNT = 100;
+
+    private EnrichmentPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new EnrichmentPipeline(4);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.shutdown(5, SECONDS);
+    }
+
+    @Test
+    @DisplayName("perform deliveries in order")
+    void preserveOrder() throws InterruptedException {
+        final List<Integer> deliveries = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < DELIVERY_COUNT; i++) {
+            final int number = i;
+            pipeline.execute(() -> deliveries.add(number));
+        }
+        assertTrue(pipeline.shutdown(5, SECONDS));
+
+        assertEquals(DELIVERY_COUNT, deliveries.size());
+        for (int i = 0; i < DELIVERY_COUNT; i++) {
+            assertEquals(i, deliveries.get(i)
+                                      .intValue());
+        }
+        assertEquals(DELIVERY_COUNT, pipeline.getDeliveredCount());
+    }
+
+    @Test
+    @DisplayName("expose queue depth")
+    void exposeQueueDepth() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        pipeline.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await();
+        pipeline.execute(() -> {});
+        pipeline.execute(() -> {});
+
+        assertEquals(2, pipeline.getQueueDepth());
+        release.countDown();
+        assertTrue(pipeline.shutdown(5, SECONDS));
+        assertEquals(0, pipeline.getQueueDepth());
+        assertTrue(pipeline.getAverageLatencyNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("reject deliveries after shutdown")
+    void rejectAfterShutdown() throws InterruptedException {
+        pipeline.shutdown(5, SECONDS);
+        assertThrows(RejectedExecutionException.class, () -> pipeline.execute(() -> {}));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+}
@@ -33,6 +33,7 @@ import io.spine.examples.todolist.c.enrichments.DetailsEnrichment;
 import io.spine.examples.todolist.c.enrichments.LabelsListEnrichment;
 import io.spine.examples.todolist.c.enrichments.TaskEnrichment;
 import io.spine.examples.todolist.c.events.LabelledTaskRestored;
+import io.spine.examples.todolist.c.events.TaskDeleted;
 import io.spine.examples.todolist.c.events.TaskDraftFinalized;
 import io.spine.examples.todolist.repository.LabelAggregateRepository;
 import io.spine.examples.todolist.repository.TaskLabelsRepository;
@@ -49,9 +50,13 @@ import static io.spine.core.EventEnvelope.of;
 import static io.spine.protobuf.AnyPacker.unpack;
 import static io.spine.server.command.TestEventFactory.newInstance;
 import static io.spine.validate.Validate.isDefault;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DisplayName("TodoListEnrichments should")
@@ -60,12 +65,15 @@ class TodoListEnrichmentsTest {
     private static final EventFactory events = newInstance(TodoListEnrichmentsTest.class);
 
     private EventEnricher enricher;
+    private TaskRepository taskRepo;
+    private LabelAggregateRepository labelRepo;
+    private TaskLabelsRepository taskLabelsRepo;
 
     @BeforeEach
     void setUp() {
-        final TaskRepository taskRepo = mock(TaskRepository.class);
-        final LabelAggregateRepository labelRepo = mock(LabelAggregateRepository.class);
-        final TaskLabelsRepository taskLabelsRepo = mock(TaskLabelsRepository.class);
+        taskRepo = mock(TaskRepository.class);
+        labelRepo = mock(LabelAggregateRepository.class);
+        taskLabelsRepo = mock(TaskLabelsRepository.class);
         when(taskRepo.find(any(TaskId.class))).thenReturn(Optional.absent());
         when(labelRepo.find(any(LabelId.class))).thenReturn(Optional.absent());
         when(taskLabelsRepo.find(any(TaskId.class))).thenReturn(Optional.absent());
@@ -78,7 +86,7 @@ class TodoListEnrichmentsTest {
     }
 
     @Test
-    @DisplayName("create EventEnricher that defaults absent Task or TaskLabels to default message")
+    @DisplayName("create EventEnricher that defaults absent Task to default message")
     void enricherDefaultsTest() {
         final TaskDraftFinalized eventMsg = TaskDraftFinalized.newBuilder()
                                                               .setTaskId(randomTaskId())
@@ -87,19 +95,47 @@ class TodoListEnrichmentsTest {
         final EventEnvelope enriched = enricher.enrich(envelope);
         final Enrichment enrichment = enriched.getEnrichment();
 
+        final TypeName taskTypeName = TypeName.from(TaskEnrichment.getDescriptor());
+        final Any task = enrichment.getContainer()
+                                   .getItemsMap()
+                                   .get(taskTypeName.value());
+        final TaskEnrichment taskEnr = unpack(task);
+        assertTrue(isDefault(taskEnr.getTask()));
+    }
+
+    @Test
+    @DisplayName("create EventEnricher that defaults absent TaskLabels to default message")
+    void labelsDefaultsTest() {
+        final TaskDeleted eventMsg = TaskDeleted.newBuilder()
+                                                .setTaskId(randomTaskId())
+                                                .build();
+        final EventEnvelope enriched = enricher.enrich(of(event(eventMsg)));
+        final Enrichment enrichment = enriched.getEnrichment();
+
         final TypeName labelsEnrName = TypeName.from(LabelsListEnrichment.getDescriptor());
         final Any labelIds = enrichment.getContainer()
                                        .getItemsMap()
                                        .get(labelsEnrName.value());
         final LabelsListEnrichment labelIdsEnr = unpack(labelIds);
         assertTrue(labelIdsEnr.getLabelIdsList().getIdsList().isEmpty());
+    }
 
-        final TypeName taskTypeName = TypeName.from(TaskEnrichment.getDescriptor());
-        final Any task = enrichment.getContainer()
-                                   .getItemsMap()
-                                   .get(taskTypeName.value());
-        final TaskEnrichment taskEnr = unpack(task);
-        assertTrue(isDefault(taskEnr.getTask()));
+    @Test
+    @DisplayName("not compute enrichments that are not read for the event")
+    void skipUnreadEnrichments() {
+        final TaskDraftFinalized eventMsg = TaskDraftFinalized.newBuilder()
+                                                              .setTaskId(randomTaskId())
+                                                              .build();
+        final EventEnvelope enriched = enricher.enrich(of(event(eventMsg)));
+
+        final TypeName labelsEnrName = TypeName.from(LabelsListEnrichment.getDescriptor());
+        assertFalse(enriched.getEnrichment()
+                            .getContainer()
+                            .getItemsMap()
+                            .containsKey(labelsEnrName.value()));
+        verify(taskRepo, times(1)).find(any(TaskId.class));
+        verify(taskLabelsRepo, never()).find(any(TaskId.class));
+        verify(labelRepo, never()).find(any(LabelId.class));
     }
 
     @Test
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.dump;
+
+import com.google.common.collect.Iterators;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.aggregate.TaskPart;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.storage.RetainingStorageFactory;
+import io.spine.grpc.StreamObservers;
+import io.spine.server.BoundedContext;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.event.EventStore;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("EventImporter should")
+class EventImporterTest {
+
+    private static final int TASK_COUNT = 20;
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(EventImporterTest.class);
+
+    private BoundedContext source;
+    private RetainingStorageFactory storageFactory;
+    private BoundedContext target;
+
+    @BeforeEach
+    void setUp() {
+        source = BoundedContexts.create();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            source.getCommandBus()
+                  .post(createTaskCommand(), StreamObservers.<Ack>noOpObserver());
+        }
+        storageFactory = RetainingStorageFactory.newInstance(
+                InMemoryStorageFactory.newInstance(BoundedContext.newName(newUuid()), false));
+        target = BoundedContexts.create(storageFactory);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        source.close();
+        target.close();
+    }
+
+    @Test
+    @DisplayName("import all exported events")
+    void importEvents() throws Exception {
+        final byte[] exported = export(source);
+        final long imported = newImporter().importFrom(new ByteArrayInputStream(exported));
+
+        final byte[] reexported = export(target);
+        assertTrue(imported >= TASK_COUNT);
+        assertEquals(exported.length, reexported.length);
+    }
+
+    @Test
+    @DisplayName("restore aggregate histories")
+    void restoreAggregates() throws Exception {
+        newImporter().importFrom(new ByteArrayInputStream(export(source)));
+
+        final AggregateStorage<?> taskStorage = storageFactory.getAggregateStorages()
+                                                              .get(TaskPart.class);
+        assertEquals(TASK_COUNT, Iterators.size(taskStorage.index()));
+    }
+
+    private EventImporter newImporter() {
+        return EventImporter.newBuilder()
+                            .setEventStore(target.getEventBus()
+                                                 .getEventStore())
+                            .setStorageFactory(storageFactory)
+                            .setParallelism(4)
+                            .setBatchSize(3)
+                            .build();
+    }
+
+    private static byte[] export(BoundedContext boundedContext) throws Exception {
+        final EventStore eventStore = boundedContext.getEventBus()
+                                                    .getEventStore();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EventExporter.export(eventStore, out);
+        return out.toByteArray();
+    }
+
+    private Command createTaskCommand() {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        return requestFactory.command()
+                             .create(createTaskInstance(taskId, DESCRIPTION));
+    }
+}
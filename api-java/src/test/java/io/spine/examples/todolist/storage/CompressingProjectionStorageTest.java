@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.FieldMask;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.zip.Deflater;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestListViewRecords.myListViewRecord;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("CompressingProjectionStorage should")
+class CompressingProjectionStorageTest {
+
+    private static final int THRESHOLD = 256;
+
+    private StorageFactory storageFactory;
+    private ProjectionStorage<TaskListId> delegate;
+    private CompressingProjectionStorage<TaskListId> storage;
+    private TaskListId id;
+
+    @BeforeEach
+    void setUp() {
+        storageFactory = InMemoryStorageFactory.newInstance(
+                CompressingProjectionStorageTest.class.getSimpleName(), false);
+        delegate = storageFactory.createProjectionStorage(MyListViewProjection.class);
+        storage = new CompressingProjectionStorage<>(
+                delegate, new Deflation(THRESHOLD, Deflater.DEFAULT_COMPRESSION));
+        id = TaskListId.newBuilder()
+                       .setValue(newUuid())
+                       .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        storage.close();
+        storageFactory.close();
+    }
+
+    @Test
+    @DisplayName("compress large state")
+    void compressLarge() {
+        final EntityRecord record = myListViewRecord(100);
+        storage.write(id, EntityRecordWithColumns.of(record));
+
+        final EntityRecord stored = delegate.read(id)
+                                            .get();
+        assertTrue(stored.getState()
+                         .getTypeUrl()
+                         .startsWith(Deflation.TYPE_URL_PREFIX));
+        assertTrue(stored.getSerializedSize() < record.getSerializedSize());
+        assertEquals(record, storage.read(id)
+                                    .get());
+    }
+
+    @Test
+    @DisplayName("store small state as-is")
+    void storeSmallRaw() {
+        final EntityRecord record = myListViewRecord(1);
+        storage.write(id, EntityRecordWithColumns.of(record));
+
+        assertEquals(record, delegate.read(id)
+                                     .get());
+        assertEquals(record, storage.read(id)
+                                    .get());
+    }
+
+    @Test
+    @DisplayName("apply field mask to decompressed state")
+    void applyMask() {
+        storage.write(id, EntityRecordWithColumns.of(myListViewRecord(100)));
+
+        final FieldMask mask = FieldMask.newBuilder()
+                                        .addPaths("my_list")
+                                        .build();
+        final EntityRecord masked = storage.readAll(mask)
+                                           .get(id);
+        assertFalse(masked.getState()
+                          .getTypeUrl()
+                          .startsWith(Deflation.TYPE_URL_PREFIX));
+    }
+}
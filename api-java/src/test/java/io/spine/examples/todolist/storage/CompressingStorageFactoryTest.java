@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Strings;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.grpc.StreamObservers;
+import io.spine.server.BoundedContext;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("CompressingStorageFactory should")
+class CompressingStorageFactoryTest {
+
+    private static final int TASK_COUNT = 50;
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(CompressingStorageFactoryTest.class);
+
+    @Test
+    @DisplayName("shrink the stored bytes of the bounded context")
+    void shrinkStoredBytes() throws Exception {
+        final StorageMetrics plain = new StorageMetrics();
+        createTasks(timing(plain));
+
+        final StorageMetrics compressed = new StorageMetrics();
+        createTasks(CompressingStorageFactory.newBuilder()
+                                             .setDelegate(timing(compressed))
+                                             .build());
+
+        final long plainBytes = writtenBytes(plain);
+        final long compressedBytes = writtenBytes(compressed);
+        assertTrue(compressedBytes < plainBytes,
+                   "Stored " + compressedBytes + " compressed bytes against "
+                           + plainBytes + " plain bytes.");
+    }
+
+    private void createTasks(StorageFactory storageFactory) throws Exception {
+        final BoundedContext boundedContext = BoundedContexts.create(storageFactory);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            boundedContext.getCommandBus()
+                          .post(createTaskCommand(i), StreamObservers.<Ack>noOpObserver());
+        }
+        boundedContext.close();
+    }
+
+    private Command createTaskCommand(int number) {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        final String description = "Task #" + number + ' ' + Strings.repeat("description ", 8);
+        return requestFactory.command()
+                             .create(createTaskInstance(taskId, description));
+    }
+
+    private static TimingStorageFactory timing(StorageMetrics metrics) {
+        final StorageFactory inMemory = InMemoryStorageFactory.newInstance(
+                BoundedContext.newName(newUuid()), false);
+        return TimingStorageFactory.newInstance(inMemory, metrics);
+    }
+
+    /**
+     * Sums the bytes written to all the storages of the bounded context.
+     */
+    private static long writtenBytes(StorageMetrics metrics) {
+        long result = 0;
+        for (StorageOperationStats stats : metrics.getStats()) {
+            if (stats.getOperation()
+                     .startsWith("write")) {
+                result += stats.getByteCount();
+            }
+        }
+        return result;
+    }
+}
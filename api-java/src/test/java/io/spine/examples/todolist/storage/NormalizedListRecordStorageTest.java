@@ -0,0 +1,270 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.FieldMask;
+import io.spine.Identifier;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.TaskPriority;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.examples.todolist.storage.NormalizedListRecordStorage.StoredItem;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("NormalizedListRecordStorage should")
+class NormalizedListRecordStorageTest {
+
+    private static final int TASK_COUNT = 5;
+
+    private JdbcDataSource dataSource;
+    private NormalizedListRecordStorage<TaskListId> storage;
+    private TaskListId id;
+    private List<TaskItem> items;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + newUuid() + ";DB_CLOSE_DELAY=-1");
+        storage = newStorage();
+        id = TaskListId.newBuilder()
+                       .setValue(newUuid())
+                       .build();
+        items = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            items.add(newItem("Task " + i));
+        }
+    }
+
+    @Test
+    @DisplayName("assemble written list on read")
+    void readWritten() {
+        final EntityRecord record = newRecord(items);
+        storage.write(id, EntityRecordWithColumns.of(record));
+
+        assertEquals(record, storage.read(id)
+                                    .get());
+    }
+
+    @Test
+    @DisplayName("update changed item")
+    void updateItem() {
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+
+        final TaskItem updated = items.get(2)
+                                      .toBuilder()
+                                      .setPriority(TaskPriority.HIGH)
+                                      .build();
+        items.set(2, updated);
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+
+        assertEquals(items, readItems(storage.read(id)
+                                             .get()));
+    }
+
+    @Test
+    @DisplayName("reorder and remove items")
+    void reorderAndRemove() {
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+
+        final TaskItem moved = items.remove(TASK_COUNT - 1);
+        items.add(0, moved);
+        items.remove(2);
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+
+        assertEquals(items, readItems(storage.read(id)
+                                             .get()));
+    }
+
+    @Test
+    @DisplayName("store repeated task")
+    void storeRepeatedTask() {
+        items.add(items.get(0));
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+
+        assertEquals(items, readItems(storage.read(id)
+                                             .get()));
+    }
+
+    @Test
+    @DisplayName("update items written by another instance")
+    void updateRestoredItems() {
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+        final NormalizedListRecordStorage<TaskListId> restarted = newStorage();
+
+        items.remove(TASK_COUNT - 1);
+        items.set(0, newItem("Replaced task"));
+        restarted.write(id, EntityRecordWithColumns.of(newRecord(items)));
+
+        assertEquals(items, readItems(restarted.read(id)
+                                               .get()));
+    }
+
+    @Test
+    @DisplayName("not read items excluded by field mask")
+    void skipMaskedItems() {
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+        final FieldMask mask = FieldMask.newBuilder()
+                                        .addPaths("list_id")
+                                        .build();
+
+        final EntityRecord masked = storage.readAll(mask)
+                                           .get(id);
+
+        assertTrue(readItems(masked).isEmpty());
+    }
+
+    @Test
+    @DisplayName("delete view with its items")
+    void deleteView() {
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+
+        assertTrue(storage.delete(id));
+        assertFalse(storage.read(id)
+                           .isPresent());
+
+        final List<TaskItem> recreated = items.subList(0, 1);
+        storage.write(id, EntityRecordWithColumns.of(newRecord(recreated)));
+        assertEquals(recreated, readItems(storage.read(id)
+                                                 .get()));
+    }
+
+    @Test
+    @DisplayName("not rewrite other items on removal")
+    void keepOtherItemOrders() throws SQLException {
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+        final Map<String, Long> ordersBefore = readItemOrders();
+
+        items.remove(2);
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+        final Map<String, Long> ordersAfter = readItemOrders();
+
+        assertEquals(TASK_COUNT - 1, ordersAfter.size());
+        for (Map.Entry<String, Long> order : ordersAfter.entrySet()) {
+            assertEquals(ordersBefore.get(order.getKey()), order.getValue());
+        }
+    }
+
+    @Test
+    @DisplayName("place inserted item between its neighbours")
+    void insertBetween() throws SQLException {
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+        final Map<String, Long> ordersBefore = readItemOrders();
+
+        items.add(2, newItem("Inserted"));
+        storage.write(id, EntityRecordWithColumns.of(newRecord(items)));
+
+        assertEquals(items, readItems(storage.read(id)
+                                             .get()));
+        final Map<String, Long> ordersAfter = readItemOrders();
+        for (Map.Entry<String, Long> order : ordersBefore.entrySet()) {
+            assertEquals(order.getValue(), ordersAfter.get(order.getKey()));
+        }
+    }
+
+    @Test
+    @DisplayName("renumber items when there is no gap for a new item")
+    void renumberWithoutGap() {
+        final Map<String, StoredItem> stored = new HashMap<>();
+        stored.put("a", new StoredItem(1, 0));
+        stored.put("b", new StoredItem(2, 0));
+
+        final long[] orders = NormalizedListRecordStorage.itemOrders(
+                ImmutableList.of("a", "new", "b"), stored);
+
+        assertTrue(orders[0] < orders[1]);
+        assertTrue(orders[1] < orders[2]);
+    }
+
+    private Map<String, Long> readItemOrders() throws SQLException {
+        final Map<String, Long> result = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT item_key, item_order FROM my_list_view_items WHERE view_id = ?")) {
+            select.setString(1, Identifier.toString(id));
+            try (ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next()) {
+                    result.put(resultSet.getString(1), resultSet.getLong(2));
+                }
+            }
+        }
+        return result;
+    }
+
+    private NormalizedListRecordStorage<TaskListId> newStorage() {
+        return new NormalizedListRecordStorage<>(
+                dataSource, ListViewSchema.of(MyListViewProjection.class), "my_list_view");
+    }
+
+    private EntityRecord newRecord(List<TaskItem> listItems) {
+        final MyListView state = MyListView.newBuilder()
+                                           .setListId(id)
+                                           .setMyList(TaskListView.newBuilder()
+                                                                  .addAllItems(listItems))
+                                           .build();
+        return EntityRecord.newBuilder()
+                           .setState(pack(state))
+                           .build();
+    }
+
+    private static List<TaskItem> readItems(EntityRecord record) {
+        final MyListView state = unpack(record.getState());
+        return state.getMyList()
+                    .getItemsList();
+    }
+
+    private static TaskItem newItem(String description) {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        return TaskItem.newBuilder()
+                       .setId(taskId)
+                       .setDescription(TaskDescription.newBuilder()
+                                                      .setValue(description))
+                       .setPriority(TaskPriority.NORMAL)
+                       .build();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.protobuf.FieldMask;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestListViewRecords.myListViewRecord;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("OffHeapRecordStorage should")
+class OffHeapRecordStorageTest {
+
+    private OffHeapRecordStorage<TaskListId> storage;
+    private TaskListId id;
+
+    @BeforeEach
+    void setUp() {
+        storage = new OffHeapRecordStorage<>();
+        id = TaskListId.newBuilder()
+                       .setValue(newUuid())
+                       .build();
+    }
+
+    @Test
+    @DisplayName("read written record")
+    void readWritten() {
+        final EntityRecord record = myListViewRecord(3);
+        storage.write(id, EntityRecordWithColumns.of(record));
+
+        assertEquals(record, storage.read(id)
+                                    .get());
+        assertTrue(storage.getOffHeapBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("reuse buffer for smaller record")
+    void reuseBuffer() {
+        storage.write(id, EntityRecordWithColumns.of(myListViewRecord(10)));
+        final long allocated = storage.getOffHeapBytes();
+
+        final EntityRecord smaller = myListViewRecord(5);
+        storage.write(id, EntityRecordWithColumns.of(smaller));
+
+        assertEquals(allocated, storage.getOffHeapBytes());
+        assertEquals(smaller, storage.read(id)
+                                     .get());
+    }
+
+    @Test
+    @DisplayName("release memory of deleted record")
+    void releaseDeleted() {
+        storage.write(id, EntityRecordWithColumns.of(myListViewRecord(3)));
+
+        assertTrue(storage.delete(id));
+        assertFalse(storage.read(id)
+                           .isPresent());
+        assertEquals(0, storage.getOffHeapBytes());
+    }
+
+    @Test
+    @DisplayName("read all records")
+    void readAll() {
+        final EntityRecord record = myListViewRecord(3);
+        storage.write(id, EntityRecordWithColumns.of(record));
+
+        final Map<TaskListId, EntityRecord> records =
+                storage.readAll(FieldMask.getDefaultInstance());
+
+        assertEquals(1, records.size());
+        assertEquals(record, records.get(id));
+    }
+
+    @Test
+    @DisplayName("return null for missing records in bulk read")
+    void readMultipleMissing() {
+        final EntityRecord record = myListViewRecord(3);
+        storage.write(id, EntityRecordWithColumns.of(record));
+        final TaskListId missingId = TaskListId.newBuilder()
+                                               .setValue(newUuid())
+                                               .build();
+
+        final List<EntityRecord> records =
+                Lists.newArrayList(storage.readMultiple(ImmutableList.of(missingId, id)));
+
+        assertEquals(2, records.size());
+        assertNull(records.get(0));
+        assertEquals(record, records.get(1));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import io.spine.examples.todolist.c.aggregate.LabelAggregate;
+import io.spine.examples.todolist.q.projection.DraftTasksViewProjection;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.server.BoundedContext;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.stand.StandStorage;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.storage.StorageKind.PROJECTION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("RoutingStorageFactory should")
+class RoutingStorageFactoryTest {
+
+    private CountingFactory durable;
+    private CountingFactory fast;
+    private CountingFactory special;
+    private RoutingStorageFactory routing;
+
+    @BeforeEach
+    void setUp() {
+        durable = new CountingFactory(false);
+        fast = new CountingFactory(false);
+        special = new CountingFactory(false);
+        routing = RoutingStorageFactory.newBuilder()
+                                       .setDefault(durable)
+                                       .route(PROJECTION, fast)
+                                       .route(DraftTasksViewProjection.class, special)
+                                       .build();
+    }
+
+    @Test
+    @DisplayName("create not routed storages with default factory")
+    void useDefault() {
+        routing.createAggregateStorage(LabelAggregate.class);
+        routing.createStandStorage();
+
+        assertEquals(2, durable.created);
+        assertEquals(0, fast.created);
+    }
+
+    @Test
+    @DisplayName("route storage by kind")
+    void routeByKind() {
+        routing.createProjectionStorage(MyListViewProjection.class);
+
+        assertEquals(1, fast.created);
+        assertEquals(0, durable.created);
+    }
+
+    @Test
+    @DisplayName("prefer route by entity class")
+    void preferClassRoute() {
+        routing.createProjectionStorage(DraftTasksViewProjection.class);
+
+        assertEquals(1, special.created);
+        assertEquals(0, fast.created);
+    }
+
+    @Test
+    @DisplayName("not accept factories of different multitenancy")
+    void checkMultitenancy() {
+        final RoutingStorageFactory.Builder builder =
+                RoutingStorageFactory.newBuilder()
+                                     .setDefault(durable)
+                                     .route(PROJECTION, new CountingFactory(true));
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    @DisplayName("keep routed factories decorated when converted to single tenant")
+    void decorateSingleTenant() {
+        final CountingFactory multitenantDefault = new CountingFactory(true);
+        final StorageFactory converted = RoutingStorageFactory.newBuilder()
+                                                              .setDefault(multitenantDefault)
+                                                              .build()
+                                                              .toSingleTenant();
+        assertFalse(converted.isMultitenant());
+
+        final StorageFactory singleTenantDefault = multitenantDefault.toSingleTenant();
+        assertTrue(singleTenantDefault instanceof CountingFactory);
+        assertFalse(singleTenantDefault.isMultitenant());
+    }
+
+    /**
+     * Counts the storages created by the in-memory factory.
+     */
+    private static class CountingFactory extends DelegatingStorageFactory {
+
+        private int created;
+
+        private CountingFactory(boolean multitenant) {
+            this(newInMemoryFactory(multitenant));
+        }
+
+        private CountingFactory(StorageFactory delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected StorageFactory copyWithDelegate(StorageFactory delegate) {
+            return new CountingFactory(delegate);
+        }
+
+        @Override
+        public StandStorage createStandStorage() {
+            created++;
+            return super.createStandStorage();
+        }
+
+        @Override
+        public <I> AggregateStorage<I>
+        createAggregateStorage(Class<? extends Aggregate<I, ?, ?>> aggregateClass) {
+            created++;
+            return super.createAggregateStorage(aggregateClass);
+        }
+
+        @Override
+        public <I> ProjectionStorage<I>
+        createProjectionStorage(Class<? extends Projection<I, ?, ?>> projectionClass) {
+            created++;
+            return super.createProjectionStorage(projectionClass);
+        }
+
+        private static StorageFactory newInMemoryFactory(boolean multitenant) {
+            return InMemoryStorageFactory.newInstance(BoundedContext.newName(newUuid()),
+                                                      multitenant);
+        }
+    }
+}
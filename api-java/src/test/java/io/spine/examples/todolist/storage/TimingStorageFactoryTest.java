@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.protobuf.AnyPacker.pack;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("TimingStorageFactory should")
+class TimingStorageFactoryTest {
+
+    private static final String STORAGE_NAME = MyListViewProjection.class.getSimpleName();
+
+    private StorageMetrics metrics;
+    private TimingStorageFactory storageFactory;
+    private ProjectionStorage<TaskListId> storage;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new StorageMetrics();
+        storageFactory = TimingStorageFactory.newInstance(
+                InMemoryStorageFactory.newInstance(TimingStorageFactoryTest.class.getSimpleName(),
+                                                   false),
+                metrics);
+        storage = storageFactory.createProjectionStorage(MyListViewProjection.class);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        storage.close();
+        storageFactory.close();
+    }
+
+    @Test
+    @DisplayName("count rows and bytes of written records")
+    void measureWrites() {
+        final EntityRecord record = newRecord();
+        storage.write(newListId(), EntityRecordWithColumns.of(record));
+        storage.write(newListId(), EntityRecordWithColumns.of(record));
+
+        final StorageOperationStats stats = statsOf("write");
+        assertEquals(2, stats.getCallCount());
+        assertEquals(2, stats.getRowCount());
+        assertEquals(2L * record.getSerializedSize(), stats.getByteCount());
+    }
+
+    @Test
+    @DisplayName("count found records only")
+    void measureReads() {
+        final TaskListId id = newListId();
+        final EntityRecord record = newRecord();
+        storage.write(id, EntityRecordWithColumns.of(record));
+
+        assertTrue(storage.read(id)
+                          .isPresent());
+        assertFalse(storage.read(newListId())
+                           .isPresent());
+
+        final StorageOperationStats stats = statsOf("read");
+        assertEquals(2, stats.getCallCount());
+        assertEquals(1, stats.getRowCount());
+        assertEquals(record.getSerializedSize(), stats.getByteCount());
+    }
+
+    @Test
+    @DisplayName("count bytes of all read records")
+    void measureReadAll() {
+        storage.write(newListId(), EntityRecordWithColumns.of(newRecord()));
+        storage.write(newListId(), EntityRecordWithColumns.of(newRecord()));
+
+        final Map<TaskListId, EntityRecord> records = storage.readAll();
+        long bytes = 0;
+        for (EntityRecord record : records.values()) {
+            bytes += record.getSerializedSize();
+        }
+
+        final StorageOperationStats stats = statsOf("readAll");
+        assertEquals(2, stats.getRowCount());
+        assertTrue(bytes > 0);
+        assertEquals(bytes, stats.getByteCount());
+    }
+
+    @Test
+    @DisplayName("fill latency histogram")
+    void fillHistogram() {
+        storage.write(newListId(), EntityRecordWithColumns.of(newRecord()));
+
+        final StorageOperationStats stats = statsOf("write");
+        long histogramCalls = 0;
+        for (Long calls : stats.getLatencyHistogram()
+                               .values()) {
+            histogramCalls += calls;
+        }
+        assertEquals(stats.getCallCount(), histogramCalls);
+    }
+
+    private StorageOperationStats statsOf(String operation) {
+        for (StorageOperationStats stats : metrics.getStats()) {
+            if (stats.getStorageName()
+                     .equals(STORAGE_NAME) && stats.getOperation()
+                                                   .equals(operation)) {
+                return stats;
+            }
+        }
+        throw new AssertionError("No stats of the `" + operation + "` operation.");
+    }
+
+    private static TaskListId newListId() {
+        return TaskListId.newBuilder()
+                         .setValue(newUuid())
+                         .build();
+    }
+
+    private static EntityRecord newRecord() {
+        return EntityRecord.newBuilder()
+                           .setState(pack(MyListView.getDefaultInstance()))
+                           .build();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.Timestamp;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.time.Time.getCurrentTime;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("WriteBehindProjectionStorage should")
+class WriteBehindProjectionStorageTest {
+
+    private static final int FLUSH_THRESHOLD = 3;
+
+    private StorageFactory storageFactory;
+    private ProjectionStorage<TaskListId> delegate;
+    private WriteBehindProjectionStorage<TaskListId> storage;
+
+    @BeforeEach
+    void setUp() {
+        storageFactory = InMemoryStorageFactory.newInstance(
+                WriteBehindProjectionStorageTest.class.getSimpleName(), false);
+        delegate = storageFactory.createProjectionStorage(MyListViewProjection.class);
+        storage = new WriteBehindProjectionStorage<>(delegate, FLUSH_THRESHOLD);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        storage.close();
+        storageFactory.close();
+    }
+
+    @Test
+    @DisplayName("read unflushed state")
+    void readUnflushed() {
+        final TaskListId id = randomListId();
+        final EntityRecord record = newRecord();
+        handle(id, record);
+
+        assertEquals(record, storage.read(id)
+                                    .get());
+        assertFalse(delegate.read(id)
+                            .isPresent());
+        assertEquals(1, storage.dirtyCount());
+    }
+
+    @Test
+    @DisplayName("write states to delegate on flush")
+    void writeOnFlush() {
+        final TaskListId id = randomListId();
+        final EntityRecord record = newRecord();
+        handle(id, record);
+        storage.flush();
+
+        assertEquals(record, delegate.read(id)
+                                     .get());
+        assertEquals(0, storage.dirtyCount());
+    }
+
+    @Test
+    @DisplayName("not flush state before time of its event")
+    void keepPendingState() {
+        final TaskListId id = randomListId();
+        final EntityRecord record = newRecord();
+        storage.write(id, EntityRecordWithColumns.of(record));
+        storage.flush();
+
+        assertEquals(record, storage.read(id)
+                                    .get());
+        assertFalse(delegate.read(id)
+                            .isPresent());
+        assertEquals(1, storage.pendingCount());
+
+        final Timestamp time = getCurrentTime();
+        storage.writeLastHandledEventTime(time);
+        storage.flush();
+
+        assertEquals(record, delegate.read(id)
+                                     .get());
+        assertEquals(time, delegate.readLastHandledEventTime());
+        assertEquals(0, storage.pendingCount());
+    }
+
+    @Test
+    @DisplayName("flush states when threshold is reached")
+    void flushOnThreshold() {
+        for (int i = 0; i < FLUSH_THRESHOLD - 1; i++) {
+            handle(randomListId(), newRecord());
+        }
+        assertEquals(FLUSH_THRESHOLD - 1, storage.dirtyCount());
+
+        final TaskListId lastId = randomListId();
+        handle(lastId, newRecord());
+
+        assertEquals(0, storage.dirtyCount());
+        assertTrue(delegate.read(lastId)
+                           .isPresent());
+    }
+
+    @Test
+    @DisplayName("persist last handled event time only on flush")
+    void persistEventTimeOnFlush() {
+        final Timestamp time = getCurrentTime();
+        storage.writeLastHandledEventTime(time);
+
+        assertEquals(time, storage.readLastHandledEventTime());
+        assertNotEquals(time, delegate.readLastHandledEventTime());
+
+        storage.flush();
+        assertEquals(time, delegate.readLastHandledEventTime());
+    }
+
+    @Test
+    @DisplayName("flush states before reading all")
+    void flushBeforeReadAll() {
+        handle(randomListId(), newRecord());
+
+        assertEquals(1, storage.readAll()
+                               .size());
+        assertEquals(0, storage.dirtyCount());
+    }
+
+    /**
+     * Writes the state as the projection repository does on an event.
+     */
+    private void handle(TaskListId id, EntityRecord record) {
+        storage.write(id, EntityRecordWithColumns.of(record));
+        storage.writeLastHandledEventTime(getCurrentTime());
+    }
+
+    private static EntityRecord newRecord() {
+        return EntityRecord.newBuilder()
+                           .setState(pack(MyListView.getDefaultInstance()))
+                           .build();
+    }
+
+    private static TaskListId randomListId() {
+        return TaskListId.newBuilder()
+                         .setValue(newUuid())
+                         .build();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.examples.todolist.storage;
+
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.grpc.StreamObservers;
+import io.spine.server.BoundedContext;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.Entity;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.q.projection.MyListViewProjection.ID;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("WriteBehindStorageFactory should")
+class WriteBehindStorageFactoryTest {
+
+    private static final int TASK_COUNT = 5;
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(WriteBehindStorageFactoryTest.class);
+
+    @Test
+    @DisplayName("not accept multitenant delegate")
+    void rejectMultitenant() {
+        final StorageFactory multitenant = InMemoryStorageFactory.newInstance(
+                BoundedContext.newName(newUuid()), true);
+        final WriteBehindStorageFactory.Builder builder =
+                WriteBehindStorageFactory.newBuilder()
+                                         .setDelegate(multitenant);
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    @DisplayName("restore unflushed states after crash")
+    void restoreAfterCrash() {
+        final PersistentFactory persistent = new PersistentFactory();
+
+        final BoundedContext crashed = BoundedContexts.create(newWriteBehindFactory(persistent));
+        for (int i = 0; i < TASK_COUNT; i++) {
+            crashed.getCommandBus()
+                   .post(createTaskCommand(), StreamObservers.<Ack>noOpObserver());
+        }
+        // The crashed context is abandoned without flushing the dirty states.
+        assertFalse(persistent.createProjectionStorage(MyListViewProjection.class)
+                              .read(ID)
+                              .isPresent());
+
+        final WriteBehindStorageFactory restartedFactory = newWriteBehindFactory(persistent);
+        BoundedContexts.create(restartedFactory);
+        restartedFactory.flushAll();
+
+        final ProjectionStorage<TaskListId> storage =
+                persistent.createProjectionStorage(MyListViewProjection.class);
+        final EntityRecord record = storage.read(ID)
+                                           .get();
+        final MyListView myList = unpack(record.getState());
+        assertEquals(TASK_COUNT, myList.getMyList()
+                                       .getItemsCount());
+    }
+
+    private static WriteBehindStorageFactory newWriteBehindFactory(StorageFactory delegate) {
+        return WriteBehindStorageFactory.newBuilder()
+                                        .setDelegate(delegate)
+                                        .setFlushThreshold(Integer.MAX_VALUE)
+                                        .setFlushInterval(1, HOURS)
+                                        .build();
+    }
+
+    private Command createTaskCommand() {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        return requestFactory.command()
+                             .create(createTaskInstance(taskId, DESCRIPTION));
+    }
+
+    /**
+     * Creates a single storage per entity class, so the data survives the restart
+     * of the bounded context.
+     */
+    private static class PersistentFactory extends DelegatingStorageFactory {
+
+        private final Map<Class<?>, Object> storages = new ConcurrentHashMap<>();
+
+        private PersistentFactory() {
+            super(InMemoryStorageFactory.newInstance(BoundedContext.newName(newUuid()), false));
+        }
+
+        @SuppressWarnings("unchecked") // The storages are stored by the aggregate class.
+        @Override
+        public <I> AggregateStorage<I>
+        createAggregateStorage(Class<? extends Aggregate<I, ?, ?>> aggregateClass) {
+            return (AggregateStorage<I>) storages.computeIfAbsent(
+                    aggregateClass, cls -> super.createAggregateStorage(aggregateClass));
+        }
+
+        @SuppressWarnings("unchecked") // The storages are stored by the entity class.
+        @Override
+        public <I> RecordStorage<I> createRecordStorage(Class<? extends Entity<I, ?>> entityClass) {
+            return (RecordStorage<I>) storages.computeIfAbsent(
+                    entityClass, cls -> super.createRecordStorage(entityClass));
+        }
+
+        @SuppressWarnings("unchecked") // The storages are stored by the projection class.
+        @Override
+        public <I> ProjectionStorage<I>
+        createProjectionStorage(Class<? extends Projection<I, ?, ?>> projectionClass) {
+            return (ProjectionStorage<I>) storages.computeIfAbsent(
+                    projectionClass, cls -> super.createProjectionStorage(projectionClass));
+        }
+
+        @Override
+        protected StorageFactory copyWithDelegate(StorageFactory delegate) {
+            throw new UnsupportedOperationException("The factory is single-tenant.");
+        }
+
+        /**
+         * Keeps the storages open for the next run.
+         */
+        @Override
+        public void close() {
+            // Do nothing.
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.cli;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.cli.view.View;
+
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.emptyList;
+
+/**
+ * A {@link Screen}, which buffers the printed lines and writes them at once
+ * before {@linkplain #promptUser(String) prompting} a user.
+ *
+ * <p>The lines printed by a view before the first prompt make up a frame.
+ * If a view is rendered again right after itself, e.g. when a page of a list is turned,
+ * the lines of the previous frame are compared with the new ones. Only the lines starting
+ * from the first changed one are redrawn, provided the screen can
+ * {@linkplain #canEraseRows() erase} the written rows.
+ */
+public abstract class BufferedScreen extends AbstractScreen {
+
+    private final List<String> buffer = newArrayList();
+
+    /**
+     * The lines of the last written frame.
+     */
+    private List<String> lastFrame = emptyList();
+
+    /**
+     * The number of the rows written since the start of the last frame,
+     * including the answers of a user.
+     */
+    private int rowsSinceFrameStart;
+
+    /**
+     * The last rendered view.
+     */
+    private View lastView;
+
+    /**
+     * Whether the buffer holds the beginning of a new frame.
+     */
+    private boolean frameStarted;
+
+    /**
+     * Whether the new frame belongs to the same view as the last frame.
+     */
+    private boolean redrawing;
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Writes the lines remaining in the buffer after the view is rendered.
+     * A view is not redrawn if some lines were printed before its rendering.
+     */
+    @Override
+    public void renderView(View view) {
+        // The lines printed outside of a view should stay on the screen.
+        final boolean printedOutsideOfView = !buffer.isEmpty();
+        flush();
+        redrawing = view == lastView && !printedOutsideOfView;
+        lastView = view;
+        frameStarted = true;
+        super.renderView(view);
+        flush();
+    }
+
+    /**
+     * Writes the buffered lines, prints the prompt and reads the answer.
+     *
+     * @param prompt the prompt to display
+     * @return the answer of a user
+     */
+    @Override
+    public String promptUser(String prompt) {
+        println(prompt);
+        flush();
+        final String answer = readAnswer();
+        rowsSinceFrameStart += rowsOf(answer);
+        return answer;
+    }
+
+    /**
+     * Adds the message to the buffer.
+     *
+     * @param message the message to print
+     */
+    @Override
+    public void println(String message) {
+        buffer.add(message);
+    }
+
+    /**
+     * Writes the specified lines, a line separator follows each of them.
+     *
+     * @param lines the lines to write
+     */
+    protected abstract void writeLines(List<String> lines);
+
+    /**
+     * Reads an answer of a user.
+     *
+     * @return the answer
+     */
+    protected abstract String readAnswer();
+
+    /**
+     * Determines whether the rows written before can be erased.
+     *
+     * <p>The default implementation returns {@code false}, so all the frames are written in full.
+     *
+     * @return {@code true} if {@link #eraseRows(int)} is supported
+     */
+    protected boolean canEraseRows() {
+        return false;
+    }
+
+    /**
+     * Erases the specified number of the last written rows
+     * and places the cursor at the beginning of the first erased row.
+     *
+     * @param count the number of the rows to erase
+     */
+    protected void eraseRows(int count) {
+        throw new UnsupportedOperationException("The screen cannot erase the rows.");
+    }
+
+    /**
+     * Obtains the number of the rows the specified line occupies.
+     *
+     * <p>The default implementation assumes a line is never wrapped.
+     *
+     * @param line the line to measure
+     * @return the number of the rows
+     */
+    protected int rowsOf(String line) {
+        return 1;
+    }
+
+    private void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        if (frameStarted) {
+            writeFrame(ImmutableList.copyOf(buffer));
+            frameStarted = false;
+        } else {
+            write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void writeFrame(List<String> frame) {
+        int unchanged = 0;
+        if (redrawing && canEraseRows()) {
+            unchanged = commonPrefixLength(lastFrame, frame);
+            final int unchangedRows = rowsOf(lastFrame.subList(0, unchanged));
+            final int changedRows = rowsSinceFrameStart - unchangedRows;
+            if (changedRows > 0) {
+                eraseRows(changedRows);
+            }
+            rowsSinceFrameStart = unchangedRows;
+        } else {
+            rowsSinceFrameStart = 0;
+        }
+        write(frame.subList(unchanged, frame.size()));
+        lastFrame = frame;
+    }
+
+    private void write(List<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        writeLines(lines);
+        rowsSinceFrameStart += rowsOf(lines);
+    }
+
+    private int rowsOf(List<String> lines) {
+        int result = 0;
+        for (String line : lines) {
+            result += rowsOf(line);
+        }
+        return result;
+    }
+
+    private static int commonPrefixLength(List<String> first, List<String> second) {
+        final int maxLength = Math.min(first.size(), second.size());
+        int result = 0;
+        while (result < maxLength && first.get(result)
+                                          .equals(second.get(result))) {
+            result++;
+        }
+        return result;
+    }
+}
@@ -57,6 +57,11 @@ abstract class AbstractAction<S extends View, D extends View> implements Action<
      */
     private final D destination;
 
+    /**
+     * The formatted representation of the action, which is created on the first rendering.
+     */
+    private String formatted;
+
     AbstractAction(String name, Shortcut shortcut, S source, D destination) {
         checkArgument(!isNullOrEmpty(name));
         checkNotNull(shortcut);
@@ -121,6 +126,9 @@ abstract class AbstractAction<S extends View, D extends View> implements Action<
 
     @Override
     public String toString() {
-        return ActionFormatter.format(this);
+        if (formatted == null) {
+            formatted = ActionFormatter.format(this);
+        }
+        return formatted;
     }
 }
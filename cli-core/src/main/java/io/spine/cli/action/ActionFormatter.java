@@ -35,6 +35,13 @@ public class ActionFormatter {
     @VisibleForTesting
     static final String SHORTCUT_FORMAT = "(%s)";
 
+    private static final String SHORTCUT_PLACEHOLDER = "%s";
+    private static final String SHORTCUT_PREFIX =
+            SHORTCUT_FORMAT.substring(0, SHORTCUT_FORMAT.indexOf(SHORTCUT_PLACEHOLDER));
+    private static final String SHORTCUT_SUFFIX =
+            SHORTCUT_FORMAT.substring(SHORTCUT_FORMAT.indexOf(SHORTCUT_PLACEHOLDER)
+                                              + SHORTCUT_PLACEHOLDER.length());
+
     private ActionFormatter() {
         // Prevent instantiation of this utility class.
     }
@@ -56,6 +63,7 @@ public class ActionFormatter {
      * @return the formatted representation
      */
     public static String format(Shortcut shortcut) {
-        return String.format(SHORTCUT_FORMAT, shortcut);
+        // Concatenation avoids parsing of the format on each call.
+        return SHORTCUT_PREFIX + shortcut + SHORTCUT_SUFFIX;
     }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.cli.view;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.spine.cli.Screen;
+import io.spine.cli.action.Shortcut;
+import io.spine.cli.action.TransitionAction;
+import io.spine.cli.action.TransitionAction.TransitionActionProducer;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+
+/**
+ * An {@link ActionListView} representing a list of items page by page.
+ *
+ * <p>Only the items of the current page are represented by the actions.
+ * The {@code previous page} and {@code next page} actions are added if there are such pages.
+ *
+ * <p>The items are {@linkplain #loadItems() loaded} each time the view is rendered,
+ * except for turning of a page, which uses the items loaded previously.
+ *
+ * @param <T> the type of the items
+ */
+public abstract class PagedListView<T> extends ActionListView {
+
+    /** The default number of the items on a page. */
+    public static final int DEFAULT_PAGE_SIZE = 10;
+
+    private static final String PREVIOUS_PAGE_NAME = "Previous page";
+    private static final Shortcut PREVIOUS_PAGE_SHORTCUT = new Shortcut("p");
+    private static final String NEXT_PAGE_NAME = "Next page";
+    private static final Shortcut NEXT_PAGE_SHORTCUT = new Shortcut("n");
+    private static final String PAGE_INFO_FORMAT = "Page %d of %d (%d in total)";
+
+    private final String emptyListMessage;
+    private final int pageSize;
+
+    private List<T> items = emptyList();
+    private int page;
+
+    /**
+     * Whether the next rendering is caused by turning of a page.
+     */
+    private boolean turningPage;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param title            the view title
+     * @param emptyListMessage the message to display if there are no items
+     * @param pageSize         the maximum number of the items on a page
+     */
+    protected PagedListView(String title, String emptyListMessage, int pageSize) {
+        super(title);
+        checkArgument(!isNullOrEmpty(emptyListMessage));
+        checkArgument(pageSize > 0, "Page size must be positive.");
+        this.emptyListMessage = emptyListMessage;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Refreshes the items if the page is not turned, and renders the current page.
+     *
+     * @param screen {@inheritDoc}
+     */
+    @Override
+    public void render(Screen screen) {
+        if (!turningPage) {
+            items = checkNotNull(loadItems());
+        }
+        turningPage = false;
+        page = min(page, max(getPageCount() - 1, 0));
+
+        clearActions();
+        addPageActions();
+        addListActions();
+        super.render(screen);
+    }
+
+    /**
+     * Renders the position of the current page or the message about the empty list.
+     *
+     * @param screen {@inheritDoc}
+     */
+    @Override
+    protected void renderBody(Screen screen) {
+        if (items.isEmpty()) {
+            screen.println(emptyListMessage);
+        } else {
+            screen.println(format(PAGE_INFO_FORMAT, page + 1, getPageCount(), items.size()));
+        }
+    }
+
+    /**
+     * Obtains all the items to be listed.
+     *
+     * @return the items
+     */
+    protected abstract List<T> loadItems();
+
+    /**
+     * Creates the producer of the action for the specified item.
+     *
+     * @param item  the item to create the action for
+     * @param index the index of the item in the list
+     * @return the action producer
+     */
+    protected abstract TransitionActionProducer newItemActionProducer(T item, int index);
+
+    /**
+     * Adds the actions related to the whole list, which follow the page actions.
+     *
+     * <p>Does nothing by default.
+     */
+    protected void addListActions() {
+        // Do nothing.
+    }
+
+    /**
+     * Makes the first page current.
+     *
+     * <p>Should be called if the next rendering lists other items,
+     * e.g. when a filter of the items is changed.
+     */
+    protected void resetPage() {
+        page = 0;
+    }
+
+    private void addPageActions() {
+        final int fromIndex = page * pageSize;
+        final int toIndex = min(fromIndex + pageSize, items.size());
+        for (int index = fromIndex; index < toIndex; index++) {
+            addAction(newItemActionProducer(items.get(index), index));
+        }
+
+        if (page > 0) {
+            addAction(new PageTurnProducer(PREVIOUS_PAGE_NAME, PREVIOUS_PAGE_SHORTCUT,
+                                           this, page - 1));
+        }
+        if (toIndex < items.size()) {
+            addAction(new PageTurnProducer(NEXT_PAGE_NAME, NEXT_PAGE_SHORTCUT, this, page + 1));
+        }
+    }
+
+    private void turnTo(int page) {
+        this.page = page;
+        this.turningPage = true;
+    }
+
+    private int getPageCount() {
+        return (items.size() + pageSize - 1) / pageSize;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    @VisibleForTesting
+    int getPage() {
+        return page;
+    }
+
+    /**
+     * Producer of the actions turning a page of a {@code PagedListView}.
+     */
+    private static class PageTurnProducer
+            extends TransitionActionProducer<PagedListView<?>, PagedListView<?>> {
+
+        private final int page;
+
+        private PageTurnProducer(String name, Shortcut shortcut,
+                                 PagedListView<?> view, int page) {
+            super(name, shortcut, view);
+            this.page = page;
+        }
+
+        @Override
+        public TransitionAction<PagedListView<?>, PagedListView<?>>
+        create(PagedListView<?> source) {
+            return new PageTurnAction(getName(), getShortcut(), source, page);
+        }
+    }
+
+    /**
+     * An action, which turns a page of a {@code PagedListView} and re-renders the view.
+     *
+     * <p>Since the view stays the current one, the navigation history is not changed.
+     */
+    private static class PageTurnAction
+            extends TransitionAction<PagedListView<?>, PagedListView<?>> {
+
+        private final int page;
+
+        private PageTurnAction(String name, Shortcut shortcut,
+                               PagedListView<?> view, int page) {
+            super(name, shortcut, view, view);
+            this.page = page;
+        }
+
+        @Override
+        public void execute() {
+            getDestination().turnTo(page);
+            super.execute();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.cli;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.cli.view.View;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("BufferedScreen should")
+class BufferedScreenTest {
+
+    private static final String PROMPT = "Select";
+    private static final String REPEAT = "repeat";
+    private static final String EXIT = "exit";
+
+    @Test
+    @DisplayName("write all the lines of a view at once")
+    void writeLinesAtOnce() {
+        final RecordingScreen screen = new RecordingScreen(true);
+        screen.addAnswer(EXIT);
+        screen.renderView(new CountingView("title", "line"));
+
+        final List<String> expected = ImmutableList.of("write [title, line 1, " + PROMPT + ']');
+        assertEquals(expected, screen.operations);
+    }
+
+    @Test
+    @DisplayName("redraw only the changed lines of a view rendered again")
+    void redrawChangedLines() {
+        final RecordingScreen screen = new RecordingScreen(true);
+        screen.addAnswer(REPEAT);
+        screen.addAnswer(EXIT);
+        screen.renderView(new CountingView("title", "line"));
+
+        // The line, the prompt and the answer are erased, the title is kept.
+        final List<String> expected = ImmutableList.of("write [title, line 1, " + PROMPT + ']',
+                                                       "erase 3",
+                                                       "write [line 2, " + PROMPT + ']');
+        assertEquals(expected, screen.operations);
+    }
+
+    @Test
+    @DisplayName("write all the lines if rows cannot be erased")
+    void writeAllLinesWithoutErasing() {
+        final RecordingScreen screen = new RecordingScreen(false);
+        screen.addAnswer(REPEAT);
+        screen.addAnswer(EXIT);
+        screen.renderView(new CountingView("title", "line"));
+
+        final List<String> expected = ImmutableList.of("write [title, line 1, " + PROMPT + ']',
+                                                       "write [title, line 2, " + PROMPT + ']');
+        assertEquals(expected, screen.operations);
+    }
+
+    /**
+     * A view printing its title and a line with the number of the rendering.
+     *
+     * <p>Renders itself again on the {@link #REPEAT} answer.
+     */
+    private static class CountingView implements View {
+
+        private final String title;
+        private final String line;
+        private int renderings;
+
+        private CountingView(String title, String line) {
+            this.title = title;
+            this.line = line;
+        }
+
+        @Override
+        public void render(Screen screen) {
+            renderings++;
+            screen.println(title);
+            screen.println(line + ' ' + renderings);
+            final String answer = screen.promptUser(PROMPT);
+            if (REPEAT.equals(answer)) {
+                screen.renderView(this);
+            }
+        }
+    }
+
+    private static class RecordingScreen extends BufferedScreen {
+
+        private final boolean canErase;
+        private final List<String> operations = newArrayList();
+        private final Queue<String> answers = new ArrayDeque<>();
+
+        private RecordingScreen(boolean canErase) {
+            this.canErase = canErase;
+        }
+
+        private void addAnswer(String answer) {
+            answers.add(answer);
+        }
+
+        @Override
+        protected void writeLines(List<String> lines) {
+            operations.add("write " + lines);
+        }
+
+        @Override
+        protected String readAnswer() {
+            return answers.remove();
+        }
+
+        @Override
+        protected boolean canEraseRows() {
+            return canErase;
+        }
+
+        @Override
+        protected void eraseRows(int count) {
+            operations.add("erase " + count);
+        }
+    }
+}
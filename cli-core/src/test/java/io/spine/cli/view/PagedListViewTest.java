@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.cli.view;
+
+import io.spine.cli.Bot;
+import io.spine.cli.NoOpView;
+import io.spine.cli.action.Action;
+import io.spine.cli.action.Shortcut;
+import io.spine.cli.action.TransitionAction.TransitionActionProducer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static io.spine.cli.action.TransitionAction.transitionProducer;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("PagedListView should")
+class PagedListViewTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    private Bot bot;
+
+    @BeforeEach
+    void setUp() {
+        bot = new Bot();
+        bot.screen()
+           .renderView(new NoOpView()); // Needed to cause addition of back action in the view.
+    }
+
+    @Test
+    @DisplayName("not allow non-positive page size")
+    void notAllowNonPositivePageSize() {
+        assertThrows(IllegalArgumentException.class, () -> new AListView(emptyList(), 0));
+    }
+
+    @Test
+    @DisplayName("create actions only for the items of the first page")
+    void createActionsForFirstPage() {
+        final AListView view = new AListView(items(7), PAGE_SIZE);
+        bot.addAnswer("b");
+        bot.screen()
+           .renderView(view);
+
+        assertEquals(0, view.getPage());
+        assertShortcuts(view, "1", "2", "3", "n", "b");
+    }
+
+    @Test
+    @DisplayName("turn pages without reloading the items")
+    void turnPages() {
+        final AListView view = new AListView(items(7), PAGE_SIZE);
+        bot.addAnswer("n");
+        bot.addAnswer("n");
+        bot.addAnswer("b");
+        bot.screen()
+           .renderView(view);
+
+        assertEquals(2, view.getPage());
+        assertEquals(1, view.loadCount);
+        assertShortcuts(view, "7", "p", "b");
+        bot.assertAllAnswersWereGiven();
+    }
+
+    @Test
+    @DisplayName("return to the previous page")
+    void returnToPreviousPage() {
+        final AListView view = new AListView(items(7), PAGE_SIZE);
+        bot.addAnswer("n");
+        bot.addAnswer("p");
+        bot.addAnswer("b");
+        bot.screen()
+           .renderView(view);
+
+        assertEquals(0, view.getPage());
+        assertShortcuts(view, "1", "2", "3", "n", "b");
+    }
+
+    @Test
+    @DisplayName("render message if there are no items")
+    void renderEmptyListMessage() {
+        final AListView view = new AListView(emptyList(), PAGE_SIZE);
+        view.renderBody(bot.screen());
+        bot.assertOutput(AListView.EMPTY_LIST_MSG + System.lineSeparator());
+    }
+
+    private static void assertShortcuts(AbstractView view, String... expected) {
+        final Set<Action> actions = view.getActions();
+        final List<String> shortcuts = actions.stream()
+                                              .map(Action::getShortcut)
+                                              .map(Shortcut::getValue)
+                                              .collect(toList());
+        assertEquals(expected.length, shortcuts.size());
+        for (String shortcut : expected) {
+            assertTrue(shortcuts.contains(shortcut));
+        }
+    }
+
+    private static List<String> items(int count) {
+        return IntStream.range(0, count)
+                        .mapToObj(String::valueOf)
+                        .collect(toList());
+    }
+
+    private static class AListView extends PagedListView<String> {
+
+        private static final String EMPTY_LIST_MSG = "<empty>";
+
+        private final List<String> items;
+        private int loadCount;
+
+        private AListView(List<String> items, int pageSize) {
+            super("Paged list", EMPTY_LIST_MSG, pageSize);
+            this.items = items;
+        }
+
+        @Override
+        protected List<String> loadItems() {
+            loadCount++;
+            return items;
+        }
+
+        @Override
+        protected TransitionActionProducer newItemActionProducer(String item, int index) {
+            final Shortcut shortcut = new Shortcut(String.valueOf(index + 1));
+            return transitionProducer(item, shortcut, new NoOpView());
+        }
+    }
+}
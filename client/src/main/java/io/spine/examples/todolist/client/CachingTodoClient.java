@@ -0,0 +1,540 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskPriority;
+import io.spine.examples.todolist.c.commands.AssignLabelToTask;
+import io.spine.examples.todolist.c.commands.CompleteTask;
+import io.spine.examples.todolist.c.commands.CreateBasicLabel;
+import io.spine.examples.todolist.c.commands.CreateBasicTask;
+import io.spine.examples.todolist.c.commands.CreateDraft;
+import io.spine.examples.todolist.c.commands.DeleteTask;
+import io.spine.examples.todolist.c.commands.FinalizeDraft;
+import io.spine.examples.todolist.c.commands.RemoveLabelFromTask;
+import io.spine.examples.todolist.c.commands.ReopenTask;
+import io.spine.examples.todolist.c.commands.RestoreDeletedTask;
+import io.spine.examples.todolist.c.commands.UpdateLabelDetails;
+import io.spine.examples.todolist.c.commands.UpdateTaskDescription;
+import io.spine.examples.todolist.c.commands.UpdateTaskDueDate;
+import io.spine.examples.todolist.c.commands.UpdateTaskPriority;
+import io.spine.examples.todolist.q.projection.DraftTasksView;
+import io.spine.examples.todolist.q.projection.LabelledTasksView;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A {@link TodoClient}, which keeps a local copy of the projections.
+ *
+ * <p>The projections are read from the memory, so a navigation between the views
+ * of a client application does not wait for the server.
+ *
+ * <p>A local copy is loaded on the first read and then refreshed
+ * in the background periodically.
+ *
+ * <p>The commands are posted in the background one by one in the order of the calls.
+ * The commands changing the tasks are applied to the local copy of {@link MyListView}
+ * right away, so a client does not wait for the server to see the effect.
+ * After such a command is posted, {@link MyListView} is reloaded periodically
+ * until the effect of the command is present in it. The projections are updated
+ * asynchronously, so the local change is rolled back only if the posting failed
+ * or the effect is still not present after the
+ * {@linkplain Builder#setConfirmationTimeout(long, TimeUnit) confirmation timeout}.
+ * In both cases the {@linkplain Builder#setFailureListener(Consumer) failure listener}
+ * is notified. If the view cannot be reloaded until the timeout, the command is not
+ * considered failed; the local change is dropped and the periodic refresh shows
+ * the state of the server.
+ *
+ * <p>The other commands are awaited and followed by a refresh of all the local copies.
+ * The reads wait for that refresh, so the effect of the command is visible immediately.
+ *
+ * <p>All the other requests are passed to the delegate client as-is.
+ */
+@SuppressWarnings("OverlyCoupledClass")
+public final class CachingTodoClient implements TodoClient {
+
+    private static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 5;
+    private static final long DEFAULT_CONFIRMATION_TIMEOUT_SECONDS = 5;
+    private static final long CONFIRMATION_POLL_MILLIS = 100;
+    private static final String REFRESH_THREAD_NAME_FORMAT = "view-refresh-%d";
+    private static final String POSTING_THREAD_NAME_FORMAT = "command-posting-%d";
+    private static final String NOT_REFLECTED_REASON = "the change was not accepted by the server";
+
+    private final TodoClient delegate;
+    private final Consumer<CommandFailure> failureListener;
+    private final long confirmationTimeoutNanos;
+
+    /**
+     * The executor of the refreshes.
+     *
+     * <p>Has a single thread, so a later refresh always obtains a newer state.
+     */
+    private final ScheduledExecutorService refreshing;
+
+    /**
+     * The executor of the command posting.
+     *
+     * <p>Has a single thread, so the commands are posted in the order of the calls.
+     */
+    private final ExecutorService posting;
+
+    private final CachedView<MyListView> myListView;
+    private final CachedView<List<LabelledTasksView>> labelledTasksViews;
+    private final CachedView<DraftTasksView> draftTasksView;
+
+    /**
+     * The changes of the commands, which are not confirmed by the server yet.
+     */
+    private final List<LocalChange> pendingChanges = new CopyOnWriteArrayList<>();
+
+    private CachingTodoClient(Builder builder) {
+        this.delegate = builder.delegate;
+        this.failureListener = builder.failureListener;
+        this.confirmationTimeoutNanos = MILLISECONDS.toNanos(builder.confirmationTimeoutMillis);
+        this.refreshing = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat(REFRESH_THREAD_NAME_FORMAT)
+                                          .setDaemon(true)
+                                          .build());
+        this.posting = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat(POSTING_THREAD_NAME_FORMAT)
+                                          .setDaemon(true)
+                                          .build());
+        this.myListView = new CachedView<>(delegate::getMyListView);
+        this.labelledTasksViews = new CachedView<>(
+                () -> ImmutableList.copyOf(delegate.getLabelledTasksView()));
+        this.draftTasksView = new CachedView<>(delegate::getDraftTasksView);
+        refreshing.scheduleWithFixedDelay(this::refreshQuietly,
+                                          builder.refreshIntervalMillis,
+                                          builder.refreshIntervalMillis,
+                                          MILLISECONDS);
+    }
+
+    @Override
+    public void create(CreateBasicTask cmd) {
+        final TaskItem task = TaskItem.newBuilder()
+                                      .setId(cmd.getId())
+                                      .setDescription(cmd.getDescription())
+                                      .build();
+        postOptimistically(cmd, () -> delegate.create(cmd), LocalChange.addTask(task));
+    }
+
+    @Override
+    public void create(CreateBasicLabel cmd) {
+        postAndRefresh(() -> delegate.create(cmd));
+    }
+
+    @Override
+    public void create(CreateDraft cmd) {
+        postAndRefresh(() -> delegate.create(cmd));
+    }
+
+    @Override
+    public void update(UpdateTaskDescription cmd) {
+        final TaskDescription description = TaskDescription.newBuilder()
+                                                           .setValue(cmd.getDescriptionChange()
+                                                                        .getNewValue())
+                                                           .build();
+        final LocalChange change = LocalChange.updateTask(
+                cmd.getId(),
+                task -> task.toBuilder()
+                            .setDescription(description)
+                            .build(),
+                task -> task.getDescription()
+                            .equals(description));
+        postOptimistically(cmd, () -> delegate.update(cmd), change);
+    }
+
+    @Override
+    public void update(UpdateTaskDueDate cmd) {
+        final Timestamp dueDate = cmd.getDueDateChange()
+                                     .getNewValue();
+        final LocalChange change = LocalChange.updateTask(
+                cmd.getId(),
+                task -> task.toBuilder()
+                            .setDueDate(dueDate)
+                            .build(),
+                task -> task.getDueDate()
+                            .equals(dueDate));
+        postOptimistically(cmd, () -> delegate.update(cmd), change);
+    }
+
+    @Override
+    public void update(UpdateTaskPriority cmd) {
+        final TaskPriority priority = cmd.getPriorityChange()
+                                         .getNewValue();
+        final LocalChange change = LocalChange.updateTask(
+                cmd.getId(),
+                task -> task.toBuilder()
+                            .setPriority(priority)
+                            .build(),
+                task -> task.getPriority() == priority);
+        postOptimistically(cmd, () -> delegate.update(cmd), change);
+    }
+
+    @Override
+    public void update(UpdateLabelDetails cmd) {
+        postAndRefresh(() -> delegate.update(cmd));
+    }
+
+    @Override
+    public void delete(DeleteTask cmd) {
+        postOptimistically(cmd, () -> delegate.delete(cmd), LocalChange.removeTask(cmd.getId()));
+    }
+
+    @Override
+    public void removeLabel(RemoveLabelFromTask cmd) {
+        postAndRefresh(() -> delegate.removeLabel(cmd));
+    }
+
+    @Override
+    public void assignLabel(AssignLabelToTask cmd) {
+        postAndRefresh(() -> delegate.assignLabel(cmd));
+    }
+
+    @Override
+    public void reopen(ReopenTask cmd) {
+        final LocalChange change = LocalChange.updateTask(cmd.getId(),
+                                                          task -> task.toBuilder()
+                                                                      .setCompleted(false)
+                                                                      .build(),
+                                                          task -> !task.getCompleted());
+        postOptimistically(cmd, () -> delegate.reopen(cmd), change);
+    }
+
+    @Override
+    public void restore(RestoreDeletedTask cmd) {
+        postAndRefresh(() -> delegate.restore(cmd));
+    }
+
+    @Override
+    public void complete(CompleteTask cmd) {
+        final LocalChange change = LocalChange.updateTask(cmd.getId(),
+                                                          task -> task.toBuilder()
+                                                                      .setCompleted(true)
+                                                                      .build(),
+                                                          TaskItem::getCompleted);
+        postOptimistically(cmd, () -> delegate.complete(cmd), change);
+    }
+
+    @Override
+    public void finalize(FinalizeDraft cmd) {
+        postAndRefresh(() -> delegate.finalize(cmd));
+    }
+
+    /**
+     * Obtains the local copy of {@link MyListView} with the effects of the commands,
+     * which are not handled by the server yet.
+     *
+     * @return the local view
+     */
+    @Override
+    public MyListView getMyListView() {
+        MyListView result = myListView.get();
+        for (LocalChange change : pendingChanges) {
+            result = change.applyTo(result);
+        }
+        return result;
+    }
+
+    @Override
+    public List<LabelledTasksView> getLabelledTasksView() {
+        return labelledTasksViews.get();
+    }
+
+    @Override
+    public DraftTasksView getDraftTasksView() {
+        return draftTasksView.get();
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return delegate.getTasks();
+    }
+
+    /**
+     * Stops the background refreshing and posting and shuts down the delegate client.
+     *
+     * <p>The commands, which are not posted yet, are discarded.
+     */
+    @Override
+    public void shutdown() {
+        posting.shutdownNow();
+        refreshing.shutdownNow();
+        delegate.shutdown();
+    }
+
+    /**
+     * Reloads all the local copies of the projections.
+     */
+    @VisibleForTesting
+    void refresh() {
+        myListView.reload();
+        labelledTasksViews.reload();
+        draftTasksView.reload();
+    }
+
+    /**
+     * Tells whether there are local changes, which are neither confirmed nor rolled back.
+     */
+    @VisibleForTesting
+    boolean hasPendingChanges() {
+        return !pendingChanges.isEmpty();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log().warn("Unable to refresh the projections.", e);
+        }
+    }
+
+    /**
+     * Applies the local change and posts the command in the background.
+     *
+     * <p>When the command is posted, the local change is either confirmed
+     * or rolled back.
+     */
+    private void postOptimistically(Message command, Runnable post, LocalChange change) {
+        pendingChanges.add(change);
+        posting.execute(() -> reconcile(command, post, change));
+    }
+
+    private void reconcile(Message command, Runnable post, LocalChange change) {
+        final String commandName = command.getClass()
+                                          .getSimpleName();
+        try {
+            post.run();
+        } catch (RuntimeException e) {
+            rollBack(change, new CommandFailure(commandName, String.valueOf(e.getMessage())));
+            return;
+        }
+        final long deadline = System.nanoTime() + confirmationTimeoutNanos;
+        refreshing.execute(() -> confirm(commandName, change, deadline));
+    }
+
+    /**
+     * Reloads {@link MyListView} and checks if the local change is reflected in it.
+     *
+     * <p>Repeats until the change is reflected or the deadline passes. The outcome
+     * at the deadline is decided by the last reload.
+     */
+    private void confirm(String commandName, LocalChange change, long deadline) {
+        boolean reloaded;
+        try {
+            final MyListView view = myListView.reload();
+            if (change.isReflectedIn(view)) {
+                pendingChanges.remove(change);
+                return;
+            }
+            reloaded = true;
+        } catch (RuntimeException e) {
+            log().warn("Unable to reload the view to confirm the {} command.", commandName, e);
+            reloaded = false;
+        }
+        if (System.nanoTime() < deadline) {
+            refreshing.schedule(() -> confirm(commandName, change, deadline),
+                                CONFIRMATION_POLL_MILLIS, MILLISECONDS);
+        } else if (reloaded) {
+            rollBack(change, new CommandFailure(commandName, NOT_REFLECTED_REASON));
+        } else {
+            pendingChanges.remove(change);
+            log().warn("The {} command is posted, but its effect cannot be confirmed.",
+                       commandName);
+        }
+    }
+
+    private void rollBack(LocalChange change, CommandFailure failure) {
+        pendingChanges.remove(change);
+        log().warn("The local change is rolled back. {}", failure);
+        failureListener.accept(failure);
+    }
+
+    /**
+     * Posts the command in the order with the other commands, waits until it is handled
+     * and starts the refresh of the local copies.
+     */
+    private void postAndRefresh(Runnable post) {
+        try {
+            CompletableFuture.runAsync(post, posting)
+                             .join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException
+                  ? (RuntimeException) cause
+                  : e;
+        }
+        myListView.reloadAsync();
+        labelledTasksViews.reloadAsync();
+        draftTasksView.reloadAsync();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A local copy of a projection.
+     *
+     * @param <V> the type of the projection
+     */
+    private final class CachedView<V> {
+
+        private final Supplier<V> loader;
+        private final AtomicReference<CompletableFuture<V>> pendingReload =
+                new AtomicReference<>();
+        private volatile V value;
+
+        private CachedView(Supplier<V> loader) {
+            this.loader = loader;
+        }
+
+        /**
+         * Obtains the local copy.
+         *
+         * <p>Waits for the pending reload, if there is one,
+         * and loads the projection if it was not loaded yet.
+         */
+        private V get() {
+            final CompletableFuture<V> reload = pendingReload.get();
+            if (reload != null) {
+                return reload.join();
+            }
+            final V current = value;
+            return current != null
+                   ? current
+                   : reload();
+        }
+
+        private V reload() {
+            final V loaded = loader.get();
+            value = loaded;
+            return loaded;
+        }
+
+        private void reloadAsync() {
+            final CompletableFuture<V> reload = CompletableFuture.supplyAsync(this::reload,
+                                                                              refreshing);
+            pendingReload.set(reload);
+            reload.whenComplete((loaded, error) -> pendingReload.compareAndSet(reload, null));
+        }
+    }
+
+    /**
+     * The builder for the {@code CachingTodoClient}.
+     */
+    public static class Builder {
+
+        private TodoClient delegate;
+        private long refreshIntervalMillis = SECONDS.toMillis(DEFAULT_REFRESH_INTERVAL_SECONDS);
+        private long confirmationTimeoutMillis =
+                SECONDS.toMillis(DEFAULT_CONFIRMATION_TIMEOUT_SECONDS);
+        private Consumer<CommandFailure> failureListener = failure -> {
+            // Do nothing.
+        };
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the client to obtain the projections from and to post the commands to.
+         */
+        public Builder setDelegate(TodoClient delegate) {
+            this.delegate = checkNotNull(delegate);
+            return this;
+        }
+
+        /**
+         * Sets the interval between the background refreshes of the projections.
+         *
+         * <p>Five seconds by default.
+         */
+        public Builder setRefreshInterval(long interval, TimeUnit unit) {
+            checkArgument(interval > 0);
+            checkNotNull(unit);
+            this.refreshIntervalMillis = unit.toMillis(interval);
+            return this;
+        }
+
+        /**
+         * Sets the time, during which the effect of a posted command is expected
+         * to appear in the projections.
+         *
+         * <p>Five seconds by default.
+         */
+        public Builder setConfirmationTimeout(long timeout, TimeUnit unit) {
+            checkArgument(timeout > 0);
+            checkNotNull(unit);
+            this.confirmationTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Sets the listener of the commands, which local changes are rolled back.
+         *
+         * <p>The listener is called from a background thread.
+         */
+        public Builder setFailureListener(Consumer<CommandFailure> failureListener) {
+            this.failureListener = checkNotNull(failureListener);
+            return this;
+        }
+
+        public CachingTodoClient build() {
+            checkNotNull(delegate, "The delegate client must be set.");
+            return new CachingTodoClient(this);
+        }
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(CachingTodoClient.class);
+    }
+}
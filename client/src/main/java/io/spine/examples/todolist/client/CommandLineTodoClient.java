@@ -23,12 +23,14 @@ package io.spine.examples.todolist.client;
 import com.google.protobuf.Any;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
+import io.grpc.ConnectivityState;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.spine.client.ActorRequestFactory;
 import io.spine.client.Query;
 import io.spine.client.grpc.CommandServiceGrpc;
 import io.spine.client.grpc.QueryServiceGrpc;
+import io.spine.core.Ack;
 import io.spine.core.Command;
 import io.spine.core.UserId;
 import io.spine.examples.todolist.Task;
@@ -52,7 +54,11 @@ import io.spine.examples.todolist.q.projection.MyListView;
 import io.spine.time.ZoneOffsets;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
+import static io.grpc.ConnectivityState.READY;
+import static io.grpc.ConnectivityState.SHUTDOWN;
+import static io.grpc.ConnectivityState.TRANSIENT_FAILURE;
 import static io.spine.Identifier.newUuid;
 import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -85,102 +91,129 @@ public class CommandLineTodoClient implements TodoClient {
         this.queryService = QueryServiceGrpc.newBlockingStub(channel);
     }
 
+    /**
+     * Establishes the connection to the server.
+     *
+     * <p>Otherwise, the connection is established by the first request.
+     *
+     * <p>Returns as soon as the connection is ready or failed,
+     * but waits no longer than the {@linkplain #TIMEOUT timeout}.
+     */
+    public void connect() {
+        final CountDownLatch connectionAttempt = new CountDownLatch(1);
+        awaitConnection(channel.getState(true), connectionAttempt);
+        try {
+            connectionAttempt.await(TIMEOUT, SECONDS);
+        } catch (InterruptedException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private void awaitConnection(ConnectivityState state, CountDownLatch connectionAttempt) {
+        if (state == READY || state == TRANSIENT_FAILURE || state == SHUTDOWN) {
+            connectionAttempt.countDown();
+            return;
+        }
+        channel.notifyWhenStateChanged(state, () -> awaitConnection(channel.getState(false),
+                                                                    connectionAttempt));
+    }
+
     @Override
     public void create(CreateBasicTask cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void create(CreateBasicLabel cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void create(CreateDraft cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void update(UpdateTaskDescription cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void update(UpdateTaskDueDate cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void update(UpdateTaskPriority cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void update(UpdateLabelDetails cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void delete(DeleteTask cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void removeLabel(RemoveLabelFromTask cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void assignLabel(AssignLabelToTask cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void reopen(ReopenTask cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void restore(RestoreDeletedTask cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void complete(CompleteTask cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
     public void finalize(FinalizeDraft cmd) {
         final Command executableCmd = requestFactory.command()
                                                     .create(cmd);
-        commandService.post(executableCmd);
+        post(executableCmd);
     }
 
     @Override
@@ -243,6 +276,16 @@ public class CommandLineTodoClient implements TodoClient {
         }
     }
 
+    /**
+     * Posts the command to the server.
+     *
+     * @param command the command to post
+     * @return the acknowledgement of the command
+     */
+    protected Ack post(Command command) {
+        return commandService.post(command);
+    }
+
     private static ManagedChannel initChannel(String host, int port) {
         final ManagedChannel result = ManagedChannelBuilder.forAddress(host, port)
                                                            .usePlaintext(true)
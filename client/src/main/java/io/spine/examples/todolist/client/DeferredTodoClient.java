@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.c.commands.AssignLabelToTask;
+import io.spine.examples.todolist.c.commands.CompleteTask;
+import io.spine.examples.todolist.c.commands.CreateBasicLabel;
+import io.spine.examples.todolist.c.commands.CreateBasicTask;
+import io.spine.examples.todolist.c.commands.CreateDraft;
+import io.spine.examples.todolist.c.commands.DeleteTask;
+import io.spine.examples.todolist.c.commands.FinalizeDraft;
+import io.spine.examples.todolist.c.commands.RemoveLabelFromTask;
+import io.spine.examples.todolist.c.commands.ReopenTask;
+import io.spine.examples.todolist.c.commands.RestoreDeletedTask;
+import io.spine.examples.todolist.c.commands.UpdateLabelDetails;
+import io.spine.examples.todolist.c.commands.UpdateTaskDescription;
+import io.spine.examples.todolist.c.commands.UpdateTaskDueDate;
+import io.spine.examples.todolist.c.commands.UpdateTaskPriority;
+import io.spine.examples.todolist.q.projection.DraftTasksView;
+import io.spine.examples.todolist.q.projection.LabelledTasksView;
+import io.spine.examples.todolist.q.projection.MyListView;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link TodoClient}, which connects to the server in the background.
+ *
+ * <p>The delegate client is created by a separate thread right after the instance creation.
+ * The first request waits for the delegate only if it is not ready yet,
+ * so an application can show its first view while the connection is established.
+ *
+ * <p>If the delegate cannot be created, the exception is thrown by each request.
+ */
+@SuppressWarnings("OverlyCoupledClass")
+public final class DeferredTodoClient implements TodoClient {
+
+    private static final String CONNECTION_THREAD_NAME = "client-connection";
+
+    private final CompletableFuture<TodoClient> delegate;
+
+    private DeferredTodoClient(CompletableFuture<TodoClient> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Creates a new instance and starts the creation of the delegate.
+     *
+     * @param connection the supplier of the connected client
+     * @return a new instance
+     */
+    public static DeferredTodoClient newInstance(Supplier<TodoClient> connection) {
+        checkNotNull(connection);
+        final CompletableFuture<TodoClient> delegate = new CompletableFuture<>();
+        final Thread connectionThread = new Thread(() -> {
+            try {
+                delegate.complete(connection.get());
+            } catch (RuntimeException e) {
+                delegate.completeExceptionally(e);
+            }
+        }, CONNECTION_THREAD_NAME);
+        connectionThread.setDaemon(true);
+        connectionThread.start();
+        return new DeferredTodoClient(delegate);
+    }
+
+    @Override
+    public void create(CreateBasicTask cmd) {
+        delegate().create(cmd);
+    }
+
+    @Override
+    public void create(CreateBasicLabel cmd) {
+        delegate().create(cmd);
+    }
+
+    @Override
+    public void create(CreateDraft cmd) {
+        delegate().create(cmd);
+    }
+
+    @Override
+    public void update(UpdateTaskDescription cmd) {
+        delegate().update(cmd);
+    }
+
+    @Override
+    public void update(UpdateTaskDueDate cmd) {
+        delegate().update(cmd);
+    }
+
+    @Override
+    public void update(UpdateTaskPriority cmd) {
+        delegate().update(cmd);
+    }
+
+    @Override
+    public void update(UpdateLabelDetails cmd) {
+        delegate().update(cmd);
+    }
+
+    @Override
+    public void delete(DeleteTask cmd) {
+        delegate().delete(cmd);
+    }
+
+    @Override
+    public void removeLabel(RemoveLabelFromTask cmd) {
+        delegate().removeLabel(cmd);
+    }
+
+    @Override
+    public void assignLabel(AssignLabelToTask cmd) {
+        delegate().assignLabel(cmd);
+    }
+
+    @Override
+    public void reopen(ReopenTask cmd) {
+        delegate().reopen(cmd);
+    }
+
+    @Override
+    public void restore(RestoreDeletedTask cmd) {
+        delegate().restore(cmd);
+    }
+
+    @Override
+    public void complete(CompleteTask cmd) {
+        delegate().complete(cmd);
+    }
+
+    @Override
+    public void finalize(FinalizeDraft cmd) {
+        delegate().finalize(cmd);
+    }
+
+    @Override
+    public MyListView getMyListView() {
+        return delegate().getMyListView();
+    }
+
+    @Override
+    public List<LabelledTasksView> getLabelledTasksView() {
+        return delegate().getLabelledTasksView();
+    }
+
+    @Override
+    public DraftTasksView getDraftTasksView() {
+        return delegate().getDraftTasksView();
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return delegate().getTasks();
+    }
+
+    /**
+     * Shuts down the delegate client if it was created.
+     *
+     * <p>Does not wait for the delegate if it is still being created.
+     */
+    @Override
+    public void shutdown() {
+        if (isConnected()) {
+            delegate.join()
+                    .shutdown();
+        } else {
+            delegate.thenAccept(TodoClient::shutdown);
+        }
+    }
+
+    /**
+     * Checks whether the delegate client is created.
+     *
+     * @return {@code true} if the delegate is ready to use, {@code false} otherwise
+     */
+    @VisibleForTesting
+    boolean isConnected() {
+        return delegate.isDone() && !delegate.isCompletedExceptionally();
+    }
+
+    /**
+     * Obtains the delegate client waiting for it if necessary.
+     */
+    private TodoClient delegate() {
+        try {
+            return delegate.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException
+                  ? (RuntimeException) cause
+                  : e;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The expected effect of a command on {@link MyListView}.
+ *
+ * <p>The effect is {@linkplain #applyTo(MyListView) applied} to the local copy of the view
+ * before the command is handled by the server. The effect is idempotent, since it may be
+ * applied to a view, which already reflects the command. After the command is handled,
+ * the change should be {@linkplain #isReflectedIn(MyListView) reflected}
+ * in the view obtained from the server, otherwise the command is considered failed.
+ */
+final class LocalChange {
+
+    private final UnaryOperator<MyListView> effect;
+    private final Predicate<MyListView> reflection;
+
+    private LocalChange(UnaryOperator<MyListView> effect, Predicate<MyListView> reflection) {
+        this.effect = effect;
+        this.reflection = reflection;
+    }
+
+    /**
+     * Creates the change, which adds the specified task.
+     */
+    static LocalChange addTask(TaskItem task) {
+        checkNotNull(task);
+        final TaskId id = task.getId();
+        final UnaryOperator<MyListView> effect =
+                view -> findTask(view, id).isPresent()
+                        ? view
+                        : withTasks(view, addTo(tasksOf(view), task));
+        return new LocalChange(effect, view -> findTask(view, id).isPresent());
+    }
+
+    /**
+     * Creates the change, which updates the specified task.
+     *
+     * @param id       the ID of the task to update
+     * @param update   the update of the task
+     * @param expected the condition the updated task should meet
+     */
+    static LocalChange updateTask(TaskId id,
+                                  UnaryOperator<TaskItem> update,
+                                  Predicate<TaskItem> expected) {
+        checkNotNull(id);
+        checkNotNull(update);
+        checkNotNull(expected);
+        final UnaryOperator<MyListView> effect = view -> {
+            final List<TaskItem> updated = tasksOf(view).stream()
+                                                        .map(task -> task.getId()
+                                                                         .equals(id)
+                                                                     ? update.apply(task)
+                                                                     : task)
+                                                        .collect(toList());
+            return withTasks(view, updated);
+        };
+        return new LocalChange(effect, view -> findTask(view, id).filter(expected)
+                                                                 .isPresent());
+    }
+
+    /**
+     * Creates the change, which removes the specified task.
+     */
+    static LocalChange removeTask(TaskId id) {
+        checkNotNull(id);
+        final UnaryOperator<MyListView> effect = view -> {
+            final List<TaskItem> remaining = tasksOf(view).stream()
+                                                          .filter(task -> !task.getId()
+                                                                               .equals(id))
+                                                          .collect(toList());
+            return withTasks(view, remaining);
+        };
+        return new LocalChange(effect, view -> !findTask(view, id).isPresent());
+    }
+
+    /**
+     * Applies the expected effect to the specified view.
+     *
+     * @param view the view to change
+     * @return the changed view
+     */
+    MyListView applyTo(MyListView view) {
+        return effect.apply(view);
+    }
+
+    /**
+     * Determines whether the effect of the command is present in the specified view.
+     *
+     * @param view the view obtained from the server after the command was handled
+     * @return {@code true} if the command took the expected effect
+     */
+    boolean isReflectedIn(MyListView view) {
+        return reflection.test(view);
+    }
+
+    private static List<TaskItem> tasksOf(MyListView view) {
+        return view.getMyList()
+                   .getItemsList();
+    }
+
+    private static List<TaskItem> addTo(List<TaskItem> tasks, TaskItem task) {
+        final List<TaskItem> result = new ArrayList<>(tasks.size() + 1);
+        result.addAll(tasks);
+        result.add(task);
+        return result;
+    }
+
+    private static Optional<TaskItem> findTask(MyListView view, TaskId id) {
+        return tasksOf(view).stream()
+                            .filter(task -> task.getId()
+                                                .equals(id))
+                            .findFirst();
+    }
+
+    private static MyListView withTasks(MyListView view, List<TaskItem> tasks) {
+        final TaskListView taskList = view.getMyList()
+                                          .toBuilder()
+                                          .clearItems()
+                                          .addAllItems(tasks)
+                                          .build();
+        return view.toBuilder()
+                   .setMyList(taskList)
+                   .build();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.spine.examples.todolist.c.commands.CreateBasicTask;
+import io.spine.examples.todolist.c.commands.UpdateTaskDescription;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDescriptionInstance;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("CachingTodoClient should")
+class CachingTodoClientTest extends CommandLineTodoClientTest {
+
+    private CachingTodoClient cachingClient;
+    private BlockingQueue<CommandFailure> failures;
+
+    @BeforeEach
+    @Override
+    void setUp() throws InterruptedException {
+        super.setUp();
+        failures = new LinkedBlockingQueue<>();
+        cachingClient = CachingTodoClient.newBuilder()
+                                         .setDelegate(getClient())
+                                         .setRefreshInterval(1, HOURS)
+                                         .setConfirmationTimeout(1, SECONDS)
+                                         .setFailureListener(failures::add)
+                                         .build();
+    }
+
+    @AfterEach
+    @Override
+    public void tearDown() {
+        cachingClient.shutdown();
+        super.tearDown();
+    }
+
+    @Test
+    @DisplayName("reflect the posted commands")
+    void reflectPostedCommands() {
+        assertTrue(myTasks().isEmpty());
+
+        final CreateBasicTask createTask = createBasicTask();
+        cachingClient.create(createTask);
+
+        final List<TaskItem> tasks = myTasks();
+        assertEquals(1, tasks.size());
+        assertEquals(createTask.getId(), tasks.get(0)
+                                              .getId());
+    }
+
+    @Test
+    @DisplayName("read the local copy until it is refreshed")
+    void readLocalCopy() {
+        assertTrue(myTasks().isEmpty());
+
+        createTask();
+        assertTrue(myTasks().isEmpty());
+
+        cachingClient.refresh();
+        assertEquals(1, myTasks().size());
+    }
+
+    @Test
+    @DisplayName("roll back the change not accepted by the server")
+    void rollBackRejectedChange() throws InterruptedException {
+        final CreateBasicTask createTask = createBasicTask();
+        cachingClient.create(createTask);
+        final UpdateTaskDescription updateDescription =
+                updateTaskDescriptionInstance(createTask.getId(), "Unexpected previous value",
+                                              UPDATED_TASK_DESCRIPTION);
+        cachingClient.update(updateDescription);
+
+        final CommandFailure failure = failures.poll(10, SECONDS);
+        assertNotNull(failure);
+        assertEquals(UpdateTaskDescription.class.getSimpleName(), failure.getCommandName());
+        final List<TaskItem> tasks = myTasks();
+        assertEquals(1, tasks.size());
+        assertEquals(createTask.getDescription(), tasks.get(0)
+                                                       .getDescription());
+    }
+
+    @Test
+    @DisplayName("confirm the change reflected by a later reload")
+    void confirmDelayedChange() throws InterruptedException {
+        final AtomicInteger staleReloads = new AtomicInteger();
+        final TodoClient lagging = laggingClient(staleReloads);
+        final CachingTodoClient client = CachingTodoClient.newBuilder()
+                                                          .setDelegate(lagging)
+                                                          .setRefreshInterval(1, HOURS)
+                                                          .setConfirmationTimeout(10, SECONDS)
+                                                          .setFailureListener(failures::add)
+                                                          .build();
+        try {
+            assertTrue(client.getMyListView()
+                             .getMyList()
+                             .getItemsList()
+                             .isEmpty());
+            staleReloads.set(3);
+            client.create(createBasicTask());
+
+            final long deadline = System.nanoTime() + SECONDS.toNanos(10);
+            while (client.hasPendingChanges() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertFalse(client.hasPendingChanges());
+            assertTrue(failures.isEmpty());
+            assertEquals(1, client.getMyListView()
+                                  .getMyList()
+                                  .getItemsCount());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private List<TaskItem> myTasks() {
+        return cachingClient.getMyListView()
+                            .getMyList()
+                            .getItemsList();
+    }
+
+    /**
+     * Creates a client, which returns an empty {@link MyListView} for the specified number
+     * of the reads, as if the projections were not updated yet.
+     */
+    private TodoClient laggingClient(AtomicInteger staleReloads) {
+        final TodoClient client = getClient();
+        return (TodoClient) Proxy.newProxyInstance(
+                TodoClient.class.getClassLoader(),
+                new Class<?>[]{TodoClient.class},
+                (proxy, method, args) -> {
+                    if ("getMyListView".equals(method.getName())
+                            && staleReloads.getAndDecrement() > 0) {
+                        return MyListView.getDefaultInstance();
+                    }
+                    try {
+                        return method.invoke(client, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
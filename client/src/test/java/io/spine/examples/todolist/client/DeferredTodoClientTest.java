@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.spine.examples.todolist.q.projection.MyListView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DeferredTodoClient should")
+class DeferredTodoClientTest extends CommandLineTodoClientTest {
+
+    @Test
+    @DisplayName("wait for the connection on the first request")
+    void waitForConnection() throws InterruptedException,
+                                    ExecutionException,
+                                    TimeoutException {
+        final CountDownLatch connectionAllowed = new CountDownLatch(1);
+        final DeferredTodoClient client = DeferredTodoClient.newInstance(() -> {
+            awaitUninterruptibly(connectionAllowed);
+            return getClient();
+        });
+        final CompletableFuture<MyListView> myListView =
+                CompletableFuture.supplyAsync(client::getMyListView);
+        assertFalse(client.isConnected());
+        assertFalse(myListView.isDone());
+
+        connectionAllowed.countDown();
+
+        assertNotNull(myListView.get(10, SECONDS));
+        assertTrue(client.isConnected());
+    }
+
+    @Test
+    @DisplayName("throw the exception of the connection on a request")
+    void throwConnectionException() {
+        final DeferredTodoClient client = DeferredTodoClient.newInstance(() -> {
+            throw new IllegalStateException("Connection refused.");
+        });
+        assertThrows(IllegalStateException.class, client::getTasks);
+        assertFalse(client.isConnected());
+    }
+}
@@ -21,14 +21,13 @@
 package io.spine.examples.todolist.server;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import io.spine.Environment;
 import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.server.datasource.DataSources;
 import io.spine.server.BoundedContext;
 import io.spine.server.storage.StorageFactory;
 import io.spine.server.storage.jdbc.JdbcStorageFactory;
-import org.slf4j.Logger;
 
 import javax.sql.DataSource;
 import java.io.IOException;
@@ -38,7 +37,7 @@ import java.util.Properties;
 import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
 import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 import static java.lang.String.format;
-import static org.slf4j.LoggerFactory.getLogger;
+import static java.util.concurrent.TimeUnit.MINUTES;
 
 /**
  * A Compute Engine {@link Server} using {@link io.spine.server.storage.jdbc.JdbcStorageFactory
@@ -46,6 +45,15 @@ import static org.slf4j.LoggerFactory.getLogger;
  *
  * <p>If you want to run this server locally, use {@code LocalCloudSqlServer} instead.
  *
+ * <p>The storage of the projections is selected by
+ * the {@value ProjectionStorages#PROPERTY} system property. Set it to
+ * {@value ProjectionStorages#NORMALIZED} to store the task lists one row per task.
+ * The storage operations are measured if
+ * the {@value StorageTiming#PROPERTY} system property is {@code true}.
+ * The stored messages are compressed if
+ * the {@value StorageCompression#PROPERTY} system property is set.
+ * The metrics of the connection pool are logged every minute.
+ *
  * <p>For the details, see the {@code README.md}.
  *
  * @author Dmytro Grankin
@@ -57,6 +65,9 @@ public class ComputeCloudSqlServer {
     private static final String DB_PROPERTIES_FILE = "cloud-sql.properties";
     private static final Properties properties = getProperties(DB_PROPERTIES_FILE);
 
+    /** The period of logging the connection pool metrics in minutes. */
+    private static final long POOL_METRICS_LOG_PERIOD = 1;
+
     private static final String DB_URL_FORMAT = "%s//google/%s?cloudSqlInstance=%s&" +
             "useSSL=false&socketFactory=com.google.cloud.sql.mysql.SocketFactory";
 
@@ -65,45 +76,38 @@ public class ComputeCloudSqlServer {
     }
 
     public static void main(String[] args) throws IOException {
-        final BoundedContext boundedContext = createBoundedContext();
-        final Server server = new Server(DEFAULT_CLIENT_SERVICE_PORT, boundedContext);
+        final HikariDataSource dataSource = createDataSource();
+        DataSources.startMetricsLogging(dataSource, POOL_METRICS_LOG_PERIOD, MINUTES);
+        final StorageFactory storageFactory = createStorageFactory(dataSource);
+        final StorageFactory configuredFactory =
+                StorageCompression.configure(StorageTiming.configure(storageFactory));
+        final Server server = Server.withQueryCache(DEFAULT_CLIENT_SERVICE_PORT,
+                                                    configuredFactory);
         server.start();
     }
 
     @VisibleForTesting
     static BoundedContext createBoundedContext() {
-        final StorageFactory storageFactory = createStorageFactory();
+        final StorageFactory storageFactory = createStorageFactory(createDataSource());
         return BoundedContexts.create(storageFactory);
     }
 
-    private static StorageFactory createStorageFactory() {
-        return JdbcStorageFactory.newBuilder()
-                                 .setDataSource(createDataSource())
-                                 .setMultitenant(false)
-                                 .build();
+    private static StorageFactory createStorageFactory(DataSource dataSource) {
+        final StorageFactory jdbcFactory = JdbcStorageFactory.newBuilder()
+                                                             .setDataSource(dataSource)
+                                                             .setMultitenant(false)
+                                                             .build();
+        return ProjectionStorages.configure(jdbcFactory, dataSource);
     }
 
-    private static DataSource createDataSource() {
-        final HikariConfig config = new HikariConfig();
-
+    private static HikariDataSource createDataSource() {
         final String instanceConnectionName = properties.getProperty("db.instance");
         final String dbName = properties.getProperty("db.name");
         final String username = properties.getProperty("db.username");
         final String password = properties.getProperty("db.password");
 
-        log().info("Start `DataSource` creation. The following parameters will be used:");
         final String dbUrl = format(DB_URL_FORMAT, getDbUrlPrefix(), dbName, instanceConnectionName);
-        config.setJdbcUrl(dbUrl);
-        log().info("JDBC URL: {}", dbUrl);
-
-        config.setUsername(username);
-        log().info("Username: {}", username);
-
-        config.setPassword(password);
-        log().info("Password: {}", password);
-
-        final DataSource dataSource = new HikariDataSource(config);
-        return dataSource;
+        return DataSources.create(dbUrl, username, password);
     }
 
     /**
@@ -135,14 +139,4 @@ public class ComputeCloudSqlServer {
         }
         return properties;
     }
-
-    private static Logger log() {
-        return LogSingleton.INSTANCE.value;
-    }
-
-    private enum LogSingleton {
-        INSTANCE;
-        @SuppressWarnings("NonSerializableFieldInSerializableClass")
-        private final Logger value = getLogger(ComputeCloudSqlServer.class);
-    }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.datasource;
+
+import com.google.common.collect.ImmutableMap;
+import com.zaxxer.hikari.HikariConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The tuning settings of the JDBC connection pool.
+ *
+ * <p>The settings, which are not specified, keep the HikariCP default values.
+ */
+public final class DataSourceSettings {
+
+    private static final String MYSQL_URL_PREFIX = "jdbc:mysql:";
+
+    private static final String MAXIMUM_POOL_SIZE = "pool.maximumSize";
+    private static final String MINIMUM_IDLE = "pool.minimumIdle";
+    private static final String CONNECTION_TIMEOUT = "pool.connectionTimeout";
+    private static final String MYSQL_PREFIX = "mysql.";
+
+    private static final String CACHE_PREPARED_STATEMENTS = "cachePrepStmts";
+    private static final String REWRITE_BATCHED_STATEMENTS = "rewriteBatchedStatements";
+
+    private final OptionalInt maximumPoolSize;
+    private final OptionalInt minimumIdle;
+    private final OptionalLong connectionTimeout;
+    private final ImmutableMap<String, String> mySqlProperties;
+
+    private DataSourceSettings(Builder builder) {
+        this.maximumPoolSize = builder.maximumPoolSize;
+        this.minimumIdle = builder.minimumIdle;
+        this.connectionTimeout = builder.connectionTimeout;
+        this.mySqlProperties = ImmutableMap.copyOf(builder.mySqlProperties);
+    }
+
+    /**
+     * Reads the settings of the specified profile from the properties.
+     *
+     * <p>A property defined for the profile as {@code <profile>.<property>}
+     * overrides the property defined without the profile.
+     *
+     * @param properties the properties to read
+     * @param profile    the name of the profile
+     * @return the settings of the profile
+     */
+    public static DataSourceSettings fromProperties(Properties properties, String profile) {
+        checkNotNull(properties);
+        checkNotNull(profile);
+        final Properties resolved = new Properties();
+        final String profilePrefix = profile + '.';
+        for (String name : properties.stringPropertyNames()) {
+            if (!name.startsWith(profilePrefix)) {
+                resolved.setProperty(name, properties.getProperty(name));
+            }
+        }
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(profilePrefix)) {
+                resolved.setProperty(name.substring(profilePrefix.length()),
+                                     properties.getProperty(name));
+            }
+        }
+
+        final Builder builder = newBuilder();
+        for (String name : resolved.stringPropertyNames()) {
+            final String value = resolved.getProperty(name);
+            if (MAXIMUM_POOL_SIZE.equals(name)) {
+                builder.setMaximumPoolSize(Integer.parseInt(value));
+            } else if (MINIMUM_IDLE.equals(name)) {
+                builder.setMinimumIdle(Integer.parseInt(value));
+            } else if (CONNECTION_TIMEOUT.equals(name)) {
+                builder.setConnectionTimeout(Long.parseLong(value));
+            } else if (name.startsWith(MYSQL_PREFIX)) {
+                builder.setMySqlProperty(name.substring(MYSQL_PREFIX.length()), value);
+            }
+        }
+        return builder.build();
+    }
+
+    public OptionalInt getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public OptionalInt getMinimumIdle() {
+        return minimumIdle;
+    }
+
+    public OptionalLong getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    /**
+     * Obtains the driver properties, which are applied only to the {@code MySQL} connections.
+     */
+    public Map<String, String> getMySqlProperties() {
+        return mySqlProperties;
+    }
+
+    /**
+     * Applies the settings to the configuration.
+     *
+     * <p>The {@code JDBC URL} of the configuration should be set beforehand.
+     */
+    void applyTo(HikariConfig config) {
+        maximumPoolSize.ifPresent(config::setMaximumPoolSize);
+        minimumIdle.ifPresent(config::setMinimumIdle);
+        connectionTimeout.ifPresent(config::setConnectionTimeout);
+        final String jdbcUrl = config.getJdbcUrl();
+        if (jdbcUrl != null && jdbcUrl.startsWith(MYSQL_URL_PREFIX)) {
+            mySqlProperties.forEach(config::addDataSourceProperty);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("maximumPoolSize", maximumPoolSize)
+                .add("minimumIdle", minimumIdle)
+                .add("connectionTimeout", connectionTimeout)
+                .add("mySqlProperties", mySqlProperties)
+                .toString();
+    }
+
+    /**
+     * Creates a new builder for {@code DataSourceSettings}.
+     *
+     * @return new builder instance
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder for {@code DataSourceSettings} instances.
+     */
+    public static class Builder {
+
+        private OptionalInt maximumPoolSize = OptionalInt.empty();
+        private OptionalInt minimumIdle = OptionalInt.empty();
+        private OptionalLong connectionTimeout = OptionalLong.empty();
+        private final Map<String, String> mySqlProperties = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder setMaximumPoolSize(int maximumPoolSize) {
+            checkArgument(maximumPoolSize > 0);
+            this.maximumPoolSize = OptionalInt.of(maximumPoolSize);
+            return this;
+        }
+
+        public Builder setMinimumIdle(int minimumIdle) {
+            checkArgument(minimumIdle >= 0);
+            this.minimumIdle = OptionalInt.of(minimumIdle);
+            return this;
+        }
+
+        /**
+         * Sets the maximum time to wait for a connection from the pool.
+         *
+         * @param connectionTimeout the timeout in milliseconds
+         */
+        public Builder setConnectionTimeout(long connectionTimeout) {
+            checkArgument(connectionTimeout > 0);
+            this.connectionTimeout = OptionalLong.of(connectionTimeout);
+            return this;
+        }
+
+        /**
+         * Enables or disables the client-side caching of the prepared statements by MySQL driver.
+         */
+        public Builder setCachePreparedStatements(boolean cachePreparedStatements) {
+            return setMySqlProperty(CACHE_PREPARED_STATEMENTS,
+                                    String.valueOf(cachePreparedStatements));
+        }
+
+        /**
+         * Enables or disables rewriting of the batched statements by MySQL driver
+         * into the multi-value inserts.
+         */
+        public Builder setRewriteBatchedStatements(boolean rewriteBatchedStatements) {
+            return setMySqlProperty(REWRITE_BATCHED_STATEMENTS,
+                                    String.valueOf(rewriteBatchedStatements));
+        }
+
+        /**
+         * Sets the MySQL driver property.
+         *
+         * @param name  the name of the driver property
+         * @param value the value of the property
+         */
+        public Builder setMySqlProperty(String name, String value) {
+            checkNotNull(name);
+            checkNotNull(value);
+            mySqlProperties.put(name, value);
+            return this;
+        }
+
+        public DataSourceSettings build() {
+            return new DataSourceSettings(this);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.datasource;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.spine.Environment;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Utilities for creation of the pooled JDBC {@code DataSource} instances.
+ *
+ * <p>The pool is tuned by the {@linkplain DataSourceSettings settings}
+ * from the {@code datasource.properties} file.
+ */
+public final class DataSources {
+
+    @VisibleForTesting
+    static final String PROPERTIES_FILE = "datasource.properties";
+
+    /** The name of the system property and the file property specifying the profile. */
+    @VisibleForTesting
+    static final String PROFILE_PROPERTY = "datasource.profile";
+
+    @VisibleForTesting
+    static final String TESTS_PROFILE = "tests";
+
+    private static final String THREAD_NAME_FORMAT = "datasource-metrics-%d";
+
+    private DataSources() {
+        // Prevent instantiation of this utility class.
+    }
+
+    /**
+     * Creates the pooled {@code DataSource} tuned by the settings
+     * of the {@linkplain #getProfile(Properties) active profile}.
+     *
+     * @param jdbcUrl  the connection URL
+     * @param username the database user
+     * @param password the password of the user
+     * @return new data source
+     */
+    public static HikariDataSource create(String jdbcUrl, String username, String password) {
+        return create(jdbcUrl, username, password, loadSettings());
+    }
+
+    /**
+     * Creates the pooled {@code DataSource} tuned by the specified settings.
+     *
+     * @param jdbcUrl  the connection URL
+     * @param username the database user
+     * @param password the password of the user
+     * @param settings the settings of the pool
+     * @return new data source
+     */
+    public static HikariDataSource create(String jdbcUrl,
+                                          String username,
+                                          String password,
+                                          DataSourceSettings settings) {
+        checkNotNull(jdbcUrl);
+        checkNotNull(settings);
+        final HikariConfig config = new HikariConfig();
+
+        log().info("Start `DataSource` creation. The following parameters will be used:");
+        config.setJdbcUrl(jdbcUrl);
+        log().info("JDBC URL: {}", jdbcUrl);
+
+        config.setUsername(username);
+        log().info("Username: {}", username);
+
+        config.setPassword(password);
+
+        settings.applyTo(config);
+        log().info("Pool settings: {}", settings);
+
+        config.setRegisterMbeans(true);
+        final HikariDataSource dataSource = new HikariDataSource(config);
+        return dataSource;
+    }
+
+    /**
+     * Loads the settings of the active profile from the {@code datasource.properties} file.
+     *
+     * @return the settings of the active profile
+     */
+    public static DataSourceSettings loadSettings() {
+        final Properties properties = getProperties(PROPERTIES_FILE);
+        final String profile = getProfile(properties);
+        log().info("Data source profile: {}", profile);
+        return DataSourceSettings.fromProperties(properties, profile);
+    }
+
+    /**
+     * Obtains the current metrics of the connection pool.
+     *
+     * @param dataSource the pooled data source
+     * @return the pool metrics
+     */
+    public static PoolMetrics getPoolMetrics(HikariDataSource dataSource) {
+        checkNotNull(dataSource);
+        final HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return PoolMetrics.empty();
+        }
+        return new PoolMetrics(pool.getActiveConnections(),
+                               pool.getIdleConnections(),
+                               pool.getTotalConnections(),
+                               pool.getThreadsAwaitingConnection());
+    }
+
+    /**
+     * Starts logging the {@linkplain #getPoolMetrics(HikariDataSource) pool metrics}
+     * with the specified period.
+     *
+     * <p>The logging stops when the data source is closed.
+     *
+     * @param dataSource the pooled data source
+     * @param period     the period between the log records
+     * @param unit       the time unit of the period
+     */
+    public static void startMetricsLogging(HikariDataSource dataSource,
+                                           long period,
+                                           TimeUnit unit) {
+        checkNotNull(dataSource);
+        checkArgument(period > 0);
+        checkNotNull(unit);
+        final ScheduledExecutorService logging = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat(THREAD_NAME_FORMAT)
+                                          .setDaemon(true)
+                                          .build());
+        logging.scheduleAtFixedRate(() -> {
+            if (dataSource.isClosed()) {
+                logging.shutdown();
+                return;
+            }
+            log().info("Connection pool {}: {}", dataSource.getPoolName(),
+                       getPoolMetrics(dataSource));
+        }, period, period, unit);
+    }
+
+    /**
+     * Obtains the name of the active profile.
+     *
+     * <p>The profile is obtained from the {@code datasource.profile} system property.
+     * If it is not set, the {@code tests} profile is used in the
+     * {@linkplain Environment#isTests() tests environment}, and the profile
+     * specified in the properties file is used otherwise.
+     *
+     * @param properties the data source properties
+     * @return the profile name
+     */
+    @VisibleForTesting
+    static String getProfile(Properties properties) {
+        final String systemProfile = System.getProperty(PROFILE_PROPERTY);
+        if (systemProfile != null) {
+            return systemProfile;
+        }
+        if (Environment.getInstance()
+                       .isTests()) {
+            return TESTS_PROFILE;
+        }
+        return properties.getProperty(PROFILE_PROPERTY, "");
+    }
+
+    private static Properties getProperties(String propertiesFile) {
+        final Properties properties = new Properties();
+        final InputStream stream = DataSources.class.getClassLoader()
+                                                    .getResourceAsStream(propertiesFile);
+        try {
+            properties.load(stream);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return properties;
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(DataSources.class);
+    }
+}
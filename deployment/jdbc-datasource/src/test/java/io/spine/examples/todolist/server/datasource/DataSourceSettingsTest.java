@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DataSourceSettings should")
+class DataSourceSettingsTest {
+
+    private static final String PROFILE = "production";
+
+    @Test
+    @DisplayName("override properties by the profile properties")
+    void overrideByProfile() {
+        final Properties properties = new Properties();
+        properties.setProperty("pool.maximumSize", "10");
+        properties.setProperty("pool.connectionTimeout", "30000");
+        properties.setProperty(PROFILE + ".pool.maximumSize", "20");
+        properties.setProperty("development.pool.maximumSize", "4");
+
+        final DataSourceSettings settings = DataSourceSettings.fromProperties(properties, PROFILE);
+        assertEquals(20, settings.getMaximumPoolSize()
+                                 .getAsInt());
+        assertEquals(30_000, settings.getConnectionTimeout()
+                                     .getAsLong());
+        assertFalse(settings.getMinimumIdle()
+                            .isPresent());
+    }
+
+    @Test
+    @DisplayName("read MySQL driver properties")
+    void readMySqlProperties() {
+        final Properties properties = new Properties();
+        properties.setProperty("mysql.rewriteBatchedStatements", "true");
+
+        final DataSourceSettings settings = DataSourceSettings.fromProperties(properties, PROFILE);
+        assertEquals("true", settings.getMySqlProperties()
+                                     .get("rewriteBatchedStatements"));
+    }
+
+    @Test
+    @DisplayName("apply MySQL driver properties only to MySQL connections")
+    void applyMySqlPropertiesToMySql() {
+        final DataSourceSettings settings = DataSourceSettings.newBuilder()
+                                                              .setCachePreparedStatements(true)
+                                                              .setMaximumPoolSize(3)
+                                                              .build();
+        final HikariConfig mySqlConfig = new HikariConfig();
+        mySqlConfig.setJdbcUrl("jdbc:mysql://localhost/db");
+        settings.applyTo(mySqlConfig);
+        assertTrue(mySqlConfig.getDataSourceProperties()
+                              .containsKey("cachePrepStmts"));
+        assertEquals(3, mySqlConfig.getMaximumPoolSize());
+
+        final HikariConfig h2Config = new HikariConfig();
+        h2Config.setJdbcUrl("jdbc:h2:mem:db");
+        settings.applyTo(h2Config);
+        assertTrue(h2Config.getDataSourceProperties()
+                           .isEmpty());
+    }
+}
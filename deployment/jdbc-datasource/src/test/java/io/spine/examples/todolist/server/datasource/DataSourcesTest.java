@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static io.spine.examples.todolist.server.datasource.DataSources.TESTS_PROFILE;
+import static io.spine.test.Tests.assertHasPrivateParameterlessCtor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DataSources should")
+class DataSourcesTest {
+
+    @Test
+    @DisplayName("have the private constructor")
+    void havePrivateCtor() {
+        assertHasPrivateParameterlessCtor(DataSources.class);
+    }
+
+    @Test
+    @DisplayName("use tests profile in tests environment")
+    void useTestsProfile() {
+        assertEquals(TESTS_PROFILE, DataSources.getProfile(new Properties()));
+    }
+
+    @Test
+    @DisplayName("load default settings for tests profile")
+    void loadTestsSettings() {
+        final DataSourceSettings settings = DataSources.loadSettings();
+        assertEquals(10, settings.getMaximumPoolSize()
+                                 .getAsInt());
+        assertEquals(30_000, settings.getConnectionTimeout()
+                                     .getAsLong());
+    }
+
+    @Test
+    @DisplayName("create data source exposing pool metrics")
+    void exposePoolMetrics() {
+        try (HikariDataSource dataSource = DataSources.create("jdbc:h2:mem:DataSourcesTest",
+                                                              "sa", "")) {
+            final PoolMetrics metrics = DataSources.getPoolMetrics(dataSource);
+            assertTrue(metrics.getTotalConnections() <= 10);
+        }
+    }
+}
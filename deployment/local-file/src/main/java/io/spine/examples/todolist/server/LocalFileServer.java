@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import io.spine.examples.todolist.server.file.FileStorageFactory;
+import io.spine.server.storage.StorageFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * A local {@link Server} using {@link FileStorageFactory}.
+ *
+ * <p>The data is stored in the directory specified as the first command-line argument.
+ * If the argument is not specified, the {@linkplain #DEFAULT_DIRECTORY default directory}
+ * is used.
+ *
+ * <p>To run the server from a command-line run the command as follows:
+ * {@code gradle :local-file:runServer -Pdir=path/to/data}
+ *
+ * <p>To measure the storage operations, add {@code -Ptiming=true} to the command.
+ * To create the task update rejections without the stack traces,
+ * add {@code -Prejections=stackless}. To cache the enrichment values instead of indexing
+ * all the tasks, add {@code -PenrichmentCache=10000}. To update the projections
+ * in a separate thread, add {@code -Ppipeline=1024}. To query the storages without
+ * the query cache, add {@code -PqueryCache=0}.
+ *
+ * <p>The storage factory is closed when the JVM shuts down, so the stored data
+ * is forced to the storage device.
+ *
+ * <p>The server exposes its {@code gRPC API} at
+ * {@linkplain io.spine.client.ConnectionConstants#DEFAULT_CLIENT_SERVICE_PORT default port}.
+ */
+public class LocalFileServer {
+
+    /** The default directory to store the data in, relative to the working directory. */
+    private static final String DEFAULT_DIRECTORY = "todo-data";
+
+    private LocalFileServer() {
+        // Prevent instantiation of this class.
+    }
+
+    public static void main(String[] args) throws IOException {
+        final Path directory = Paths.get(args.length > 0 ? args[0] : DEFAULT_DIRECTORY);
+        final FileStorageFactory storageFactory = FileStorageFactory.newBuilder()
+                                                                    .setDirectory(directory)
+                                                                    .build();
+        Runtime.getRuntime()
+               .addShutdownHook(new Thread(() -> close(storageFactory)));
+        final StorageFactory configuredFactory =
+                StorageCompression.configure(StorageTiming.configure(storageFactory));
+        final Server server = Server.withQueryCache(DEFAULT_CLIENT_SERVICE_PORT,
+                                                    configuredFactory);
+        server.start();
+    }
+
+    private static void close(FileStorageFactory storageFactory) {
+        try {
+            storageFactory.close();
+        } catch (Exception e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.file;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.spine.server.aggregate.AggregateEventRecord;
+import io.spine.server.aggregate.AggregateReadRequest;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.LifecycleFlags;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.examples.todolist.server.file.StorageKeys.toId;
+import static io.spine.examples.todolist.server.file.StorageKeys.toKey;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * An {@link AggregateStorage}, which appends the aggregate events and snapshots
+ * to a {@link SegmentedLog}.
+ *
+ * <p>The positions of the records of each aggregate are indexed by the aggregate ID
+ * in memory. The index is rebuilt from the log when the storage is created.
+ *
+ * <p>The lifecycle flags and the event counts of the aggregates are persisted
+ * in the {@linkplain FileKeyValueStore key-value stores}.
+ *
+ * @param <I> the type of the aggregate IDs
+ */
+@SuppressWarnings("Guava") // Spine API is Java 7-based and uses `Optional` from Google Guava.
+class FileAggregateStorage<I> extends AggregateStorage<I> {
+
+    private final SegmentedLog log;
+    private final FileKeyValueStore lifecycleFlags;
+    private final FileKeyValueStore eventCounts;
+
+    /** The positions of the aggregate records in the order of appending. */
+    private final ConcurrentMap<I, List<Long>> recordIndex = new ConcurrentHashMap<>();
+
+    FileAggregateStorage(SegmentedLog log,
+                         FileKeyValueStore lifecycleFlags,
+                         FileKeyValueStore eventCounts) {
+        super(false);
+        this.log = checkNotNull(log);
+        this.lifecycleFlags = checkNotNull(lifecycleFlags);
+        this.eventCounts = checkNotNull(eventCounts);
+        log.forEach((position, entry) -> indexRecord(readKey(ByteBuffer.wrap(entry)), position));
+    }
+
+    /**
+     * Forces the appended records to the storage device.
+     */
+    void force() {
+        log.force();
+        lifecycleFlags.force();
+        eventCounts.force();
+    }
+
+    @Override
+    protected synchronized void writeRecord(I id, AggregateEventRecord record) {
+        final ByteString key = toKey(id);
+        final byte[] data = record.toByteArray();
+        final ByteBuffer entry = ByteBuffer.allocate(Integer.BYTES + key.size() + data.length);
+        entry.putInt(key.size());
+        entry.put(key.asReadOnlyByteBuffer());
+        entry.put(data);
+        final long position = log.append(entry.array());
+        indexRecord(key, position);
+    }
+
+    @Override
+    protected Iterator<AggregateEventRecord> historyBackward(AggregateReadRequest<I> request) {
+        final List<Long> positions = recordIndex.get(request.getRecordId());
+        if (positions == null) {
+            return Iterators.emptyIterator();
+        }
+        final List<Long> backward = ImmutableList.copyOf(positions)
+                                                 .reverse();
+        return Iterators.transform(backward.iterator(), this::readRecord);
+    }
+
+    @Override
+    protected int readEventCountAfterLastSnapshot(I id) {
+        final Optional<byte[]> count = eventCounts.get(toKey(id));
+        return count.isPresent()
+               ? ByteBuffer.wrap(count.get())
+                           .getInt()
+               : 0;
+    }
+
+    @Override
+    protected void writeEventCountAfterLastSnapshot(I id, int eventCount) {
+        final byte[] count = ByteBuffer.allocate(Integer.BYTES)
+                                       .putInt(eventCount)
+                                       .array();
+        eventCounts.put(toKey(id), count);
+    }
+
+    @Override
+    public Optional<LifecycleFlags> readLifecycleFlags(I id) {
+        final Optional<byte[]> flags = lifecycleFlags.get(toKey(id));
+        if (!flags.isPresent()) {
+            return Optional.absent();
+        }
+        try {
+            return Optional.of(LifecycleFlags.parseFrom(flags.get()));
+        } catch (InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    @Override
+    public void writeLifecycleFlags(I id, LifecycleFlags flags) {
+        lifecycleFlags.put(toKey(id), flags.toByteArray());
+    }
+
+    @Override
+    public Iterator<I> index() {
+        return Iterators.unmodifiableIterator(recordIndex.keySet()
+                                                         .iterator());
+    }
+
+    @Override
+    public void close() {
+        log.close();
+        lifecycleFlags.close();
+        eventCounts.close();
+        super.close();
+    }
+
+    private void indexRecord(ByteString key, long position) {
+        final I id = toId(key);
+        recordIndex.computeIfAbsent(id, newId -> new CopyOnWriteArrayList<>())
+                   .add(position);
+    }
+
+    private AggregateEventRecord readRecord(long position) {
+        final ByteBuffer entry = ByteBuffer.wrap(log.read(position));
+        readKey(entry);
+        try {
+            return AggregateEventRecord.parseFrom(ByteString.copyFrom(entry));
+        } catch (InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private static ByteString readKey(ByteBuffer entry) {
+        final int keySize = entry.getInt();
+        return ByteString.copyFrom(entry, keySize);
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.file;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.ByteString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+/**
+ * A key-value store persisted in a {@link SegmentedLog}.
+ *
+ * <p>Each update is appended to the log. The positions of the latest values are kept
+ * in memory, while the values are read from the log on demand.
+ *
+ * <p>When the log contains more obsolete entries than the live ones, the live entries
+ * are copied to a new log, which replaces the current one. The compaction is performed
+ * when the store is opened and when an update makes the obsolete entries prevail.
+ *
+ * <p>The new log is written to a temporary directory, which is then renamed to mark
+ * the compaction as committed. Only after that the current log is deleted. If the compaction
+ * is interrupted, the next {@linkplain #open opening} either completes the committed compaction
+ * or discards the unfinished one, so the live entries are never lost.
+ */
+@SuppressWarnings("Guava") // For consistency with the Spine storages using Guava `Optional`.
+final class FileKeyValueStore implements AutoCloseable {
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    /** The minimum number of the obsolete entries, which triggers the compaction. */
+    private static final int MIN_OBSOLETE_TO_COMPACT = 1_000;
+
+    private static final String COMPACTING_SUFFIX = ".compacting";
+    private static final String COMPACTED_SUFFIX = ".compacted";
+
+    /**
+     * The log of the store.
+     *
+     * <p>Is replaced by the compaction. Guarded by {@code this}.
+     */
+    private SegmentedLog log;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+
+    /**
+     * The positions of the latest values by their keys.
+     *
+     * <p>Guarded by {@code this}.
+     */
+    private final Map<ByteString, Long> index = new HashMap<>();
+
+    private int obsoleteEntries;
+
+    private FileKeyValueStore(SegmentedLog log, int segmentSize, FsyncPolicy fsyncPolicy) {
+        this.log = log;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /**
+     * Opens the store located in the specified directory or creates a new one.
+     *
+     * @param directory   the directory of the store log
+     * @param segmentSize the size of the log segment in bytes
+     * @param fsyncPolicy the policy of forcing the updates to the storage device
+     * @return the opened store
+     */
+    static FileKeyValueStore open(Path directory, int segmentSize, FsyncPolicy fsyncPolicy) {
+        checkNotNull(directory);
+        completeCompaction(directory);
+        final FileKeyValueStore store = load(directory, segmentSize, fsyncPolicy);
+        store.compactIfNeeded();
+        return store;
+    }
+
+    private static FileKeyValueStore load(Path directory, int segmentSize,
+                                          FsyncPolicy fsyncPolicy) {
+        final SegmentedLog log = SegmentedLog.open(directory, segmentSize, fsyncPolicy);
+        final FileKeyValueStore store = new FileKeyValueStore(log, segmentSize, fsyncPolicy);
+        log.forEach(store::restore);
+        return store;
+    }
+
+    private void restore(long position, byte[] entry) {
+        final ByteBuffer buffer = ByteBuffer.wrap(entry);
+        final byte operation = buffer.get();
+        final ByteString key = readKey(buffer);
+        final Long previous = operation == PUT
+                              ? index.put(key, position)
+                              : index.remove(key);
+        if (previous != null) {
+            obsoleteEntries++;
+        }
+        if (operation == DELETE) {
+            obsoleteEntries++;
+        }
+    }
+
+    /**
+     * Stores the value for the specified key.
+     */
+    synchronized void put(ByteString key, byte[] value) {
+        checkNotNull(key);
+        checkNotNull(value);
+        final long position = log.append(entry(PUT, key, value));
+        if (index.put(key, position) != null) {
+            obsoleteEntries++;
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Obtains the value for the specified key.
+     *
+     * @return the value or {@code Optional.absent()} if there is no value for the key
+     */
+    synchronized Optional<byte[]> get(ByteString key) {
+        checkNotNull(key);
+        final Long position = index.get(key);
+        if (position == null) {
+            return Optional.absent();
+        }
+        final ByteBuffer entry = ByteBuffer.wrap(log.read(position));
+        entry.get();
+        readKey(entry);
+        final byte[] value = new byte[entry.remaining()];
+        entry.get(value);
+        return Optional.of(value);
+    }
+
+    /**
+     * Removes the value for the specified key.
+     *
+     * @return {@code true} if the value existed, {@code false} otherwise
+     */
+    synchronized boolean delete(ByteString key) {
+        checkNotNull(key);
+        if (!index.containsKey(key)) {
+            return false;
+        }
+        log.append(entry(DELETE, key, new byte[0]));
+        index.remove(key);
+        obsoleteEntries += 2;
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * Obtains the keys of the stored values.
+     */
+    synchronized ImmutableSet<ByteString> keys() {
+        return ImmutableSet.copyOf(index.keySet());
+    }
+
+    synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Forces the updates to the storage device.
+     */
+    synchronized void force() {
+        log.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        log.close();
+    }
+
+    private void compactIfNeeded() {
+        if (obsoleteEntries >= MIN_OBSOLETE_TO_COMPACT && obsoleteEntries > index.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Copies the live entries to a new log and replaces the current log with it.
+     */
+    private void compact() {
+        final Path directory = log.getDirectory();
+        final Path compacting = compactingDirectory(directory);
+        try {
+            deleteRecursively(compacting);
+            try (FileKeyValueStore target = load(compacting, segmentSize, fsyncPolicy)) {
+                for (ByteString key : index.keySet()) {
+                    target.put(key, get(key).get());
+                }
+            }
+            log.close();
+            Files.move(compacting, compactedDirectory(directory), ATOMIC_MOVE);
+            replaceWithCompacted(directory);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        log = SegmentedLog.open(directory, segmentSize, fsyncPolicy);
+        index.clear();
+        obsoleteEntries = 0;
+        log.forEach(this::restore);
+    }
+
+    /**
+     * Completes the committed compaction or discards the unfinished one.
+     */
+    private static void completeCompaction(Path directory) {
+        try {
+            if (Files.exists(compactedDirectory(directory))) {
+                replaceWithCompacted(directory);
+            }
+            deleteRecursively(compactingDirectory(directory));
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private static void replaceWithCompacted(Path directory) throws IOException {
+        deleteRecursively(directory);
+        Files.move(compactedDirectory(directory), directory, ATOMIC_MOVE);
+    }
+
+    /**
+     * Obtains the directory, to which the new log is written during the compaction.
+     */
+    @VisibleForTesting
+    static Path compactingDirectory(Path directory) {
+        return directory.resolveSibling(directory.getFileName() + COMPACTING_SUFFIX);
+    }
+
+    /**
+     * Obtains the directory of the new log, which is completely written
+     * but has not replaced the current log yet.
+     */
+    @VisibleForTesting
+    static Path compactedDirectory(Path directory) {
+        return directory.resolveSibling(directory.getFileName() + COMPACTED_SUFFIX);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            final Path[] paths = files.sorted(Comparator.reverseOrder())
+                                      .toArray(Path[]::new);
+            for (Path path : paths) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static byte[] entry(byte operation, ByteString key, byte[] value) {
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + Integer.BYTES + key.size()
+                                                              + value.length);
+        buffer.put(operation);
+        buffer.putInt(key.size());
+        buffer.put(key.asReadOnlyByteBuffer());
+        buffer.put(value);
+        return buffer.array();
+    }
+
+    private static ByteString readKey(ByteBuffer entry) {
+        final int keySize = entry.getInt();
+        final ByteString key = ByteString.copyFrom(entry, keySize);
+        return key;
+    }
+}
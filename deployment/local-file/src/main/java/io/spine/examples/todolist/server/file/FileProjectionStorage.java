@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.file;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Timestamp;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * A {@link ProjectionStorage}, which persists the projection states
+ * in a {@link FileRecordStorage}.
+ *
+ * <p>The time of the last handled event is persisted in a separate {@link FileKeyValueStore}.
+ *
+ * @param <I> the type of the projection IDs
+ */
+@SuppressWarnings("Guava") // Spine API is Java 7-based and uses `Optional` from Google Guava.
+class FileProjectionStorage<I> extends ProjectionStorage<I> {
+
+    private static final ByteString LAST_HANDLED_EVENT_TIME =
+            ByteString.copyFromUtf8("last-handled-event-time");
+
+    private final FileRecordStorage<I> recordStorage;
+    private final FileKeyValueStore timeStore;
+
+    FileProjectionStorage(FileRecordStorage<I> recordStorage, FileKeyValueStore timeStore) {
+        super(false);
+        this.recordStorage = checkNotNull(recordStorage);
+        this.timeStore = checkNotNull(timeStore);
+    }
+
+    /**
+     * Forces the updates of the projection states to the storage device.
+     */
+    void force() {
+        recordStorage.force();
+        timeStore.force();
+    }
+
+    @Override
+    public void writeLastHandledEventTime(Timestamp time) {
+        checkNotNull(time);
+        timeStore.put(LAST_HANDLED_EVENT_TIME, time.toByteArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the time of the last handled event or {@code null} if no events were handled
+     */
+    @Override
+    public Timestamp readLastHandledEventTime() {
+        final Optional<byte[]> time = timeStore.get(LAST_HANDLED_EVENT_TIME);
+        if (!time.isPresent()) {
+            return null;
+        }
+        try {
+            return Timestamp.parseFrom(time.get());
+        } catch (InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    @Override
+    protected RecordStorage<I> recordStorage() {
+        return recordStorage;
+    }
+
+    @Override
+    public void close() {
+        recordStorage.close();
+        timeStore.close();
+        super.close();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.file;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.FieldMask;
+import io.spine.server.entity.Entity;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityQuery;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.storage.RecordStorage;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.examples.todolist.server.file.StorageKeys.toId;
+import static io.spine.examples.todolist.server.file.StorageKeys.toKey;
+
+/**
+ * A {@link RecordStorage}, which persists the entity records in a {@link FileKeyValueStore}.
+ *
+ * <p>The records are also kept in the in-memory storage, which serves the reads and the queries.
+ * The in-memory storage is filled from the file store when this storage is created.
+ *
+ * <p>The records are persisted along with the entity column values in
+ * the {@linkplain RecordFormat explicit format}, so the queries by the columns
+ * (e.g. the {@code EventStore} queries by the event time) work for the restored records.
+ *
+ * <p>The writes and the deletions are serialized, so the file store and the in-memory storage
+ * always keep the same records.
+ *
+ * @param <I> the type of the entity IDs
+ */
+@SuppressWarnings("Guava") // Spine API is Java 7-based and uses `Optional` from Google Guava.
+class FileRecordStorage<I> extends RecordStorage<I> {
+
+    private final RecordStorage<I> memory;
+    private final FileKeyValueStore store;
+    private final RecordFormat format;
+
+    FileRecordStorage(Class<? extends Entity<I, ?>> entityClass,
+                      RecordStorage<I> memory,
+                      FileKeyValueStore store) {
+        super(false);
+        this.memory = checkNotNull(memory);
+        this.store = checkNotNull(store);
+        this.format = RecordFormat.forEntity(entityClass);
+        restore();
+    }
+
+    private void restore() {
+        final Map<I, EntityRecordWithColumns> records = new HashMap<>();
+        for (ByteString key : store.keys()) {
+            final EntityRecordWithColumns record = format.read(store.get(key)
+                                                                    .get());
+            final I id = toId(key);
+            records.put(id, record);
+        }
+        if (!records.isEmpty()) {
+            memory.write(records);
+        }
+    }
+
+    /**
+     * Forces the updates of the records to the storage device.
+     */
+    void force() {
+        store.force();
+    }
+
+    @Override
+    protected Optional<EntityRecord> readRecord(I id) {
+        return memory.read(id);
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids) {
+        return memory.readMultiple(ids);
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids, FieldMask fieldMask) {
+        return memory.readMultiple(ids, fieldMask);
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords() {
+        return memory.readAll();
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(FieldMask fieldMask) {
+        return memory.readAll(fieldMask);
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords(EntityQuery<I> query, FieldMask fieldMask) {
+        return memory.readAll(query, fieldMask);
+    }
+
+    @Override
+    protected synchronized void writeRecord(I id, EntityRecordWithColumns record) {
+        store.put(toKey(id), format.write(record));
+        memory.write(id, record);
+    }
+
+    /**
+     * Writes the records to the file store and then to the in-memory storage.
+     *
+     * <p>If the file store fails, the records persisted before the failure
+     * are still written to the in-memory storage.
+     */
+    @Override
+    protected synchronized void writeRecords(Map<I, EntityRecordWithColumns> records) {
+        final Map<ByteString, byte[]> serialized = new HashMap<>(records.size());
+        for (Map.Entry<I, EntityRecordWithColumns> entry : records.entrySet()) {
+            serialized.put(toKey(entry.getKey()), format.write(entry.getValue()));
+        }
+        final Map<I, EntityRecordWithColumns> persisted = new HashMap<>(records.size());
+        try {
+            for (Map.Entry<I, EntityRecordWithColumns> entry : records.entrySet()) {
+                final ByteString key = toKey(entry.getKey());
+                store.put(key, serialized.get(key));
+                persisted.put(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            if (!persisted.isEmpty()) {
+                memory.write(persisted);
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean delete(I id) {
+        store.delete(toKey(id));
+        return memory.delete(id);
+    }
+
+    @Override
+    public Iterator<I> index() {
+        return memory.index();
+    }
+
+    @Override
+    public void close() {
+        store.close();
+        memory.close();
+        super.close();
+    }
+}
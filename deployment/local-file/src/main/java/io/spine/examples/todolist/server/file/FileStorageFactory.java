@@ -0,0 +1,284 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.file;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.storage.DelegatingStorageFactory;
+import io.spine.server.BoundedContext;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.Entity;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.slf4j.Logger;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.examples.todolist.server.file.FsyncPolicy.PERIODIC;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A single-tenant {@code StorageFactory}, which persists the data in the local files.
+ *
+ * <p>The storages are created in the subdirectories of the specified directory:
+ * <ul>
+ *     <li>the aggregate events and snapshots are appended to
+ *     the {@linkplain SegmentedLog segmented logs} indexed by the aggregate ID;
+ *     <li>the entity records and the projection states are kept
+ *     in the {@linkplain FileKeyValueStore key-value stores}.
+ * </ul>
+ *
+ * <p>The data written by a previous run is restored when the storages are created.
+ *
+ * <p>The {@code Stand} storage is kept in memory, since it only caches
+ * the aggregate states for the queries.
+ */
+public final class FileStorageFactory extends DelegatingStorageFactory {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final long DEFAULT_FSYNC_INTERVAL_MILLIS = 1_000;
+    private static final String THREAD_NAME_FORMAT = "file-storage-fsync-%d";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final List<Runnable> forceActions = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService fsync;
+
+    private FileStorageFactory(Builder builder) {
+        super(InMemoryStorageFactory.newInstance(
+                BoundedContext.newName(builder.boundedContextName), false));
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.fsyncPolicy = builder.fsyncPolicy;
+        if (fsyncPolicy == PERIODIC) {
+            this.fsync = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setNameFormat(THREAD_NAME_FORMAT)
+                                              .setDaemon(true)
+                                              .build());
+            fsync.scheduleWithFixedDelay(this::forceQuietly,
+                                         builder.fsyncIntervalMillis,
+                                         builder.fsyncIntervalMillis,
+                                         MILLISECONDS);
+        } else {
+            this.fsync = null;
+        }
+    }
+
+    @Override
+    public boolean isMultitenant() {
+        return false;
+    }
+
+    /**
+     * Returns this instance, since the file storages are single-tenant.
+     */
+    @Override
+    public StorageFactory toSingleTenant() {
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The file storages are single-tenant, so the factory is never copied.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    protected StorageFactory copyWithDelegate(StorageFactory delegate) {
+        throw new UnsupportedOperationException("The file storages are single-tenant.");
+    }
+
+    @Override
+    public <I> AggregateStorage<I>
+    createAggregateStorage(Class<? extends Aggregate<I, ?, ?>> aggregateClass) {
+        final Path aggregateDirectory = storageDirectory("aggregates", aggregateClass);
+        final FileAggregateStorage<I> storage = new FileAggregateStorage<>(
+                SegmentedLog.open(aggregateDirectory.resolve("events"), segmentSize, fsyncPolicy),
+                openStore(aggregateDirectory.resolve("lifecycle-flags")),
+                openStore(aggregateDirectory.resolve("event-counts")));
+        forceActions.add(storage::force);
+        return storage;
+    }
+
+    @Override
+    public <I> RecordStorage<I> createRecordStorage(Class<? extends Entity<I, ?>> entityClass) {
+        final Path recordDirectory = storageDirectory("records", entityClass);
+        final FileRecordStorage<I> storage = new FileRecordStorage<>(
+                entityClass,
+                getDelegate().createRecordStorage(entityClass),
+                openStore(recordDirectory));
+        forceActions.add(storage::force);
+        return storage;
+    }
+
+    @Override
+    public <I> ProjectionStorage<I>
+    createProjectionStorage(Class<? extends Projection<I, ?, ?>> projectionClass) {
+        final Path projectionDirectory = storageDirectory("projections", projectionClass);
+        final FileRecordStorage<I> states = new FileRecordStorage<>(
+                projectionClass,
+                getDelegate().createRecordStorage(projectionClass),
+                openStore(projectionDirectory.resolve("states")));
+        final FileProjectionStorage<I> storage = new FileProjectionStorage<>(
+                states, openStore(projectionDirectory.resolve("last-handled-event-time")));
+        forceActions.add(storage::force);
+        return storage;
+    }
+
+    /**
+     * Forces the data of all the created storages to the storage device.
+     */
+    public void force() {
+        for (Runnable forceAction : forceActions) {
+            forceAction.run();
+        }
+    }
+
+    /**
+     * Stops the periodic forcing, forces the data of the created storages
+     * and closes the delegate.
+     */
+    @Override
+    public void close() throws Exception {
+        if (fsync != null) {
+            fsync.shutdown();
+            fsync.awaitTermination(DEFAULT_FSYNC_INTERVAL_MILLIS, MILLISECONDS);
+        }
+        force();
+        super.close();
+    }
+
+    private FileKeyValueStore openStore(Path storeDirectory) {
+        return FileKeyValueStore.open(storeDirectory, segmentSize, fsyncPolicy);
+    }
+
+    private Path storageDirectory(String storageType, Class<?> entityClass) {
+        return directory.resolve(storageType)
+                        .resolve(entityClass.getName());
+    }
+
+    private void forceQuietly() {
+        try {
+            force();
+        } catch (RuntimeException e) {
+            log().error("Unable to force the storage data.", e);
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * The builder for the {@code FileStorageFactory}.
+     */
+    public static class Builder {
+
+        private Path directory;
+        private String boundedContextName = BoundedContexts.NAME;
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+        private FsyncPolicy fsyncPolicy = PERIODIC;
+        private long fsyncIntervalMillis = DEFAULT_FSYNC_INTERVAL_MILLIS;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the directory to store the data in.
+         */
+        public Builder setDirectory(Path directory) {
+            this.directory = checkNotNull(directory);
+            return this;
+        }
+
+        /**
+         * Sets the name of the {@code BoundedContext} using the storages.
+         */
+        public Builder setBoundedContextName(String boundedContextName) {
+            this.boundedContextName = checkNotNull(boundedContextName);
+            return this;
+        }
+
+        /**
+         * Sets the size of the log segment files in bytes.
+         *
+         * <p>Defaults to 16 MiB.
+         */
+        public Builder setSegmentSize(int segmentSize) {
+            checkArgument(segmentSize > 0);
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Sets the policy of forcing the written data to the storage device.
+         *
+         * <p>Defaults to {@link FsyncPolicy#PERIODIC PERIODIC}.
+         */
+        public Builder setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+            this.fsyncPolicy = checkNotNull(fsyncPolicy);
+            return this;
+        }
+
+        /**
+         * Sets the period of forcing the written data for
+         * the {@link FsyncPolicy#PERIODIC PERIODIC} policy.
+         *
+         * <p>Defaults to one second.
+         */
+        public Builder setFsyncInterval(long interval, TimeUnit unit) {
+            checkArgument(interval > 0);
+            checkNotNull(unit);
+            this.fsyncIntervalMillis = Math.max(1, unit.toMillis(interval));
+            return this;
+        }
+
+        public FileStorageFactory build() {
+            checkState(directory != null, "The storage directory is not set.");
+            return new FileStorageFactory(this);
+        }
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(FileStorageFactory.class);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.file;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.Any;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Message;
+import io.spine.server.entity.Entity;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.Column;
+import io.spine.server.entity.storage.EntityColumn;
+import io.spine.server.entity.storage.EntityColumn.MemoizedValue;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * The binary format of the entity records stored along with their column values.
+ *
+ * <p>A record is written as the length-delimited {@code EntityRecord} followed by
+ * the number of the columns and the name and the value of each column.
+ * A value is written as the tag of its type followed by:
+ * <ul>
+ *     <li>a {@code Message} packed into {@code Any};
+ *     <li>the class name and the constant name of an enum;
+ *     <li>a string or a primitive wrapper as-is.
+ * </ul>
+ *
+ * <p>The Spine API creates the records with the column values from the entity instances only.
+ * So the records are restored through the method handles of the package-private
+ * factory methods of the Spine classes, which are obtained once per class.
+ */
+final class RecordFormat {
+
+    private static final int NULL = 0;
+    private static final int MESSAGE = 1;
+    private static final int ENUM = 2;
+    private static final int STRING = 3;
+    private static final int BOOLEAN = 4;
+    private static final int INTEGER = 5;
+    private static final int LONG = 6;
+    private static final int FLOAT = 7;
+    private static final int DOUBLE = 8;
+
+    private static final MethodHandle RECORD_WITH_COLUMNS = recordWithColumnsFactory();
+    private static final MethodHandle MEMOIZED_VALUE = memoizedValueConstructor();
+
+    /** The columns of the entity class by their names. */
+    private final ImmutableMap<String, EntityColumn> columns;
+
+    private RecordFormat(ImmutableMap<String, EntityColumn> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Creates the format of the records of the specified entity class.
+     */
+    static RecordFormat forEntity(Class<? extends Entity> entityClass) {
+        checkNotNull(entityClass);
+        final ImmutableMap.Builder<String, EntityColumn> columns = ImmutableMap.builder();
+        for (Method method : entityClass.getMethods()) {
+            if (method.isAnnotationPresent(Column.class)) {
+                final EntityColumn column = EntityColumn.from(method);
+                columns.put(column.getName(), column);
+            }
+        }
+        return new RecordFormat(columns.build());
+    }
+
+    byte[] write(EntityRecordWithColumns record) {
+        checkNotNull(record);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        try {
+            output.writeMessageNoTag(record.getRecord());
+            output.writeUInt32NoTag(record.getColumnNames()
+                                          .size());
+            for (String name : record.getColumnNames()) {
+                output.writeStringNoTag(name);
+                writeValue(output, record.getColumnValue(name)
+                                         .getValue());
+            }
+            output.flush();
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    EntityRecordWithColumns read(byte[] bytes) {
+        checkNotNull(bytes);
+        final CodedInputStream input = CodedInputStream.newInstance(bytes);
+        try {
+            final EntityRecord record = input.readMessage(EntityRecord.parser(), null);
+            final int columnCount = input.readUInt32();
+            final Map<String, MemoizedValue> values = new HashMap<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                final String name = input.readString();
+                final Serializable value = readValue(input);
+                values.put(name, memoize(column(name), value));
+            }
+            return (EntityRecordWithColumns) RECORD_WITH_COLUMNS.invoke(record, values);
+        } catch (Throwable t) {
+            throwIfUnchecked(t);
+            throw illegalStateWithCauseOf(t);
+        }
+    }
+
+    private EntityColumn column(String name) {
+        final EntityColumn column = columns.get(name);
+        if (column == null) {
+            throw newIllegalStateException("The stored column `%s` is not declared.", name);
+        }
+        return column;
+    }
+
+    private static MemoizedValue memoize(EntityColumn column, Serializable value)
+            throws Throwable {
+        return (MemoizedValue) MEMOIZED_VALUE.invoke(column, value);
+    }
+
+    private static void writeValue(CodedOutputStream output, Serializable value)
+            throws IOException {
+        if (value == null) {
+            output.writeUInt32NoTag(NULL);
+        } else if (value instanceof Message) {
+            output.writeUInt32NoTag(MESSAGE);
+            output.writeMessageNoTag(pack((Message) value));
+        } else if (value instanceof Enum) {
+            output.writeUInt32NoTag(ENUM);
+            output.writeStringNoTag(((Enum<?>) value).getDeclaringClass()
+                                                    .getName());
+            output.writeStringNoTag(((Enum<?>) value).name());
+        } else if (value instanceof String) {
+            output.writeUInt32NoTag(STRING);
+            output.writeStringNoTag((String) value);
+        } else if (value instanceof Boolean) {
+            output.writeUInt32NoTag(BOOLEAN);
+            output.writeBoolNoTag((Boolean) value);
+        } else if (value instanceof Integer) {
+            output.writeUInt32NoTag(INTEGER);
+            output.writeInt32NoTag((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeUInt32NoTag(LONG);
+            output.writeInt64NoTag((Long) value);
+        } else if (value instanceof Float) {
+            output.writeUInt32NoTag(FLOAT);
+            output.writeFloatNoTag((Float) value);
+        } else if (value instanceof Double) {
+            output.writeUInt32NoTag(DOUBLE);
+            output.writeDoubleNoTag((Double) value);
+        } else {
+            throw newIllegalStateException("The column value of type %s cannot be stored.",
+                                           value.getClass()
+                                                .getName());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"}) // The enum class is stored along with the value.
+    private static Serializable readValue(CodedInputStream input)
+            throws IOException, ClassNotFoundException {
+        final int type = input.readUInt32();
+        switch (type) {
+            case NULL:
+                return null;
+            case MESSAGE:
+                return (Serializable) unpack(input.readMessage(Any.parser(), null));
+            case ENUM:
+                final Class enumClass = Class.forName(input.readString());
+                return Enum.valueOf(enumClass, input.readString());
+            case STRING:
+                return input.readString();
+            case BOOLEAN:
+                return input.readBool();
+            case INTEGER:
+                return input.readInt32();
+            case LONG:
+                return input.readInt64();
+            case FLOAT:
+                return input.readFloat();
+            case DOUBLE:
+                return input.readDouble();
+            default:
+                throw newIllegalStateException("Unknown column value type %d.", type);
+        }
+    }
+
+    private static MethodHandle recordWithColumnsFactory() {
+        try {
+            final Method method = EntityRecordWithColumns.class.getDeclaredMethod(
+                    "of", EntityRecord.class, Map.class);
+            method.setAccessible(true);
+            return MethodHandles.lookup()
+                                .unreflect(method);
+        } catch (ReflectiveOperationException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private static MethodHandle memoizedValueConstructor() {
+        try {
+            final Constructor<MemoizedValue> constructor =
+                    MemoizedValue.class.getDeclaredConstructor(EntityColumn.class,
+                                                               Serializable.class);
+            constructor.setAccessible(true);
+            return MethodHandles.lookup()
+                                .unreflectConstructor(constructor);
+        } catch (ReflectiveOperationException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.examples.todolist.server.file.FsyncPolicy.ALWAYS;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * An append-only log of binary entries stored in the memory-mapped segment files.
+ *
+ * <p>Each entry is prefixed with its length and {@code CRC32} checksum. A new segment
+ * is started when the entry does not fit the current one.
+ *
+ * <p>An entry is addressed by its {@linkplain #append(byte[]) position},
+ * which stays valid for the lifetime of the log files.
+ *
+ * <p>When the log is opened, the entries are verified up to the first entry,
+ * which is incomplete or damaged. Such an entry and the following data are discarded,
+ * so a write interrupted by a crash is rolled back.
+ */
+final class SegmentedLog implements AutoCloseable {
+
+    private static final String SEGMENT_EXTENSION = ".log";
+    private static final String SEGMENT_NAME_FORMAT = "%010d" + SEGMENT_EXTENSION;
+
+    /** The size of the entry length and checksum, which precede the entry data. */
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final List<Segment> segments = new ArrayList<>();
+
+    private SegmentedLog(Path directory, int segmentSize, FsyncPolicy fsyncPolicy) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /**
+     * Opens the log stored in the specified directory or creates a new one.
+     *
+     * @param directory   the directory of the segment files
+     * @param segmentSize the size of a new segment file in bytes
+     * @param fsyncPolicy the policy of forcing the appended entries to the storage device
+     * @return the opened log
+     */
+    static SegmentedLog open(Path directory, int segmentSize, FsyncPolicy fsyncPolicy) {
+        checkNotNull(directory);
+        checkArgument(segmentSize > HEADER_SIZE);
+        checkNotNull(fsyncPolicy);
+        final SegmentedLog log = new SegmentedLog(directory, segmentSize, fsyncPolicy);
+        try {
+            Files.createDirectories(directory);
+            log.openSegments();
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return log;
+    }
+
+    private void openSegments() throws IOException {
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream =
+                     Files.newDirectoryStream(directory, '*' + SEGMENT_EXTENSION)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        for (Path file : files) {
+            segments.add(Segment.open(file, segmentSize));
+        }
+        if (segments.isEmpty()) {
+            startSegment();
+        }
+    }
+
+    /**
+     * Appends the entry to the log.
+     *
+     * @param data the non-empty entry data
+     * @return the position of the entry
+     */
+    synchronized long append(byte[] data) {
+        checkNotNull(data);
+        checkArgument(data.length > 0, "The log entry must not be empty.");
+        checkArgument(HEADER_SIZE + data.length <= segmentSize,
+                      "The entry of %s bytes exceeds the segment size.", data.length);
+        Segment segment = segments.get(segments.size() - 1);
+        if (!segment.fits(data.length)) {
+            segment.force();
+            segment = startSegment();
+        }
+        final int offset = segment.append(data);
+        if (fsyncPolicy == ALWAYS) {
+            segment.force();
+        }
+        return toPosition(segments.size() - 1, offset);
+    }
+
+    /**
+     * Reads the entry at the specified position.
+     *
+     * @param position the position returned by {@link #append(byte[])}
+     * @return the entry data
+     */
+    synchronized byte[] read(long position) {
+        final int segmentIndex = (int) (position >>> Integer.SIZE);
+        checkArgument(segmentIndex < segments.size(), "No log entry at position %s.", position);
+        return segments.get(segmentIndex)
+                       .read((int) position);
+    }
+
+    /**
+     * Passes all the entries of the log to the specified consumer in the order of appending.
+     *
+     * @param consumer the consumer accepting the position and the data of each entry
+     */
+    synchronized void forEach(BiConsumer<Long, byte[]> consumer) {
+        checkNotNull(consumer);
+        for (int i = 0; i < segments.size(); i++) {
+            final Segment segment = segments.get(i);
+            int offset = 0;
+            while (offset < segment.end) {
+                final byte[] data = segment.read(offset);
+                consumer.accept(toPosition(i, offset), data);
+                offset += HEADER_SIZE + data.length;
+            }
+        }
+    }
+
+    /**
+     * Forces the appended entries to the storage device.
+     */
+    synchronized void force() {
+        segments.get(segments.size() - 1)
+                .force();
+    }
+
+    /**
+     * Obtains the total size of the segment files in bytes.
+     */
+    synchronized long sizeInBytes() {
+        long result = 0;
+        for (Segment segment : segments) {
+            result += segment.buffer.capacity();
+        }
+        return result;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Forces the appended entries and closes the segment files.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            for (Segment segment : segments) {
+                segment.force();
+                segment.channel.close();
+            }
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private Segment startSegment() {
+        final Path file = directory.resolve(format(SEGMENT_NAME_FORMAT, segments.size()));
+        try {
+            final Segment segment = Segment.open(file, segmentSize);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private static long toPosition(int segmentIndex, int offset) {
+        return ((long) segmentIndex << Integer.SIZE) | offset;
+    }
+
+    private static int checksum(ByteBuffer data) {
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A memory-mapped segment file.
+     */
+    private static final class Segment {
+
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        /** The offset, at which the next entry is written. */
+        private int end;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(Path file, int segmentSize) throws IOException {
+            final FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE);
+            final long size = Math.max(segmentSize, channel.size());
+            final MappedByteBuffer buffer = channel.map(READ_WRITE, 0, size);
+            final Segment segment = new Segment(channel, buffer);
+            segment.recover();
+            return segment;
+        }
+
+        /**
+         * Finds the end of the valid entries and clears the header of the discarded entry.
+         */
+        private void recover() {
+            int offset = 0;
+            while (offset + HEADER_SIZE <= buffer.capacity()) {
+                final int length = buffer.getInt(offset);
+                final boolean valid = length > 0
+                        && length <= buffer.capacity() - offset - HEADER_SIZE
+                        && buffer.getInt(offset + Integer.BYTES) == checksum(data(offset, length));
+                if (!valid) {
+                    break;
+                }
+                offset += HEADER_SIZE + length;
+            }
+            end = offset;
+            if (end + HEADER_SIZE <= buffer.capacity()) {
+                buffer.putLong(end, 0L);
+            }
+        }
+
+        private boolean fits(int length) {
+            return end + HEADER_SIZE + length <= buffer.capacity();
+        }
+
+        private int append(byte[] data) {
+            final int offset = end;
+            final ByteBuffer target = buffer.duplicate();
+            target.position(offset + HEADER_SIZE);
+            target.put(data);
+            buffer.putInt(offset + Integer.BYTES, checksum(ByteBuffer.wrap(data)));
+            buffer.putInt(offset, data.length);
+            end = offset + HEADER_SIZE + data.length;
+            return offset;
+        }
+
+        private byte[] read(int offset) {
+            checkArgument(offset >= 0 && offset + HEADER_SIZE <= end,
+                          "No log entry at offset %s.", offset);
+            final int length = buffer.getInt(offset);
+            final byte[] result = new byte[length];
+            data(offset, length).get(result);
+            return result;
+        }
+
+        private ByteBuffer data(int offset, int length) {
+            final ByteBuffer data = buffer.duplicate();
+            data.position(offset + HEADER_SIZE);
+            data.limit(offset + HEADER_SIZE + length);
+            return data;
+        }
+
+        private void force() {
+            buffer.force();
+        }
+    }
+}
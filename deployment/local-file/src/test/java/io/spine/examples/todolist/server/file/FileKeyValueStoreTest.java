@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.file;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static io.spine.examples.todolist.server.file.FsyncPolicy.NEVER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("FileKeyValueStore should")
+class FileKeyValueStoreTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+    private static final ByteString KEY = ByteString.copyFromUtf8("key");
+
+    private Path directory;
+    private FileKeyValueStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory(FileKeyValueStoreTest.class.getSimpleName())
+                         .resolve("store");
+        store = FileKeyValueStore.open(directory, SEGMENT_SIZE, NEVER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("read latest value")
+    void readLatest() {
+        store.put(KEY, bytes("first"));
+        store.put(KEY, bytes("second"));
+
+        assertArrayEquals(bytes("second"), store.get(KEY)
+                                                .get());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("delete value")
+    void deleteValue() {
+        store.put(KEY, bytes("value"));
+
+        assertTrue(store.delete(KEY));
+        assertFalse(store.get(KEY)
+                         .isPresent());
+        assertFalse(store.delete(KEY));
+    }
+
+    @Test
+    @DisplayName("restore values on reopening")
+    void restoreValues() {
+        store.put(KEY, bytes("value"));
+        final ByteString deletedKey = ByteString.copyFromUtf8("deleted");
+        store.put(deletedKey, bytes("deleted value"));
+        store.delete(deletedKey);
+        store.close();
+
+        store = FileKeyValueStore.open(directory, SEGMENT_SIZE, NEVER);
+
+        assertArrayEquals(bytes("value"), store.get(KEY)
+                                               .get());
+        assertFalse(store.get(deletedKey)
+                         .isPresent());
+    }
+
+    @Test
+    @DisplayName("compact obsolete values while running")
+    void compactObsolete() {
+        final int updates = 5_000;
+        for (int i = 0; i < updates; i++) {
+            store.put(KEY, bytes("value " + i));
+        }
+
+        assertArrayEquals(bytes("value " + (updates - 1)), store.get(KEY)
+                                                                .get());
+        store.close();
+        assertTrue(countEntries() < updates / 2);
+    }
+
+    @Test
+    @DisplayName("complete committed compaction on reopening")
+    void completeCommittedCompaction() throws IOException {
+        store.put(KEY, bytes("value"));
+        store.close();
+        final Path compacted = FileKeyValueStore.compactedDirectory(directory);
+        copyRecursively(directory, compacted);
+        deleteFiles(directory);
+
+        store = FileKeyValueStore.open(directory, SEGMENT_SIZE, NEVER);
+
+        assertArrayEquals(bytes("value"), store.get(KEY)
+                                               .get());
+        assertFalse(Files.exists(compacted));
+    }
+
+    @Test
+    @DisplayName("discard unfinished compaction on reopening")
+    void discardUnfinishedCompaction() throws IOException {
+        store.put(KEY, bytes("value"));
+        store.close();
+        final Path compacting = FileKeyValueStore.compactingDirectory(directory);
+        Files.createDirectories(compacting);
+        Files.write(compacting.resolve("segment"), bytes("partial"));
+
+        store = FileKeyValueStore.open(directory, SEGMENT_SIZE, NEVER);
+
+        assertArrayEquals(bytes("value"), store.get(KEY)
+                                               .get());
+        assertFalse(Files.exists(compacting));
+    }
+
+    private long countEntries() {
+        final long[] entries = {0};
+        try (SegmentedLog log = SegmentedLog.open(directory, SEGMENT_SIZE, NEVER)) {
+            log.forEach((position, data) -> entries[0]++);
+        }
+        return entries[0];
+    }
+
+    private static void copyRecursively(Path source, Path target) throws IOException {
+        Files.createDirectories(target);
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.copy(file, target.resolve(file.getFileName()));
+            }
+        }
+    }
+
+    /**
+     * Deletes the files of the directory, as if the crash happened while the current log
+     * was being deleted after the compaction commit.
+     */
+    private static void deleteFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(UTF_8);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.file;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Timestamp;
+import io.spine.core.Event;
+import io.spine.core.Versions;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.c.events.TaskCreated;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.grpc.StreamObservers;
+import io.spine.server.BoundedContext;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.event.EventFactory;
+import io.spine.server.event.EventStore;
+import io.spine.server.event.EventStreamQuery;
+import io.spine.server.projection.ProjectionStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.server.file.FsyncPolicy.NEVER;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.server.command.TestEventFactory.newInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("FileRecordStorage should")
+class FileRecordStorageTest {
+
+    private static final EventFactory events = newInstance(FileRecordStorageTest.class);
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory(FileRecordStorageTest.class.getSimpleName());
+    }
+
+    @Test
+    @DisplayName("restore column values on restart")
+    void restoreColumns() throws Exception {
+        final Event event = taskCreated();
+        try (FileStorageFactory storageFactory = newStorageFactory();
+             BoundedContext boundedContext = newBoundedContext(storageFactory)) {
+            eventStore(boundedContext).appendAll(ImmutableList.of(event));
+        }
+
+        try (FileStorageFactory storageFactory = newStorageFactory();
+             BoundedContext boundedContext = newBoundedContext(storageFactory)) {
+            final EventStreamQuery query = EventStreamQuery.newBuilder()
+                                                           .setAfter(Timestamp.newBuilder()
+                                                                              .setSeconds(1))
+                                                           .build();
+            final MemoizingObserver<Event> observer = StreamObservers.memoizingObserver();
+            eventStore(boundedContext).read(query, observer);
+
+            final List<Event> restored = observer.responses();
+            assertEquals(1, restored.size());
+            assertEquals(event, restored.get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("restore records without columns on restart")
+    void restoreRecords() throws Exception {
+        final TaskListId id = MyListViewProjection.ID;
+        final EntityRecord record = EntityRecord.newBuilder()
+                                                .setState(pack(MyListView.getDefaultInstance()))
+                                                .build();
+        try (FileStorageFactory storageFactory = newStorageFactory()) {
+            storageFactory.createProjectionStorage(MyListViewProjection.class)
+                          .write(id, EntityRecordWithColumns.of(record));
+        }
+
+        try (FileStorageFactory storageFactory = newStorageFactory()) {
+            final ProjectionStorage<TaskListId> storage =
+                    storageFactory.createProjectionStorage(MyListViewProjection.class);
+            assertEquals(record, storage.read(id)
+                                        .get());
+        }
+    }
+
+    private FileStorageFactory newStorageFactory() {
+        return FileStorageFactory.newBuilder()
+                                 .setDirectory(directory)
+                                 .setFsyncPolicy(NEVER)
+                                 .build();
+    }
+
+    private static BoundedContext newBoundedContext(FileStorageFactory storageFactory) {
+        return BoundedContext.newBuilder()
+                             .setStorageFactorySupplier(() -> storageFactory)
+                             .build();
+    }
+
+    private static EventStore eventStore(BoundedContext boundedContext) {
+        return boundedContext.getEventBus()
+                             .getEventStore();
+    }
+
+    private static Event taskCreated() {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        final TaskCreated taskCreated = TaskCreated.newBuilder()
+                                                   .setId(taskId)
+                                                   .build();
+        return events.createEvent(taskCreated, Versions.zero());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static io.spine.examples.todolist.server.file.FsyncPolicy.ALWAYS;
+import static io.spine.examples.todolist.server.file.FsyncPolicy.NEVER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("SegmentedLog should")
+class SegmentedLogTest {
+
+    private static final int SEGMENT_SIZE = 64;
+
+    private Path directory;
+    private SegmentedLog log;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory(SegmentedLogTest.class.getSimpleName());
+        log = SegmentedLog.open(directory, SEGMENT_SIZE, NEVER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.close();
+    }
+
+    @Test
+    @DisplayName("read appended entry")
+    void readAppended() {
+        final byte[] entry = bytes("entry");
+        final long position = log.append(entry);
+
+        assertArrayEquals(entry, log.read(position));
+    }
+
+    @Test
+    @DisplayName("start new segment when entry does not fit")
+    void startNewSegment() throws IOException {
+        final byte[] entry = new byte[SEGMENT_SIZE / 2];
+        final long first = log.append(entry);
+        final long second = log.append(entry);
+
+        assertEquals(2, countSegments());
+        assertArrayEquals(entry, log.read(first));
+        assertArrayEquals(entry, log.read(second));
+    }
+
+    @Test
+    @DisplayName("not accept entry larger than segment")
+    void rejectLargeEntry() {
+        assertThrows(IllegalArgumentException.class, () -> log.append(new byte[SEGMENT_SIZE]));
+    }
+
+    @Test
+    @DisplayName("restore entries on reopening")
+    void restoreEntries() {
+        log.append(bytes("first"));
+        log.append(bytes("second"));
+        log.append(bytes("third"));
+        log.close();
+
+        log = SegmentedLog.open(directory, SEGMENT_SIZE, ALWAYS);
+        final List<String> entries = new ArrayList<>();
+        log.forEach((position, data) -> entries.add(new String(data, UTF_8)));
+
+        assertEquals(3, entries.size());
+        assertEquals("first", entries.get(0));
+        assertEquals("third", entries.get(2));
+    }
+
+    @Test
+    @DisplayName("append after restored entries")
+    void appendAfterRestored() {
+        final long first = log.append(bytes("first"));
+        log.close();
+
+        log = SegmentedLog.open(directory, SEGMENT_SIZE, NEVER);
+        final long second = log.append(bytes("second"));
+
+        assertArrayEquals(bytes("first"), log.read(first));
+        assertArrayEquals(bytes("second"), log.read(second));
+    }
+
+    private long countSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(UTF_8);
+    }
+}
@@ -21,6 +21,9 @@
 package io.spine.examples.todolist.server;
 
 import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.server.BoundedContext;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
 
 import java.io.IOException;
 
@@ -42,7 +45,13 @@ public class LocalInMemoryServer {
     }
 
     public static void main(String[] args) throws IOException {
-        final Server server = new Server(DEFAULT_CLIENT_SERVICE_PORT, BoundedContexts.create());
+        final StorageFactory storageFactory =
+                InMemoryStorageFactory.newInstance(BoundedContext.newName(BoundedContexts.NAME),
+                                                   false);
+        final StorageFactory configuredFactory =
+                StorageCompression.configure(StorageTiming.configure(storageFactory));
+        final Server server = Server.withQueryCache(DEFAULT_CLIENT_SERVICE_PORT,
+                                                    configuredFactory);
         server.start();
     }
 }
@@ -21,10 +21,10 @@
 package io.spine.examples.todolist.server;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import io.spine.Environment;
 import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.server.datasource.DataSources;
 import io.spine.server.BoundedContext;
 import io.spine.server.storage.StorageFactory;
 import io.spine.server.storage.jdbc.JdbcStorageFactory;
@@ -38,6 +38,7 @@ import java.util.Properties;
 import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
 import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -54,6 +55,15 @@ import static org.slf4j.LoggerFactory.getLogger;
  * <p>As the server uses {@code MySQL}, the database with the specified name should be created
  * and the username and password should be correct.
  *
+ * <p>The storage of the projections is selected by
+ * the {@value ProjectionStorages#PROPERTY} system property. Set it to
+ * {@value ProjectionStorages#NORMALIZED} to store the task lists one row per task.
+ * The storage operations are measured if
+ * the {@value StorageTiming#PROPERTY} system property is {@code true}.
+ * The stored messages are compressed if
+ * the {@value StorageCompression#PROPERTY} system property is set.
+ * The metrics of the connection pool are logged every minute.
+ *
  * <p>The server exposes its {@code gRPC API} at
  * {@linkplain io.spine.client.ConnectionConstants#DEFAULT_CLIENT_SERVICE_PORT default port}.
  *
@@ -66,6 +76,9 @@ public class LocalMySqlServer {
     private static final String DB_PROPERTIES_FILE = "jdbc-storage.properties";
     private static final Properties properties = getProperties(DB_PROPERTIES_FILE);
 
+    /** The period of logging the connection pool metrics in minutes. */
+    private static final long POOL_METRICS_LOG_PERIOD = 1;
+
     private static final String DB_URL_FORMAT = "%s/%s?useSSL=false";
 
     private LocalMySqlServer() {
@@ -74,8 +87,13 @@ public class LocalMySqlServer {
 
     public static void main(String[] args) throws IOException {
         final String[] actualArguments = getActualArguments(args);
-        final BoundedContext boundedContext = createBoundedContext(actualArguments);
-        final Server server = new Server(DEFAULT_CLIENT_SERVICE_PORT, boundedContext);
+        final HikariDataSource dataSource = createDataSource(actualArguments);
+        DataSources.startMetricsLogging(dataSource, POOL_METRICS_LOG_PERIOD, MINUTES);
+        final StorageFactory storageFactory = createStorageFactory(dataSource);
+        final StorageFactory configuredFactory =
+                StorageCompression.configure(StorageTiming.configure(storageFactory));
+        final Server server = Server.withQueryCache(DEFAULT_CLIENT_SERVICE_PORT,
+                                                    configuredFactory);
         server.start();
     }
 
@@ -94,37 +112,25 @@ public class LocalMySqlServer {
 
     @VisibleForTesting
     static BoundedContext createBoundedContext(String[] args) {
-        final StorageFactory storageFactory = createStorageFactory(args);
+        final StorageFactory storageFactory = createStorageFactory(createDataSource(args));
         return BoundedContexts.create(storageFactory);
     }
 
-    private static StorageFactory createStorageFactory(String[] args) {
-        return JdbcStorageFactory.newBuilder()
-                                 .setDataSource(createDataSource(args))
-                                 .setMultitenant(false)
-                                 .build();
+    private static StorageFactory createStorageFactory(DataSource dataSource) {
+        final StorageFactory jdbcFactory = JdbcStorageFactory.newBuilder()
+                                                             .setDataSource(dataSource)
+                                                             .setMultitenant(false)
+                                                             .build();
+        return ProjectionStorages.configure(jdbcFactory, dataSource);
     }
 
-    private static DataSource createDataSource(String[] args) {
-        final HikariConfig config = new HikariConfig();
-
+    private static HikariDataSource createDataSource(String[] args) {
         final String dbName = args[0];
         final String username = args[1];
         final String password = args[2];
 
-        log().info("Start `DataSource` creation. The following parameters will be used:");
         final String dbUrl = format(DB_URL_FORMAT, getDbUrlPrefix(), dbName);
-        config.setJdbcUrl(dbUrl);
-        log().info("JDBC URL: {}", dbUrl);
-
-        config.setUsername(username);
-        log().info("Username: {}", username);
-
-        config.setPassword(password);
-        log().info("Password: {}", password);
-
-        final DataSource dataSource = new HikariDataSource(config);
-        return dataSource;
+        return DataSources.create(dbUrl, username, password);
     }
 
     /**
@@ -20,8 +20,6 @@
 
 package io.spine.test;
 
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
 import io.spine.examples.todolist.c.commands.CreateBasicLabel;
 import io.spine.examples.todolist.c.commands.CreateBasicTask;
 import io.spine.examples.todolist.c.commands.CreateDraft;
@@ -30,12 +28,12 @@ import io.spine.examples.todolist.client.TodoClient;
 import io.spine.examples.todolist.client.builder.CommandBuilder;
 import io.spine.examples.todolist.context.BoundedContexts;
 import io.spine.examples.todolist.server.Server;
+import io.spine.examples.todolist.server.datasource.DataSources;
 import io.spine.server.BoundedContext;
 import io.spine.server.storage.StorageFactory;
 import io.spine.server.storage.jdbc.JdbcStorageFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
-import org.slf4j.Logger;
 
 import javax.sql.DataSource;
 import java.io.IOException;
@@ -56,7 +54,6 @@ import static java.lang.String.format;
 import static java.util.Arrays.stream;
 import static java.util.Objects.nonNull;
 import static junit.framework.TestCase.fail;
-import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Base class for integration and performance tests. Encapsulates server, clients setup logic.
@@ -76,7 +73,6 @@ public abstract class AbstractIntegrationTest {
     private static final int PORT = DEFAULT_CLIENT_SERVICE_PORT;
     private static final int NUMBER_OF_CLIENTS = 20;
     private static final String DB_URL_FORMAT = "%s//%s:%s/%s?useSSL=false&serverTimezone=UTC";
-    private static final Logger LOGGER = getLogger(AbstractIntegrationTest.class);
     private static final Properties DB_CONFIG_PROPERTIES = getProperties(DB_PROPERTIES_FILE);
 
     private final TodoClient[] clients = new TodoClient[NUMBER_OF_CLIENTS];
@@ -122,9 +118,7 @@ public abstract class AbstractIntegrationTest {
                                  .build();
     }
 
-    private DataSource createDataSource() {
-        final HikariConfig config = new HikariConfig();
-
+    private static DataSource createDataSource() {
         final String prefix = DB_CONFIG_PROPERTIES.getProperty("db.prefix");
         final String dbName = DB_CONFIG_PROPERTIES.getProperty("db.name");
         final String username = DB_CONFIG_PROPERTIES.getProperty("db.username");
@@ -132,19 +126,8 @@ public abstract class AbstractIntegrationTest {
         final String host = DB_CONFIG_PROPERTIES.getProperty("db.host");
         final String port = DB_CONFIG_PROPERTIES.getProperty("db.port");
 
-        LOGGER.info("Start `DataSource` creation. The following parameters will be used:");
         final String dbUrl = format(DB_URL_FORMAT, prefix, host, port, dbName);
-        config.setJdbcUrl(dbUrl);
-        LOGGER.info("JDBC URL: {}", dbUrl);
-
-        config.setUsername(username);
-        LOGGER.info("Username: {}", username);
-
-        config.setPassword(password);
-        LOGGER.info("Password: {}", password);
-
-        final DataSource dataSource = new HikariDataSource(config);
-        return dataSource;
+        return DataSources.create(dbUrl, username, password);
     }
 
     @BeforeEach
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.test.performance;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.cli.RenderBenchmark;
+import io.spine.cli.RenderReport;
+import io.spine.cli.RenderStatistics;
+import io.spine.examples.todolist.AppConfig;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.examples.todolist.view.MainMenu;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+
+import static io.spine.test.performance.StubTodoClient.newTask;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Measures the rendering of the CLI views over a large {@link MyListView}.
+ *
+ * <p>A scripted bot browses the pages of the task list, opens a task and searches the tasks.
+ *
+ * <p>The report of a run is stored to the {@code build/cli-render} directory.
+ * To detect the regressions, specify the directory with the reports of a previous run
+ * in the {@code todolist.benchmark.renderBaseline} system property.
+ */
+@DisplayName("CLI rendering performance test")
+class CliRenderTest {
+
+    private static final String BASELINE_PROPERTY = "todolist.benchmark.renderBaseline";
+    private static final Path REPORT_DIRECTORY = Paths.get("build", "cli-render");
+    private static final double TOLERANCE = 0.5;
+    private static final int ITERATIONS = 200;
+    private static final int WARM_UP_ITERATIONS = 50;
+
+    /**
+     * The answers of the bot starting from the main menu.
+     *
+     * <p>Relies on the default page size of the task list.
+     */
+    private static final List<String> SCRIPT = ImmutableList.of(
+            "m",                    // My tasks menu.
+            "l",                    // The task list.
+            "n", "n",               // The third page.
+            "25",                   // The 25th task.
+            "b", "b",               // Back to my tasks menu.
+            "s",                    // The task search.
+            "s", "report 4217",     // Search for a task.
+            "b", "b", "b"           // Back to the start.
+    );
+
+    private static final Logger LOGGER = getLogger(CliRenderTest.class);
+
+    @AfterEach
+    void tearDown() {
+        AppConfig.setClient(null);
+    }
+
+    @Test
+    @DisplayName("render views of a thousand tasks")
+    void renderThousandTasks() throws IOException {
+        measure(1_000);
+    }
+
+    @Test
+    @DisplayName("render views of ten thousand tasks")
+    void renderTenThousandTasks() throws IOException {
+        measure(10_000);
+    }
+
+    private static void measure(int numberOfTasks) throws IOException {
+        AppConfig.setClient(new StubTodoClient(newMyListView(numberOfTasks)));
+        final RenderReport report = RenderBenchmark.newBuilder()
+                                                   .setEntryPoint(MainMenu::create)
+                                                   .setScript(SCRIPT)
+                                                   .setIterations(ITERATIONS)
+                                                   .setWarmUpIterations(WARM_UP_ITERATIONS)
+                                                   .build()
+                                                   .run();
+
+        LOGGER.info("{} scripted interactions over {} tasks.",
+                    ITERATIONS * SCRIPT.size(), numberOfTasks);
+        for (RenderStatistics statistics : report.getStatistics()) {
+            LOGGER.info("{}", statistics);
+        }
+
+        final String reportFile = "tasks-" + numberOfTasks + ".properties";
+        store(report, REPORT_DIRECTORY.resolve(reportFile));
+
+        final String baselineDirectory = System.getProperty(BASELINE_PROPERTY);
+        if (baselineDirectory != null) {
+            final Path baselineFile = Paths.get(baselineDirectory, reportFile);
+            final List<String> regressions = report.findRegressions(load(baselineFile),
+                                                                    TOLERANCE);
+            regressions.forEach(LOGGER::warn);
+            assertTrue(regressions.isEmpty(), () -> String.join(" ", regressions));
+        }
+    }
+
+    private static void store(RenderReport report, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, UTF_8)) {
+            report.toProperties()
+                  .store(writer, CliRenderTest.class.getSimpleName());
+        }
+    }
+
+    private static RenderReport load(Path file) throws IOException {
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+            properties.load(reader);
+        }
+        return RenderReport.fromProperties(properties);
+    }
+
+    private static MyListView newMyListView(int numberOfTasks) {
+        final TaskListView.Builder tasks = TaskListView.newBuilder();
+        for (int i = 0; i < numberOfTasks; i++) {
+            tasks.addItems(newTask(i));
+        }
+        return MyListView.newBuilder()
+                         .setMyList(tasks)
+                         .build();
+    }
+}
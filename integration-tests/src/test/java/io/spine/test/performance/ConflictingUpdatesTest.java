@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.test.performance;
+
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskPriority;
+import io.spine.examples.todolist.c.aggregate.rejection.RejectionMode;
+import io.spine.examples.todolist.c.aggregate.rejection.TaskPartRejections.UpdateRejections;
+import io.spine.examples.todolist.c.commands.CreateBasicTask;
+import io.spine.examples.todolist.c.commands.UpdateTaskDescription;
+import io.spine.examples.todolist.c.commands.UpdateTaskPriority;
+import io.spine.examples.todolist.client.TodoClient;
+import io.spine.test.AbstractIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDescriptionInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskPriorityInstance;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Measures the handling of conflicting task updates, each of which is rejected.
+ *
+ * <p>All the commands specify the previous value, that does not match the actual task state.
+ * So the time is spent mostly on the rejection path.
+ *
+ * <p>The rejections are created in the {@linkplain RejectionMode configured} mode.
+ * To compare the modes, run the test with {@code -Prejections=stackless}
+ * and without it.
+ */
+@DisplayName("Conflicting updates performance test")
+class ConflictingUpdatesTest extends AbstractIntegrationTest {
+
+    private static final int NUMBER_OF_REQUESTS = 1000;
+    private static final String UNEXPECTED_DESCRIPTION = "An unexpected description.";
+    private static final Logger LOGGER = getLogger(ConflictingUpdatesTest.class);
+
+    @Test
+    @DisplayName("reject conflicting updates")
+    void rejectConflictingUpdates() throws InterruptedException {
+        final CreateBasicTask createTask = createBasicTask();
+        final TaskId taskId = createTask.getId();
+        getClient().create(createTask);
+
+        final TodoClient[] clients = getClients();
+        final long start = System.nanoTime();
+        asyncPerformanceTest(iterationNumber -> {
+            final TodoClient client = clients[iterationNumber % clients.length];
+            if (iterationNumber % 2 == 0) {
+                final UpdateTaskPriority cmd = updateTaskPriorityInstance(taskId,
+                                                                          TaskPriority.LOW,
+                                                                          TaskPriority.HIGH);
+                client.update(cmd);
+            } else {
+                final UpdateTaskDescription cmd =
+                        updateTaskDescriptionInstance(taskId, UNEXPECTED_DESCRIPTION,
+                                                      UNEXPECTED_DESCRIPTION);
+                client.update(cmd);
+            }
+        }, NUMBER_OF_REQUESTS);
+        final long elapsedMillis = NANOSECONDS.toMillis(System.nanoTime() - start);
+        LOGGER.info("{} conflicting updates in the {} mode took {} ms.",
+                    NUMBER_OF_REQUESTS, UpdateRejections.getMode(), elapsedMillis);
+
+        final Task task = getClient().getTasks()
+                                     .stream()
+                                     .filter(t -> t.getId()
+                                                   .equals(taskId))
+                                     .findFirst()
+                                     .orElseThrow(IllegalStateException::new);
+        assertEquals(TaskPriority.TP_UNDEFINED, task.getPriority());
+        assertEquals(createTask.getDescription(), task.getDescription());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.test.performance;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.server.datasource.DataSourceSettings;
+import io.spine.examples.todolist.server.datasource.DataSources;
+import io.spine.server.BoundedContext;
+import io.spine.server.commandbus.CommandBus;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.jdbc.JdbcStorageFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Measures the command throughput on the {@code H2} in-memory database
+ * with the default and the tuned connection pool.
+ */
+@DisplayName("DataSource tuning performance test")
+class DataSourceTuningTest {
+
+    private static final int NUMBER_OF_COMMANDS = 500;
+    private static final int NUMBER_OF_THREADS = 8;
+    private static final String DB_URL_FORMAT = "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1";
+    private static final Logger LOGGER = getLogger(DataSourceTuningTest.class);
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(DataSourceTuningTest.class);
+
+    @Test
+    @DisplayName("handle commands with the default pool")
+    void handleWithDefaultPool() throws InterruptedException {
+        handleCommands("default", DataSourceSettings.newBuilder()
+                                                    .build());
+    }
+
+    @Test
+    @DisplayName("handle commands with the tuned pool")
+    void handleWithTunedPool() throws InterruptedException {
+        final DataSourceSettings settings = DataSourceSettings.newBuilder()
+                                                              .setMaximumPoolSize(NUMBER_OF_THREADS)
+                                                              .setMinimumIdle(NUMBER_OF_THREADS)
+                                                              .setConnectionTimeout(5_000)
+                                                              .build();
+        handleCommands("tuned", settings);
+    }
+
+    private void handleCommands(String poolName, DataSourceSettings settings)
+            throws InterruptedException {
+        final String dbUrl = format(DB_URL_FORMAT, poolName + newUuid());
+        try (HikariDataSource dataSource = DataSources.create(dbUrl, "sa", "", settings)) {
+            final StorageFactory storageFactory = JdbcStorageFactory.newBuilder()
+                                                                    .setDataSource(dataSource)
+                                                                    .setMultitenant(false)
+                                                                    .build();
+            final BoundedContext boundedContext = BoundedContexts.create(storageFactory);
+            final CommandBus commandBus = boundedContext.getCommandBus();
+            final CountDownLatch acknowledged = new CountDownLatch(NUMBER_OF_COMMANDS);
+            final StreamObserver<Ack> observer = new AckObserver(acknowledged);
+
+            final ExecutorService pool = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+            final long start = System.nanoTime();
+            for (int i = 0; i < NUMBER_OF_COMMANDS; i++) {
+                pool.execute(() -> commandBus.post(createTaskCommand(), observer));
+            }
+            final boolean completed = acknowledged.await(1, MINUTES);
+            final long elapsed = System.nanoTime() - start;
+            pool.shutdown();
+
+            assertTrue(completed);
+            LOGGER.info("{} commands with the {} pool took {} ms, the pool state: {}.",
+                        NUMBER_OF_COMMANDS, poolName, NANOSECONDS.toMillis(elapsed),
+                        DataSources.getPoolMetrics(dataSource));
+        }
+    }
+
+    private Command createTaskCommand() {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        return requestFactory.command()
+                             .create(createTaskInstance(taskId, DESCRIPTION));
+    }
+
+    /**
+     * Counts down the latch on each acknowledgement.
+     */
+    private static class AckObserver implements StreamObserver<Ack> {
+
+        private final CountDownLatch latch;
+
+        private AckObserver(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void onNext(Ack value) {
+            latch.countDown();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            LOGGER.error("Command posting failed.", t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Do nothing.
+        }
+    }
+}
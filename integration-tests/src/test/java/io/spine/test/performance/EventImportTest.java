@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.test.performance;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.dump.EventExporter;
+import io.spine.examples.todolist.dump.EventImporter;
+import io.spine.examples.todolist.server.datasource.DataSources;
+import io.spine.examples.todolist.storage.RetainingStorageFactory;
+import io.spine.grpc.StreamObservers;
+import io.spine.server.BoundedContext;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.jdbc.JdbcStorageFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Compares seeding an {@code H2} database by replaying the commands
+ * with importing the events exported from the same commands.
+ */
+@DisplayName("Event import performance test")
+class EventImportTest {
+
+    private static final int NUMBER_OF_COMMANDS = 2000;
+    private static final String DB_URL_FORMAT = "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1";
+    private static final Logger LOGGER = getLogger(EventImportTest.class);
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(EventImportTest.class);
+
+    @Test
+    @DisplayName("import events faster than replaying commands")
+    void importEvents() throws Exception {
+        final List<Command> commands = new ArrayList<>(NUMBER_OF_COMMANDS);
+        for (int i = 0; i < NUMBER_OF_COMMANDS; i++) {
+            commands.add(createTaskCommand());
+        }
+
+        final byte[] exported;
+        final long replayNanos;
+        try (HikariDataSource dataSource = newDataSource()) {
+            final BoundedContext boundedContext =
+                    BoundedContexts.create(newJdbcFactory(dataSource));
+            final long start = System.nanoTime();
+            for (Command command : commands) {
+                boundedContext.getCommandBus()
+                              .post(command, StreamObservers.<Ack>noOpObserver());
+            }
+            replayNanos = System.nanoTime() - start;
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            EventExporter.export(boundedContext.getEventBus()
+                                               .getEventStore(), out);
+            exported = out.toByteArray();
+            boundedContext.close();
+        }
+
+        final long imported;
+        final long importNanos;
+        try (HikariDataSource dataSource = newDataSource()) {
+            final RetainingStorageFactory storageFactory =
+                    RetainingStorageFactory.newInstance(newJdbcFactory(dataSource));
+            final BoundedContext boundedContext = BoundedContexts.create(storageFactory);
+            final EventImporter importer =
+                    EventImporter.newBuilder()
+                                 .setEventStore(boundedContext.getEventBus()
+                                                              .getEventStore())
+                                 .setStorageFactory(storageFactory)
+                                 .build();
+            final long start = System.nanoTime();
+            imported = importer.importFrom(new ByteArrayInputStream(exported));
+            importNanos = System.nanoTime() - start;
+            boundedContext.close();
+        }
+
+        assertTrue(imported >= NUMBER_OF_COMMANDS);
+        LOGGER.info("{} commands replayed in {} ms, {} events ({} KiB) imported in {} ms.",
+                    NUMBER_OF_COMMANDS, NANOSECONDS.toMillis(replayNanos),
+                    imported, exported.length / 1024, NANOSECONDS.toMillis(importNanos));
+    }
+
+    private static HikariDataSource newDataSource() {
+        final String dbUrl = format(DB_URL_FORMAT, "import" + newUuid());
+        return DataSources.create(dbUrl, "sa", "");
+    }
+
+    private static StorageFactory newJdbcFactory(HikariDataSource dataSource) {
+        return JdbcStorageFactory.newBuilder()
+                                 .setDataSource(dataSource)
+                                 .setMultitenant(false)
+                                 .build();
+    }
+
+    private Command createTaskCommand() {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        return requestFactory.command()
+                             .create(createTaskInstance(taskId, DESCRIPTION));
+    }
+}
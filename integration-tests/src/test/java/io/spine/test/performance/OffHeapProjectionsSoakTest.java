@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.test.performance;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.storage.OffHeapStorageFactory;
+import io.spine.grpc.StreamObservers;
+import io.spine.server.BoundedContext;
+import io.spine.server.commandbus.CommandBus;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Compares the heap usage and the garbage collection time with the projection states
+ * kept on the heap and off-heap.
+ *
+ * <p>Each created task is added to the task list views, so the states grow with every command.
+ */
+@DisplayName("Off-heap projections soak test")
+class OffHeapProjectionsSoakTest {
+
+    private static final int NUMBER_OF_COMMANDS = 10_000;
+    private static final Logger LOGGER = getLogger(OffHeapProjectionsSoakTest.class);
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(OffHeapProjectionsSoakTest.class);
+
+    @Test
+    @DisplayName("handle commands with the projection states on the heap")
+    void handleOnHeap() throws Exception {
+        handleCommands("on-heap", newInMemoryFactory());
+    }
+
+    @Test
+    @DisplayName("handle commands with the projection states off-heap")
+    void handleOffHeap() throws Exception {
+        final OffHeapStorageFactory storageFactory =
+                OffHeapStorageFactory.newInstance(newInMemoryFactory());
+        handleCommands("off-heap", storageFactory);
+
+        final long offHeapBytes = storageFactory.getOffHeapBytes();
+        assertTrue(offHeapBytes > 0);
+        LOGGER.info("The off-heap projection states take {} KiB.", offHeapBytes / 1024);
+    }
+
+    private void handleCommands(String storageName, StorageFactory storageFactory)
+            throws Exception {
+        final BoundedContext boundedContext = BoundedContexts.create(storageFactory);
+        final CommandBus commandBus = boundedContext.getCommandBus();
+        final StreamObserver<Ack> observer = StreamObservers.noOpObserver();
+
+        final long usedHeapBefore = usedHeapAfterGc();
+        final long gcMillisBefore = totalGcMillis();
+        final long start = System.nanoTime();
+        for (int i = 0; i < NUMBER_OF_COMMANDS; i++) {
+            commandBus.post(createTaskCommand(), observer);
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long gcMillis = totalGcMillis() - gcMillisBefore;
+        final long retainedHeap = usedHeapAfterGc() - usedHeapBefore;
+
+        LOGGER.info("{} commands with the {} projection states took {} ms, " +
+                            "GC took {} ms, the retained heap is {} KiB.",
+                    NUMBER_OF_COMMANDS, storageName, NANOSECONDS.toMillis(elapsed),
+                    gcMillis, retainedHeap / 1024);
+        boundedContext.close();
+    }
+
+    private Command createTaskCommand() {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        return requestFactory.command()
+                             .create(createTaskInstance(taskId, DESCRIPTION));
+    }
+
+    private static StorageFactory newInMemoryFactory() {
+        return InMemoryStorageFactory.newInstance(BoundedContext.newName(newUuid()), false);
+    }
+
+    @SuppressWarnings("CallToSystemGC") // To measure the retained heap.
+    private static long usedHeapAfterGc() {
+        System.gc();
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long totalGcMillis() {
+        long result = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            result += Math.max(0, collector.getCollectionTime());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.test.performance;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.server.datasource.DataSources;
+import io.spine.examples.todolist.server.file.FileStorageFactory;
+import io.spine.examples.todolist.server.file.FsyncPolicy;
+import io.spine.grpc.StreamObservers;
+import io.spine.server.BoundedContext;
+import io.spine.server.commandbus.CommandBus;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.jdbc.JdbcStorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Measures the command throughput with the file storage
+ * compared to the in-memory storage and the {@code H2} in-memory database.
+ */
+@DisplayName("Storage backends performance test")
+class StorageBackendsTest {
+
+    private static final int NUMBER_OF_COMMANDS = 500;
+    private static final String DB_URL_FORMAT = "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1";
+    private static final Logger LOGGER = getLogger(StorageBackendsTest.class);
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(StorageBackendsTest.class);
+
+    @Test
+    @DisplayName("handle commands with the in-memory storage")
+    void handleInMemory() throws Exception {
+        final StorageFactory storageFactory =
+                InMemoryStorageFactory.newInstance(BoundedContext.newName(newUuid()), false);
+        handleCommands("in-memory", storageFactory);
+    }
+
+    @Test
+    @DisplayName("handle commands with the file storage forcing each write")
+    void handleWithFileForcingEachWrite() throws Exception {
+        handleCommands("file, fsync always", createFileStorage(FsyncPolicy.ALWAYS));
+    }
+
+    @Test
+    @DisplayName("handle commands with the file storage forcing periodically")
+    void handleWithFileForcingPeriodically() throws Exception {
+        handleCommands("file, fsync periodic", createFileStorage(FsyncPolicy.PERIODIC));
+    }
+
+    @Test
+    @DisplayName("handle commands with the file storage not forcing writes")
+    void handleWithFileNotForcing() throws Exception {
+        handleCommands("file, fsync never", createFileStorage(FsyncPolicy.NEVER));
+    }
+
+    @Test
+    @DisplayName("handle commands with the H2 storage")
+    void handleWithH2() throws Exception {
+        final String dbUrl = format(DB_URL_FORMAT, "storage" + newUuid());
+        try (HikariDataSource dataSource = DataSources.create(dbUrl, "sa", "")) {
+            final StorageFactory storageFactory = JdbcStorageFactory.newBuilder()
+                                                                    .setDataSource(dataSource)
+                                                                    .setMultitenant(false)
+                                                                    .build();
+            handleCommands("H2", storageFactory);
+        }
+    }
+
+    private static StorageFactory createFileStorage(FsyncPolicy fsyncPolicy) throws IOException {
+        final Path directory = Files.createTempDirectory(StorageBackendsTest.class.getSimpleName());
+        return FileStorageFactory.newBuilder()
+                                 .setDirectory(directory)
+                                 .setFsyncPolicy(fsyncPolicy)
+                                 .build();
+    }
+
+    private void handleCommands(String storageName, StorageFactory storageFactory)
+            throws Exception {
+        final BoundedContext boundedContext = BoundedContexts.create(storageFactory);
+        final CommandBus commandBus = boundedContext.getCommandBus();
+        final StreamObserver<Ack> observer = StreamObservers.noOpObserver();
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < NUMBER_OF_COMMANDS; i++) {
+            commandBus.post(createTaskCommand(), observer);
+        }
+        final long elapsed = System.nanoTime() - start;
+        boundedContext.close();
+        storageFactory.close();
+
+        LOGGER.info("{} commands with the {} storage took {} ms.",
+                    NUMBER_OF_COMMANDS, storageName, NANOSECONDS.toMillis(elapsed));
+    }
+
+    private Command createTaskCommand() {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        return requestFactory.command()
+                             .create(createTaskInstance(taskId, DESCRIPTION));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.test.performance;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.examples.todolist.server.datasource.DataSources;
+import io.spine.examples.todolist.storage.CompressingStorageFactory;
+import io.spine.examples.todolist.storage.StorageMetrics;
+import io.spine.examples.todolist.storage.StorageOperationStats;
+import io.spine.examples.todolist.storage.TimingStorageFactory;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.jdbc.JdbcStorageFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestListViewRecords.myListViewRecord;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Measures the stored size and the read and write latencies of the task list projections
+ * in the {@code H2} database with and without compression.
+ */
+@DisplayName("Storage compression performance test")
+class StorageCompressionTest {
+
+    private static final int NUMBER_OF_LISTS = 200;
+    private static final int TASKS_PER_LIST = 200;
+    private static final String DB_URL_FORMAT = "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1";
+    private static final Logger LOGGER = getLogger(StorageCompressionTest.class);
+
+    @Test
+    @DisplayName("store uncompressed projections")
+    void storeUncompressed() throws Exception {
+        try (HikariDataSource dataSource = newDataSource()) {
+            final StorageMetrics metrics = new StorageMetrics();
+            final StorageFactory storageFactory =
+                    TimingStorageFactory.newInstance(newJdbcFactory(dataSource), metrics);
+            measure("uncompressed", storageFactory, metrics);
+        }
+    }
+
+    @Test
+    @DisplayName("store compressed projections")
+    void storeCompressed() throws Exception {
+        try (HikariDataSource dataSource = newDataSource()) {
+            final StorageMetrics metrics = new StorageMetrics();
+            final StorageFactory storageFactory =
+                    CompressingStorageFactory.newBuilder()
+                                             .setDelegate(TimingStorageFactory.newInstance(
+                                                     newJdbcFactory(dataSource), metrics))
+                                             .build();
+            measure("compressed", storageFactory, metrics);
+        }
+    }
+
+    private static void measure(String name, StorageFactory storageFactory, StorageMetrics metrics)
+            throws Exception {
+        final ProjectionStorage<TaskListId> storage =
+                storageFactory.createProjectionStorage(MyListViewProjection.class);
+        final List<TaskListId> ids = new ArrayList<>(NUMBER_OF_LISTS);
+        final long writeStart = System.nanoTime();
+        for (int i = 0; i < NUMBER_OF_LISTS; i++) {
+            final TaskListId id = TaskListId.newBuilder()
+                                            .setValue(newUuid())
+                                            .build();
+            storage.write(id, EntityRecordWithColumns.of(myListViewRecord(TASKS_PER_LIST)));
+            ids.add(id);
+        }
+        final long writeNanos = System.nanoTime() - writeStart;
+
+        final long readStart = System.nanoTime();
+        for (TaskListId id : ids) {
+            storage.read(id);
+        }
+        final long readNanos = System.nanoTime() - readStart;
+        storage.close();
+        storageFactory.close();
+
+        long storedBytes = 0;
+        for (StorageOperationStats stats : metrics.getStats()) {
+            if ("write".equals(stats.getOperation())) {
+                storedBytes += stats.getByteCount();
+            }
+        }
+        LOGGER.info("The {} projections: {} KiB stored, write {} µs, read {} µs on average.",
+                    name,
+                    storedBytes / 1024,
+                    NANOSECONDS.toMicros(writeNanos / NUMBER_OF_LISTS),
+                    NANOSECONDS.toMicros(readNanos / NUMBER_OF_LISTS));
+    }
+
+    private static HikariDataSource newDataSource() {
+        final String dbUrl = format(DB_URL_FORMAT, "compression" + newUuid());
+        return DataSources.create(dbUrl, "sa", "");
+    }
+
+    private static StorageFactory newJdbcFactory(HikariDataSource dataSource) {
+        return JdbcStorageFactory.newBuilder()
+                                 .setDataSource(dataSource)
+                                 .setMultitenant(false)
+                                 .build();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.test.performance;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.spine.client.Query;
+import io.spine.client.QueryResponse;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.server.datasource.DataSources;
+import io.spine.examples.todolist.storage.RoutingStorageFactory;
+import io.spine.examples.todolist.storage.StorageKind;
+import io.spine.grpc.StreamObservers;
+import io.spine.server.BoundedContext;
+import io.spine.server.commandbus.CommandBus;
+import io.spine.server.stand.Stand;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.jdbc.JdbcStorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Measures the latency of the projection queries with all the storages in the {@code H2}
+ * database compared to the projections routed to the in-memory storage.
+ */
+@DisplayName("Storage routing performance test")
+class StorageRoutingTest {
+
+    private static final int NUMBER_OF_COMMANDS = 500;
+    private static final int NUMBER_OF_QUERIES = 200;
+    private static final String DB_URL_FORMAT = "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1";
+    private static final Logger LOGGER = getLogger(StorageRoutingTest.class);
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(StorageRoutingTest.class);
+
+    @Test
+    @DisplayName("query projections stored in the database")
+    void queryDatabaseProjections() throws Exception {
+        try (HikariDataSource dataSource = newDataSource()) {
+            queryProjections("database", newJdbcFactory(dataSource));
+        }
+    }
+
+    @Test
+    @DisplayName("query projections routed to the in-memory storage")
+    void queryInMemoryProjections() throws Exception {
+        try (HikariDataSource dataSource = newDataSource()) {
+            final StorageFactory inMemoryFactory =
+                    InMemoryStorageFactory.newInstance(BoundedContext.newName(newUuid()), false);
+            final StorageFactory storageFactory =
+                    RoutingStorageFactory.newBuilder()
+                                         .setDefault(newJdbcFactory(dataSource))
+                                         .route(StorageKind.PROJECTION, inMemoryFactory)
+                                         .build();
+            queryProjections("in-memory", storageFactory);
+        }
+    }
+
+    private void queryProjections(String storageName, StorageFactory storageFactory)
+            throws Exception {
+        final BoundedContext boundedContext = BoundedContexts.create(storageFactory);
+        final CommandBus commandBus = boundedContext.getCommandBus();
+        for (int i = 0; i < NUMBER_OF_COMMANDS; i++) {
+            commandBus.post(createTaskCommand(), StreamObservers.<Ack>noOpObserver());
+        }
+
+        final Stand stand = boundedContext.getStand();
+        final Query query = requestFactory.query()
+                                          .all(MyListView.class);
+        final long[] latencies = new long[NUMBER_OF_QUERIES];
+        for (int i = 0; i < NUMBER_OF_QUERIES; i++) {
+            final long start = System.nanoTime();
+            stand.execute(query, StreamObservers.<QueryResponse>noOpObserver());
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        boundedContext.close();
+
+        LOGGER.info("The {} projection queries: median {} µs, 99th percentile {} µs.",
+                    storageName,
+                    NANOSECONDS.toMicros(latencies[NUMBER_OF_QUERIES / 2]),
+                    NANOSECONDS.toMicros(latencies[NUMBER_OF_QUERIES * 99 / 100]));
+    }
+
+    private static HikariDataSource newDataSource() {
+        final String dbUrl = format(DB_URL_FORMAT, "routing" + newUuid());
+        return DataSources.create(dbUrl, "sa", "");
+    }
+
+    private static StorageFactory newJdbcFactory(HikariDataSource dataSource) {
+        return JdbcStorageFactory.newBuilder()
+                                 .setDataSource(dataSource)
+                                 .setMultitenant(false)
+                                 .build();
+    }
+
+    private Command createTaskCommand() {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        return requestFactory.command()
+                             .create(createTaskInstance(taskId, DESCRIPTION));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.test.performance;
+
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.commands.AssignLabelToTask;
+import io.spine.examples.todolist.c.commands.CompleteTask;
+import io.spine.examples.todolist.c.commands.CreateBasicLabel;
+import io.spine.examples.todolist.c.commands.CreateBasicTask;
+import io.spine.examples.todolist.c.commands.CreateDraft;
+import io.spine.examples.todolist.c.commands.DeleteTask;
+import io.spine.examples.todolist.c.commands.FinalizeDraft;
+import io.spine.examples.todolist.c.commands.RemoveLabelFromTask;
+import io.spine.examples.todolist.c.commands.ReopenTask;
+import io.spine.examples.todolist.c.commands.RestoreDeletedTask;
+import io.spine.examples.todolist.c.commands.UpdateLabelDetails;
+import io.spine.examples.todolist.c.commands.UpdateTaskDescription;
+import io.spine.examples.todolist.c.commands.UpdateTaskDueDate;
+import io.spine.examples.todolist.c.commands.UpdateTaskPriority;
+import io.spine.examples.todolist.client.TodoClient;
+import io.spine.examples.todolist.q.projection.DraftTasksView;
+import io.spine.examples.todolist.q.projection.LabelledTasksView;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static java.util.Collections.emptyList;
+
+/**
+ * A {@link TodoClient}, which returns the specified {@link MyListView}
+ * and ignores the commands.
+ *
+ * <p>Allows to measure a client application without the server.
+ * The tasks for the measurements are created {@linkplain #newTask(int) by number}.
+ */
+@SuppressWarnings("OverlyCoupledClass")
+class StubTodoClient implements TodoClient {
+
+    private static final String[] WORDS = {"prepare", "quarterly", "report", "call", "plumber",
+                                           "buy", "milk", "review", "pull", "request"};
+
+    private final MyListView myListView;
+
+    StubTodoClient(MyListView myListView) {
+        this.myListView = myListView;
+    }
+
+    @Override
+    public void create(CreateBasicTask cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void create(CreateBasicLabel cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void create(CreateDraft cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void update(UpdateTaskDescription cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void update(UpdateTaskDueDate cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void update(UpdateTaskPriority cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void update(UpdateLabelDetails cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void delete(DeleteTask cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void removeLabel(RemoveLabelFromTask cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void assignLabel(AssignLabelToTask cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void reopen(ReopenTask cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void restore(RestoreDeletedTask cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void complete(CompleteTask cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public void finalize(FinalizeDraft cmd) {
+        // Do nothing.
+    }
+
+    @Override
+    public MyListView getMyListView() {
+        return myListView;
+    }
+
+    @Override
+    public List<LabelledTasksView> getLabelledTasksView() {
+        return emptyList();
+    }
+
+    @Override
+    public DraftTasksView getDraftTasksView() {
+        return DraftTasksView.getDefaultInstance();
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return emptyList();
+    }
+
+    @Override
+    public void shutdown() {
+        // Do nothing.
+    }
+
+    /**
+     * Creates a task with the specified number.
+     *
+     * <p>The description of the task consists of two words, which depend on the last
+     * and the second last digits of the number, followed by the number itself.
+     * E.g. the task {@code 4212} is described as {@code "report quarterly 4212"}.
+     *
+     * @param number the number of the task
+     * @return the new task
+     */
+    static TaskItem newTask(int number) {
+        final String description = WORDS[number % WORDS.length] + ' '
+                + WORDS[(number / WORDS.length) % WORDS.length] + ' ' + number;
+        return TaskItem.newBuilder()
+                       .setId(TaskId.newBuilder()
+                                    .setValue(newUuid()))
+                       .setDescription(TaskDescription.newBuilder()
+                                                      .setValue(description))
+                       .build();
+    }
+}
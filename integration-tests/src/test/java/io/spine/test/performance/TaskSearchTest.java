@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.test.performance;
+
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.search.TaskIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.spine.test.performance.StubTodoClient.newTask;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Measures the update of the {@link TaskIndex} over a large number of tasks
+ * and the search as if a query is typed character by character.
+ *
+ * <p>After a warm-up, the search on a keystroke should take less than a millisecond
+ * on average.
+ */
+@DisplayName("Task search performance test")
+class TaskSearchTest {
+
+    private static final int NUMBER_OF_TASKS = 100_000;
+    private static final int WARM_UP_ROUNDS = 100;
+
+    /**
+     * The query typed character by character.
+     *
+     * <p>Matches the tasks {@code "report quarterly 4212"} and {@code "quarterly report 42121"}.
+     */
+    private static final String QUERY = "quarterly rep 4212";
+    private static final int EXPECTED_FOUND = 2;
+
+    /** The goal for the search on each keystroke. */
+    private static final long MAX_AVERAGE_QUERY_MICROS = 1_000;
+
+    private static final Logger LOGGER = getLogger(TaskSearchTest.class);
+
+    @Test
+    @DisplayName("search tasks per keystroke")
+    void searchPerKeystroke() {
+        final List<TaskItem> tasks = newTasks();
+        final TaskIndex index = new TaskIndex();
+
+        final long indexStart = System.nanoTime();
+        index.update(tasks, emptyMap());
+        final long indexNanos = System.nanoTime() - indexStart;
+
+        final List<TaskItem> changedTasks = new ArrayList<>(tasks);
+        changedTasks.set(0, newTask(NUMBER_OF_TASKS));
+        final long updateStart = System.nanoTime();
+        index.update(changedTasks, emptyMap());
+        final long updateNanos = System.nanoTime() - updateStart;
+
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            typeQuery(index);
+        }
+        long maxQueryNanos = 0;
+        long totalQueryNanos = 0;
+        int found = 0;
+        for (int length = 1; length <= QUERY.length(); length++) {
+            final String typed = QUERY.substring(0, length);
+            final long queryStart = System.nanoTime();
+            found = index.search(typed)
+                         .size();
+            final long queryNanos = System.nanoTime() - queryStart;
+            maxQueryNanos = Math.max(maxQueryNanos, queryNanos);
+            totalQueryNanos += queryNanos;
+        }
+
+        LOGGER.info("Indexed {} tasks in {} ms, reindexed one changed task in {} ms.",
+                    NUMBER_OF_TASKS,
+                    NANOSECONDS.toMillis(indexNanos),
+                    NANOSECONDS.toMillis(updateNanos));
+        final long averageQueryMicros = NANOSECONDS.toMicros(totalQueryNanos / QUERY.length());
+        LOGGER.info("Query per keystroke: {} µs on average, {} µs at most, {} task(s) found.",
+                    averageQueryMicros,
+                    NANOSECONDS.toMicros(maxQueryNanos),
+                    found);
+        assertEquals(EXPECTED_FOUND, found);
+        assertTrue(averageQueryMicros < MAX_AVERAGE_QUERY_MICROS,
+                   () -> "Query per keystroke took " + averageQueryMicros + " µs on average.");
+    }
+
+    private static void typeQuery(TaskIndex index) {
+        for (int length = 1; length <= QUERY.length(); length++) {
+            index.search(QUERY.substring(0, length));
+        }
+    }
+
+    private static List<TaskItem> newTasks() {
+        final List<TaskItem> result = new ArrayList<>(NUMBER_OF_TASKS);
+        for (int i = 0; i < NUMBER_OF_TASKS; i++) {
+            result.add(newTask(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.common.io.ByteStreams;
+import io.grpc.BindableService;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.Query;
+import io.spine.client.QueryResponse;
+import io.spine.client.grpc.QueryServiceGrpc;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.grpc.StreamObservers;
+import io.spine.server.QueryService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * The query service, which responds with the serialized responses from the {@link QueryCache}.
+ *
+ * <p>The service replaces the {@link QueryService} in the {@code gRPC} container.
+ * The cached responses are sent as-is, without serializing them again.
+ */
+final class CachingQueryService implements BindableService {
+
+    private static final MethodDescriptor.Marshaller<byte[]> BYTES_MARSHALLER =
+            new BytesMarshaller();
+
+    private final QueryService queryService;
+    private final QueryCache cache;
+
+    CachingQueryService(QueryService queryService, QueryCache cache) {
+        this.queryService = checkNotNull(queryService);
+        this.cache = checkNotNull(cache);
+    }
+
+    @Override
+    public ServerServiceDefinition bindService() {
+        final MethodDescriptor<Query, QueryResponse> read = QueryServiceGrpc.METHOD_READ;
+        final MethodDescriptor<Query, byte[]> cachedRead =
+                MethodDescriptor.create(read.getType(),
+                                        read.getFullMethodName(),
+                                        read.getRequestMarshaller(),
+                                        BYTES_MARSHALLER);
+        return ServerServiceDefinition.builder(QueryServiceGrpc.SERVICE_NAME)
+                                      .addMethod(cachedRead, ServerCalls.asyncUnaryCall(this::read))
+                                      .build();
+    }
+
+    private void read(Query query, StreamObserver<byte[]> responseObserver) {
+        final byte[] response;
+        try {
+            response = cache.get(query, this::execute);
+        } catch (RuntimeException e) {
+            responseObserver.onError(e);
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    private byte[] execute(Query query) {
+        final MemoizingObserver<QueryResponse> observer = StreamObservers.memoizingObserver();
+        queryService.read(query, observer);
+        final Throwable error = observer.getError();
+        if (error != null) {
+            throw illegalStateWithCauseOf(error);
+        }
+        return observer.firstResponse()
+                       .toByteArray();
+    }
+
+    /**
+     * Passes the serialized messages through without parsing.
+     */
+    private static final class BytesMarshaller implements MethodDescriptor.Marshaller<byte[]> {
+
+        @Override
+        public InputStream stream(byte[] value) {
+            return new ByteArrayInputStream(value);
+        }
+
+        @Override
+        public byte[] parse(InputStream stream) {
+            try {
+                return ByteStreams.toByteArray(stream);
+            } catch (IOException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+        }
+    }
+}
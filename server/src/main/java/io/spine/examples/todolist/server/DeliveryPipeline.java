@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package io.spine.examples.todolist.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import io.spine.examples.todolist.context.EnrichmentPipeline;
+import org.slf4j.Logger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Utilities for switching the pipelined delivery of the enriched events in the servers.
+ *
+ * <p>The events are delivered to the projections through an {@link EnrichmentPipeline}
+ * if the {@value #PROPERTY} system property is set to the capacity of the pipeline queue,
+ * e.g. {@code -Dtodolist.delivery.queueCapacity=1024}. Otherwise the projections
+ * are updated by the thread posting the events.
+ */
+@SuppressWarnings("Guava") // Because com.google.common.base.Optional is used
+                           // until the migration of Spine to Java 8 is performed.
+public final class DeliveryPipeline {
+
+    /** The system property specifying the capacity of the pipeline queue. */
+    public static final String PROPERTY = "todolist.delivery.queueCapacity";
+
+    private DeliveryPipeline() {
+        // Prevent instantiation of this utility class.
+    }
+
+    /**
+     * Creates the pipeline if the {@value #PROPERTY} system property is set.
+     *
+     * @return the pipeline to create the bounded context with
+     *         or {@code Optional.absent()} if the events are delivered directly
+     */
+    public static Optional<EnrichmentPipeline> configure() {
+        final Integer capacity = Integer.getInteger(PROPERTY);
+        return capacity == null
+               ? Optional.absent()
+               : Optional.of(configure(capacity));
+    }
+
+    @VisibleForTesting
+    static EnrichmentPipeline configure(int capacity) {
+        log().info("The enriched events are delivered through a pipeline of {} events.",
+                   capacity);
+        return new EnrichmentPipeline(capacity);
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(DeliveryPipeline.class);
+    }
+}
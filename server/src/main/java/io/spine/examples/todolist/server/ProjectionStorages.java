@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.storage.NormalizedListStorageFactory;
+import io.spine.examples.todolist.storage.OffHeapStorageFactory;
+import io.spine.examples.todolist.storage.RoutingStorageFactory;
+import io.spine.examples.todolist.storage.StorageKind;
+import io.spine.examples.todolist.storage.WriteBehindStorageFactory;
+import io.spine.server.BoundedContext;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.slf4j.Logger;
+
+import javax.sql.DataSource;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Utilities for selecting the storage of the projections in the servers.
+ *
+ * <p>The storage is selected by the {@value #PROPERTY} system property, e.g.
+ * {@code -Dtodolist.projections.storage=memory}. The supported values are:
+ * <ul>
+ *     <li>{@value #DURABLE} — the projections are kept in the durable storage
+ *     of the server along with the aggregates and the events (default);
+ *     <li>{@value #MEMORY} — the projections are kept in memory;
+ *     <li>{@value #OFF_HEAP} — the projections are kept
+ *     {@linkplain OffHeapStorageFactory off-heap};
+ *     <li>{@value #NORMALIZED} — the task list projections are stored
+ *     {@linkplain NormalizedListStorageFactory one row per task} in the database
+ *     of the server, the other projections are kept in the durable storage.
+ *     Available for the servers using a JDBC {@code DataSource} only;
+ *     <li>{@value #WRITE_BEHIND} — the projections are kept in the durable storage
+ *     and {@linkplain WriteBehindStorageFactory written to it in batches}.
+ * </ul>
+ *
+ * <p>The projections kept in memory are rebuilt from the events on the server start.
+ * The written-behind projection states lost on a crash are restored the same way.
+ */
+@SuppressWarnings("Guava") // For consistency with the Spine API using Guava `Optional`.
+public final class ProjectionStorages {
+
+    /** The system property selecting the storage of the projections. */
+    public static final String PROPERTY = "todolist.projections.storage";
+
+    public static final String DURABLE = "durable";
+    public static final String MEMORY = "memory";
+    public static final String OFF_HEAP = "off-heap";
+    public static final String NORMALIZED = "normalized";
+    public static final String WRITE_BEHIND = "write-behind";
+
+    private ProjectionStorages() {
+        // Prevent instantiation of this utility class.
+    }
+
+    /**
+     * Routes the projection storages to the storage selected by the {@value #PROPERTY}
+     * system property.
+     *
+     * @param durableFactory the storage factory of the server
+     * @return the storage factory to create the bounded context with
+     */
+    public static StorageFactory configure(StorageFactory durableFactory) {
+        return configure(durableFactory, Optional.<DataSource>absent(),
+                         System.getProperty(PROPERTY, DURABLE));
+    }
+
+    /**
+     * Routes the projection storages of a JDBC server to the storage selected by
+     * the {@value #PROPERTY} system property.
+     *
+     * @param durableFactory the storage factory of the server
+     * @param dataSource     the data source of the server database
+     * @return the storage factory to create the bounded context with
+     */
+    public static StorageFactory configure(StorageFactory durableFactory,
+                                           DataSource dataSource) {
+        checkNotNull(dataSource);
+        return configure(durableFactory, Optional.of(dataSource),
+                         System.getProperty(PROPERTY, DURABLE));
+    }
+
+    @VisibleForTesting
+    static StorageFactory configure(StorageFactory durableFactory,
+                                    Optional<DataSource> dataSource,
+                                    String projectionStorage) {
+        checkNotNull(durableFactory);
+        checkNotNull(dataSource);
+        checkNotNull(projectionStorage);
+        log().info("The projections are kept in the {} storage.", projectionStorage);
+        switch (projectionStorage) {
+            case DURABLE:
+                return durableFactory;
+            case MEMORY:
+                return routeProjections(durableFactory, newInMemoryFactory());
+            case OFF_HEAP:
+                return routeProjections(durableFactory,
+                                        OffHeapStorageFactory.newInstance(newInMemoryFactory()));
+            case NORMALIZED:
+                checkArgument(dataSource.isPresent(),
+                              "The `%s` projection storage requires a JDBC server.", NORMALIZED);
+                return NormalizedListStorageFactory.newInstance(durableFactory,
+                                                                dataSource.get());
+            case WRITE_BEHIND:
+                return WriteBehindStorageFactory.newBuilder()
+                                                .setDelegate(durableFactory)
+                                                .build();
+            default:
+                throw newIllegalArgumentException("Unknown projection storage `%s`.",
+                                                  projectionStorage);
+        }
+    }
+
+    private static StorageFactory routeProjections(StorageFactory durableFactory,
+                                                   StorageFactory projectionFactory) {
+        return RoutingStorageFactory.newBuilder()
+                                    .setDefault(durableFactory)
+                                    .route(StorageKind.PROJECTION, projectionFactory)
+                                    .build();
+    }
+
+    private static StorageFactory newInMemoryFactory() {
+        return InMemoryStorageFactory.newInstance(BoundedContext.newName(BoundedContexts.NAME),
+                                                  false);
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(ProjectionStorages.class);
+    }
+}
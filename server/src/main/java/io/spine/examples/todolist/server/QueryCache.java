@@ -0,0 +1,251 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.ByteString;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Message;
+import io.spine.client.Query;
+import io.spine.examples.todolist.q.projection.DraftTasksView;
+import io.spine.examples.todolist.q.projection.LabelledTasksView;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.storage.ChangeTrackingStorageFactory;
+import io.spine.server.storage.StorageFactory;
+import io.spine.type.TypeUrl;
+import org.slf4j.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A read-through cache of the serialized query responses.
+ *
+ * <p>The responses are cached by the query target, the field mask and the tenant.
+ * A response is valid while the {@linkplain ChangeTrackingStorageFactory#getProjectionVersion()
+ * projection version} stays the same, so any change of the projections invalidates
+ * the cached responses.
+ *
+ * <p>Only the queries of the projection states are cached. The changes of the aggregates
+ * are not tracked, so the queries of the aggregate states are always executed.
+ *
+ * <p>The hit ratio can be {@linkplain #getHitRatio() obtained} programmatically
+ * or {@linkplain #startLogging(long, TimeUnit) logged} periodically.
+ */
+public final class QueryCache {
+
+    /**
+     * The system property specifying the maximum number of the cached responses
+     * of the {@linkplain Server#withQueryCache(int, StorageFactory) servers}.
+     *
+     * <p>Zero disables the cache, e.g. {@code -Dtodolist.queryCache.size=0}.
+     * If the property is not set, the {@linkplain #DEFAULT_MAXIMUM_SIZE default size} is used.
+     */
+    public static final String SIZE_PROPERTY = "todolist.queryCache.size";
+
+    /** The default maximum number of the cached responses. */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    private static final String THREAD_NAME_FORMAT = "query-cache-metrics-%d";
+
+    private static final ImmutableSet<String> CACHED_TYPES = ImmutableSet.of(
+            typeOf(MyListView.class),
+            typeOf(LabelledTasksView.class),
+            typeOf(DraftTasksView.class));
+
+    private final ChangeTrackingStorageFactory storageFactory;
+    private final Cache<ByteString, CachedResponse> responses;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private ScheduledExecutorService logging;
+
+    private QueryCache(ChangeTrackingStorageFactory storageFactory, long maximumSize) {
+        this.storageFactory = storageFactory;
+        this.responses = CacheBuilder.newBuilder()
+                                     .maximumSize(maximumSize)
+                                     .build();
+    }
+
+    /**
+     * Creates a new instance caching the responses
+     * until the projections of the specified storage factory change.
+     *
+     * @param storageFactory the storage factory of the queried bounded context
+     * @return new instance
+     */
+    public static QueryCache newInstance(ChangeTrackingStorageFactory storageFactory) {
+        return newInstance(storageFactory, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new instance caching at most the specified number of the responses.
+     *
+     * @param storageFactory the storage factory of the queried bounded context
+     * @param maximumSize    the maximum number of the cached responses
+     * @return new instance
+     */
+    public static QueryCache newInstance(ChangeTrackingStorageFactory storageFactory,
+                                         long maximumSize) {
+        checkNotNull(storageFactory);
+        checkArgument(maximumSize > 0);
+        return new QueryCache(storageFactory, maximumSize);
+    }
+
+    /**
+     * Obtains the serialized response to the query from the cache
+     * or executes the query using the specified function.
+     *
+     * @param query    the query to respond to
+     * @param executor the function executing the query and serializing the response
+     * @return the serialized response
+     */
+    byte[] get(Query query, Function<Query, byte[]> executor) {
+        checkNotNull(query);
+        checkNotNull(executor);
+        if (!CACHED_TYPES.contains(query.getTarget()
+                                        .getType())) {
+            return executor.apply(query);
+        }
+        final ByteString key = keyOf(query);
+        final long version = storageFactory.getProjectionVersion();
+        final CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null && cached.version == version) {
+            hits.increment();
+            return cached.bytes;
+        }
+        misses.increment();
+        final byte[] response = executor.apply(query);
+        if (storageFactory.getProjectionVersion() == version) {
+            responses.put(key, new CachedResponse(version, response));
+        }
+        return response;
+    }
+
+    /**
+     * Obtains the number of the queries served from the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Obtains the number of the cacheable queries, which were executed.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Obtains the ratio of the cacheable queries served from the cache.
+     *
+     * @return the hit ratio or {@code 1.0} if there were no cacheable queries
+     */
+    public double getHitRatio() {
+        final long hitCount = getHitCount();
+        final long total = hitCount + getMissCount();
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Starts logging the hit ratio with the specified period.
+     *
+     * <p>If the hit ratio is already logged, the previous logging is stopped.
+     *
+     * @param period the period between the log records
+     * @param unit   the time unit of the period
+     */
+    public synchronized void startLogging(long period, TimeUnit unit) {
+        checkArgument(period > 0);
+        checkNotNull(unit);
+        stopLogging();
+        logging = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat(THREAD_NAME_FORMAT)
+                                          .setDaemon(true)
+                                          .build());
+        logging.scheduleAtFixedRate(this::logStats, period, period, unit);
+    }
+
+    /**
+     * Stops logging the hit ratio.
+     */
+    public synchronized void stopLogging() {
+        if (logging != null) {
+            logging.shutdown();
+            logging = null;
+        }
+    }
+
+    /**
+     * Logs the hit ratio and the numbers of the hits and the misses.
+     */
+    void logStats() {
+        log().info("Query cache hit ratio: {} ({} hits, {} misses).",
+                   getHitRatio(), getHitCount(), getMissCount());
+    }
+
+    private static ByteString keyOf(Query query) {
+        return query.getTarget()
+                    .toByteString()
+                    .concat(query.getFieldMask()
+                                 .toByteString())
+                    .concat(query.getContext()
+                                 .getTenantId()
+                                 .toByteString());
+    }
+
+    private static String typeOf(Class<? extends Message> stateClass) {
+        return TypeUrl.of(stateClass)
+                      .value();
+    }
+
+    /**
+     * A serialized response and the projection version it was obtained at.
+     */
+    private static final class CachedResponse {
+
+        private final long version;
+        private final byte[] bytes;
+
+        private CachedResponse(long version, byte[] bytes) {
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(QueryCache.class);
+    }
+}
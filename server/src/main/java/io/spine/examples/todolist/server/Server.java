@@ -20,33 +20,128 @@
 
 package io.spine.examples.todolist.server;
 
+import com.google.common.base.Optional;
+import io.grpc.BindableService;
+import io.spine.examples.todolist.c.aggregate.rejection.RejectionMode;
+import io.spine.examples.todolist.c.aggregate.rejection.TaskPartRejections.UpdateRejections;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.context.EnrichmentPipeline;
+import io.spine.examples.todolist.storage.ChangeTrackingStorageFactory;
 import io.spine.server.BoundedContext;
 import io.spine.server.CommandService;
 import io.spine.server.QueryService;
+import io.spine.server.storage.StorageFactory;
 import io.spine.server.transport.GrpcContainer;
 
 import java.io.IOException;
 
 import static io.spine.server.event.EventStore.log;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Sample gRPC server implementation.
  *
+ * <p>The {@linkplain RejectionMode mode} of the task update rejections is selected by
+ * the {@value RejectionMode#PROPERTY} system property. Use
+ * {@link RejectionMode#STACKLESS stackless} rejections if the clients often send
+ * conflicting updates of the same task.
+ *
+ * <p>The enriched events are delivered to the projections through
+ * an {@link EnrichmentPipeline} if the {@value DeliveryPipeline#PROPERTY}
+ * system property is set.
+ *
+ * <p>The size of the {@linkplain #withQueryCache(int, StorageFactory) query cache}
+ * is specified by the {@value QueryCache#SIZE_PROPERTY} system property.
+ *
  * @author Illia Shepilov
  */
+@SuppressWarnings("Guava") // Because com.google.common.base.Optional is used
+                           // until the migration of Spine to Java 8 is performed.
 public class Server {
 
+    /** The period of logging the enrichment, storage and query cache metrics in minutes. */
+    private static final long METRICS_LOG_PERIOD = 1;
+
+    /** The time to complete the queued deliveries on shutdown in seconds. */
+    private static final long PIPELINE_SHUTDOWN_TIMEOUT = 10;
+
     private final int port;
     private final GrpcContainer grpcContainer;
     private final BoundedContext boundedContext;
+    private final Optional<QueryCache> queryCache;
+    private final Optional<EnrichmentPipeline> pipeline;
 
     public Server(int port, BoundedContext boundedContext) {
+        this(port, boundedContext, Optional.<QueryCache>absent(),
+             Optional.<EnrichmentPipeline>absent());
+    }
+
+    /**
+     * Creates a server, which responds to the queries using the specified cache.
+     *
+     * @param port           the port to expose the services at
+     * @param boundedContext the bounded context to serve
+     * @param queryCache     the cache of the query responses
+     */
+    public Server(int port, BoundedContext boundedContext, QueryCache queryCache) {
+        this(port, boundedContext, Optional.of(queryCache), Optional.<EnrichmentPipeline>absent());
+    }
+
+    private Server(int port,
+                   BoundedContext boundedContext,
+                   Optional<QueryCache> queryCache,
+                   Optional<EnrichmentPipeline> pipeline) {
         this.port = port;
         this.boundedContext = boundedContext;
+        this.queryCache = queryCache;
+        this.pipeline = pipeline;
 
         final CommandService commandService = initCommandService();
         final QueryService queryService = initQueryService();
-        this.grpcContainer = initGrpcContainer(commandService, queryService);
+        final BindableService servedQueryService =
+                queryCache.isPresent()
+                ? new CachingQueryService(queryService, queryCache.get())
+                : queryService;
+        this.grpcContainer = initGrpcContainer(commandService, servedQueryService);
+    }
+
+    /**
+     * Creates a server caching the query responses for a new bounded context.
+     *
+     * <p>The cached responses are invalidated on the changes of the projections.
+     * The maximum number of the cached responses is specified by
+     * the {@value QueryCache#SIZE_PROPERTY} system property. If the property is set to zero,
+     * the queries are executed without the cache.
+     *
+     * <p>The events are delivered to the projections as {@linkplain DeliveryPipeline configured}.
+     *
+     * @param port           the port to expose the services at
+     * @param storageFactory the storage factory to create the bounded context with
+     * @return new server
+     */
+    public static Server withQueryCache(int port, StorageFactory storageFactory) {
+        final long cacheSize = Long.getLong(QueryCache.SIZE_PROPERTY,
+                                            QueryCache.DEFAULT_MAXIMUM_SIZE);
+        final StorageFactory contextFactory;
+        final Optional<QueryCache> queryCache;
+        if (cacheSize > 0) {
+            final ChangeTrackingStorageFactory trackingFactory =
+                    ChangeTrackingStorageFactory.newInstance(storageFactory);
+            contextFactory = trackingFactory;
+            queryCache = Optional.of(QueryCache.newInstance(trackingFactory, cacheSize));
+            log().info("The query responses are cached, at most {} responses.", cacheSize);
+        } else {
+            contextFactory = storageFactory;
+            queryCache = Optional.absent();
+            log().info("The query cache is disabled.");
+        }
+        final Optional<EnrichmentPipeline> pipeline = DeliveryPipeline.configure();
+        final BoundedContext boundedContext =
+                pipeline.isPresent()
+                ? BoundedContexts.create(contextFactory, pipeline.get())
+                : BoundedContexts.create(contextFactory);
+        return new Server(port, boundedContext, queryCache, pipeline);
     }
 
     private QueryService initQueryService() {
@@ -64,7 +159,7 @@ public class Server {
     }
 
     private GrpcContainer initGrpcContainer(CommandService commandService,
-                                            QueryService queryService) {
+                                            BindableService queryService) {
         final GrpcContainer result = GrpcContainer.newBuilder()
                                                   .addService(commandService)
                                                   .addService(queryService)
@@ -81,6 +176,20 @@ public class Server {
     public void start() throws IOException {
         startServer();
         log().info("Server started, listening to commands on the port {}.", port);
+        log().info("The task update rejections are created in the {} mode.",
+                   UpdateRejections.getMode());
+        BoundedContexts.getEnrichmentMetrics()
+                       .startLogging(METRICS_LOG_PERIOD, MINUTES);
+        BoundedContexts.getStorageMetrics()
+                       .startLogging(METRICS_LOG_PERIOD, MINUTES);
+        if (pipeline.isPresent()) {
+            pipeline.get()
+                    .startLogging(METRICS_LOG_PERIOD, MINUTES);
+        }
+        if (queryCache.isPresent()) {
+            queryCache.get()
+                      .startLogging(METRICS_LOG_PERIOD, MINUTES);
+        }
         awaitTermination();
     }
 
@@ -100,6 +209,31 @@ public class Server {
      * Initiates a shutdown of this {@code Server} instance.
      */
     public void shutdown() {
+        BoundedContexts.getEnrichmentMetrics()
+                       .stopLogging();
+        BoundedContexts.getStorageMetrics()
+                       .stopLogging();
+        if (queryCache.isPresent()) {
+            final QueryCache cache = queryCache.get();
+            cache.stopLogging();
+            cache.logStats();
+        }
         grpcContainer.shutdown();
+        if (pipeline.isPresent()) {
+            shutdownPipeline(pipeline.get());
+        }
+    }
+
+    private static void shutdownPipeline(EnrichmentPipeline pipeline) {
+        try {
+            if (!pipeline.shutdown(PIPELINE_SHUTDOWN_TIMEOUT, SECONDS)) {
+                log().warn("The enrichment pipeline was stopped with {} queued deliveries.",
+                           pipeline.getQueueDepth());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            log().warn("Interrupted while stopping the enrichment pipeline.", e);
+        }
     }
 }
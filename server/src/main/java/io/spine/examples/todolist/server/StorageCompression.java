@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.spine.examples.todolist.storage.CompressingStorageFactory;
+import io.spine.server.storage.StorageFactory;
+import org.slf4j.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Utilities for switching the compression of the stored messages in the servers.
+ *
+ * <p>The messages are {@linkplain CompressingStorageFactory compressed} if the
+ * {@value #PROPERTY} system property is set to the size in bytes, starting from which
+ * the messages are compressed, e.g. {@code -Dtodolist.storage.compressionThreshold=256}.
+ */
+public final class StorageCompression {
+
+    /** The system property specifying the compression threshold in bytes. */
+    public static final String PROPERTY = "todolist.storage.compressionThreshold";
+
+    private StorageCompression() {
+        // Prevent instantiation of this utility class.
+    }
+
+    /**
+     * Wraps the storage factory to compress the stored messages
+     * if the {@value #PROPERTY} system property is set.
+     *
+     * @param storageFactory the storage factory of the server
+     * @return the storage factory to create the bounded context with
+     */
+    public static StorageFactory configure(StorageFactory storageFactory) {
+        final Integer threshold = Integer.getInteger(PROPERTY);
+        return threshold == null
+               ? storageFactory
+               : configure(storageFactory, threshold);
+    }
+
+    @VisibleForTesting
+    static StorageFactory configure(StorageFactory storageFactory, int threshold) {
+        checkNotNull(storageFactory);
+        log().info("The stored messages of {} bytes or more are compressed.", threshold);
+        return CompressingStorageFactory.newBuilder()
+                                        .setDelegate(storageFactory)
+                                        .setThreshold(threshold)
+                                        .build();
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(StorageCompression.class);
+    }
+}
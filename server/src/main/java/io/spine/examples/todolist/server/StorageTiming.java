@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.server.storage.StorageFactory;
+import org.slf4j.Logger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Utilities for switching the measurement of the storage operations in the servers.
+ *
+ * <p>The storage operations are measured if the {@value #PROPERTY} system property
+ * is {@code true}, e.g. {@code -Dtodolist.storage.timing=true}. The operations taking
+ * {@value #SLOW_THRESHOLD_PROPERTY} milliseconds or longer are logged as slow.
+ *
+ * <p>The collected metrics are available through {@link BoundedContexts#getStorageMetrics()}
+ * and are logged periodically by the {@link Server}.
+ */
+public final class StorageTiming {
+
+    /** The system property switching the measurement of the storage operations on. */
+    public static final String PROPERTY = "todolist.storage.timing";
+
+    /** The system property specifying the latency of the slow operations in milliseconds. */
+    public static final String SLOW_THRESHOLD_PROPERTY = "todolist.storage.slowMillis";
+
+    private static final long DEFAULT_SLOW_THRESHOLD_MILLIS = 100;
+
+    private StorageTiming() {
+        // Prevent instantiation of this utility class.
+    }
+
+    /**
+     * Wraps the storage factory to measure the storage operations
+     * if the {@value #PROPERTY} system property is {@code true}.
+     *
+     * @param storageFactory the storage factory of the server
+     * @return the storage factory to create the bounded context with
+     */
+    public static StorageFactory configure(StorageFactory storageFactory) {
+        return configure(storageFactory,
+                         Boolean.getBoolean(PROPERTY),
+                         Long.getLong(SLOW_THRESHOLD_PROPERTY, DEFAULT_SLOW_THRESHOLD_MILLIS));
+    }
+
+    @VisibleForTesting
+    static StorageFactory configure(StorageFactory storageFactory,
+                                    boolean enabled,
+                                    long slowThresholdMillis) {
+        checkNotNull(storageFactory);
+        checkArgument(slowThresholdMillis >= 0);
+        if (!enabled) {
+            return storageFactory;
+        }
+        log().info("The storage operations are measured, the slow operation threshold is {} ms.",
+                   slowThresholdMillis);
+        BoundedContexts.getStorageMetrics()
+                       .setSlowThreshold(slowThresholdMillis, MILLISECONDS);
+        return BoundedContexts.withStorageMetrics(storageFactory);
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(StorageTiming.class);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.protobuf.Message;
+import io.spine.client.Query;
+import io.spine.client.Target;
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.examples.todolist.storage.ChangeTrackingStorageFactory;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import io.spine.type.TypeUrl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.protobuf.AnyPacker.pack;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("QueryCache should")
+class QueryCacheTest {
+
+    private ChangeTrackingStorageFactory storageFactory;
+    private QueryCache cache;
+    private AtomicInteger executions;
+    private Function<Query, byte[]> executor;
+
+    @BeforeEach
+    void setUp() {
+        storageFactory = ChangeTrackingStorageFactory.newInstance(
+                InMemoryStorageFactory.newInstance(QueryCacheTest.class.getSimpleName(), false));
+        cache = QueryCache.newInstance(storageFactory);
+        executions = new AtomicInteger();
+        executor = query -> new byte[]{(byte) executions.incrementAndGet()};
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        storageFactory.close();
+    }
+
+    @Test
+    @DisplayName("serve repeated query from cache")
+    void serveRepeated() {
+        final Query query = queryOf(MyListView.class);
+
+        final byte[] first = cache.get(query, executor);
+        final byte[] second = cache.get(query, executor);
+
+        assertArrayEquals(first, second);
+        assertEquals(1, executions.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("execute query after projection change")
+    void invalidateOnChange() {
+        final Query query = queryOf(MyListView.class);
+        cache.get(query, executor);
+
+        writeProjection();
+        cache.get(query, executor);
+
+        assertEquals(2, executions.get());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("not cache response obtained during projection change")
+    void skipConcurrentlyChanged() {
+        final Query query = queryOf(MyListView.class);
+        final Function<Query, byte[]> changingExecutor = q -> {
+            writeProjection();
+            return executor.apply(q);
+        };
+        cache.get(query, changingExecutor);
+        cache.get(query, executor);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("always execute query of aggregate state")
+    void bypassAggregates() {
+        final Query query = queryOf(Task.class);
+
+        cache.get(query, executor);
+        cache.get(query, executor);
+
+        assertEquals(2, executions.get());
+        assertEquals(0, cache.getHitCount() + cache.getMissCount());
+    }
+
+    private void writeProjection() {
+        final ProjectionStorage<TaskListId> storage =
+                storageFactory.createProjectionStorage(MyListViewProjection.class);
+        final TaskListId id = TaskListId.newBuilder()
+                                        .setValue(newUuid())
+                                        .build();
+        final EntityRecord record = EntityRecord.newBuilder()
+                                                .setState(pack(MyListView.getDefaultInstance()))
+                                                .build();
+        storage.write(id, EntityRecordWithColumns.of(record));
+    }
+
+    private static Query queryOf(Class<? extends Message> stateClass) {
+        final Target target = Target.newBuilder()
+                                    .setType(TypeUrl.of(stateClass)
+                                                    .value())
+                                    .setIncludeAll(true)
+                                    .build();
+        return Query.newBuilder()
+                    .setTarget(target)
+                    .build();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.testdata;
+
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.server.entity.EntityRecord;
+
+import static io.spine.protobuf.AnyPacker.pack;
+
+/**
+ * A factory of the {@link MyListView} records for the storage tests.
+ */
+public class TestListViewRecords {
+
+    private TestListViewRecords() {
+        // Prevent instantiation of this utility class.
+    }
+
+    /**
+     * Creates a record of {@link MyListView} with the specified number of tasks.
+     *
+     * <p>The descriptions of the tasks differ only in the task number.
+     *
+     * @param taskCount the number of the tasks in the list
+     * @return the new record
+     */
+    public static EntityRecord myListViewRecord(int taskCount) {
+        final TaskListView.Builder tasks = TaskListView.newBuilder();
+        for (int i = 0; i < taskCount; i++) {
+            final TaskDescription description =
+                    TaskDescription.newBuilder()
+                                   .setValue("Prepare the quarterly report, part " + i)
+                                   .build();
+            tasks.addItems(TaskItem.newBuilder()
+                                   .setDescription(description));
+        }
+        final MyListView state = MyListView.newBuilder()
+                                           .setMyList(tasks)
+                                           .build();
+        return EntityRecord.newBuilder()
+                           .setState(pack(state))
+                           .build();
+    }
+}
@@ -39,7 +39,17 @@ public class Bot {
      * {@linkplain Application#setScreen(Screen) injected} to the application.
      */
     public Bot() {
-        this.screen = new TestScreen();
+        this(new TestScreen());
+    }
+
+    /**
+     * Creates a new bot, that uses the specified screen
+     * {@linkplain Application#setScreen(Screen) injected} to the application.
+     *
+     * @param screen the screen to use
+     */
+    Bot(TestScreen screen) {
+        this.screen = screen;
         Application.getInstance()
                    .setScreen(screen);
     }
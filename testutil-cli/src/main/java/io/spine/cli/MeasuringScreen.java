@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.cli;
+
+import io.spine.cli.view.View;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+
+/**
+ * A {@link TestScreen}, which measures the time and the allocation of the rendered views.
+ *
+ * <p>A view renders the next view from its action, so the renders are nested.
+ * The measurements of a view exclude the nested renders.
+ *
+ * <p>A {@link NoOpView} is not measured.
+ */
+class MeasuringScreen extends TestScreen {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * The renders in progress, the innermost render is on top.
+     */
+    private final Deque<Render> renders = new ArrayDeque<>();
+
+    private final Map<String, Totals> totals = newHashMap();
+
+    @Override
+    public void renderView(View view) {
+        if (view instanceof NoOpView) {
+            super.renderView(view);
+            return;
+        }
+
+        final Render render = new Render(System.nanoTime(), allocatedBytes());
+        renders.push(render);
+        try {
+            super.renderView(view);
+        } finally {
+            renders.pop();
+            final long nanos = System.nanoTime() - render.startNanos;
+            final long bytes = allocatedBytes() - render.startBytes;
+            totals.computeIfAbsent(view.getClass()
+                                       .getSimpleName(), name -> new Totals())
+                  .add(nanos - render.nestedNanos, bytes - render.nestedBytes);
+            final Render outer = renders.peek();
+            if (outer != null) {
+                outer.nestedNanos += nanos;
+                outer.nestedBytes += bytes;
+            }
+        }
+    }
+
+    /**
+     * Obtains the statistics of the views measured since the last {@linkplain #reset() reset}.
+     */
+    Collection<RenderStatistics> getStatistics() {
+        final List<RenderStatistics> result = newArrayList();
+        for (Map.Entry<String, Totals> entry : totals.entrySet()) {
+            final Totals viewTotals = entry.getValue();
+            result.add(new RenderStatistics(entry.getKey(), viewTotals.renders,
+                                            viewTotals.nanos, viewTotals.bytes));
+        }
+        return result;
+    }
+
+    /**
+     * Discards the measurements.
+     */
+    void reset() {
+        totals.clear();
+    }
+
+    /**
+     * Obtains the number of bytes allocated by the current thread.
+     *
+     * @return the allocated bytes or {@code 0} if the measurement is not supported by the JVM
+     */
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread()
+                                                             .getId());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A render in progress.
+     */
+    private static class Render {
+
+        private final long startNanos;
+        private final long startBytes;
+        private long nestedNanos;
+        private long nestedBytes;
+
+        private Render(long startNanos, long startBytes) {
+            this.startNanos = startNanos;
+            this.startBytes = startBytes;
+        }
+    }
+
+    /**
+     * The accumulated measurements of a view.
+     */
+    private static class Totals {
+
+        private long renders;
+        private long nanos;
+        private long bytes;
+
+        private void add(long renderNanos, long renderBytes) {
+            renders++;
+            nanos += renderNanos;
+            bytes += renderBytes;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.cli;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.cli.view.View;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A benchmark of the views driven by a scripted {@link Bot}.
+ *
+ * <p>Each iteration renders a new entry point view and answers the prompts using the script.
+ * The script should return back from the entry point, i.e. the last answer should select
+ * the {@code back} action of the entry point.
+ *
+ * <p>The first iterations warm up the JVM and are not measured.
+ *
+ * <p>The render time and the allocation of each view are {@linkplain RenderReport reported}.
+ */
+public final class RenderBenchmark {
+
+    public static final int DEFAULT_ITERATIONS = 1_000;
+    public static final int DEFAULT_WARM_UP_ITERATIONS = 100;
+
+    private final Supplier<? extends View> entryPoint;
+    private final List<String> script;
+    private final int iterations;
+    private final int warmUpIterations;
+
+    private RenderBenchmark(Builder builder) {
+        this.entryPoint = builder.entryPoint;
+        this.script = builder.script;
+        this.iterations = builder.iterations;
+        this.warmUpIterations = builder.warmUpIterations;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @return the report on the measured iterations
+     */
+    public RenderReport run() {
+        final MeasuringScreen screen = new MeasuringScreen();
+        final Bot bot = new Bot(screen);
+        final View start = new NoOpView();
+        screen.renderView(start); // Needed to cause addition of back action in the entry point.
+
+        for (int i = 0; i < warmUpIterations; i++) {
+            runIteration(bot, screen);
+        }
+        screen.reset();
+        for (int i = 0; i < iterations; i++) {
+            runIteration(bot, screen);
+        }
+        return new RenderReport(screen.getStatistics());
+    }
+
+    private void runIteration(Bot bot, TestScreen screen) {
+        for (String answer : script) {
+            bot.addAnswer(answer);
+        }
+        screen.renderView(entryPoint.get());
+        bot.assertAllAnswersWereGiven();
+        screen.clearOutput();
+    }
+
+    /**
+     * Creates a new builder for the {@code RenderBenchmark} instances.
+     *
+     * @return new instance of the builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * The builder for the {@code RenderBenchmark} instances.
+     */
+    public static class Builder {
+
+        private Supplier<? extends View> entryPoint;
+        private List<String> script;
+        private int iterations = DEFAULT_ITERATIONS;
+        private int warmUpIterations = DEFAULT_WARM_UP_ITERATIONS;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the supplier of the view to start each iteration with.
+         *
+         * <p>A new view should be supplied for each iteration,
+         * so the iterations do not depend on each other.
+         */
+        public Builder setEntryPoint(Supplier<? extends View> entryPoint) {
+            this.entryPoint = checkNotNull(entryPoint);
+            return this;
+        }
+
+        /**
+         * Sets the answers to the prompts of an iteration.
+         */
+        public Builder setScript(List<String> script) {
+            checkNotNull(script);
+            checkArgument(!script.isEmpty());
+            this.script = ImmutableList.copyOf(script);
+            return this;
+        }
+
+        /**
+         * Sets the number of the measured iterations.
+         */
+        public Builder setIterations(int iterations) {
+            checkArgument(iterations > 0);
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * Sets the number of the iterations before the measurement.
+         */
+        public Builder setWarmUpIterations(int warmUpIterations) {
+            checkArgument(warmUpIterations >= 0);
+            this.warmUpIterations = warmUpIterations;
+            return this;
+        }
+
+        public RenderBenchmark build() {
+            checkNotNull(entryPoint, "The entry point is not set.");
+            checkNotNull(script, "The script is not set.");
+            return new RenderBenchmark(this);
+        }
+    }
+}
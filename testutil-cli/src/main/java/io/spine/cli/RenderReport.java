@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.cli;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Lists.newArrayList;
+import static java.lang.String.format;
+import static java.lang.System.lineSeparator;
+
+/**
+ * The result of a {@link RenderBenchmark} run.
+ *
+ * <p>Can be {@linkplain #toProperties() stored} and {@linkplain #fromProperties(Properties)
+ * restored} to serve as a baseline for the {@linkplain #findRegressions(RenderReport, double)
+ * detection of regressions} in the next runs.
+ */
+public final class RenderReport {
+
+    private static final String NANOS_SUFFIX = ".nanos";
+    private static final String BYTES_SUFFIX = ".bytes";
+
+    private final ImmutableSortedMap<String, RenderStatistics> statistics;
+
+    RenderReport(Collection<RenderStatistics> statistics) {
+        final ImmutableSortedMap.Builder<String, RenderStatistics> builder =
+                ImmutableSortedMap.naturalOrder();
+        for (RenderStatistics viewStatistics : statistics) {
+            builder.put(viewStatistics.getViewName(), viewStatistics);
+        }
+        this.statistics = builder.build();
+    }
+
+    /**
+     * Obtains the statistics of the rendered views ordered by the view names.
+     *
+     * @return the statistics of the views
+     */
+    public List<RenderStatistics> getStatistics() {
+        return statistics.values()
+                         .asList();
+    }
+
+    /**
+     * Finds the views, which are rendered slower or allocate more than in the baseline.
+     *
+     * <p>The views absent in the baseline are not compared.
+     *
+     * @param baseline  the report to compare with
+     * @param tolerance the allowed relative growth of a measurement, e.g. {@code 0.5} for 50%
+     * @return the descriptions of the regressions or an empty list if there are none
+     */
+    public List<String> findRegressions(RenderReport baseline, double tolerance) {
+        checkNotNull(baseline);
+        checkArgument(tolerance >= 0);
+        final List<String> result = newArrayList();
+        for (RenderStatistics current : statistics.values()) {
+            final RenderStatistics previous = baseline.statistics.get(current.getViewName());
+            if (previous == null) {
+                continue;
+            }
+            if (exceeds(current.getAverageNanos(), previous.getAverageNanos(), tolerance)) {
+                result.add(format("%s renders in %d µs instead of %d µs.",
+                                  current.getViewName(),
+                                  current.getAverageNanos() / 1_000,
+                                  previous.getAverageNanos() / 1_000));
+            }
+            if (exceeds(current.getAverageAllocatedBytes(),
+                        previous.getAverageAllocatedBytes(), tolerance)) {
+                result.add(format("%s allocates %d bytes per render instead of %d bytes.",
+                                  current.getViewName(),
+                                  current.getAverageAllocatedBytes(),
+                                  previous.getAverageAllocatedBytes()));
+            }
+        }
+        return ImmutableList.copyOf(result);
+    }
+
+    /**
+     * Converts the report to the properties with the average measurements of the views.
+     *
+     * @return the properties to store the report
+     */
+    public Properties toProperties() {
+        final Properties result = new Properties();
+        for (RenderStatistics viewStatistics : statistics.values()) {
+            final String name = viewStatistics.getViewName();
+            result.setProperty(name + NANOS_SUFFIX,
+                               String.valueOf(viewStatistics.getAverageNanos()));
+            result.setProperty(name + BYTES_SUFFIX,
+                               String.valueOf(viewStatistics.getAverageAllocatedBytes()));
+        }
+        return result;
+    }
+
+    /**
+     * Restores the report {@linkplain #toProperties() stored} to the properties.
+     *
+     * <p>Each view of the restored report has a single render with the stored averages.
+     *
+     * @param properties the stored report
+     * @return the restored report
+     */
+    public static RenderReport fromProperties(Properties properties) {
+        checkNotNull(properties);
+        final List<RenderStatistics> statistics = newArrayList();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.endsWith(NANOS_SUFFIX)) {
+                continue;
+            }
+            final String name = key.substring(0, key.length() - NANOS_SUFFIX.length());
+            final long nanos = Long.parseLong(properties.getProperty(key));
+            final long bytes = Long.parseLong(properties.getProperty(name + BYTES_SUFFIX, "0"));
+            statistics.add(new RenderStatistics(name, 1, nanos, bytes));
+        }
+        return new RenderReport(statistics);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder();
+        for (RenderStatistics viewStatistics : statistics.values()) {
+            result.append(viewStatistics)
+                  .append(lineSeparator());
+        }
+        return result.toString();
+    }
+
+    private static boolean exceeds(long current, long previous, double tolerance) {
+        return current > previous * (1 + tolerance);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.cli;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * The render time and allocation of a view measured by a {@link RenderBenchmark}.
+ *
+ * <p>The measurements of a view exclude the views rendered from it.
+ */
+public final class RenderStatistics {
+
+    private final String viewName;
+    private final long renderCount;
+    private final long totalNanos;
+    private final long totalAllocatedBytes;
+
+    RenderStatistics(String viewName, long renderCount, long totalNanos, long totalAllocatedBytes) {
+        checkNotNull(viewName);
+        checkArgument(renderCount > 0);
+        this.viewName = viewName;
+        this.renderCount = renderCount;
+        this.totalNanos = totalNanos;
+        this.totalAllocatedBytes = totalAllocatedBytes;
+    }
+
+    /**
+     * Obtains the simple name of the view class.
+     */
+    public String getViewName() {
+        return viewName;
+    }
+
+    /**
+     * Obtains the number of the measured renders.
+     */
+    public long getRenderCount() {
+        return renderCount;
+    }
+
+    /**
+     * Obtains the average time of a render in nanoseconds.
+     */
+    public long getAverageNanos() {
+        return totalNanos / renderCount;
+    }
+
+    /**
+     * Obtains the average number of bytes allocated by a render.
+     *
+     * <p>Is {@code 0} if the JVM does not support the measurement of the allocation.
+     */
+    public long getAverageAllocatedBytes() {
+        return totalAllocatedBytes / renderCount;
+    }
+
+    @Override
+    public String toString() {
+        return format("%s: %d render(s), %d µs and %d bytes per render",
+                      viewName, renderCount, getAverageNanos() / 1_000,
+                      getAverageAllocatedBytes());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.cli;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.cli.action.Shortcut;
+import io.spine.cli.view.ActionListView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.spine.cli.action.TransitionAction.transitionProducer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("RenderBenchmark should")
+class RenderBenchmarkTest {
+
+    private static final int ITERATIONS = 10;
+
+    @Test
+    @DisplayName("measure each render of the views")
+    void measureRenders() {
+        final RenderBenchmark benchmark = newBenchmark(ImmutableList.of("d", "b", "b"));
+
+        final List<RenderStatistics> statistics = benchmark.run()
+                                                           .getStatistics();
+
+        assertEquals(2, statistics.size());
+        final RenderStatistics details = statistics.get(0);
+        assertEquals(DetailsView.class.getSimpleName(), details.getViewName());
+        assertEquals(ITERATIONS, details.getRenderCount());
+        final RenderStatistics menu = statistics.get(1);
+        assertEquals(MenuView.class.getSimpleName(), menu.getViewName());
+        assertEquals(2 * ITERATIONS, menu.getRenderCount());
+    }
+
+    @Test
+    @DisplayName("throw if the script does not return from the entry point")
+    void throwOnUnfinishedScript() {
+        final RenderBenchmark benchmark = newBenchmark(ImmutableList.of("d", "b"));
+        assertThrows(IllegalStateException.class, benchmark::run);
+    }
+
+    @Test
+    @DisplayName("throw if the script has excess answers")
+    void throwOnExcessAnswers() {
+        final RenderBenchmark benchmark = newBenchmark(ImmutableList.of("b", "b"));
+        assertThrows(AssertionError.class, benchmark::run);
+    }
+
+    private static RenderBenchmark newBenchmark(List<String> script) {
+        return RenderBenchmark.newBuilder()
+                              .setEntryPoint(MenuView::new)
+                              .setScript(script)
+                              .setIterations(ITERATIONS)
+                              .setWarmUpIterations(1)
+                              .build();
+    }
+
+    private static class MenuView extends ActionListView {
+
+        private MenuView() {
+            super("Menu");
+            addAction(transitionProducer("Details", new Shortcut("d"), new DetailsView()));
+        }
+    }
+
+    private static class DetailsView extends ActionListView {
+
+        private DetailsView() {
+            super("Details");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.cli;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("RenderReport should")
+class RenderReportTest {
+
+    private static final String VIEW_NAME = "TaskView";
+    private static final double TOLERANCE = 0.5;
+
+    private final RenderReport baseline = report(1_000, 100);
+
+    @Test
+    @DisplayName("not find regressions within the tolerance")
+    void acceptTolerableGrowth() {
+        final RenderReport current = report(1_400, 140);
+        assertTrue(current.findRegressions(baseline, TOLERANCE)
+                          .isEmpty());
+    }
+
+    @Test
+    @DisplayName("find regressions of the time and the allocation")
+    void findRegressions() {
+        final RenderReport current = report(2_000, 200);
+        final List<String> regressions = current.findRegressions(baseline, TOLERANCE);
+        assertEquals(2, regressions.size());
+    }
+
+    @Test
+    @DisplayName("ignore the views absent in the baseline")
+    void ignoreNewViews() {
+        final RenderStatistics newView = new RenderStatistics("NewView", 1, 2_000, 200);
+        final RenderReport current = new RenderReport(ImmutableList.of(newView));
+        assertTrue(current.findRegressions(baseline, TOLERANCE)
+                          .isEmpty());
+    }
+
+    @Test
+    @DisplayName("be restored from the properties")
+    void restoreFromProperties() {
+        final RenderReport restored = RenderReport.fromProperties(baseline.toProperties());
+        final RenderStatistics statistics = restored.getStatistics()
+                                                    .get(0);
+        assertEquals(VIEW_NAME, statistics.getViewName());
+        assertEquals(1_000, statistics.getAverageNanos());
+        assertEquals(100, statistics.getAverageAllocatedBytes());
+    }
+
+    private static RenderReport report(long nanos, long bytes) {
+        final int renders = 10;
+        final RenderStatistics statistics =
+                new RenderStatistics(VIEW_NAME, renders, nanos * renders, bytes * renders);
+        return new RenderReport(ImmutableList.of(statistics));
+    }
+}
@@ -24,14 +24,31 @@ import com.google.common.annotations.VisibleForTesting;
 import io.spine.cli.Application;
 import io.spine.cli.Screen;
 import io.spine.cli.view.View;
+import io.spine.examples.todolist.batch.AcknowledgedTodoClient;
+import io.spine.examples.todolist.batch.BatchReport;
+import io.spine.examples.todolist.batch.BatchRunner;
+import io.spine.examples.todolist.client.CachingTodoClient;
+import io.spine.examples.todolist.client.CommandFailure;
 import io.spine.examples.todolist.client.CommandLineTodoClient;
+import io.spine.examples.todolist.client.DeferredTodoClient;
 import io.spine.examples.todolist.client.TodoClient;
 import io.spine.examples.todolist.view.MainMenu;
 import org.slf4j.Logger;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
 import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
 import static io.spine.examples.todolist.AppConfig.getClient;
 import static io.spine.examples.todolist.client.CommandLineTodoClient.HOST;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -44,6 +61,19 @@ import static org.slf4j.LoggerFactory.getLogger;
  * default {@linkplain io.spine.examples.todolist.client.CommandLineTodoClient#HOST host}
  * and {@link io.spine.client.ConnectionConstants#DEFAULT_CLIENT_SERVICE_PORT port} will be used.
  *
+ * <p>To post the commands from a file without the interactive menus, use the batch mode:
+ * <pre>{@code gradle runTodoClient -Pbatch=commands.txt -Pconf=hostname,port}</pre>
+ *
+ * <p>The batch is read from the standard input if {@code -} is specified instead of a file.
+ * In the batch mode, both the hostname and the port should be specified, or none of them.
+ * The commands, which the server does not acknowledge, are reported as failed.
+ * See {@link BatchRunner} for the details.
+ *
+ * <p>The views are rendered from the {@linkplain CachingTodoClient local copies}
+ * of the projections, which are refreshed in the background. The changes of the tasks
+ * are shown before the server handles the commands. If a command fails,
+ * the change is rolled back and the failure is shown before the next view.
+ *
  * @author Illia Shepilov
  */
 public class ClientApp {
@@ -51,15 +81,34 @@ public class ClientApp {
     private static final int ARGUMENTS_AMOUNT = 2;
     private static final String DEFAULT_HOST = HOST;
     private static final int DEFAULT_PORT = DEFAULT_CLIENT_SERVICE_PORT;
+    private static final String BATCH_OPTION = "--batch";
+    private static final String STANDARD_INPUT = "-";
+
+    /**
+     * The name of the system property specifying the number of the commands
+     * posted concurrently in the batch mode.
+     */
+    private static final String BATCH_CONCURRENCY_PROPERTY = "todolist.batch.concurrency";
 
     private ClientApp() {
         // Prevent instantiation of this class.
     }
 
     public static void main(String[] args) {
+        if (args.length > 0 && BATCH_OPTION.equals(args[0])) {
+            runBatch(args);
+            return;
+        }
+
+        final TodoClient connection = DeferredTodoClient.newInstance(() -> connect(args));
         final Screen screen = new TerminalScreen();
         initCli(screen);
-        final TodoClient client = createClient(args);
+        final Consumer<CommandFailure> showFailure =
+                failure -> Notifications.add(failure.toString());
+        final TodoClient client = CachingTodoClient.newBuilder()
+                                                   .setDelegate(connection)
+                                                   .setFailureListener(showFailure)
+                                                   .build();
         AppConfig.init(client);
 
         final View entryPoint = MainMenu.create();
@@ -68,7 +117,14 @@ public class ClientApp {
         getClient().shutdown();
     }
 
-    private static TodoClient createClient(String[] arguments) {
+    private static CommandLineTodoClient connect(String[] arguments) {
+        final CommandLineTodoClient client = createClient(arguments, CommandLineTodoClient::new);
+        client.connect();
+        return client;
+    }
+
+    private static <C extends CommandLineTodoClient>
+    C createClient(String[] arguments, BiFunction<String, Integer, C> clientFactory) {
         final String hostname;
         final int port;
         if (arguments.length != ARGUMENTS_AMOUNT) {
@@ -82,7 +138,47 @@ public class ClientApp {
             port = Integer.parseInt(arguments[1]);
         }
 
-        return new CommandLineTodoClient(hostname, port);
+        return clientFactory.apply(hostname, port);
+    }
+
+    /**
+     * Posts the commands from the batch specified by the arguments and prints the report.
+     *
+     * @param arguments the batch option, the batch file and the optional hostname and port
+     * @throws IllegalArgumentException if the batch file is not specified or
+     *                                  if only one of the hostname and the port is specified
+     */
+    private static void runBatch(String[] arguments) {
+        if (arguments.length < 2) {
+            throw new IllegalArgumentException("The batch file is not specified.");
+        }
+        final String batchFile = arguments[1];
+        final String[] connectionArguments = Arrays.copyOfRange(arguments, 2, arguments.length);
+        if (connectionArguments.length != 0 && connectionArguments.length != ARGUMENTS_AMOUNT) {
+            throw new IllegalArgumentException("Specify both the hostname and the port " +
+                                                       "after the batch file, or none of them.");
+        }
+        final TodoClient client = createClient(connectionArguments, AcknowledgedTodoClient::new);
+        final int concurrency = Integer.getInteger(BATCH_CONCURRENCY_PROPERTY,
+                                                   BatchRunner.DEFAULT_CONCURRENCY);
+        final BatchRunner runner = BatchRunner.newBuilder()
+                                              .setClient(client)
+                                              .setConcurrency(concurrency)
+                                              .build();
+        try (Reader batch = openBatch(batchFile)) {
+            final BatchReport report = runner.run(batch);
+            report.printTo(System.out);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private static Reader openBatch(String batchFile) throws IOException {
+        return STANDARD_INPUT.equals(batchFile)
+               ? new InputStreamReader(System.in, UTF_8)
+               : Files.newBufferedReader(Paths.get(batchFile), UTF_8);
     }
 
     @VisibleForTesting
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The messages for a user, which arise in the background, e.g. the command failures.
+ *
+ * <p>The messages are shown by the {@link TerminalScreen} before the next view is rendered.
+ */
+class Notifications {
+
+    private static final Queue<String> messages = new ConcurrentLinkedQueue<>();
+
+    private Notifications() {
+        // Prevent instantiation of this utility class.
+    }
+
+    /**
+     * Adds the message to be shown.
+     *
+     * @param message the message
+     */
+    static void add(String message) {
+        messages.add(message);
+    }
+
+    /**
+     * Obtains and removes all the messages added since the previous call.
+     *
+     * @return the messages in the order of the addition
+     */
+    static List<String> drain() {
+        final ImmutableList.Builder<String> result = ImmutableList.builder();
+        String message;
+        while ((message = messages.poll()) != null) {
+            result.add(message);
+        }
+        return result.build();
+    }
+}
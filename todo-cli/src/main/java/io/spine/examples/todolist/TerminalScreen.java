@@ -20,23 +20,51 @@
 
 package io.spine.examples.todolist;
 
-import io.spine.cli.AbstractScreen;
+import io.spine.cli.BufferedScreen;
 import io.spine.cli.Screen;
+import io.spine.cli.view.View;
 import org.jline.reader.LineReader;
 import org.jline.terminal.Terminal;
+import org.jline.utils.InfoCmp.Capability;
+import org.slf4j.Logger;
+
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static io.spine.examples.todolist.Terminals.newTerminal;
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * A {@link Screen} of a command-line application.
  *
+ * <p>If the terminal supports the cursor movement, a view rendered again right after itself
+ * is redrawn starting from the first changed line.
+ *
+ * <p>The time from the start of the JVM to the first prompt is logged.
+ *
  * @author Dmytro Grankin
  */
-public class TerminalScreen extends AbstractScreen {
+public class TerminalScreen extends BufferedScreen {
+
+    private static final String DUMB_TERMINAL_TYPE = "dumb";
 
     private final LineReader reader = newLineReader();
+    private boolean prompted;
+
+    /**
+     * Shows the {@linkplain Notifications notifications} and renders the view.
+     *
+     * @param view the view to render
+     */
+    @Override
+    public void renderView(View view) {
+        Notifications.drain()
+                     .forEach(this::println);
+        super.renderView(view);
+    }
 
     /**
      * {@inheritDoc}
@@ -44,9 +72,13 @@ public class TerminalScreen extends AbstractScreen {
     @Override
     public String promptUser(String prompt) {
         checkArgument(!isNullOrEmpty(prompt));
-        println(prompt);
-        final String answer = reader.readLine();
-        return answer;
+        if (!prompted) {
+            prompted = true;
+            log().debug("The first prompt is shown in {} ms after the start.",
+                        ManagementFactory.getRuntimeMXBean()
+                                         .getUptime());
+        }
+        return super.promptUser(prompt);
     }
 
     /**
@@ -55,13 +87,68 @@ public class TerminalScreen extends AbstractScreen {
     @Override
     public void println(String message) {
         checkArgument(!isNullOrEmpty(message));
-        reader.getTerminal()
-              .writer()
-              .println(message);
+        super.println(message);
+    }
+
+    @Override
+    protected void writeLines(List<String> lines) {
+        final PrintWriter writer = terminal().writer();
+        for (String line : lines) {
+            writer.println(line);
+        }
+        writer.flush();
+    }
+
+    @Override
+    protected String readAnswer() {
+        final String answer = reader.readLine();
+        return answer;
+    }
+
+    @Override
+    protected boolean canEraseRows() {
+        final Terminal terminal = terminal();
+        return !DUMB_TERMINAL_TYPE.equals(terminal.getType())
+                && terminal.getStringCapability(Capability.cursor_up) != null
+                && terminal.getStringCapability(Capability.clr_eos) != null;
+    }
+
+    @Override
+    protected void eraseRows(int count) {
+        final Terminal terminal = terminal();
+        terminal.puts(Capability.carriage_return);
+        for (int i = 0; i < count; i++) {
+            terminal.puts(Capability.cursor_up);
+        }
+        terminal.puts(Capability.clr_eos);
+        terminal.flush();
+    }
+
+    @Override
+    protected int rowsOf(String line) {
+        final int width = terminal().getWidth();
+        if (width <= 0 || line.length() <= width) {
+            return 1;
+        }
+        return (line.length() + width - 1) / width;
+    }
+
+    private Terminal terminal() {
+        return reader.getTerminal();
     }
 
     private static LineReader newLineReader() {
         final Terminal terminal = newTerminal();
         return Readers.newLineReader(terminal);
     }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(TerminalScreen.class);
+    }
 }
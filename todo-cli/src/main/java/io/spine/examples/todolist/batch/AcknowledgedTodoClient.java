@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.batch;
+
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.core.Status;
+import io.spine.examples.todolist.client.CommandLineTodoClient;
+
+import static com.google.protobuf.TextFormat.shortDebugString;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * A {@link CommandLineTodoClient}, which fails the posting of a command
+ * not acknowledged by the server.
+ *
+ * <p>Allows the {@link BatchRunner} to report the commands, which the server
+ * did not accept, as failed.
+ */
+public final class AcknowledgedTodoClient extends CommandLineTodoClient {
+
+    public AcknowledgedTodoClient(String host, int port) {
+        super(host, port);
+    }
+
+    /**
+     * Posts the command and checks the status of the acknowledgement.
+     *
+     * @throws IllegalStateException if the status is not {@code OK}
+     */
+    @Override
+    protected Ack post(Command command) {
+        final Ack ack = super.post(command);
+        final Status status = ack.getStatus();
+        if (status.getStatusCase() != Status.StatusCase.OK) {
+            throw newIllegalStateException("The command is not acknowledged: %s",
+                                           shortDebugString(status));
+        }
+        return ack;
+    }
+}
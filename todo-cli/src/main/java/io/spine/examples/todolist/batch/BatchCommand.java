@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.batch;
+
+import io.spine.examples.todolist.client.TodoClient;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A command parsed from a line of a batch.
+ */
+final class BatchCommand {
+
+    private final int lineNumber;
+    private final String targetId;
+    private final Optional<String> awaitedId;
+    private final Consumer<TodoClient> posting;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param lineNumber the number of the line the command is parsed from
+     * @param targetId   the ID of the entity the command is addressed to
+     * @param posting    the posting of the command message using a client
+     */
+    BatchCommand(int lineNumber, String targetId, Consumer<TodoClient> posting) {
+        this(lineNumber, targetId, Optional.empty(), posting);
+    }
+
+    /**
+     * Creates a new instance, which also depends on another entity.
+     *
+     * @param lineNumber the number of the line the command is parsed from
+     * @param targetId   the ID of the entity the command is addressed to
+     * @param awaitedId  the ID of the other entity the command uses
+     * @param posting    the posting of the command message using a client
+     */
+    BatchCommand(int lineNumber, String targetId, String awaitedId,
+                 Consumer<TodoClient> posting) {
+        this(lineNumber, targetId, Optional.of(awaitedId), posting);
+    }
+
+    private BatchCommand(int lineNumber, String targetId, Optional<String> awaitedId,
+                         Consumer<TodoClient> posting) {
+        this.lineNumber = lineNumber;
+        this.targetId = checkNotNull(targetId);
+        this.awaitedId = checkNotNull(awaitedId);
+        this.posting = checkNotNull(posting);
+    }
+
+    /**
+     * Posts the command to the server.
+     *
+     * @param client the client to post the command with
+     */
+    void post(TodoClient client) {
+        posting.accept(client);
+    }
+
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Obtains the ID of the entity the command is addressed to.
+     *
+     * <p>The commands addressed to the same entity are posted in the order of the lines.
+     */
+    String getTargetId() {
+        return targetId;
+    }
+
+    /**
+     * Obtains the ID of the other entity the command uses, if there is one.
+     *
+     * <p>The command is posted after the previous lines addressed to that entity
+     * are processed, e.g. a label is assigned only after it is created.
+     */
+    Optional<String> getAwaitedId() {
+        return awaitedId;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.batch;
+
+import com.google.common.base.Splitter;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.commands.AssignLabelToTask;
+import io.spine.examples.todolist.c.commands.CompleteTask;
+import io.spine.examples.todolist.c.commands.CreateBasicLabel;
+import io.spine.examples.todolist.c.commands.CreateBasicTask;
+import io.spine.examples.todolist.c.commands.DeleteTask;
+import io.spine.examples.todolist.c.commands.RemoveLabelFromTask;
+import io.spine.examples.todolist.c.commands.ReopenTask;
+import io.spine.examples.todolist.c.commands.RestoreDeletedTask;
+import io.spine.examples.todolist.client.TodoClient;
+
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+
+/**
+ * Parses the lines of a batch into {@linkplain BatchCommand commands}.
+ *
+ * <p>A line consists of a command name followed by the arguments separated by spaces:
+ * <ul>
+ *     <li>{@code create-task [@<task ID>] <description>};
+ *     <li>{@code create-label [@<label ID>] <title>};
+ *     <li>{@code complete <task ID>}, {@code reopen <task ID>},
+ *         {@code delete <task ID>}, {@code restore <task ID>};
+ *     <li>{@code assign-label <task ID> <label ID>},
+ *         {@code remove-label <task ID> <label ID>}.
+ * </ul>
+ *
+ * <p>The created task or label gets the ID specified after {@code @}, so the next lines
+ * of the batch can address it, e.g.:
+ * <pre>
+ *     create-task @milk Buy some milk
+ *     complete milk
+ * </pre>
+ * If the ID is not specified, a random ID is generated.
+ *
+ * <p>The blank lines and the lines starting with {@code #} are skipped.
+ */
+final class BatchCommandParser {
+
+    private static final String COMMENT_PREFIX = "#";
+    private static final String ID_PREFIX = "@";
+    private static final Splitter NAME_SPLITTER = Splitter.on(' ')
+                                                          .trimResults()
+                                                          .omitEmptyStrings()
+                                                          .limit(2);
+    private static final Splitter ARGUMENT_SPLITTER = Splitter.on(' ')
+                                                              .trimResults()
+                                                              .omitEmptyStrings();
+
+    private BatchCommandParser() {
+        // Prevent instantiation of this utility class.
+    }
+
+    /**
+     * Determines whether the specified line should be skipped.
+     *
+     * @param line the line of a batch
+     * @return {@code true} if the line is blank or a comment
+     */
+    static boolean isSkipped(String line) {
+        final String trimmed = line.trim();
+        return trimmed.isEmpty() || trimmed.startsWith(COMMENT_PREFIX);
+    }
+
+    /**
+     * Parses the specified line.
+     *
+     * @param lineNumber the number of the line in the batch
+     * @param line       the line to parse
+     * @return the parsed command
+     * @throws IllegalArgumentException if the line is not a valid command
+     */
+    static BatchCommand parse(int lineNumber, String line) {
+        final List<String> nameAndRest = NAME_SPLITTER.splitToList(line);
+        if (nameAndRest.isEmpty()) {
+            throw newIllegalArgumentException("The line %d is empty.", lineNumber);
+        }
+        final String name = nameAndRest.get(0);
+        final String rest = nameAndRest.size() > 1
+                            ? nameAndRest.get(1)
+                            : "";
+        switch (name) {
+            case "create-task":
+                return createTask(lineNumber, creation(name, rest));
+            case "create-label":
+                return createLabel(lineNumber, creation(name, rest));
+            case "complete":
+                return taskCommand(lineNumber, name, rest, (client, id) -> client.complete(
+                        CompleteTask.newBuilder()
+                                    .setId(id)
+                                    .build()));
+            case "reopen":
+                return taskCommand(lineNumber, name, rest, (client, id) -> client.reopen(
+                        ReopenTask.newBuilder()
+                                  .setId(id)
+                                  .build()));
+            case "delete":
+                return taskCommand(lineNumber, name, rest, (client, id) -> client.delete(
+                        DeleteTask.newBuilder()
+                                  .setId(id)
+                                  .build()));
+            case "restore":
+                return taskCommand(lineNumber, name, rest, (client, id) -> client.restore(
+                        RestoreDeletedTask.newBuilder()
+                                          .setId(id)
+                                          .build()));
+            case "assign-label":
+                return labelCommand(lineNumber, name, rest, (client, id, labelId) ->
+                        client.assignLabel(AssignLabelToTask.newBuilder()
+                                                            .setId(id)
+                                                            .setLabelId(labelId)
+                                                            .build()));
+            case "remove-label":
+                return labelCommand(lineNumber, name, rest, (client, id, labelId) ->
+                        client.removeLabel(RemoveLabelFromTask.newBuilder()
+                                                              .setId(id)
+                                                              .setLabelId(labelId)
+                                                              .build()));
+            default:
+                throw newIllegalArgumentException("Unknown command `%s`.", name);
+        }
+    }
+
+    private static BatchCommand createTask(int lineNumber, Creation creation) {
+        final TaskDescription description = TaskDescription.newBuilder()
+                                                           .setValue(creation.text)
+                                                           .build();
+        final CreateBasicTask command = CreateBasicTask.newBuilder()
+                                                       .setId(taskId(creation.id))
+                                                       .setDescription(description)
+                                                       .build();
+        return new BatchCommand(lineNumber, creation.id, client -> client.create(command));
+    }
+
+    private static BatchCommand createLabel(int lineNumber, Creation creation) {
+        final LabelId labelId = LabelId.newBuilder()
+                                       .setValue(creation.id)
+                                       .build();
+        final CreateBasicLabel command = CreateBasicLabel.newBuilder()
+                                                         .setLabelId(labelId)
+                                                         .setLabelTitle(creation.text)
+                                                         .build();
+        return new BatchCommand(lineNumber, creation.id, client -> client.create(command));
+    }
+
+    /**
+     * Parses the arguments of a creation command: the optional ID prefixed with {@code @}
+     * and the text.
+     */
+    private static Creation creation(String name, String arguments) {
+        if (!arguments.startsWith(ID_PREFIX)) {
+            return new Creation(newUuid(), requireText(name, arguments));
+        }
+        final List<String> idAndText = NAME_SPLITTER.splitToList(arguments);
+        final String id = idAndText.get(0)
+                                   .substring(ID_PREFIX.length());
+        if (id.isEmpty()) {
+            throw newIllegalArgumentException("The command `%s` has an empty ID.", name);
+        }
+        final String text = idAndText.size() > 1
+                            ? idAndText.get(1)
+                            : "";
+        return new Creation(id, requireText(name, text));
+    }
+
+    private static BatchCommand taskCommand(int lineNumber, String name, String arguments,
+                                            TaskCommandPosting posting) {
+        final List<String> values = requireArguments(name, arguments, 1);
+        final TaskId taskId = taskId(values.get(0));
+        return new BatchCommand(lineNumber, taskId.getValue(),
+                                client -> posting.post(client, taskId));
+    }
+
+    private static BatchCommand labelCommand(int lineNumber, String name, String arguments,
+                                             LabelCommandPosting posting) {
+        final List<String> values = requireArguments(name, arguments, 2);
+        final TaskId taskId = taskId(values.get(0));
+        final LabelId labelId = LabelId.newBuilder()
+                                       .setValue(values.get(1))
+                                       .build();
+        return new BatchCommand(lineNumber, taskId.getValue(), labelId.getValue(),
+                                client -> posting.post(client, taskId, labelId));
+    }
+
+    private static String requireText(String name, String text) {
+        if (text.isEmpty()) {
+            throw newIllegalArgumentException("The command `%s` requires a text.", name);
+        }
+        return text;
+    }
+
+    private static List<String> requireArguments(String name, String arguments, int count) {
+        final List<String> values = ARGUMENT_SPLITTER.splitToList(arguments);
+        if (values.size() != count) {
+            throw newIllegalArgumentException("The command `%s` requires %d argument(s), " +
+                                                      "but %d specified.",
+                                              name, count, values.size());
+        }
+        return values;
+    }
+
+    private static TaskId taskId(String value) {
+        return TaskId.newBuilder()
+                     .setValue(value)
+                     .build();
+    }
+
+    /**
+     * The ID and the text of a created entity.
+     */
+    private static final class Creation {
+
+        private final String id;
+        private final String text;
+
+        private Creation(String id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Posts a command addressed to a task.
+     */
+    @FunctionalInterface
+    private interface TaskCommandPosting {
+
+        void post(TodoClient client, TaskId taskId);
+    }
+
+    /**
+     * Posts a command changing the labels of a task.
+     */
+    @FunctionalInterface
+    private interface LabelCommandPosting {
+
+        void post(TodoClient client,
+                  TaskId taskId, LabelId labelId);
+    }
+}
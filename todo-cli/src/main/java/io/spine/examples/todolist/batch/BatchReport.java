@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.batch;
+
+import com.google.common.collect.Ordering;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+import static java.util.Comparator.comparingInt;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The outcome of a {@linkplain BatchRunner batch run}.
+ */
+public final class BatchReport {
+
+    private final int succeeded;
+    private final List<Failure> failures;
+    private final long elapsedNanos;
+
+    BatchReport(int succeeded, Collection<Failure> failures, long elapsedNanos) {
+        this.succeeded = succeeded;
+        this.failures = Ordering.from(comparingInt(Failure::getLineNumber))
+                                .immutableSortedCopy(failures);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Obtains the number of the commands posted successfully.
+     */
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * Obtains the lines, which could not be parsed or posted, ordered by the line number.
+     */
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    public long getElapsed(TimeUnit unit) {
+        return unit.convert(elapsedNanos, NANOSECONDS);
+    }
+
+    /**
+     * Obtains the number of the successfully posted commands per second.
+     */
+    public double getThroughput() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return succeeded * (double) SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Prints the summary of the run followed by the failures.
+     *
+     * @param out the stream to print to
+     */
+    public void printTo(PrintStream out) {
+        out.println(format("Posted %d command(s) in %d ms (%.1f per second), %d failure(s).",
+                           succeeded, getElapsed(TimeUnit.MILLISECONDS),
+                           getThroughput(), failures.size()));
+        for (Failure failure : failures) {
+            out.println(failure);
+        }
+    }
+
+    /**
+     * A line of a batch, which could not be parsed or posted.
+     */
+    public static final class Failure {
+
+        private final int lineNumber;
+        private final String reason;
+
+        Failure(int lineNumber, String reason) {
+            this.lineNumber = lineNumber;
+            this.reason = String.valueOf(reason);
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return format("Line %d: %s", lineNumber, reason);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.batch;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.examples.todolist.batch.BatchReport.Failure;
+import io.spine.examples.todolist.client.TodoClient;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.Futures.getUnchecked;
+import static io.spine.examples.todolist.batch.BatchCommandParser.isSkipped;
+import static io.spine.examples.todolist.batch.BatchCommandParser.parse;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Posts the commands read line by line to the server.
+ *
+ * <p>The commands are posted concurrently by several lanes. The commands addressed
+ * to the same entity always go to the same lane, so they are posted in the order of the lines.
+ * A command using another entity, such as the assignment of a label to a task, is posted
+ * only after the previous lines addressed to that entity are processed.
+ *
+ * <p>The number of the commands read ahead of the posting is bounded,
+ * so a batch of any size is processed in the constant memory.
+ *
+ * <p>See {@link BatchCommandParser} for the format of the lines.
+ */
+public final class BatchRunner {
+
+    /** The default number of the commands posted concurrently. */
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    private static final int IN_FLIGHT_PER_LANE = 16;
+    private static final String THREAD_NAME_FORMAT = "batch-lane-%d";
+
+    private final TodoClient client;
+    private final int concurrency;
+
+    private BatchRunner(Builder builder) {
+        this.client = builder.client;
+        this.concurrency = builder.concurrency;
+    }
+
+    /**
+     * Posts all the commands read from the source and waits until they are processed.
+     *
+     * @param source the source of the lines
+     * @return the report of the run
+     * @throws IOException if the source cannot be read
+     */
+    public BatchReport run(Reader source) throws IOException {
+        checkNotNull(source);
+        final BufferedReader reader = new BufferedReader(source);
+        final ExecutorService[] lanes = newLanes();
+        final int maxInFlight = concurrency * IN_FLIGHT_PER_LANE;
+        final Semaphore inFlight = new Semaphore(maxInFlight);
+        final AtomicInteger succeeded = new AtomicInteger();
+        final Queue<Failure> failures = new ConcurrentLinkedQueue<>();
+        final Map<String, Future<?>> lastByTarget = new HashMap<>();
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        try {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (isSkipped(line)) {
+                    continue;
+                }
+                final BatchCommand command;
+                try {
+                    command = parse(lineNumber, line);
+                } catch (IllegalArgumentException e) {
+                    failures.add(new Failure(lineNumber, e.getMessage()));
+                    continue;
+                }
+                awaitEntity(command, lastByTarget);
+                inFlight.acquireUninterruptibly();
+                final Future<?> posting = laneFor(command, lanes).submit(() -> {
+                    try {
+                        command.post(client);
+                        succeeded.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failures.add(new Failure(command.getLineNumber(), e.toString()));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                lastByTarget.put(command.getTargetId(), posting);
+                if (lastByTarget.size() > maxInFlight) {
+                    lastByTarget.values()
+                                .removeIf(Future::isDone);
+                }
+            }
+            inFlight.acquireUninterruptibly(maxInFlight);
+        } finally {
+            for (ExecutorService lane : lanes) {
+                lane.shutdown();
+            }
+        }
+        return new BatchReport(succeeded.get(), failures, stopwatch.elapsed(NANOSECONDS));
+    }
+
+    /**
+     * Waits until the last command addressed to the entity awaited by the specified command
+     * is processed.
+     */
+    private static void awaitEntity(BatchCommand command, Map<String, Future<?>> lastByTarget) {
+        final Optional<String> awaitedId = command.getAwaitedId();
+        if (!awaitedId.isPresent()) {
+            return;
+        }
+        final Future<?> awaited = lastByTarget.get(awaitedId.get());
+        if (awaited != null) {
+            getUnchecked(awaited);
+        }
+    }
+
+    private ExecutorService[] newLanes() {
+        final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat(THREAD_NAME_FORMAT)
+                .setDaemon(true)
+                .build();
+        final ExecutorService[] lanes = new ExecutorService[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+        return lanes;
+    }
+
+    private static ExecutorService laneFor(BatchCommand command, ExecutorService[] lanes) {
+        final int hash = command.getTargetId()
+                                .hashCode();
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * The builder for the {@code BatchRunner}.
+     */
+    public static class Builder {
+
+        private TodoClient client;
+        private int concurrency = DEFAULT_CONCURRENCY;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the client to post the commands with.
+         *
+         * <p>The client is used from several threads concurrently.
+         */
+        public Builder setClient(TodoClient client) {
+            this.client = checkNotNull(client);
+            return this;
+        }
+
+        /**
+         * Sets the number of the commands posted concurrently.
+         *
+         * <p>Eight by default.
+         */
+        public Builder setConcurrency(int concurrency) {
+            checkArgument(concurrency > 0);
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        public BatchRunner build() {
+            checkNotNull(client, "The client must be set.");
+            return new BatchRunner(this);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.search;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.projection.TaskItem;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newHashSetWithExpectedSize;
+import static java.util.Collections.emptyList;
+
+/**
+ * A word prefix index over the task descriptions and the titles of the task labels.
+ *
+ * <p>A task matches a query if each word of the query is a prefix of a word
+ * of the task description or the label title. The case of the letters is ignored.
+ * So the results can be updated as a user types a query.
+ *
+ * <p>The index is {@linkplain #update(List, Map) updated} incrementally,
+ * i.e. only the added, changed and removed tasks are reindexed.
+ *
+ * <p>The class is not thread-safe.
+ */
+public final class TaskIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * The upper bound for the words starting with a prefix.
+     */
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+
+    private final Map<TaskId, Entry> entries = newHashMap();
+    private final NavigableMap<String, Set<TaskId>> postings = new TreeMap<>();
+
+    /**
+     * The tasks specified on the last update.
+     */
+    private List<TaskItem> tasks = emptyList();
+
+    /**
+     * Brings the index up to date with the specified tasks.
+     *
+     * @param tasks       the actual tasks in the order they should be found in
+     * @param labelTitles the titles of the labels by the label IDs
+     */
+    public void update(List<TaskItem> tasks, Map<LabelId, String> labelTitles) {
+        checkNotNull(tasks);
+        checkNotNull(labelTitles);
+        final Set<TaskId> present = newHashSetWithExpectedSize(tasks.size());
+        for (int position = 0; position < tasks.size(); position++) {
+            final TaskItem task = tasks.get(position);
+            final TaskId id = task.getId();
+            present.add(id);
+            final String labelTitle = labelTitles.getOrDefault(task.getLabelId(), "");
+            final Entry existing = entries.get(id);
+            if (existing != null && existing.isFor(task, labelTitle)) {
+                existing.position = position;
+            } else {
+                if (existing != null) {
+                    removePostings(id, existing.words);
+                }
+                final Set<String> words = wordsOf(task.getDescription()
+                                                      .getValue() + ' ' + labelTitle);
+                entries.put(id, new Entry(task, labelTitle, words, position));
+                addPostings(id, words);
+            }
+        }
+        if (present.size() < entries.size()) {
+            removeAbsent(present);
+        }
+        this.tasks = ImmutableList.copyOf(tasks);
+    }
+
+    /**
+     * Finds the tasks matching the query.
+     *
+     * @param query the words to search for, all the tasks are matching an empty query
+     * @return the matching tasks in the order they were specified on the last update
+     */
+    public List<TaskItem> search(String query) {
+        checkNotNull(query);
+        final Set<String> terms = wordsOf(query);
+        if (terms.isEmpty()) {
+            return tasks;
+        }
+
+        // Marking the positions avoids sorting of the found tasks.
+        final BitSet positions = new BitSet(tasks.size());
+        for (TaskId id : idsMatchingAll(terms)) {
+            positions.set(entries.get(id).position);
+        }
+        final List<TaskItem> result = new ArrayList<>(positions.cardinality());
+        for (int position = positions.nextSetBit(0);
+             position >= 0;
+             position = positions.nextSetBit(position + 1)) {
+            result.add(tasks.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Obtains the number of the indexed tasks.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private Set<TaskId> idsMatchingAll(Set<String> terms) {
+        Set<TaskId> result = null;
+        for (String term : terms) {
+            final Set<TaskId> matching = idsWithWordPrefix(term);
+            if (result == null) {
+                result = matching;
+            } else {
+                result.retainAll(matching);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private Set<TaskId> idsWithWordPrefix(String prefix) {
+        final Set<TaskId> result = newHashSet();
+        final Collection<Set<TaskId>> matching = postings.subMap(prefix, true,
+                                                                 prefix + MAX_CHAR, false)
+                                                         .values();
+        for (Set<TaskId> ids : matching) {
+            result.addAll(ids);
+        }
+        return result;
+    }
+
+    private void addPostings(TaskId id, Set<String> words) {
+        for (String word : words) {
+            postings.computeIfAbsent(word, key -> newHashSet())
+                    .add(id);
+        }
+    }
+
+    private void removePostings(TaskId id, Set<String> words) {
+        for (String word : words) {
+            final Set<TaskId> ids = postings.get(word);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    private void removeAbsent(Set<TaskId> present) {
+        final Iterator<Map.Entry<TaskId, Entry>> iterator = entries.entrySet()
+                                                                   .iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<TaskId, Entry> next = iterator.next();
+            if (!present.contains(next.getKey())) {
+                removePostings(next.getKey(), next.getValue().words);
+                iterator.remove();
+            }
+        }
+    }
+
+    private static Set<String> wordsOf(String text) {
+        final String normalized = text.toLowerCase(Locale.ROOT);
+        final ImmutableSet.Builder<String> result = ImmutableSet.builder();
+        for (String word : WORD_SEPARATOR.split(normalized)) {
+            if (!word.isEmpty()) {
+                result.add(word);
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * An indexed task.
+     */
+    private static final class Entry {
+
+        private final TaskItem task;
+        private final String labelTitle;
+        private final Set<String> words;
+        private int position;
+
+        private Entry(TaskItem task, String labelTitle, Set<String> words, int position) {
+            this.task = task;
+            this.labelTitle = labelTitle;
+            this.words = words;
+            this.position = position;
+        }
+
+        private boolean isFor(TaskItem task, String labelTitle) {
+            return this.task.equals(task) && this.labelTitle.equals(labelTitle);
+        }
+    }
+}
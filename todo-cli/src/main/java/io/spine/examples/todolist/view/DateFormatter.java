@@ -38,6 +38,13 @@ class DateFormatter {
 
     private static final String DATE_FORMAT = "yyyy-MM-dd";
 
+    /**
+     * The format reused by all the formatting in a thread,
+     * since {@code SimpleDateFormat} is expensive to create and is not thread-safe.
+     */
+    private static final ThreadLocal<SimpleDateFormat> dateFormat =
+            ThreadLocal.withInitial(() -> new SimpleDateFormat(DATE_FORMAT, Locale.getDefault()));
+
     @VisibleForTesting
     static final String DEFAULT_TIMESTAMP_VALUE = "default";
 
@@ -54,7 +61,6 @@ class DateFormatter {
 
     @VisibleForTesting
     static SimpleDateFormat getDateFormat() {
-        final SimpleDateFormat result = new SimpleDateFormat(DATE_FORMAT, Locale.getDefault());
-        return result;
+        return dateFormat.get();
     }
 }
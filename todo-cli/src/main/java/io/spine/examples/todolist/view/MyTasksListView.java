@@ -21,17 +21,14 @@
 package io.spine.examples.todolist.view;
 
 import com.google.common.annotations.VisibleForTesting;
-import io.spine.cli.Screen;
 import io.spine.cli.action.Shortcut;
 import io.spine.cli.action.TransitionAction;
 import io.spine.cli.action.TransitionAction.TransitionActionProducer;
-import io.spine.cli.view.ActionListView;
+import io.spine.cli.view.PagedListView;
 import io.spine.cli.view.View;
 import io.spine.examples.todolist.q.projection.MyListView;
 import io.spine.examples.todolist.q.projection.TaskItem;
 
-import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 
 import static io.spine.cli.action.TransitionAction.transitionProducer;
@@ -45,35 +42,40 @@ import static java.lang.String.valueOf;
  * {@linkplain TransitionAction transition actions}.
  * The action gives short info about the task and leads to a {@link TaskView}.
  *
+ * <p>The tasks are listed page by page, so only the actions for the tasks
+ * of the current page are created.
+ *
  * @author Dmytro Grankin
  */
-public class MyTasksListView extends ActionListView {
+public class MyTasksListView extends PagedListView<TaskItem> {
 
     private static final String EMPTY_TASKS_LIST_MSG = "<no tasks>";
 
     @VisibleForTesting
     MyTasksListView() {
-        super("My tasks list");
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    @VisibleForTesting
+    MyTasksListView(int pageSize) {
+        super("My tasks list", EMPTY_TASKS_LIST_MSG, pageSize);
     }
 
     /**
-     * Refreshes the tasks list and renders the view.
+     * Obtains the tasks from the actual {@link MyListView}.
      *
-     * @param screen {@inheritDoc}
+     * @return the tasks list
      */
     @Override
-    public void render(Screen screen) {
-        clearActions();
-
+    protected List<TaskItem> loadItems() {
         final MyListView myListView = getClient().getMyListView();
-        final Collection<TransitionActionProducer> producers = taskActionProducersFor(myListView);
+        return myListView.getMyList()
+                         .getItemsList();
+    }
 
-        if (producers.isEmpty()) {
-            screen.println(EMPTY_TASKS_LIST_MSG);
-        } else {
-            producers.forEach(this::addAction);
-        }
-        super.render(screen);
+    @Override
+    protected TransitionActionProducer newItemActionProducer(TaskItem task, int index) {
+        return newOpenTaskViewProducer(task, index);
     }
 
     /**
@@ -86,19 +88,22 @@ public class MyTasksListView extends ActionListView {
      */
     public static <S extends View> TransitionActionProducer<S, MyTasksListView>
     newOpenTaskListProducer(String name, Shortcut shortcut) {
-        return transitionProducer(name, shortcut, new MyTasksListView());
+        return newOpenTaskListProducer(name, shortcut, DEFAULT_PAGE_SIZE);
     }
 
-    @VisibleForTesting
-    static Collection<TransitionActionProducer> taskActionProducersFor(MyListView myListView) {
-        final Collection<TransitionActionProducer> producers = new LinkedList<>();
-        final List<TaskItem> tasks = myListView.getMyList()
-                                               .getItemsList();
-        for (TaskItem task : tasks) {
-            final int index = tasks.indexOf(task);
-            producers.add(newOpenTaskViewProducer(task, index));
-        }
-        return producers;
+    /**
+     * Creates {@link TransitionActionProducer} with {@link MyTasksListView} destination,
+     * which lists the specified number of tasks on a page.
+     *
+     * @param name     the name for the action
+     * @param shortcut the shortcut for the action
+     * @param pageSize the maximum number of tasks on a page
+     * @param <S>      the type of the source view
+     * @return the new producer
+     */
+    public static <S extends View> TransitionActionProducer<S, MyTasksListView>
+    newOpenTaskListProducer(String name, Shortcut shortcut, int pageSize) {
+        return transitionProducer(name, shortcut, new MyTasksListView(pageSize));
     }
 
     @VisibleForTesting
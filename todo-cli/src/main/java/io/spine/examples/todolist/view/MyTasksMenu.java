@@ -24,6 +24,7 @@ import io.spine.cli.action.Shortcut;
 import io.spine.cli.view.ActionListView;
 
 import static io.spine.cli.action.TransitionAction.transitionProducer;
+import static io.spine.cli.view.PagedListView.DEFAULT_PAGE_SIZE;
 import static io.spine.examples.todolist.view.MyTasksListView.newOpenTaskListProducer;
 
 /**
@@ -34,6 +35,11 @@ import static io.spine.examples.todolist.view.MyTasksListView.newOpenTaskListPro
  */
 public class MyTasksMenu extends ActionListView {
 
+    /**
+     * The name of the system property specifying the number of tasks on a page of the list.
+     */
+    private static final String PAGE_SIZE_PROPERTY = "todolist.cli.pageSize";
+
     private MyTasksMenu() {
         super("My tasks menu");
     }
@@ -46,7 +52,10 @@ public class MyTasksMenu extends ActionListView {
     public static MyTasksMenu create() {
         final MyTasksMenu view = new MyTasksMenu();
         view.addAction(transitionProducer("Create task", new Shortcut("c"), NewTaskView.create()));
-        view.addAction(newOpenTaskListProducer("List tasks", new Shortcut("l")));
+        final int pageSize = Integer.getInteger(PAGE_SIZE_PROPERTY, DEFAULT_PAGE_SIZE);
+        view.addAction(newOpenTaskListProducer("List tasks", new Shortcut("l"), pageSize));
+        view.addAction(transitionProducer("Search tasks", new Shortcut("s"),
+                                          TaskSearchView.create(pageSize)));
         return view;
     }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.view;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.spine.cli.Application;
+import io.spine.cli.Screen;
+import io.spine.cli.action.Shortcut;
+import io.spine.cli.action.TransitionAction;
+import io.spine.cli.action.TransitionAction.TransitionActionProducer;
+import io.spine.cli.view.PagedListView;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.q.projection.LabelledTasksView;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.search.TaskIndex;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Maps.newHashMap;
+import static io.spine.examples.todolist.AppConfig.getClient;
+import static io.spine.examples.todolist.view.MyTasksListView.newOpenTaskViewProducer;
+import static java.lang.String.format;
+
+/**
+ * A view of the tasks matching a search query.
+ *
+ * <p>The tasks are searched in the {@link TaskIndex}, which is updated
+ * each time {@link MyListView} or the labels obtained from the client change.
+ *
+ * <p>A user specifies a new query using the {@code search} action,
+ * after which the view is rendered again with the new results.
+ */
+public class TaskSearchView extends PagedListView<TaskItem> {
+
+    private static final String NO_RESULTS_MSG = "<no matching tasks>";
+    private static final String QUERY_FORMAT = "Search: %s";
+    private static final String QUERY_PROMPT = "Enter the beginnings of the words to search for:";
+    private static final String SEARCH_NAME = "Search";
+    private static final Shortcut SEARCH_SHORTCUT = new Shortcut("s");
+
+    private final TaskIndex index = new TaskIndex();
+    private String query = "";
+
+    /**
+     * The tasks the index was last updated with.
+     */
+    private MyListView indexedTasks;
+
+    /**
+     * The labels the index was last updated with.
+     */
+    private List<LabelledTasksView> indexedLabels;
+
+    private TaskSearchView(int pageSize) {
+        super("Task search", NO_RESULTS_MSG, pageSize);
+    }
+
+    /**
+     * Creates a new {@code TaskSearchView} instance.
+     *
+     * @param pageSize the maximum number of the found tasks on a page
+     * @return the new instance
+     */
+    public static TaskSearchView create(int pageSize) {
+        return new TaskSearchView(pageSize);
+    }
+
+    /**
+     * Updates the index if the tasks or the labels are changed
+     * and obtains the tasks matching the current query.
+     *
+     * @return the found tasks
+     */
+    @Override
+    protected List<TaskItem> loadItems() {
+        final MyListView tasks = getClient().getMyListView();
+        final List<LabelledTasksView> labels = getClient().getLabelledTasksView();
+        if (!tasks.equals(indexedTasks) || !labels.equals(indexedLabels)) {
+            index.update(tasks.getMyList()
+                              .getItemsList(), labelTitles(labels));
+            indexedTasks = tasks;
+            indexedLabels = labels;
+        }
+        return index.search(query);
+    }
+
+    @Override
+    protected void renderBody(Screen screen) {
+        screen.println(format(QUERY_FORMAT, query));
+        super.renderBody(screen);
+    }
+
+    @Override
+    protected TransitionActionProducer newItemActionProducer(TaskItem task, int index) {
+        return newOpenTaskViewProducer(task, index);
+    }
+
+    @Override
+    protected void addListActions() {
+        addAction(new SearchProducer(this));
+    }
+
+    @VisibleForTesting
+    void setQuery(String query) {
+        this.query = checkNotNull(query);
+        resetPage();
+    }
+
+    private static Map<LabelId, String> labelTitles(List<LabelledTasksView> labels) {
+        final Map<LabelId, String> result = newHashMap();
+        for (LabelledTasksView label : labels) {
+            result.put(label.getLabelId(), label.getLabelTitle());
+        }
+        return result;
+    }
+
+    /**
+     * Producer of the search actions.
+     */
+    private static class SearchProducer
+            extends TransitionActionProducer<TaskSearchView, TaskSearchView> {
+
+        private SearchProducer(TaskSearchView view) {
+            super(SEARCH_NAME, SEARCH_SHORTCUT, view);
+        }
+
+        @Override
+        public TransitionAction<TaskSearchView, TaskSearchView> create(TaskSearchView source) {
+            return new SearchAction(getName(), getShortcut(), source);
+        }
+    }
+
+    /**
+     * An action, which prompts a user for a new query and renders the view with the results.
+     */
+    private static class SearchAction extends TransitionAction<TaskSearchView, TaskSearchView> {
+
+        private SearchAction(String name, Shortcut shortcut, TaskSearchView view) {
+            super(name, shortcut, view, view);
+        }
+
+        @Override
+        public void execute() {
+            final String query = Application.getInstance()
+                                            .screen()
+                                            .promptUser(QUERY_PROMPT);
+            getDestination().setQuery(query);
+            super.execute();
+        }
+    }
+}
@@ -29,6 +29,7 @@ import static io.spine.examples.todolist.ClientApp.initCli;
 import static io.spine.test.Tests.assertHasPrivateParameterlessCtor;
 import static io.spine.test.Tests.nullRef;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DisplayName("ClientApp should")
 class ClientAppTest {
@@ -50,4 +51,11 @@ class ClientAppTest {
 
         assertEquals(expectedScreen, application.screen());
     }
+
+    @Test
+    @DisplayName("reject batch with hostname but without port")
+    void rejectIncompleteBatchConnection() {
+        final String[] arguments = {"--batch", "commands.txt", "localhost"};
+        assertThrows(IllegalArgumentException.class, () -> ClientApp.main(arguments));
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.batch;
+
+import io.spine.examples.todolist.c.commands.CompleteTask;
+import io.spine.examples.todolist.c.commands.CreateBasicLabel;
+import io.spine.examples.todolist.c.commands.CreateBasicTask;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.todolist.batch.BatchCommandParser.isSkipped;
+import static io.spine.examples.todolist.batch.BatchCommandParser.parse;
+import static io.spine.test.Tests.assertHasPrivateParameterlessCtor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("BatchCommandParser should")
+class BatchCommandParserTest {
+
+    @Test
+    @DisplayName("have the private constructor")
+    void havePrivateCtor() {
+        assertHasPrivateParameterlessCtor(BatchCommandParser.class);
+    }
+
+    @Test
+    @DisplayName("skip blank lines and comments")
+    void skipBlankLinesAndComments() {
+        assertTrue(isSkipped(""));
+        assertTrue(isSkipped("   "));
+        assertTrue(isSkipped(" # a comment"));
+        assertFalse(isSkipped("complete task-id"));
+    }
+
+    @Test
+    @DisplayName("parse command addressed to task")
+    void parseTaskCommand() {
+        final String taskId = "task-id";
+        final RecordingClient recording = new RecordingClient();
+        final BatchCommand command = parse(3, "complete   " + taskId);
+        command.post(recording.client());
+
+        assertEquals(3, command.getLineNumber());
+        assertEquals(taskId, command.getTargetId());
+        final CompleteTask posted = (CompleteTask) recording.getPosted()
+                                                            .get(0);
+        assertEquals(taskId, posted.getId()
+                                   .getValue());
+    }
+
+    @Test
+    @DisplayName("address created task by its new ID")
+    void addressCreatedTask() {
+        final BatchCommand command = parse(1, "create-task Buy some milk");
+        assertFalse(command.getTargetId()
+                           .isEmpty());
+    }
+
+    @Test
+    @DisplayName("create task with specified ID")
+    void createTaskWithId() {
+        final RecordingClient recording = new RecordingClient();
+        final BatchCommand command = parse(1, "create-task @milk Buy some milk");
+        command.post(recording.client());
+
+        assertEquals("milk", command.getTargetId());
+        final CreateBasicTask posted = (CreateBasicTask) recording.getPosted()
+                                                                  .get(0);
+        assertEquals("milk", posted.getId()
+                                   .getValue());
+        assertEquals("Buy some milk", posted.getDescription()
+                                            .getValue());
+    }
+
+    @Test
+    @DisplayName("create label with specified ID")
+    void createLabelWithId() {
+        final RecordingClient recording = new RecordingClient();
+        parse(1, "create-label @urgent Urgent").post(recording.client());
+
+        final CreateBasicLabel posted = (CreateBasicLabel) recording.getPosted()
+                                                                    .get(0);
+        assertEquals("urgent", posted.getLabelId()
+                                     .getValue());
+        assertEquals("Urgent", posted.getLabelTitle());
+    }
+
+    @Test
+    @DisplayName("not parse creation with empty ID or without text")
+    void notParseWrongCreation() {
+        assertThrows(IllegalArgumentException.class, () -> parse(1, "create-task @ Buy milk"));
+        assertThrows(IllegalArgumentException.class, () -> parse(1, "create-task @milk"));
+    }
+
+    @Test
+    @DisplayName("not parse unknown command")
+    void notParseUnknownCommand() {
+        assertThrows(IllegalArgumentException.class, () -> parse(1, "archive task-id"));
+    }
+
+    @Test
+    @DisplayName("not parse command with wrong number of arguments")
+    void notParseWrongArguments() {
+        assertThrows(IllegalArgumentException.class, () -> parse(1, "complete"));
+        assertThrows(IllegalArgumentException.class, () -> parse(1, "assign-label task-id"));
+        assertThrows(IllegalArgumentException.class, () -> parse(1, "create-task"));
+    }
+}
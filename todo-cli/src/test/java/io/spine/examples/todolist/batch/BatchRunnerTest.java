@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.batch;
+
+import com.google.protobuf.Message;
+import io.spine.examples.todolist.c.commands.AssignLabelToTask;
+import io.spine.examples.todolist.c.commands.CompleteTask;
+import io.spine.examples.todolist.c.commands.CreateBasicLabel;
+import io.spine.examples.todolist.c.commands.DeleteTask;
+import io.spine.examples.todolist.c.commands.ReopenTask;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static io.spine.examples.todolist.batch.RecordingClient.FAILING_TASK_ID;
+import static io.spine.examples.todolist.batch.RecordingClient.SLOW_ID;
+import static java.lang.System.lineSeparator;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("BatchRunner should")
+class BatchRunnerTest {
+
+    private final RecordingClient recording = new RecordingClient();
+    private final BatchRunner runner = BatchRunner.newBuilder()
+                                                  .setClient(recording.client())
+                                                  .setConcurrency(4)
+                                                  .build();
+
+    @Test
+    @DisplayName("post all the commands")
+    void postAllCommands() throws IOException {
+        final int tasksCount = 100;
+        final StringBuilder batch = new StringBuilder("# Create the tasks.")
+                .append(lineSeparator());
+        for (int i = 0; i < tasksCount; i++) {
+            batch.append("create-task Task ")
+                 .append(i)
+                 .append(lineSeparator());
+        }
+        final BatchReport report = runner.run(new StringReader(batch.toString()));
+
+        assertEquals(tasksCount, report.getSucceeded());
+        assertEquals(0, report.getFailures()
+                              .size());
+        assertEquals(tasksCount, recording.getPosted()
+                                          .size());
+    }
+
+    @Test
+    @DisplayName("post commands addressed to same task in order")
+    void preserveOrderPerTask() throws IOException {
+        final String batch = "complete t1\nreopen t1\ndelete t1\n";
+        runner.run(new StringReader(batch));
+
+        final List<Class<?>> postedTypes = recording.getPosted()
+                                                    .stream()
+                                                    .map(Message::getClass)
+                                                    .collect(toList());
+        assertEquals(3, postedTypes.size());
+        assertEquals(CompleteTask.class, postedTypes.get(0));
+        assertEquals(ReopenTask.class, postedTypes.get(1));
+        assertEquals(DeleteTask.class, postedTypes.get(2));
+    }
+
+    @Test
+    @DisplayName("assign label after its creation")
+    void assignCreatedLabel() throws IOException {
+        // The task `t2` and the label are posted by different lanes.
+        final String batch = "create-label @" + SLOW_ID + " Urgent\n"
+                + "assign-label t2 " + SLOW_ID + '\n';
+        runner.run(new StringReader(batch));
+
+        final List<Message> posted = recording.getPosted();
+        assertEquals(2, posted.size());
+        assertEquals(CreateBasicLabel.class, posted.get(0)
+                                                   .getClass());
+        assertEquals(AssignLabelToTask.class, posted.get(1)
+                                                    .getClass());
+    }
+
+    @Test
+    @DisplayName("report unparsed and failed lines")
+    void reportFailures() throws IOException {
+        final String batch = "complete t1\nunknown t2\ncomplete " + FAILING_TASK_ID + '\n';
+        final BatchReport report = runner.run(new StringReader(batch));
+
+        assertEquals(1, report.getSucceeded());
+        final List<BatchReport.Failure> failures = report.getFailures();
+        assertEquals(2, failures.size());
+        assertEquals(2, failures.get(0)
+                                .getLineNumber());
+        assertEquals(3, failures.get(1)
+                                .getLineNumber());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.batch;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import io.spine.examples.todolist.client.TodoClient;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records the command messages posted using the {@linkplain #client() client}.
+ *
+ * <p>The commands with the task ID equal to {@link #FAILING_TASK_ID} are rejected.
+ * The commands mentioning {@link #SLOW_ID} are posted with a delay.
+ */
+class RecordingClient {
+
+    static final String FAILING_TASK_ID = "failing";
+    static final String SLOW_ID = "slow";
+
+    private static final long SLOW_POSTING_MILLIS = 200;
+
+    private final Queue<Message> posted = new ConcurrentLinkedQueue<>();
+
+    TodoClient client() {
+        return (TodoClient) Proxy.newProxyInstance(
+                TodoClient.class.getClassLoader(),
+                new Class<?>[]{TodoClient.class},
+                (proxy, method, args) -> {
+                    final Message command = (Message) args[0];
+                    if (command.toString()
+                               .contains(FAILING_TASK_ID)) {
+                        throw new IllegalStateException("The command is rejected.");
+                    }
+                    if (command.toString()
+                               .contains(SLOW_ID)) {
+                        Thread.sleep(SLOW_POSTING_MILLIS);
+                    }
+                    posted.add(command);
+                    return null;
+                });
+    }
+
+    List<Message> getPosted() {
+        return ImmutableList.copyOf(posted);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.search;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.spine.examples.todolist.testdata.Given.newDescription;
+import static java.util.Collections.emptyMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("TaskIndex should")
+class TaskIndexTest {
+
+    private static final LabelId LABEL_ID = LabelId.newBuilder()
+                                                   .setValue("label")
+                                                   .build();
+
+    private final TaskIndex index = new TaskIndex();
+
+    private final TaskItem milk = task("milk", "Buy some milk");
+    private final TaskItem report = task("report", "Write the quarterly report");
+    private final TaskItem call = task("call", "Call the plumber").toBuilder()
+                                                                   .setLabelId(LABEL_ID)
+                                                                   .build();
+
+    @Test
+    @DisplayName("find tasks by word prefixes ignoring case")
+    void findByWordPrefixes() {
+        index.update(ImmutableList.of(milk, report, call), emptyMap());
+
+        assertEquals(ImmutableList.of(milk), index.search("MI"));
+        assertEquals(ImmutableList.of(report), index.search("quart rep"));
+        assertEquals(ImmutableList.of(report, call), index.search("the"));
+        assertTrue(index.search("milk report")
+                        .isEmpty());
+    }
+
+    @Test
+    @DisplayName("find all tasks in their order by empty query")
+    void findAllByEmptyQuery() {
+        final List<TaskItem> tasks = ImmutableList.of(call, milk, report);
+        index.update(tasks, emptyMap());
+
+        assertEquals(tasks, index.search(" "));
+    }
+
+    @Test
+    @DisplayName("find tasks by label title")
+    void findByLabelTitle() {
+        final Map<LabelId, String> labelTitles = ImmutableMap.of(LABEL_ID, "Home");
+        index.update(ImmutableList.of(milk, call), labelTitles);
+
+        assertEquals(ImmutableList.of(call), index.search("home"));
+    }
+
+    @Test
+    @DisplayName("reindex changed and removed tasks")
+    void reindexChangedTasks() {
+        index.update(ImmutableList.of(milk, report), emptyMap());
+
+        final TaskItem changedMilk = milk.toBuilder()
+                                         .setDescription(newDescription("Buy some bread"))
+                                         .build();
+        index.update(ImmutableList.of(changedMilk), emptyMap());
+
+        assertEquals(1, index.size());
+        assertTrue(index.search("milk")
+                        .isEmpty());
+        assertTrue(index.search("report")
+                        .isEmpty());
+        assertEquals(ImmutableList.of(changedMilk), index.search("bread"));
+    }
+
+    @Test
+    @DisplayName("keep the order of the last update")
+    void keepOrderOfLastUpdate() {
+        index.update(ImmutableList.of(report, call), emptyMap());
+        index.update(ImmutableList.of(call, report), emptyMap());
+
+        assertEquals(ImmutableList.of(call, report), index.search("the"));
+    }
+
+    private static TaskItem task(String id, String description) {
+        return TaskItem.newBuilder()
+                       .setId(TaskId.newBuilder()
+                                    .setValue(id))
+                       .setDescription(newDescription(description))
+                       .build();
+    }
+}
@@ -25,23 +25,24 @@ import io.spine.cli.NoOpView;
 import io.spine.cli.action.Action;
 import io.spine.cli.action.Shortcut;
 import io.spine.cli.action.TransitionAction.TransitionActionProducer;
-import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.TaskId;
 import io.spine.examples.todolist.q.projection.TaskItem;
-import io.spine.examples.todolist.q.projection.TaskListView;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import static com.google.common.collect.Sets.newHashSet;
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.AppConfig.getClient;
 import static io.spine.examples.todolist.testdata.Given.newDescription;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
 import static io.spine.examples.todolist.view.MyTasksListView.newOpenTaskViewProducer;
-import static io.spine.examples.todolist.view.MyTasksListView.taskActionProducersFor;
-import static java.util.Collections.nCopies;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Dmytro Grankin
@@ -50,6 +51,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 class MyTasksListViewTest extends ViewTest {
 
     private static final int VIEW_INDEX = 0;
+    private static final int PAGE_SIZE = 2;
 
     private final Bot bot = new Bot();
     private final TaskItem taskView = TaskItem.newBuilder()
@@ -76,17 +78,35 @@ class MyTasksListViewTest extends ViewTest {
     }
 
     @Test
-    @DisplayName("create action for every task view")
-    void createActions() {
-        final int tasksCount = 5;
-        final TaskListView taskListView = TaskListView.newBuilder()
-                                                      .addAllItems(nCopies(tasksCount, taskView))
-                                                      .build();
-        final MyListView myListView = MyListView.newBuilder()
-                                                .setMyList(taskListView)
-                                                .build();
-        final Collection<TransitionActionProducer> actions = taskActionProducersFor(myListView);
-        assertEquals(tasksCount, actions.size());
+    @DisplayName("create actions only for the tasks of the current page")
+    void createActionsForPage() {
+        createTasks(PAGE_SIZE + 1);
+        bot.screen()
+           .renderView(new NoOpView()); // Needed to cause addition of back action in the view.
+        final MyTasksListView view = new MyTasksListView(PAGE_SIZE);
+
+        bot.addAnswer("b");
+        bot.screen()
+           .renderView(view);
+
+        assertShortcuts(view, "1", "2", "n");
+    }
+
+    @Test
+    @DisplayName("list the remaining tasks on the next page")
+    void turnToNextPage() {
+        createTasks(PAGE_SIZE + 1);
+        bot.screen()
+           .renderView(new NoOpView()); // Needed to cause addition of back action in the view.
+        final MyTasksListView view = new MyTasksListView(PAGE_SIZE);
+
+        bot.addAnswer("n");
+        bot.addAnswer("b");
+        bot.screen()
+           .renderView(view);
+
+        assertShortcuts(view, "3", "p");
+        bot.assertAllAnswersWereGiven();
     }
 
     @Test
@@ -103,4 +123,29 @@ class MyTasksListViewTest extends ViewTest {
         assertEquals(expectedDescription, producer.getName());
         assertEquals(expectedShortcut, producer.getShortcut());
     }
+
+    private static void createTasks(int count) {
+        for (int i = 0; i < count; i++) {
+            final TaskId id = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+            getClient().create(createTaskInstance(id, "task " + i));
+        }
+    }
+
+    /**
+     * Asserts that the view has the actions with the specified shortcuts
+     * and the back action.
+     */
+    private static void assertShortcuts(MyTasksListView view, String... expected) {
+        final List<String> shortcuts = view.getActions()
+                                           .stream()
+                                           .map(Action::getShortcut)
+                                           .map(Shortcut::getValue)
+                                           .collect(toList());
+        assertEquals(expected.length + 1, shortcuts.size());
+        for (String shortcut : expected) {
+            assertTrue(shortcuts.contains(shortcut));
+        }
+    }
 }